@@ -7,6 +7,7 @@ import dev.logicojp.reviewer.cli.ExitCodes;
 import dev.logicojp.reviewer.cli.ListAgentsCommand;
 import dev.logicojp.reviewer.cli.ReviewCommand;
 import dev.logicojp.reviewer.cli.SkillCommand;
+import dev.logicojp.reviewer.cli.WatchCommand;
 import io.micronaut.context.ApplicationContext;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -28,22 +29,25 @@ import java.util.Set;
 /// Multi-Agent Code Reviewer CLI Application.
 @Singleton
 public class ReviewApp {
-    private static final Set<String> SUBCOMMANDS = Set.of("run", "list", "skill");
+    private static final Set<String> SUBCOMMANDS = Set.of("run", "watch", "list", "skill");
     private static final Logger logger = LoggerFactory.getLogger(ReviewApp.class);
 
     private final ReviewCommand reviewCommand;
     private final ListAgentsCommand listAgentsCommand;
     private final SkillCommand skillCommand;
+    private final WatchCommand watchCommand;
     private final CliOutput output;
 
     @Inject
     public ReviewApp(ReviewCommand reviewCommand,
                      ListAgentsCommand listAgentsCommand,
                      SkillCommand skillCommand,
+                     WatchCommand watchCommand,
                      CliOutput output) {
         this.reviewCommand = reviewCommand;
         this.listAgentsCommand = listAgentsCommand;
         this.skillCommand = skillCommand;
+        this.watchCommand = watchCommand;
         this.output = output;
     }
 
@@ -165,6 +169,7 @@ public class ReviewApp {
     private int executeCommand(String command, String[] commandArgs) {
         return switch (command) {
             case "run" -> reviewCommand.execute(commandArgs);
+            case "watch" -> watchCommand.execute(commandArgs);
             case "list" -> listAgentsCommand.execute(commandArgs);
             case "skill" -> skillCommand.execute(commandArgs);
             default -> {
@@ -2,6 +2,7 @@ package dev.logicojp.reviewer.agent;
 
 import dev.logicojp.reviewer.config.ModelConfig;
 import dev.logicojp.reviewer.skill.SkillDefinition;
+import dev.logicojp.reviewer.target.FileRoutingRules;
 import io.micronaut.core.annotation.Nullable;
 
 import java.util.List;
@@ -11,6 +12,9 @@ import java.util.List;
 ///
 /// This record is a pure data carrier. Prompt construction logic is
 /// in {@link AgentPromptBuilder}.
+///
+/// `fileRoutingRules` limits which local source files the agent receives; agents with equal
+/// rules share one collected source.
 public record AgentConfig(
     String name,
     String displayName,
@@ -19,7 +23,8 @@ public record AgentConfig(
     @Nullable String instruction,
     @Nullable String outputFormat,
     List<String> focusAreas,
-    List<SkillDefinition> skills
+    List<SkillDefinition> skills,
+    FileRoutingRules fileRoutingRules
 ) {
 
     public AgentConfig {
@@ -29,6 +34,19 @@ public record AgentConfig(
         outputFormat = normalizeOutputFormat(outputFormat);
         focusAreas = focusAreas == null ? List.of() : List.copyOf(focusAreas);
         skills = skills == null ? List.of() : List.copyOf(skills);
+        fileRoutingRules = fileRoutingRules == null ? FileRoutingRules.all() : fileRoutingRules;
+    }
+
+    public AgentConfig(String name,
+                       String displayName,
+                       String model,
+                       String systemPrompt,
+                       String instruction,
+                       String outputFormat,
+                       List<String> focusAreas,
+                       List<SkillDefinition> skills) {
+        this(name, displayName, model, systemPrompt, instruction, outputFormat, focusAreas, skills,
+            FileRoutingRules.all());
     }
 
     public AgentConfig withModel(String overrideModel) {
@@ -56,6 +74,7 @@ public record AgentConfig(
         private String outputFormat;
         private List<String> focusAreas;
         private List<SkillDefinition> skills;
+        private FileRoutingRules fileRoutingRules;
 
         private Builder() {
         }
@@ -69,7 +88,8 @@ public record AgentConfig(
                 .instruction(source.instruction)
                 .outputFormat(source.outputFormat)
                 .focusAreas(source.focusAreas)
-                .skills(source.skills);
+                .skills(source.skills)
+                .fileRoutingRules(source.fileRoutingRules);
         }
 
         public Builder name(String name) {
@@ -112,8 +132,14 @@ public record AgentConfig(
             return this;
         }
 
+        public Builder fileRoutingRules(FileRoutingRules fileRoutingRules) {
+            this.fileRoutingRules = fileRoutingRules;
+            return this;
+        }
+
         public AgentConfig build() {
-            return new AgentConfig(name, displayName, model, systemPrompt, instruction, outputFormat, focusAreas, skills);
+            return new AgentConfig(name, displayName, model, systemPrompt, instruction, outputFormat,
+                focusAreas, skills, fileRoutingRules);
         }
     }
 
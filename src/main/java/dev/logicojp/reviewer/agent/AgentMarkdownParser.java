@@ -1,6 +1,7 @@
 package dev.logicojp.reviewer.agent;
 
 import dev.logicojp.reviewer.config.ModelConfig;
+import dev.logicojp.reviewer.target.FileRoutingRules;
 import dev.logicojp.reviewer.util.FrontmatterParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +26,8 @@ import java.util.regex.Pattern;
 /// name: security-reviewer
 /// description: Security code review agent
 /// model: claude-sonnet-4
+/// include: "**/*.java, **/*.sql"
+/// exclude: "**/test/**"
 /// ---
 ///
 /// # Security Reviewer
@@ -87,6 +90,7 @@ class AgentMarkdownParser {
             metadata.name(),
             metadata.displayName(),
             metadata.model(),
+            metadata.fileRoutingRules(),
             metadata.body()
         );
     }
@@ -98,18 +102,19 @@ class AgentMarkdownParser {
         String displayName = metadata.getOrDefault("description",
             metadata.getOrDefault("displayName", name));
         String model = metadata.getOrDefault("model", ModelConfig.DEFAULT_MODEL);
-        return new ParsedAgentMetadata(name, displayName, model, parsed.body());
+        FileRoutingRules fileRoutingRules = FileRoutingRules.parse(metadata.get("include"), metadata.get("exclude"));
+        return new ParsedAgentMetadata(name, displayName, model, fileRoutingRules, parsed.body());
     }
 
     private ParsedAgentMetadata parseWithoutFrontmatter(String content, String filename) {
         logger.warn("No valid frontmatter found in {}", filename);
         String name = extractNameFromFilename(filename);
-        return new ParsedAgentMetadata(name, name, ModelConfig.DEFAULT_MODEL, content);
+        return new ParsedAgentMetadata(name, name, ModelConfig.DEFAULT_MODEL, FileRoutingRules.all(), content);
     }
 
     /// Common AgentConfig construction from extracted metadata and body.
-    private AgentConfig buildAgentConfig(String name, String displayName,
-                                          String model, String body) {
+    private AgentConfig buildAgentConfig(String name, String displayName, String model,
+                                          FileRoutingRules fileRoutingRules, String body) {
         Map<String, String> sections = extractSections(body);
         String systemPrompt = getSection(sections, "role");
         String instruction = getSection(sections, "instruction");
@@ -129,7 +134,8 @@ class AgentMarkdownParser {
             instruction,
             outputFormat,
             focusAreas,
-            List.of()  // skills - parsed from Skills section if present
+            List.of(),  // skills - parsed from Skills section if present
+            fileRoutingRules
         );
         config.validateRequired();
         return config;
@@ -248,6 +254,10 @@ class AgentMarkdownParser {
         return name;
     }
 
-    private record ParsedAgentMetadata(String name, String displayName, String model, String body) {
+    private record ParsedAgentMetadata(String name,
+                                       String displayName,
+                                       String model,
+                                       FileRoutingRules fileRoutingRules,
+                                       String body) {
     }
 }
@@ -27,6 +27,7 @@ class ContentCollector {
     private long accumulatedVersion;
     private final AtomicReference<String> lastContent = new AtomicReference<>(null);
     private final AtomicLong lastActivityTime;
+    private final AtomicLong longestActivityGap = new AtomicLong(-1);
     private final AtomicInteger toolCallCount = new AtomicInteger(0);
     private final AtomicInteger messageCount = new AtomicInteger(0);
     private final String agentName;
@@ -66,7 +67,15 @@ class ContentCollector {
     }
 
     void onActivity() {
-        lastActivityTime.set(clockMillisSupplier.getAsLong());
+        long now = clockMillisSupplier.getAsLong();
+        long previous = lastActivityTime.getAndSet(now);
+        longestActivityGap.accumulateAndGet(Math.max(0, now - previous), Math::max);
+    }
+
+    /// Returns the longest time without events, counted like the idle timeout from the creation
+    /// of this collector, or -1 before any event.
+    long getLongestActivityGap() {
+        return longestActivityGap.get();
     }
 
     void onMessage(String content, int toolCalls) {
@@ -0,0 +1,139 @@
+package dev.logicojp.reviewer.agent;
+
+import dev.logicojp.reviewer.config.RateLimitConfig;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/// Process-wide token-bucket rate limiter for Copilot session creations and message sends,
+/// shared by review agents, the summary generator and skills.
+///
+/// Each model has its own session and message buckets. A caller that finds its bucket empty
+/// reserves the next token and sleeps until it is due, so callers are served in arrival order
+/// and nothing fails; on virtual threads the wait does not hold a carrier thread. An interrupt
+/// ends the wait early, returns the reserved token and is rethrown, so the caller never goes
+/// ahead without its token.
+@Singleton
+public final class CopilotRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CopilotRateLimiter.class);
+
+    private static final CopilotRateLimiter UNLIMITED = new CopilotRateLimiter(
+        new RateLimitConfig(false, 0, 0, 0, 0), System::nanoTime, Thread::sleep);
+
+    /// Sleeps for the wait of a reserved token.
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private final RateLimitConfig config;
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+    private final Map<String, TokenBucket> sessionBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> messageBuckets = new ConcurrentHashMap<>();
+
+    @Inject
+    public CopilotRateLimiter(RateLimitConfig config) {
+        this(config, System::nanoTime, Thread::sleep);
+    }
+
+    CopilotRateLimiter(RateLimitConfig config, LongSupplier nanoClock, Sleeper sleeper) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+    }
+
+    /// A limiter that never waits, for callers without a configured one.
+    public static CopilotRateLimiter unlimited() {
+        return UNLIMITED;
+    }
+
+    /// Waits until a session for `model` may be created.
+    /// @throws InterruptedException when interrupted while waiting; no token is taken then
+    public void acquireSession(String model) throws InterruptedException {
+        if (config.isEnabled()) {
+            await(sessionBuckets.computeIfAbsent(keyOf(model),
+                _ -> new TokenBucket(config.sessionsPerSecond(), config.sessionBurst(), nanoClock)), "session", model);
+        }
+    }
+
+    /// Waits until a message to `model` may be sent.
+    /// @throws InterruptedException when interrupted while waiting; no token is taken then
+    public void acquireMessage(String model) throws InterruptedException {
+        if (config.isEnabled()) {
+            await(messageBuckets.computeIfAbsent(keyOf(model),
+                _ -> new TokenBucket(config.messagesPerSecond(), config.messageBurst(), nanoClock)), "message", model);
+        }
+    }
+
+    private void await(TokenBucket bucket, String kind, String model) throws InterruptedException {
+        long waitNanos = bucket.reserve();
+        if (waitNanos <= 0) {
+            return;
+        }
+        long waitMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        logger.debug("Rate limit: waiting {} ms before {} for model {}", waitMillis, kind, keyOf(model));
+        try {
+            sleeper.sleep(waitMillis);
+        } catch (InterruptedException e) {
+            bucket.cancel();
+            throw e;
+        }
+    }
+
+    private static String keyOf(String model) {
+        return model != null && !model.isBlank() ? model : "default";
+    }
+
+    /// A token bucket whose balance may go negative: each negative token is a caller already
+    /// waiting, so the wait of the next caller includes theirs.
+    static final class TokenBucket {
+
+        private final double tokensPerNano;
+        private final double capacity;
+        private final LongSupplier nanoClock;
+        private final ReentrantLock lock = new ReentrantLock();
+        private double tokens;
+        private long refilledAtNanos;
+
+        TokenBucket(double tokensPerSecond, int burst, LongSupplier nanoClock) {
+            this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = burst;
+            this.nanoClock = nanoClock;
+            this.tokens = burst;
+            this.refilledAtNanos = nanoClock.getAsLong();
+        }
+
+        /// Takes a token and returns how long to wait until it is due, or 0 when it was available.
+        long reserve() {
+            lock.lock();
+            try {
+                long now = nanoClock.getAsLong();
+                tokens = Math.min(capacity, tokens + (now - refilledAtNanos) * tokensPerNano);
+                refilledAtNanos = now;
+                tokens -= 1;
+                return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /// Returns a token reserved by a caller that gave up waiting for it.
+        void cancel() {
+            lock.lock();
+            try {
+                tokens = Math.min(capacity, tokens + 1);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
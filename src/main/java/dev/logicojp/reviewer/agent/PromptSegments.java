@@ -0,0 +1,67 @@
+package dev.logicojp.reviewer.agent;
+
+import dev.logicojp.reviewer.util.TokenEstimator;
+
+import java.util.Arrays;
+
+/// An immutable prompt kept as a sequence of segments until it is sent.
+///
+/// A local review prompt embeds the precomputed source block, which is the same `String`
+/// for every agent. Keeping it as a referenced segment means that building an agent's prompt,
+/// estimating its tokens and retrying it copy nothing. Only {@link #materialize()} (called at
+/// the SDK boundary) concatenates the segments, in a single exact-size allocation, and the
+/// sender drops that copy once it is handed over instead of holding it for the whole review.
+final class PromptSegments {
+
+    private final String[] segments;
+    private final int length;
+
+    private PromptSegments(String[] segments) {
+        long total = 0;
+        for (String segment : segments) {
+            total += segment.length();
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Prompt too large: " + total + " chars");
+        }
+        this.segments = segments;
+        this.length = (int) total;
+    }
+
+    static PromptSegments of(String... segments) {
+        String[] copy = Arrays.copyOf(segments, segments.length);
+        for (String segment : copy) {
+            if (segment == null) {
+                throw new IllegalArgumentException("Prompt segments must not be null");
+            }
+        }
+        return new PromptSegments(copy);
+    }
+
+    /// Total length in chars of the materialized prompt.
+    int length() {
+        return length;
+    }
+
+    /// Sum of the segments' token estimates. Estimates of large segments are cached by
+    /// content, so the shared source block is measured once for all agents.
+    int estimateTokens() {
+        int tokens = 0;
+        for (String segment : segments) {
+            tokens += TokenEstimator.estimate(segment);
+        }
+        return tokens;
+    }
+
+    /// Returns the prompt as one `String`. `String.join` sizes the result up front, so the
+    /// segments are copied exactly once.
+    String materialize() {
+        return segments.length == 1 ? segments[0] : String.join("", segments);
+    }
+
+    /// Describes the prompt without materializing it.
+    @Override
+    public String toString() {
+        return "PromptSegments[" + segments.length + " segments, " + length + " chars]";
+    }
+}
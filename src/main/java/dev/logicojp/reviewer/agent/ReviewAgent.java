@@ -97,7 +97,8 @@ public class ReviewAgent {
                 () -> logger.debug("Computed source content locally for agent: {}", config.name())
             ),
             new ReviewSessionMessageSender(config.name(),
-                tuning.maxAccumulatedSize(), tuning.initialAccumulatedCapacity()),
+                tuning.maxAccumulatedSize(), tuning.initialAccumulatedCapacity(),
+                ctx.sessionTimingListener(), System::currentTimeMillis),
             new ReviewRetryExecutor(
                 config.name(),
                 ctx.timeoutConfig().maxRetries(),
@@ -274,6 +275,7 @@ public class ReviewAgent {
             reviewPasses
         );
 
+        ctx.rateLimiter().acquireSession(config.model());
         try (var session = ctx.client().createSession(sessionConfig)
             .get(ctx.timeoutConfig().timeoutMinutes(), TimeUnit.MINUTES)) {
             List<ReviewResult> results = new ArrayList<>(reviewPasses);
@@ -404,7 +406,7 @@ public class ReviewAgent {
     private ReviewTargetInstructionResolver.ResolvedInstruction resolveTargetInstruction(ReviewTarget target) {
         return reviewTargetInstructionResolver.resolve(
             target,
-            ctx.cachedResources().sourceContent(),
+            ctx.cachedResources().resolveSourceContent(),
             ctx.cachedResources().mcpServers()
         );
     }
@@ -436,6 +438,7 @@ public class ReviewAgent {
             totalPasses
         );
 
+        ctx.rateLimiter().acquireSession(config.model());
         try (var session = ctx.client().createSession(sessionConfig)
             .get(ctx.timeoutConfig().timeoutMinutes(), TimeUnit.MINUTES)) {
             return executeReviewWithSession(displayName, instruction, localSourceContent, mcpServers, session);
@@ -509,7 +512,8 @@ public class ReviewAgent {
             FOLLOWUP_PROMPT,
             localSourceHeaderPrompt,
             localReviewResultPrompt,
-            ctx.agentTuningConfig().instructionBufferExtraCapacity()
+            ctx.tokenBudgetConfig().contextWindowFor(config.model()),
+            ctx.tokenBudgetConfig().promptBudgetFor(config.model())
         );
     }
 
@@ -529,14 +533,17 @@ public class ReviewAgent {
     ///   during active MCP tool processing.
     /// - **Max timeout** (`maxTimeoutMs`): Absolute wall-clock safety net.
     ///   Prevents runaway sessions regardless of activity.
-    private String sendWithActivityTimeout(CopilotSession session, String prompt,
+    private String sendWithActivityTimeout(CopilotSession session, PromptSegments prompt,
                                            long idleTimeoutMs, long maxTimeoutMs) throws Exception {
         logger.debug("Agent {}: sending prompt asynchronously (idle timeout: {} min, max: {} min)",
             config.name(), ctx.timeoutConfig().idleTimeoutMinutes(), ctx.timeoutConfig().timeoutMinutes());
         return reviewSessionMessageSender.sendWithActivityTimeout(
             prompt,
             maxTimeoutMs,
-            sendPrompt -> session.send(new MessageOptions().setPrompt(sendPrompt)),
+            sendPrompt -> {
+                ctx.rateLimiter().acquireMessage(config.model());
+                session.send(new MessageOptions().setPrompt(sendPrompt));
+            },
             collector -> registerEventListeners(session, collector),
             collector -> {
                 var scheduledTask = scheduleIdleTimeout(collector, idleTimeoutMs);
@@ -2,6 +2,8 @@ package dev.logicojp.reviewer.agent;
 
 import dev.logicojp.reviewer.config.LocalFileConfig;
 import dev.logicojp.reviewer.config.ExecutionConfig;
+import dev.logicojp.reviewer.config.TokenBudgetConfig;
+import dev.logicojp.reviewer.util.CompressedText;
 import com.github.copilot.sdk.CopilotClient;
 import io.micronaut.core.annotation.Nullable;
 
@@ -25,6 +27,10 @@ import java.util.concurrent.ScheduledExecutorService;
 /// @param localFileConfig     Local file collection configuration (used by fallback path)
 /// @param sharedScheduler     Shared ScheduledExecutorService for idle-timeout scheduling
 /// @param agentTuningConfig   Internal tuning parameters for agent execution
+/// @param reviewCircuitBreaker Circuit breaker shared by review calls
+/// @param tokenBudgetConfig   Per-model context windows used to check prompt sizes
+/// @param rateLimiter         Process-wide limiter for session creations and message sends
+/// @param sessionTimingListener Receives the time to the first event of each prompt
 public record ReviewContext(
     CopilotClient client,
     TimeoutConfig timeoutConfig,
@@ -36,7 +42,10 @@ public record ReviewContext(
     LocalFileConfig localFileConfig,
     ScheduledExecutorService sharedScheduler,
     AgentTuningConfig agentTuningConfig,
-    SharedCircuitBreaker reviewCircuitBreaker
+    SharedCircuitBreaker reviewCircuitBreaker,
+    TokenBudgetConfig tokenBudgetConfig,
+    CopilotRateLimiter rateLimiter,
+    SessionTimingListener sessionTimingListener
 ) {
 
     private static final SharedCircuitBreaker DEFAULT_REVIEW_CIRCUIT_BREAKER =
@@ -46,12 +55,37 @@ public record ReviewContext(
     public record TimeoutConfig(long timeoutMinutes, long idleTimeoutMinutes, int maxRetries) {}
 
     /// Groups pre-computed resources that are shared across agents.
+    ///
+    /// The source content is held either as a `String` or, when the off-heap source store is
+    /// enabled, as {@link CompressedText}; {@link #resolveSourceContent()} returns it either way.
     public record CachedResources(
         @Nullable Map<String, Object> mcpServers,
-        @Nullable String sourceContent
-    ) {}
+        @Nullable String sourceContent,
+        @Nullable CompressedText compressedSourceContent
+    ) {
+        public CachedResources(@Nullable Map<String, Object> mcpServers, @Nullable String sourceContent) {
+            this(mcpServers, sourceContent, null);
+        }
+
+        /// Returns the source content, decompressing it if it is stored compressed.
+        public @Nullable String resolveSourceContent() {
+            if (sourceContent != null) {
+                return sourceContent;
+            }
+            return compressedSourceContent != null ? compressedSourceContent.decompress() : null;
+        }
+
+        /// Returns the length of the source content without decompressing it; 0 when there is none.
+        public int sourceLength() {
+            if (sourceContent != null) {
+                return sourceContent.length();
+            }
+            return compressedSourceContent != null ? compressedSourceContent.length() : 0;
+        }
+    }
 
     /// Internal tuning parameters for agent execution.
+    /// `instructionBufferExtraCapacity` is kept for compatibility and no longer used.
     public record AgentTuningConfig(
         int maxAccumulatedSize,
         int initialAccumulatedCapacity,
@@ -74,6 +108,34 @@ public record ReviewContext(
         reviewCircuitBreaker = reviewCircuitBreaker != null
             ? reviewCircuitBreaker
             : DEFAULT_REVIEW_CIRCUIT_BREAKER;
+        tokenBudgetConfig = tokenBudgetConfig != null ? tokenBudgetConfig : new TokenBudgetConfig();
+        rateLimiter = rateLimiter != null ? rateLimiter : CopilotRateLimiter.unlimited();
+        sessionTimingListener = sessionTimingListener != null ? sessionTimingListener : SessionTimingListener.NONE;
+    }
+
+    public ReviewContext(CopilotClient client,
+                         TimeoutConfig timeoutConfig,
+                         String invocationTimestamp,
+                         boolean sharedSessionEnabled,
+                         @Nullable String reasoningEffort,
+                         @Nullable String outputConstraints,
+                         CachedResources cachedResources,
+                         LocalFileConfig localFileConfig,
+                         ScheduledExecutorService sharedScheduler,
+                         AgentTuningConfig agentTuningConfig,
+                         SharedCircuitBreaker reviewCircuitBreaker,
+                         TokenBudgetConfig tokenBudgetConfig,
+                         CopilotRateLimiter rateLimiter) {
+        this(client, timeoutConfig, invocationTimestamp, sharedSessionEnabled, reasoningEffort,
+            outputConstraints, cachedResources, localFileConfig, sharedScheduler, agentTuningConfig,
+            reviewCircuitBreaker, tokenBudgetConfig, rateLimiter, null);
+    }
+
+    /// Returns a copy for one agent run with its own timeouts and session timing listener.
+    public ReviewContext forAgentRun(TimeoutConfig agentTimeoutConfig, SessionTimingListener agentTimingListener) {
+        return new ReviewContext(client, agentTimeoutConfig, invocationTimestamp, sharedSessionEnabled,
+            reasoningEffort, outputConstraints, cachedResources, localFileConfig, sharedScheduler,
+            agentTuningConfig, reviewCircuitBreaker, tokenBudgetConfig, rateLimiter, agentTimingListener);
     }
 
     public static Builder builder() {
@@ -91,10 +153,13 @@ public record ReviewContext(
         private String outputConstraints;
         private Map<String, Object> cachedMcpServers;
         private String cachedSourceContent;
+        private CompressedText cachedCompressedSourceContent;
         private LocalFileConfig localFileConfig;
         private ScheduledExecutorService sharedScheduler;
         private AgentTuningConfig agentTuningConfig;
         private SharedCircuitBreaker reviewCircuitBreaker;
+        private TokenBudgetConfig tokenBudgetConfig;
+        private CopilotRateLimiter rateLimiter;
 
         public Builder client(CopilotClient client) {
             this.client = client;
@@ -146,6 +211,11 @@ public record ReviewContext(
             return this;
         }
 
+        public Builder cachedCompressedSourceContent(CompressedText cachedCompressedSourceContent) {
+            this.cachedCompressedSourceContent = cachedCompressedSourceContent;
+            return this;
+        }
+
         public Builder localFileConfig(LocalFileConfig localFileConfig) {
             this.localFileConfig = localFileConfig;
             return this;
@@ -166,6 +236,16 @@ public record ReviewContext(
             return this;
         }
 
+        public Builder tokenBudgetConfig(TokenBudgetConfig tokenBudgetConfig) {
+            this.tokenBudgetConfig = tokenBudgetConfig;
+            return this;
+        }
+
+        public Builder rateLimiter(CopilotRateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
         public ReviewContext build() {
             Objects.requireNonNull(client, "client must not be null");
             Objects.requireNonNull(sharedScheduler, "sharedScheduler must not be null");
@@ -181,11 +261,13 @@ public record ReviewContext(
                 sharedSessionEnabled,
                 reasoningEffort,
                 outputConstraints,
-                new CachedResources(cachedMcpServers, cachedSourceContent),
+                new CachedResources(cachedMcpServers, cachedSourceContent, cachedCompressedSourceContent),
                 effectiveLocalFileConfig,
                 sharedScheduler,
                 agentTuningConfig,
-                reviewCircuitBreaker
+                reviewCircuitBreaker,
+                tokenBudgetConfig,
+                rateLimiter
             );
         }
 
@@ -7,11 +7,18 @@ import org.slf4j.LoggerFactory;
 ///
 /// Separates transport-independent message orchestration from session I/O,
 /// making fallback behavior testable without Copilot SDK dependencies.
+///
+/// Local review prompts are measured in estimated tokens before sending. A prompt above
+/// the model's context window fails fast instead of waiting for the model to reject it,
+/// and a prompt that leaves less than the response reserve is logged as a warning.
+///
+/// Prompts are handed to the {@link PromptSender} as {@link PromptSegments}, so the shared
+/// local source block is referenced rather than copied into a per-agent buffer.
 final class ReviewMessageFlow {
 
     @FunctionalInterface
     interface PromptSender {
-        String send(String prompt) throws Exception;
+        String send(PromptSegments prompt) throws Exception;
     }
 
     @FunctionalInterface
@@ -21,22 +28,29 @@ final class ReviewMessageFlow {
 
     private static final Logger logger = LoggerFactory.getLogger(ReviewMessageFlow.class);
 
+    private static final String SEGMENT_SEPARATOR = "\n\n";
+
     private final String agentName;
     private final String followUpPrompt;
     private final String localSourceHeaderPrompt;
     private final String localReviewResultPrompt;
-    private final int instructionBufferExtraCapacity;
+    private final int contextWindowTokens;
+    private final int promptTokenBudget;
 
+    /// @param contextWindowTokens context window of the agent's model (0 disables the check)
+    /// @param promptTokenBudget   prompt size that still leaves room for the response (0 disables the warning)
     ReviewMessageFlow(String agentName,
                       String followUpPrompt,
                       String localSourceHeaderPrompt,
                       String localReviewResultPrompt,
-                      int instructionBufferExtraCapacity) {
+                      int contextWindowTokens,
+                      int promptTokenBudget) {
         this.agentName = agentName;
         this.followUpPrompt = followUpPrompt;
         this.localSourceHeaderPrompt = localSourceHeaderPrompt;
         this.localReviewResultPrompt = localReviewResultPrompt;
-        this.instructionBufferExtraCapacity = instructionBufferExtraCapacity;
+        this.contextWindowTokens = contextWindowTokens;
+        this.promptTokenBudget = promptTokenBudget;
     }
 
     String execute(String instruction,
@@ -63,7 +77,7 @@ final class ReviewMessageFlow {
         }
 
         logger.info("Agent {}: primary send returned empty content. Sending follow-up prompt...", agentName);
-        String followUpContent = promptSender.send(followUpPrompt);
+        String followUpContent = promptSender.send(PromptSegments.of(followUpPrompt));
         if (responseEvaluator.hasContent(followUpContent)) {
             logger.info("Agent {}: follow-up prompt produced content ({} chars)",
                 agentName, followUpContent.length());
@@ -77,30 +91,39 @@ final class ReviewMessageFlow {
     private String sendForLocalReview(String instruction,
                                       String localSourceContent,
                                       PromptSender promptSender) throws Exception {
-        int estimatedPromptChars = instruction.length()
-            + localSourceHeaderPrompt.length()
-            + localSourceContent.length()
-            + localReviewResultPrompt.length()
-            + instructionBufferExtraCapacity;
-
-        logger.debug("Agent {}: local review combined prompt size estimate={} chars",
-            agentName, estimatedPromptChars);
-
-        String combinedPrompt = new StringBuilder(estimatedPromptChars)
-            .append(instruction)
-            .append("\n\n")
-            .append(localSourceHeaderPrompt)
-            .append("\n\n")
-            .append(localSourceContent)
-            .append("\n\n")
-            .append(localReviewResultPrompt)
-            .toString();
+        PromptSegments combinedPrompt = PromptSegments.of(
+            instruction,
+            SEGMENT_SEPARATOR,
+            localSourceHeaderPrompt,
+            SEGMENT_SEPARATOR,
+            localSourceContent,
+            SEGMENT_SEPARATOR,
+            localReviewResultPrompt
+        );
+        int estimatedPromptTokens = combinedPrompt.estimateTokens();
+
+        logger.debug("Agent {}: local review combined prompt size={} chars, ~{} tokens",
+            agentName, combinedPrompt.length(), estimatedPromptTokens);
+        checkTokenBudget(estimatedPromptTokens);
 
         return promptSender.send(combinedPrompt);
     }
 
+    private void checkTokenBudget(int estimatedPromptTokens) {
+        if (contextWindowTokens > 0 && estimatedPromptTokens > contextWindowTokens) {
+            throw new IllegalStateException(
+                "Local review prompt (~%d estimated tokens) exceeds the model context window (%d tokens)"
+                    .formatted(estimatedPromptTokens, contextWindowTokens));
+        }
+        if (promptTokenBudget > 0 && estimatedPromptTokens > promptTokenBudget) {
+            logger.warn("Agent {}: local review prompt (~{} tokens) leaves less than the response reserve "
+                    + "(prompt budget {} tokens); the review may be cut short",
+                agentName, estimatedPromptTokens, promptTokenBudget);
+        }
+    }
+
     private String sendForRemoteReview(String instruction,
                                        PromptSender promptSender) throws Exception {
-        return promptSender.send(instruction);
+        return promptSender.send(PromptSegments.of(instruction));
     }
 }
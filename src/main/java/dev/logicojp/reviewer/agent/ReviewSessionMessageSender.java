@@ -4,8 +4,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
 
 /// Sends a prompt and collects session output with activity-based timeout control.
+///
+/// The prompt is materialized only for the duration of the send action; the resulting
+/// `String` is not referenced while waiting for the response. The longest time without session
+/// events is reported to the {@link SessionTimingListener}.
 final class ReviewSessionMessageSender {
 
     @FunctionalInterface
@@ -33,29 +38,55 @@ final class ReviewSessionMessageSender {
     private final String agentName;
     private final int maxAccumulatedSize;
     private final int initialAccumulatedCapacity;
+    private final SessionTimingListener timingListener;
+    private final LongSupplier clockMillisSupplier;
 
     ReviewSessionMessageSender(String agentName, int maxAccumulatedSize, int initialAccumulatedCapacity) {
+        this(agentName, maxAccumulatedSize, initialAccumulatedCapacity, SessionTimingListener.NONE,
+            System::currentTimeMillis);
+    }
+
+    ReviewSessionMessageSender(String agentName,
+                               int maxAccumulatedSize,
+                               int initialAccumulatedCapacity,
+                               SessionTimingListener timingListener,
+                               LongSupplier clockMillisSupplier) {
         this.agentName = agentName;
         this.maxAccumulatedSize = maxAccumulatedSize;
         this.initialAccumulatedCapacity = initialAccumulatedCapacity;
+        this.timingListener = timingListener;
+        this.clockMillisSupplier = clockMillisSupplier;
     }
 
-    String sendWithActivityTimeout(String prompt,
+    String sendWithActivityTimeout(PromptSegments prompt,
                                    long maxTimeoutMs,
                                    PromptSendAction sendAction,
                                    EventRegistrar eventRegistrar,
                                    IdleTaskScheduler idleTaskScheduler) throws Exception {
-        var collector = new ContentCollector(agentName, System::currentTimeMillis,
+        var collector = new ContentCollector(agentName, clockMillisSupplier,
             maxAccumulatedSize, initialAccumulatedCapacity);
         var subscriptions = eventRegistrar.register(collector);
         var idleTask = idleTaskScheduler.schedule(collector);
         try {
-            sendAction.send(prompt);
+            sendAction.send(prompt.materialize());
             return collector.awaitResult(maxTimeoutMs);
         } catch (TimeoutException e) {
             return handleTimeout(collector, e);
         } finally {
             cleanup(idleTask, subscriptions);
+            reportLongestEventGap(collector);
+        }
+    }
+
+    private void reportLongestEventGap(ContentCollector collector) {
+        long longestGap = collector.getLongestActivityGap();
+        if (longestGap < 0) {
+            return;
+        }
+        try {
+            timingListener.longestEventGap(longestGap);
+        } catch (RuntimeException e) {
+            logger.debug("Agent {}: session timing listener failed: {}", agentName, e.getMessage(), e);
         }
     }
 
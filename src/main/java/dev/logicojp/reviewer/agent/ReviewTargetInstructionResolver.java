@@ -1,12 +1,16 @@
 package dev.logicojp.reviewer.agent;
 
 import dev.logicojp.reviewer.config.LocalFileConfig;
+import dev.logicojp.reviewer.target.ArchiveSourceProvider;
+import dev.logicojp.reviewer.target.GitRevisionSourceProvider;
+import dev.logicojp.reviewer.target.LocalChangeScope;
 import dev.logicojp.reviewer.target.LocalFileProvider;
 import dev.logicojp.reviewer.target.ReviewTarget;
 import io.micronaut.core.annotation.Nullable;
 
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.function.Supplier;
 
 final class ReviewTargetInstructionResolver {
 
@@ -36,8 +40,13 @@ final class ReviewTargetInstructionResolver {
                                 @Nullable String cachedSourceContent,
                                 @Nullable Map<String, Object> cachedMcpServers) {
         return switch (target) {
-            case ReviewTarget.LocalTarget(Path directory) ->
-                resolveLocalInstruction(target, directory, cachedSourceContent);
+            case ReviewTarget.LocalTarget(Path directory, LocalChangeScope changeScope) ->
+                resolveLocalInstruction(target, directory, changeScope, cachedSourceContent);
+            case ReviewTarget.ArchiveTarget(Path archive) -> resolveCollectedInstruction(target, cachedSourceContent,
+                () -> new ArchiveSourceProvider(archive, localFileConfig).collectAndGenerate());
+            case ReviewTarget.CommitTarget(Path directory, String commit) -> resolveCollectedInstruction(target,
+                cachedSourceContent,
+                () -> new GitRevisionSourceProvider(directory, commit, localFileConfig).collectAndGenerate());
             case ReviewTarget.GitHubTarget(String repository) ->
                 resolveGitHubInstruction(repository, cachedMcpServers);
         };
@@ -45,22 +54,37 @@ final class ReviewTargetInstructionResolver {
 
     private ResolvedInstruction resolveLocalInstruction(ReviewTarget target,
                                                         Path directory,
+                                                        @Nullable LocalChangeScope changeScope,
                                                         @Nullable String cachedSourceContent) {
-        String sourceContent = resolveLocalSourceContent(directory, cachedSourceContent);
+        String sourceContent = resolveLocalSourceContent(directory, changeScope, cachedSourceContent);
         String instruction = AgentPromptBuilder.buildLocalInstructionBase(config, target.displayName());
         return new ResolvedInstruction(instruction, sourceContent, null);
     }
 
-    private String resolveLocalSourceContent(Path directory, @Nullable String cachedSourceContent) {
+    private String resolveLocalSourceContent(Path directory,
+                                             @Nullable LocalChangeScope changeScope,
+                                             @Nullable String cachedSourceContent) {
         if (cachedSourceContent != null) {
             return cachedSourceContent;
         }
-        LocalFileProvider fileProvider = new LocalFileProvider(directory, localFileConfig);
+        LocalFileProvider fileProvider = new LocalFileProvider(directory, localFileConfig, changeScope);
         var collectionResult = fileProvider.collectAndGenerate();
         localSourceComputedListener.onComputed();
         return collectionResult.reviewContent();
     }
 
+    private ResolvedInstruction resolveCollectedInstruction(ReviewTarget target,
+                                                            @Nullable String cachedSourceContent,
+                                                            Supplier<LocalFileProvider.CollectionResult> collector) {
+        String sourceContent = cachedSourceContent;
+        if (sourceContent == null) {
+            sourceContent = collector.get().reviewContent();
+            localSourceComputedListener.onComputed();
+        }
+        String instruction = AgentPromptBuilder.buildLocalInstructionBase(config, target.displayName());
+        return new ResolvedInstruction(instruction, sourceContent, null);
+    }
+
     private ResolvedInstruction resolveGitHubInstruction(String repository,
                                                          @Nullable Map<String, Object> cachedMcpServers) {
         return new ResolvedInstruction(AgentPromptBuilder.buildInstruction(config, repository), null, cachedMcpServers);
@@ -0,0 +1,18 @@
+package dev.logicojp.reviewer.agent;
+
+/// Receives the longest time a session went without events while answering a prompt, i.e. how
+/// close the prompt came to the idle timeout.
+///
+/// Called on the thread that sent the prompt, once per prompt that received any event, so
+/// implementations shared by concurrent sessions must be thread-safe. Exceptions are logged and
+/// do not affect the review.
+@FunctionalInterface
+public interface SessionTimingListener {
+
+    /// A listener that ignores timings.
+    SessionTimingListener NONE = _ -> {
+    };
+
+    /// @param gapMillis Longest time between two session events, or before the first one
+    void longestEventGap(long gapMillis);
+}
@@ -13,6 +13,7 @@ public final class CliUsage {
 
             Commands:
                 run    Execute a multi-agent code review
+                watch  Re-review changed local files continuously
                 list   List available agents
                 skill  Execute a specific agent skill
 
@@ -34,6 +35,10 @@ public final class CliUsage {
                 Target options (required):
                     -r, --repo <owner/repo>     Target GitHub repository
                     -l, --local <path>          Target local directory
+                    --archive <path>            Target .zip/.jar/.war/.tar/.tar.gz/.tgz archive (read without extracting)
+                    --since <ref>               With --local: review only files changed since a git revision
+                    --context-lines <n>         With --since: include only changed hunks plus n lines of context
+                    --commit <rev>              With --local: review a git commit without checking it out
 
                 Agent options (required):
                     --all                       Run all available agents
@@ -53,6 +58,18 @@ public final class CliUsage {
                 """);
     }
 
+     static void printWatch(CliOutput output) {
+            output.out().print("""
+                Usage: review watch --local <path> [options]
+
+                Watches a local directory and reviews each batch of changed files with the
+                agents whose file routing rules match them. Runs until interrupted (Ctrl+C).
+
+                Accepts the 'review run' options (except --repo, --since and --context-lines), plus:
+                    --debounce-ms <n>           Quiet period before a batch of changes is reviewed (default: 1000)
+                """);
+    }
+
      static void printList(CliOutput output) {
         output.out().print("""
                 Usage: review list [options]
@@ -2,8 +2,10 @@ package dev.logicojp.reviewer.cli;
 
 import dev.logicojp.reviewer.agent.AgentConfig;
 import dev.logicojp.reviewer.config.ModelConfig;
+import dev.logicojp.reviewer.target.LocalChangeScope;
 import dev.logicojp.reviewer.target.ReviewTarget;
 import dev.logicojp.reviewer.util.SecurityAuditLogger;
+import io.micronaut.core.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
@@ -42,7 +44,13 @@ public class ReviewCommand {
     /// Target selection — sealed interface for type-safe exclusive choice.
     sealed interface TargetSelection {
         record Repository(String repository) implements TargetSelection {}
-        record LocalDirectory(Path directory) implements TargetSelection {}
+        record LocalDirectory(Path directory, @Nullable LocalChangeScope changeScope) implements TargetSelection {
+            LocalDirectory(Path directory) {
+                this(directory, null);
+            }
+        }
+        record Archive(Path archive) implements TargetSelection {}
+        record Commit(Path directory, String revision) implements TargetSelection {}
     }
 
     /// Agent selection — sealed interface for type-safe exclusive choice.
@@ -1,6 +1,7 @@
 package dev.logicojp.reviewer.cli;
 
 import dev.logicojp.reviewer.config.ExecutionConfig;
+import dev.logicojp.reviewer.target.LocalChangeScope;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
@@ -38,7 +39,7 @@ class ReviewOptionsParser {
     }
 
     private ReviewCommand.ParsedOptions toParsedOptions(ParseState state) {
-        ReviewCommand.TargetSelection target = validateTargetSelection(state.repository, state.localDirectory);
+        ReviewCommand.TargetSelection target = validateTargetSelection(state);
         ReviewCommand.AgentSelection agents = validateAgentSelection(state.allAgents, state.agentNames);
         return ReviewCommand.ParsedOptions.builder()
             .target(target)
@@ -60,6 +61,10 @@ class ReviewOptionsParser {
     private static class ParseState {
         private String repository;
         private Path localDirectory;
+        private Path archive;
+        private String commitRef;
+        private String sinceRef;
+        private Integer contextLines;
         private boolean allAgents;
         private final List<String> agentNames = new ArrayList<>();
         private Path outputDirectory = Path.of("./reports");
@@ -111,6 +116,11 @@ class ReviewOptionsParser {
         return switch (arg) {
             case "-r", "--repo" -> OptionalInt.of(CliParsing.readInto(args, i, "--repo", v -> state.repository = v));
             case "-l", "--local" -> OptionalInt.of(CliParsing.readInto(args, i, "--local", v -> state.localDirectory = Path.of(v)));
+            case "--archive" -> OptionalInt.of(CliParsing.readInto(args, i, "--archive", v -> state.archive = Path.of(v)));
+            case "--since" -> OptionalInt.of(CliParsing.readInto(args, i, "--since", v -> state.sinceRef = v));
+            case "--commit" -> OptionalInt.of(CliParsing.readInto(args, i, "--commit", v -> state.commitRef = v));
+            case "--context-lines" -> OptionalInt.of(CliParsing.readInto(args, i, "--context-lines",
+                v -> state.contextLines = parseInt(v, "--context-lines")));
             default -> OptionalInt.empty();
         };
     }
@@ -174,18 +184,69 @@ class ReviewOptionsParser {
         };
     }
 
-    private static ReviewCommand.TargetSelection validateTargetSelection(String repository, Path localDirectory) {
+    private static ReviewCommand.TargetSelection validateTargetSelection(ParseState state) {
+        String repository = state.repository;
+        Path localDirectory = state.localDirectory;
         boolean hasRepo = repository != null && !repository.isBlank();
         boolean hasLocal = localDirectory != null;
-        if (!hasRepo && !hasLocal) {
-            throw new CliValidationException("Either --repo or --local must be specified.", true);
+        boolean hasArchive = state.archive != null;
+        if (!hasRepo && !hasLocal && !hasArchive) {
+            throw new CliValidationException("Either --repo, --local or --archive must be specified.", true);
         }
         if (hasRepo && hasLocal) {
             throw new CliValidationException("Specify either --repo or --local (not both).", true);
         }
-        return hasRepo
-            ? new ReviewCommand.TargetSelection.Repository(repository)
-            : new ReviewCommand.TargetSelection.LocalDirectory(localDirectory);
+        if (hasArchive && (hasRepo || hasLocal)) {
+            throw new CliValidationException("--archive cannot be combined with --repo or --local.", true);
+        }
+        if (!hasLocal && state.sinceRef != null) {
+            throw new CliValidationException("--since requires --local.", true);
+        }
+        if (state.commitRef != null) {
+            return validateCommitSelection(state, hasLocal);
+        }
+        if (hasRepo) {
+            return new ReviewCommand.TargetSelection.Repository(repository);
+        }
+        if (hasArchive) {
+            if (state.contextLines != null) {
+                throw new CliValidationException("--context-lines requires --since.", true);
+            }
+            return new ReviewCommand.TargetSelection.Archive(state.archive);
+        }
+        return new ReviewCommand.TargetSelection.LocalDirectory(localDirectory, validateChangeScope(state));
+    }
+
+    private static ReviewCommand.TargetSelection validateCommitSelection(ParseState state, boolean hasLocal) {
+        if (!hasLocal) {
+            throw new CliValidationException("--commit requires --local.", true);
+        }
+        if (state.sinceRef != null || state.contextLines != null) {
+            throw new CliValidationException("--commit cannot be combined with --since or --context-lines.", true);
+        }
+        if (state.commitRef.isBlank() || state.commitRef.startsWith("-")) {
+            throw new CliValidationException("Invalid git revision for --commit: " + state.commitRef, true);
+        }
+        return new ReviewCommand.TargetSelection.Commit(state.localDirectory, state.commitRef);
+    }
+
+    private static LocalChangeScope validateChangeScope(ParseState state) {
+        if (state.sinceRef == null) {
+            if (state.contextLines != null) {
+                throw new CliValidationException("--context-lines requires --since.", true);
+            }
+            return null;
+        }
+        if (state.contextLines != null && state.contextLines < 0) {
+            throw new CliValidationException("--context-lines must be zero or greater.", true);
+        }
+        try {
+            return state.contextLines != null
+                ? new LocalChangeScope(state.sinceRef, state.contextLines)
+                : new LocalChangeScope(state.sinceRef);
+        } catch (IllegalArgumentException e) {
+            throw new CliValidationException(e.getMessage(), true);
+        }
     }
 
     private static ReviewCommand.AgentSelection validateAgentSelection(boolean allAgents, List<String> agentNames) {
@@ -59,6 +59,13 @@ class ReviewPreparationService {
         return new PreparedData(outputDirectory, invocationTimestamp);
     }
 
+    /// Like {@link #prepare}, but without printing the banner; used for the repeated runs of
+    /// `review watch`, each of which gets its own timestamped output directory.
+    public PreparedData prepareSilently(ReviewCommand.ParsedOptions options, ReviewTarget target) {
+        String invocationTimestamp = LocalDateTime.now(clock).format(OUTPUT_TIMESTAMP_FORMATTER);
+        return new PreparedData(resolveOutputDirectory(options, target, invocationTimestamp), invocationTimestamp);
+    }
+
     private Path resolveOutputDirectory(ReviewCommand.ParsedOptions options,
                                         ReviewTarget target,
                                         String invocationTimestamp) {
@@ -1,6 +1,7 @@
 package dev.logicojp.reviewer.cli;
 
 import dev.logicojp.reviewer.agent.AgentConfig;
+import dev.logicojp.reviewer.orchestrator.AgentCompletionListener;
 import dev.logicojp.reviewer.report.core.ReviewResult;
 import dev.logicojp.reviewer.report.finding.ReviewFindingParser;
 import dev.logicojp.reviewer.report.merger.ReviewOverallSummaryAppender;
@@ -8,6 +9,7 @@ import dev.logicojp.reviewer.report.merger.ReviewResultMerger;
 import dev.logicojp.reviewer.service.ReportService;
 import dev.logicojp.reviewer.service.ReviewService;
 import dev.logicojp.reviewer.target.ReviewTarget;
+import io.micronaut.core.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
@@ -20,9 +22,16 @@ import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /// Executes the review run lifecycle: review execution, report generation, summary generation.
+///
+/// Each agent's pass reports and merged report are written as soon as that agent finishes, so
+/// finished reports can be read while slower agents are still running; only the executive
+/// summary waits for all agents. Agents whose reports could not be written then are written
+/// after the run.
 @Singleton
 class ReviewRunExecutor {
 
@@ -32,6 +41,14 @@ class ReviewRunExecutor {
     @FunctionalInterface
     interface ReviewRunner {
         List<ReviewResult> run(String resolvedToken, ReviewRunRequest context);
+
+        /// Runs like {@link #run(String, ReviewRunRequest)}, reporting agents to
+        /// `completionListener` as they finish. Runners that cannot stream report nothing.
+        default List<ReviewResult> run(String resolvedToken,
+                                       ReviewRunRequest context,
+                                       AgentCompletionListener completionListener) {
+            return run(resolvedToken, context);
+        }
     }
 
     @FunctionalInterface
@@ -62,15 +79,7 @@ class ReviewRunExecutor {
             reportService,
             outputFormatter,
             output,
-            (resolvedToken, context) -> reviewService.executeReviews(
-                context.agentConfigs(),
-                context.target(),
-                resolvedToken,
-                context.parallelism(),
-                context.reasoningEffort(),
-                context.noSharedSession(),
-                context.invocationTimestamp()
-            ),
+            new ServiceReviewRunner(reviewService),
             reportService::generateReports,
             (results, context) -> reportService.generateSummary(
                 results,
@@ -99,14 +108,18 @@ class ReviewRunExecutor {
     public int execute(String resolvedToken, ReviewRunRequest context) {
         try {
             output.println("Starting reviews...");
-            List<ReviewResult> passResults = executeReviews(resolvedToken, context);
+            var agentReportWriter = new AgentReportWriter(context.outputDirectory());
+            List<ReviewResult> passResults = reviewRunner.run(resolvedToken, context, agentReportWriter);
             List<ReviewResult> sanitizedPassResults = sanitizePassResults(passResults);
-            generatePassReports(sanitizedPassResults, context.outputDirectory());
+            List<ReviewResult> finalResults = finalizeResults(sanitizedPassResults);
 
-            List<ReviewResult> mergedResults = ReviewResultMerger.mergeByAgent(sanitizedPassResults);
-            List<ReviewResult> finalResults = ReviewOverallSummaryAppender.appendToMergedResults(mergedResults);
-
-            generateFinalOutputs(finalResults, context);
+            Set<String> writtenAgents = agentReportWriter.writtenAgents();
+            List<ReviewResult> remainingPassResults = notWrittenYet(sanitizedPassResults, writtenAgents);
+            if (!remainingPassResults.isEmpty()) {
+                generatePassReports(remainingPassResults, context.outputDirectory());
+                generateReports(notWrittenYet(finalResults, writtenAgents), context.outputDirectory());
+            }
+            generateSummaryIfEnabled(finalResults, context);
 
             outputFormatter.printCompletionSummary(finalResults, context.outputDirectory());
             return ExitCodes.OK;
@@ -115,13 +128,17 @@ class ReviewRunExecutor {
         }
     }
 
-    private List<ReviewResult> executeReviews(String resolvedToken, ReviewRunRequest context) {
-        return reviewRunner.run(resolvedToken, context);
+    private static List<ReviewResult> finalizeResults(List<ReviewResult> sanitizedPassResults) {
+        List<ReviewResult> mergedResults = ReviewResultMerger.mergeByAgent(sanitizedPassResults);
+        return ReviewOverallSummaryAppender.appendToMergedResults(mergedResults);
     }
 
-    private void generateFinalOutputs(List<ReviewResult> results, ReviewRunRequest context) {
-        generateReports(results, context.outputDirectory());
-        generateSummaryIfEnabled(results, context);
+    private static List<ReviewResult> notWrittenYet(List<ReviewResult> results, Set<String> writtenAgents) {
+        return results.stream()
+            .filter(result -> result == null
+                || result.agentConfig() == null
+                || !writtenAgents.contains(result.agentConfig().name()))
+            .toList();
     }
 
     private void generatePassReports(List<ReviewResult> passResults, Path outputDirectory) {
@@ -193,6 +210,72 @@ class ReviewRunExecutor {
         }
     }
 
+    /// Writes the pass reports and the merged report of each agent as it finishes.
+    private final class AgentReportWriter implements AgentCompletionListener {
+
+        private final Path outputDirectory;
+        private final Set<String> writtenAgents = ConcurrentHashMap.newKeySet();
+
+        private AgentReportWriter(Path outputDirectory) {
+            this.outputDirectory = outputDirectory;
+        }
+
+        @Override
+        public void agentCompleted(AgentConfig agent, List<ReviewResult> passResults) {
+            List<ReviewResult> sanitizedPassResults = sanitizePassResults(passResults);
+            try {
+                List<Path> passReports = reportsGenerator.generate(sanitizedPassResults,
+                    outputDirectory.resolve(CHECKPOINTS_DIR).resolve(PASS_REPORTS_DIR));
+                List<Path> reports = reportsGenerator.generate(finalizeResults(sanitizedPassResults), outputDirectory);
+                writtenAgents.add(agent.name());
+                printWritten(agent, passReports, reports);
+            } catch (IOException | UncheckedIOException e) {
+                logger.warn("Reports for agent {} will be written after all agents finish: {}",
+                    agent.name(), e.getMessage(), e);
+            }
+        }
+
+        private synchronized void printWritten(AgentConfig agent, List<Path> passReports, List<Path> reports) {
+            output.println("\nAgent " + agent.name() + " finished:");
+            for (Path report : passReports) {
+                output.println("  ✓ " + report.getFileName());
+            }
+            for (Path report : reports) {
+                output.println("  ✓ " + report.getFileName());
+            }
+        }
+
+        private Set<String> writtenAgents() {
+            return Set.copyOf(writtenAgents);
+        }
+    }
+
+    /// Runs the reviews through {@link ReviewService}, streaming agent completions.
+    private record ServiceReviewRunner(ReviewService reviewService) implements ReviewRunner {
+
+        @Override
+        public List<ReviewResult> run(String resolvedToken, ReviewRunRequest context) {
+            return run(resolvedToken, context, AgentCompletionListener.NONE);
+        }
+
+        @Override
+        public List<ReviewResult> run(String resolvedToken,
+                                      ReviewRunRequest context,
+                                      AgentCompletionListener completionListener) {
+            return reviewService.executeReviews(
+                context.agentConfigs(),
+                context.target(),
+                resolvedToken,
+                context.parallelism(),
+                context.reasoningEffort(),
+                context.noSharedSession(),
+                context.invocationTimestamp(),
+                completionListener,
+                context.runHistoryFile()
+            );
+        }
+    }
+
     private void cleanupCheckpoints(Path outputDirectory) {
         Path checkpointsDirectory = outputDirectory.resolve(CHECKPOINTS_DIR);
         if (!Files.exists(checkpointsDirectory)) {
@@ -224,8 +307,22 @@ class ReviewRunExecutor {
         int parallelism,
         boolean noSummary,
         boolean noSharedSession,
-        Path outputDirectory
+        Path outputDirectory,
+        @Nullable Path runHistoryFile
     ) {
+        public ReviewRunRequest(ReviewTarget target,
+                                String summaryModel,
+                                String reasoningEffort,
+                                String invocationTimestamp,
+                                Map<String, AgentConfig> agentConfigs,
+                                int parallelism,
+                                boolean noSummary,
+                                boolean noSharedSession,
+                                Path outputDirectory) {
+            this(target, summaryModel, reasoningEffort, invocationTimestamp, agentConfigs, parallelism,
+                noSummary, noSharedSession, outputDirectory, null);
+        }
+
         @Override
         public String toString() {
             return "ReviewRunRequest{target=%s, summaryModel='%s', reasoningEffort='%s', invocationTimestamp='%s', parallelism=%d, noSummary=%s, noSharedSession=%s, outputDirectory=%s}"
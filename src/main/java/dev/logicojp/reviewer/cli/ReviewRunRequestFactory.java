@@ -11,6 +11,9 @@ import java.util.Map;
 @Singleton
 class ReviewRunRequestFactory {
 
+    /// Run history used for adaptive timeouts, shared by all runs under the same output root.
+    static final Path RUN_HISTORY_FILE = Path.of(".history", "run-history.tsv");
+
     public ReviewRunExecutor.ReviewRunRequest create(
         ReviewCommand.ParsedOptions options,
         ReviewTarget target,
@@ -34,7 +37,8 @@ class ReviewRunRequestFactory {
             parallelism,
             noSummary,
             noSharedSession,
-            outputDirectory
+            outputDirectory,
+            options.outputDirectory().resolve(RUN_HISTORY_FILE)
         );
     }
 
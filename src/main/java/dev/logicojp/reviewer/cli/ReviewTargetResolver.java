@@ -1,5 +1,8 @@
 package dev.logicojp.reviewer.cli;
 
+import dev.logicojp.reviewer.target.ArchiveSourceProvider;
+import dev.logicojp.reviewer.target.GitRevisionSourceProvider;
+import dev.logicojp.reviewer.target.LocalChangeScope;
 import dev.logicojp.reviewer.target.ReviewTarget;
 import dev.logicojp.reviewer.util.GitHubTokenResolver;
 import io.micronaut.core.annotation.Nullable;
@@ -30,8 +33,11 @@ class ReviewTargetResolver {
         return switch (targetSelection) {
             case ReviewCommand.TargetSelection.Repository(String repository) ->
                 resolveRepositoryTarget(repository, githubToken);
-            case ReviewCommand.TargetSelection.LocalDirectory(Path localDir) ->
-                resolveLocalTarget(localDir);
+            case ReviewCommand.TargetSelection.LocalDirectory(Path localDir, LocalChangeScope changeScope) ->
+                resolveLocalTarget(localDir, changeScope);
+            case ReviewCommand.TargetSelection.Archive(Path archive) -> resolveArchiveTarget(archive);
+            case ReviewCommand.TargetSelection.Commit(Path localDir, String revision) ->
+                resolveCommitTarget(localDir, revision);
         };
     }
 
@@ -54,10 +60,38 @@ class ReviewTargetResolver {
         return tokenResolver.resolve(githubToken).orElse(null);
     }
 
-    private TargetAndToken resolveLocalTarget(Path localDir) {
+    private TargetAndToken resolveLocalTarget(Path localDir, @Nullable LocalChangeScope changeScope) {
         Path localPath = localDir.toAbsolutePath();
         validateLocalDirectory(localPath);
-        return new TargetAndToken(ReviewTarget.local(localPath), null);
+        ReviewTarget target = changeScope != null
+            ? ReviewTarget.localChanges(localPath, changeScope)
+            : ReviewTarget.local(localPath);
+        return new TargetAndToken(target, null);
+    }
+
+    private TargetAndToken resolveArchiveTarget(Path archive) {
+        Path archivePath = archive.toAbsolutePath();
+        if (!Files.isRegularFile(archivePath)) {
+            throw new CliValidationException("Archive does not exist or is not a file: " + archivePath, true);
+        }
+        if (!ArchiveSourceProvider.isSupportedArchive(archivePath)) {
+            throw new CliValidationException(
+                "Unsupported archive type: " + archivePath + " (expected .zip, .jar, .war, .tar, .tar.gz or .tgz)",
+                true);
+        }
+        return new TargetAndToken(ReviewTarget.archive(archivePath), null);
+    }
+
+    /// Pins the revision to a full commit id, so every agent reads the same commit.
+    private TargetAndToken resolveCommitTarget(Path localDir, String revision) {
+        Path localPath = localDir.toAbsolutePath();
+        validateLocalDirectory(localPath);
+        try {
+            String commit = GitRevisionSourceProvider.resolveCommit(localPath, revision);
+            return new TargetAndToken(ReviewTarget.commit(localPath, commit), null);
+        } catch (IllegalArgumentException e) {
+            throw new CliValidationException(e.getMessage(), true);
+        }
     }
 
     private void validateLocalDirectory(Path localPath) {
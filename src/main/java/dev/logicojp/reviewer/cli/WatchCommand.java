@@ -0,0 +1,243 @@
+package dev.logicojp.reviewer.cli;
+
+import dev.logicojp.reviewer.agent.AgentConfig;
+import dev.logicojp.reviewer.config.LocalFileConfig;
+import dev.logicojp.reviewer.config.ModelConfig;
+import dev.logicojp.reviewer.service.CopilotService;
+import dev.logicojp.reviewer.target.LocalChangeScope;
+import dev.logicojp.reviewer.target.LocalDirectoryWatcher;
+import dev.logicojp.reviewer.target.LocalFileProvider;
+import dev.logicojp.reviewer.target.ReviewTarget;
+import dev.logicojp.reviewer.util.SecurityAuditLogger;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/// Continuously reviews a local directory: `review watch --local <dir>`.
+///
+/// The Copilot client, agent definitions and model settings are resolved once and kept for
+/// the whole session. Each batch of changed files (debounced, see {@link LocalDirectoryWatcher})
+/// is reviewed by the agents whose file routing rules match at least one of the files, with the
+/// review restricted to those files. Every batch writes its reports to its own timestamped
+/// output directory, like a `review run`. Changes under the output root (which also holds the
+/// run history and checkpoints) are ignored, so the reports of one batch never trigger the next.
+/// The command runs until it is interrupted.
+@Singleton
+public class WatchCommand {
+
+    private static final Logger logger = LoggerFactory.getLogger(WatchCommand.class);
+
+    private final ModelConfig defaultModelConfig;
+    private final ReviewModelConfigResolver modelConfigResolver;
+    private final WatchOptionsParser optionsParser;
+    private final ReviewTargetResolver targetResolver;
+    private final ReviewAgentConfigResolver agentConfigResolver;
+    private final ReviewPreparationService preparationService;
+    private final ReviewRunRequestFactory runRequestFactory;
+    private final ReviewRunExecutor runExecutor;
+    private final CopilotService copilotService;
+    private final LocalFileConfig localFileConfig;
+    private final CliOutput output;
+
+    /// Parsed options of a watch session.
+    /// @param review   The `review run` options applied to every batch
+    /// @param debounce Quiet period after the last change before a batch is reviewed
+    record WatchOptions(ReviewCommand.ParsedOptions review, Duration debounce) {
+        WatchOptions {
+            Objects.requireNonNull(review, "review must not be null");
+            debounce = debounce != null ? debounce : WatchOptionsParser.DEFAULT_DEBOUNCE;
+        }
+    }
+
+    /// Everything resolved once at the start of a session.
+    private record Session(ReviewCommand.ParsedOptions options,
+                           Path directory,
+                           Path outputRoot,
+                           String resolvedToken,
+                           ModelConfig modelConfig,
+                           Map<String, AgentConfig> agentConfigs) {
+    }
+
+    @Inject
+    public WatchCommand(
+        ModelConfig defaultModelConfig,
+        ReviewModelConfigResolver modelConfigResolver,
+        WatchOptionsParser optionsParser,
+        ReviewTargetResolver targetResolver,
+        ReviewAgentConfigResolver agentConfigResolver,
+        ReviewPreparationService preparationService,
+        ReviewRunRequestFactory runRequestFactory,
+        ReviewRunExecutor runExecutor,
+        CopilotService copilotService,
+        LocalFileConfig localFileConfig,
+        CliOutput output
+    ) {
+        this.defaultModelConfig = defaultModelConfig;
+        this.modelConfigResolver = modelConfigResolver;
+        this.optionsParser = optionsParser;
+        this.targetResolver = targetResolver;
+        this.agentConfigResolver = agentConfigResolver;
+        this.preparationService = preparationService;
+        this.runRequestFactory = runRequestFactory;
+        this.runExecutor = runExecutor;
+        this.copilotService = copilotService;
+        this.localFileConfig = localFileConfig;
+        this.output = output;
+    }
+
+    public int execute(String[] args) {
+        return CommandExecutor.execute(
+            args,
+            this::parseArgs,
+            this::executeInternal,
+            CliUsage::printWatch,
+            logger,
+            output
+        );
+    }
+
+    private Optional<WatchOptions> parseArgs(String[] args) {
+        return optionsParser.parse(args);
+    }
+
+    private int executeInternal(WatchOptions watchOptions) {
+        ReviewCommand.ParsedOptions options = watchOptions.review();
+        ReviewTargetResolver.TargetAndToken targetAndToken =
+            targetResolver.resolve(options.target(), options.githubToken());
+        ReviewTarget target = targetAndToken.target();
+        ReviewAgentConfigResolver.AgentResolution agentResolution = agentConfigResolver.resolve(options);
+        if (agentResolution.agentConfigs().isEmpty()) {
+            output.errorln("Error: No agents found. Check the agents directories:");
+            for (Path dir : agentResolution.agentDirectories()) {
+                output.errorln("  - " + dir);
+            }
+            return ExitCodes.SOFTWARE;
+        }
+        ModelConfig modelConfig = modelConfigResolver.resolve(
+            defaultModelConfig,
+            options.defaultModel(),
+            options.reviewModel(),
+            options.reportModel(),
+            options.summaryModel()
+        );
+        var session = new Session(options, target.localPath().orElseThrow(),
+            options.outputDirectory().toAbsolutePath().normalize(), targetAndToken.resolvedToken(),
+            modelConfig, agentResolution.agentConfigs());
+        logWatchAuditEvent(target, options.trustTarget());
+
+        return LifecycleRunner.executeWithLifecycle(
+            () -> copilotService.initializeOrThrow(session.resolvedToken()),
+            () -> watch(session, watchOptions.debounce()),
+            copilotService::shutdown
+        );
+    }
+
+    private int watch(Session session, Duration debounce) {
+        try (var watcher = new LocalDirectoryWatcher(
+                session.directory(), localFileConfig, debounce, List.of(session.outputRoot()))) {
+            output.println("Watching " + session.directory() + " with " + session.agentConfigs().size()
+                + " agents. Press Ctrl+C to stop.");
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<String> changed = watcher.awaitChanges();
+                reviewChanges(session, changed);
+            }
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to watch directory: " + session.directory(), e);
+        }
+        output.println("Watch stopped.");
+        return ExitCodes.OK;
+    }
+
+    private void reviewChanges(Session session, Set<String> changed) throws InterruptedException {
+        List<String> reviewable = new LocalFileProvider(session.directory(), localFileConfig)
+            .selectReviewablePaths(excludeOutputFiles(changed, session.directory(), session.outputRoot()));
+        if (reviewable.isEmpty()) {
+            logger.debug("Ignoring changes without reviewable files: {}", changed);
+            return;
+        }
+        Map<String, AgentConfig> affectedAgents = selectAffectedAgents(session.agentConfigs(), reviewable);
+        output.println("\nChanged: " + String.join(", ", reviewable));
+        if (affectedAgents.isEmpty()) {
+            output.println("No agent reviews these files; waiting for further changes.");
+            return;
+        }
+
+        ReviewTarget target = ReviewTarget.localChanges(session.directory(), LocalChangeScope.ofFiles(reviewable));
+        try {
+            copilotService.ensureHealthyOrReinitialize(session.resolvedToken());
+            ReviewPreparationService.PreparedData prepared =
+                preparationService.prepareSilently(session.options(), target);
+            ReviewRunExecutor.ReviewRunRequest runRequest = runRequestFactory.create(
+                session.options(),
+                target,
+                session.modelConfig(),
+                affectedAgents,
+                prepared.outputDirectory(),
+                prepared.invocationTimestamp()
+            );
+            runExecutor.execute(session.resolvedToken(), runRequest);
+        } catch (RuntimeException e) {
+            // A failed batch must not end the session; the next change triggers a new review.
+            logger.error("Review of changed files failed: {}", e.getMessage(), e);
+            output.errorln("Review of changed files failed: " + e.getMessage());
+        }
+    }
+
+    /// Returns `changedFiles` without the files under `outputRoot`, when it lies inside `directory`.
+    static Set<String> excludeOutputFiles(Set<String> changedFiles, Path directory, Path outputRoot) {
+        Path baseDirectory = directory.toAbsolutePath().normalize();
+        Path excluded = outputRoot.toAbsolutePath().normalize();
+        if (!excluded.startsWith(baseDirectory) || excluded.equals(baseDirectory)) {
+            return changedFiles;
+        }
+        Set<String> remaining = new LinkedHashSet<>();
+        for (String changedFile : changedFiles) {
+            if (!baseDirectory.resolve(changedFile).normalize().startsWith(excluded)) {
+                remaining.add(changedFile);
+            }
+        }
+        return remaining;
+    }
+
+    /// Returns the agents whose file routing rules route at least one of `changedFiles`,
+    /// in their original order.
+    static Map<String, AgentConfig> selectAffectedAgents(Map<String, AgentConfig> agentConfigs,
+                                                         Collection<String> changedFiles) {
+        Map<String, AgentConfig> affected = new LinkedHashMap<>();
+        for (Map.Entry<String, AgentConfig> entry : agentConfigs.entrySet()) {
+            if (entry.getValue().fileRoutingRules().routesAny(changedFiles)) {
+                affected.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return affected;
+    }
+
+    private void logWatchAuditEvent(ReviewTarget target, boolean trustMode) {
+        SecurityAuditLogger.log(
+            "access",
+            "review.watch",
+            "Watch review access initiated",
+            Map.of(
+                "targetType", "local",
+                "target", target.displayName(),
+                "trustMode", Boolean.toString(trustMode)
+            )
+        );
+    }
+}
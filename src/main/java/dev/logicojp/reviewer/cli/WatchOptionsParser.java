@@ -0,0 +1,74 @@
+package dev.logicojp.reviewer.cli;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/// Parses `review watch` options: the `review run` options plus `--debounce-ms`.
+@Singleton
+class WatchOptionsParser {
+
+    static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(1000);
+
+    private final ReviewOptionsParser reviewOptionsParser;
+
+    @Inject
+    public WatchOptionsParser(ReviewOptionsParser reviewOptionsParser) {
+        this.reviewOptionsParser = reviewOptionsParser;
+    }
+
+    public Optional<WatchCommand.WatchOptions> parse(String[] args) {
+        args = Objects.requireNonNullElse(args, new String[0]);
+
+        Duration debounce = DEFAULT_DEBOUNCE;
+        List<String> reviewArgs = new ArrayList<>(args.length);
+        for (int i = 0; i < args.length; i++) {
+            if ("--debounce-ms".equals(args[i])) {
+                CliParsing.OptionValue value = CliParsing.readSingleValue(args[i], args, i, "--debounce-ms");
+                debounce = parseDebounce(value.value());
+                i = value.newIndex();
+            } else {
+                reviewArgs.add(args[i]);
+            }
+        }
+
+        Optional<ReviewCommand.ParsedOptions> parsed = reviewOptionsParser.parse(reviewArgs.toArray(String[]::new));
+        if (parsed.isEmpty()) {
+            return Optional.empty();
+        }
+        validateTarget(parsed.get().target());
+        return Optional.of(new WatchCommand.WatchOptions(parsed.get(), debounce));
+    }
+
+    private static void validateTarget(ReviewCommand.TargetSelection target) {
+        switch (target) {
+            case ReviewCommand.TargetSelection.Repository _, ReviewCommand.TargetSelection.Archive _ ->
+                throw new CliValidationException("watch requires --local.", true);
+            case ReviewCommand.TargetSelection.Commit _ ->
+                throw new CliValidationException("--commit cannot be used with watch.", true);
+            case ReviewCommand.TargetSelection.LocalDirectory(_, var changeScope) -> {
+                if (changeScope != null) {
+                    throw new CliValidationException(
+                        "--since cannot be used with watch; changed files are detected automatically.", true);
+                }
+            }
+        }
+    }
+
+    private static Duration parseDebounce(String value) {
+        try {
+            long millis = Long.parseLong(value);
+            if (millis < 0) {
+                throw new CliValidationException("--debounce-ms must be zero or greater.", true);
+            }
+            return Duration.ofMillis(millis);
+        } catch (NumberFormatException e) {
+            throw new CliValidationException("Invalid value for --debounce-ms: " + value, true);
+        }
+    }
+}
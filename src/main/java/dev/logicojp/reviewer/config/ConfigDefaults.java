@@ -40,6 +40,11 @@ final class ConfigDefaults {
         return value < 0 ? defaultValue : value;
     }
 
+    /// Returns {@code defaultValue} when {@code value} is negative (zero is allowed).
+    static long defaultIfNegative(long value, long defaultValue) {
+        return value < 0 ? defaultValue : value;
+    }
+
     /// Returns {@code defaultValues} when {@code values} is null or empty.
     static <T> List<T> defaultListIfEmpty(List<T> values, List<T> defaultValues) {
         return values == null || values.isEmpty() ? defaultValues : List.copyOf(values);
@@ -1,6 +1,9 @@
 package dev.logicojp.reviewer.config;
 
 import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.nio.file.Path;
 
 /// Configuration for execution settings (parallelism, timeouts).
 @ConfigurationProperties("reviewer.execution")
@@ -9,11 +12,37 @@ public record ExecutionConfig(
     TimeoutSettings timeouts,
     RetrySettings retry,
     BufferSettings buffers,
-    Boolean sharedSessionEnabled
+    Boolean sharedSessionEnabled,
+    HedgingSettings hedging,
+    AdaptiveTimeoutSettings adaptiveTimeouts
 ) {
 
+    public ExecutionConfig(ConcurrencySettings concurrency,
+                           TimeoutSettings timeouts,
+                           RetrySettings retry,
+                           BufferSettings buffers,
+                           Boolean sharedSessionEnabled) {
+        this(concurrency, timeouts, retry, buffers, sharedSessionEnabled, null, null);
+    }
+
+    public ExecutionConfig(ConcurrencySettings concurrency,
+                           TimeoutSettings timeouts,
+                           RetrySettings retry,
+                           BufferSettings buffers,
+                           Boolean sharedSessionEnabled,
+                           HedgingSettings hedging) {
+        this(concurrency, timeouts, retry, buffers, sharedSessionEnabled, hedging, null);
+    }
+
+    /// `parallelism` is the initial session limit. With `adaptive`, the limit is halved on
+    /// rate-limit and timeout failures and raised by one per successful session, up to
+    /// `maxParallelism` (0 = twice `parallelism`).
     @ConfigurationProperties("concurrency")
-    public record ConcurrencySettings(int parallelism, int reviewPasses) {
+    public record ConcurrencySettings(int parallelism, int reviewPasses, int maxParallelism, Boolean adaptive) {
+
+        public ConcurrencySettings(int parallelism, int reviewPasses) {
+            this(parallelism, reviewPasses, 0, null);
+        }
     }
 
     @ConfigurationProperties("timeouts")
@@ -29,16 +58,64 @@ public record ExecutionConfig(
     public record RetrySettings(int maxRetries) {
     }
 
+    /// `instructionBufferExtraCapacity` is still accepted but ignored: segmented prompts are
+    /// materialized at their exact length.
     @ConfigurationProperties("buffers")
     public record BufferSettings(int maxAccumulatedSize,
                                  int initialAccumulatedCapacity,
                                  int instructionBufferExtraCapacity) {
     }
 
+    /// With `enabled`, an agent still running after the `latencyPercentile` (0-1) of the
+    /// per-pass latencies of agents that already succeeded, and at least `minDelaySeconds`, gets
+    /// a second session when the concurrency limit has room; the first successful result wins.
+    /// Hedging starts once `minSamples` agents have succeeded, with at most `maxHedges` per run.
+    @ConfigurationProperties("hedging")
+    public record HedgingSettings(Boolean enabled,
+                                  double latencyPercentile,
+                                  int minSamples,
+                                  long minDelaySeconds,
+                                  int maxHedges) {
+    }
+
+    /// With `enabled` (off by default), each agent run is appended to the history file (by default
+    /// `.history/run-history.tsv` under the output root), and once an agent has `minSamples`
+    /// successful runs for its model, the agent timeout and the idle timeout are derived from the
+    /// `percentile` (0-1) of its pass durations and of its longest time without session events,
+    /// multiplied by `margin`. Derived values lie between `minAgentTimeoutMinutes` and
+    /// `maxAgentTimeoutMinutes`, and between `minIdleTimeoutMinutes` and `maxIdleTimeoutMinutes`,
+    /// so they can exceed the configured static timeouts.
+    @ConfigurationProperties("adaptive-timeouts")
+    public record AdaptiveTimeoutSettings(Boolean enabled,
+                                          @Nullable String historyFile,
+                                          double percentile,
+                                          double margin,
+                                          int minSamples,
+                                          long minAgentTimeoutMinutes,
+                                          long minIdleTimeoutMinutes,
+                                          long maxAgentTimeoutMinutes,
+                                          long maxIdleTimeoutMinutes) {
+    }
+
     public static final int DEFAULT_MAX_RETRIES = 2;
     public static final long DEFAULT_IDLE_TIMEOUT_MINUTES = 5;
     public static final int DEFAULT_REVIEW_PASSES = 1;
     public static final boolean DEFAULT_SHARED_SESSION_ENABLED = true;
+    public static final boolean DEFAULT_ADAPTIVE_CONCURRENCY = true;
+    public static final int DEFAULT_MAX_PARALLELISM_FACTOR = 2;
+    public static final boolean DEFAULT_HEDGING_ENABLED = false;
+    public static final double DEFAULT_HEDGING_LATENCY_PERCENTILE = 0.9;
+    public static final int DEFAULT_HEDGING_MIN_SAMPLES = 3;
+    public static final long DEFAULT_HEDGING_MIN_DELAY_SECONDS = 120;
+    public static final int DEFAULT_MAX_HEDGES = 2;
+    public static final boolean DEFAULT_ADAPTIVE_TIMEOUTS_ENABLED = false;
+    public static final double DEFAULT_ADAPTIVE_TIMEOUT_PERCENTILE = 0.95;
+    public static final double DEFAULT_ADAPTIVE_TIMEOUT_MARGIN = 1.5;
+    public static final int DEFAULT_ADAPTIVE_TIMEOUT_MIN_SAMPLES = 5;
+    public static final long DEFAULT_MIN_AGENT_TIMEOUT_MINUTES = 3;
+    public static final long DEFAULT_MIN_IDLE_TIMEOUT_MINUTES = 1;
+    public static final long DEFAULT_MAX_AGENT_TIMEOUT_MINUTES = 60;
+    public static final long DEFAULT_MAX_IDLE_TIMEOUT_MINUTES = 15;
     private static final int DEFAULT_PARALLELISM = 4;
     private static final long DEFAULT_ORCHESTRATOR_TIMEOUT_MINUTES = 10;
     private static final long DEFAULT_AGENT_TIMEOUT_MINUTES = 5;
@@ -53,12 +130,15 @@ public record ExecutionConfig(
         // Apply defaults explicitly for each grouped field.
         // Record compact constructors do not support reflective bulk defaulting,
         // so each value is normalized to keep configuration behavior predictable.
+        // maxParallelism stays 0 when unset, so it keeps following parallelism overrides.
         concurrency = concurrency != null
             ? new ConcurrencySettings(
                 ConfigDefaults.defaultIfNonPositive(concurrency.parallelism(), DEFAULT_PARALLELISM),
-                ConfigDefaults.defaultIfNonPositive(concurrency.reviewPasses(), DEFAULT_REVIEW_PASSES)
+                ConfigDefaults.defaultIfNonPositive(concurrency.reviewPasses(), DEFAULT_REVIEW_PASSES),
+                Math.max(0, concurrency.maxParallelism()),
+                concurrency.adaptive() != null ? concurrency.adaptive() : DEFAULT_ADAPTIVE_CONCURRENCY
             )
-            : new ConcurrencySettings(DEFAULT_PARALLELISM, DEFAULT_REVIEW_PASSES);
+            : new ConcurrencySettings(DEFAULT_PARALLELISM, DEFAULT_REVIEW_PASSES, 0, DEFAULT_ADAPTIVE_CONCURRENCY);
 
         timeouts = timeouts != null
             ? new TimeoutSettings(
@@ -100,6 +180,56 @@ public record ExecutionConfig(
         sharedSessionEnabled = sharedSessionEnabled != null
             ? sharedSessionEnabled
             : DEFAULT_SHARED_SESSION_ENABLED;
+
+        hedging = hedging != null
+            ? new HedgingSettings(
+                hedging.enabled() != null ? hedging.enabled() : DEFAULT_HEDGING_ENABLED,
+                hedging.latencyPercentile() > 0 && hedging.latencyPercentile() <= 1
+                    ? hedging.latencyPercentile()
+                    : DEFAULT_HEDGING_LATENCY_PERCENTILE,
+                ConfigDefaults.defaultIfNonPositive(hedging.minSamples(), DEFAULT_HEDGING_MIN_SAMPLES),
+                ConfigDefaults.defaultIfNegative(hedging.minDelaySeconds(), DEFAULT_HEDGING_MIN_DELAY_SECONDS),
+                ConfigDefaults.defaultIfNegative(hedging.maxHedges(), DEFAULT_MAX_HEDGES)
+            )
+            : new HedgingSettings(
+                DEFAULT_HEDGING_ENABLED,
+                DEFAULT_HEDGING_LATENCY_PERCENTILE,
+                DEFAULT_HEDGING_MIN_SAMPLES,
+                DEFAULT_HEDGING_MIN_DELAY_SECONDS,
+                DEFAULT_MAX_HEDGES
+            );
+
+        adaptiveTimeouts = adaptiveTimeouts != null
+            ? new AdaptiveTimeoutSettings(
+                adaptiveTimeouts.enabled() != null ? adaptiveTimeouts.enabled() : DEFAULT_ADAPTIVE_TIMEOUTS_ENABLED,
+                adaptiveTimeouts.historyFile() != null && !adaptiveTimeouts.historyFile().isBlank()
+                    ? adaptiveTimeouts.historyFile()
+                    : null,
+                adaptiveTimeouts.percentile() > 0 && adaptiveTimeouts.percentile() <= 1
+                    ? adaptiveTimeouts.percentile()
+                    : DEFAULT_ADAPTIVE_TIMEOUT_PERCENTILE,
+                adaptiveTimeouts.margin() >= 1 ? adaptiveTimeouts.margin() : DEFAULT_ADAPTIVE_TIMEOUT_MARGIN,
+                ConfigDefaults.defaultIfNonPositive(adaptiveTimeouts.minSamples(), DEFAULT_ADAPTIVE_TIMEOUT_MIN_SAMPLES),
+                ConfigDefaults.defaultIfNonPositive(
+                    adaptiveTimeouts.minAgentTimeoutMinutes(), DEFAULT_MIN_AGENT_TIMEOUT_MINUTES),
+                ConfigDefaults.defaultIfNonPositive(
+                    adaptiveTimeouts.minIdleTimeoutMinutes(), DEFAULT_MIN_IDLE_TIMEOUT_MINUTES),
+                ConfigDefaults.defaultIfNonPositive(
+                    adaptiveTimeouts.maxAgentTimeoutMinutes(), DEFAULT_MAX_AGENT_TIMEOUT_MINUTES),
+                ConfigDefaults.defaultIfNonPositive(
+                    adaptiveTimeouts.maxIdleTimeoutMinutes(), DEFAULT_MAX_IDLE_TIMEOUT_MINUTES)
+            )
+            : new AdaptiveTimeoutSettings(
+                DEFAULT_ADAPTIVE_TIMEOUTS_ENABLED,
+                null,
+                DEFAULT_ADAPTIVE_TIMEOUT_PERCENTILE,
+                DEFAULT_ADAPTIVE_TIMEOUT_MARGIN,
+                DEFAULT_ADAPTIVE_TIMEOUT_MIN_SAMPLES,
+                DEFAULT_MIN_AGENT_TIMEOUT_MINUTES,
+                DEFAULT_MIN_IDLE_TIMEOUT_MINUTES,
+                DEFAULT_MAX_AGENT_TIMEOUT_MINUTES,
+                DEFAULT_MAX_IDLE_TIMEOUT_MINUTES
+            );
     }
 
     public static ExecutionConfig of(ConcurrencySettings concurrency,
@@ -125,6 +255,19 @@ public record ExecutionConfig(
         return concurrency.reviewPasses();
     }
 
+    /// The upper bound of the adaptive session limit, never below {@link #parallelism()}; when
+    /// unset, {@value #DEFAULT_MAX_PARALLELISM_FACTOR} times {@link #parallelism()}.
+    public int maxParallelism() {
+        if (concurrency.maxParallelism() <= 0) {
+            return parallelism() * DEFAULT_MAX_PARALLELISM_FACTOR;
+        }
+        return Math.max(parallelism(), concurrency.maxParallelism());
+    }
+
+    public boolean isAdaptiveConcurrencyEnabled() {
+        return Boolean.TRUE.equals(concurrency.adaptive());
+    }
+
     public long orchestratorTimeoutMinutes() {
         return timeouts.orchestratorTimeoutMinutes();
     }
@@ -161,6 +304,8 @@ public record ExecutionConfig(
         return buffers.initialAccumulatedCapacity();
     }
 
+    /// @deprecated ignored since local review prompts are materialized at their exact length
+    @Deprecated
     public int instructionBufferExtraCapacity() {
         return buffers.instructionBufferExtraCapacity();
     }
@@ -169,6 +314,30 @@ public record ExecutionConfig(
         return Boolean.TRUE.equals(sharedSessionEnabled);
     }
 
+    public boolean isHedgingEnabled() {
+        return Boolean.TRUE.equals(hedging.enabled()) && hedging.maxHedges() > 0;
+    }
+
+    /// Whether runs are recorded and timeouts derived from them; requires a history file.
+    public boolean isAdaptiveTimeoutsEnabled() {
+        return Boolean.TRUE.equals(adaptiveTimeouts.enabled()) && adaptiveTimeouts.historyFile() != null;
+    }
+
+    /// Returns a copy of this config that records run history to `historyFile`, unless a history
+    /// file is already configured.
+    public ExecutionConfig withDefaultRunHistoryFile(Path historyFile) {
+        if (adaptiveTimeouts.historyFile() != null) {
+            return this;
+        }
+        AdaptiveTimeoutSettings settings = adaptiveTimeouts;
+        return Builder.from(this)
+            .adaptiveTimeouts(new AdaptiveTimeoutSettings(settings.enabled(), historyFile.toString(),
+                settings.percentile(), settings.margin(), settings.minSamples(),
+                settings.minAgentTimeoutMinutes(), settings.minIdleTimeoutMinutes(),
+                settings.maxAgentTimeoutMinutes(), settings.maxIdleTimeoutMinutes()))
+            .build();
+    }
+
     /// Returns a copy of this config with the parallelism value replaced.
     /// @param newParallelism the new parallelism value
     /// @return a new ExecutionConfig with the updated parallelism
@@ -210,6 +379,8 @@ public record ExecutionConfig(
     public static final class Builder {
         private int parallelism;
         private int reviewPasses;
+        private int maxParallelism;
+        private boolean adaptiveConcurrency = DEFAULT_ADAPTIVE_CONCURRENCY;
         private long orchestratorTimeoutMinutes;
         private long agentTimeoutMinutes;
         private long idleTimeoutMinutes;
@@ -221,11 +392,15 @@ public record ExecutionConfig(
         private int initialAccumulatedCapacity;
         private int instructionBufferExtraCapacity;
         private boolean sharedSessionEnabled;
+        private HedgingSettings hedging;
+        private AdaptiveTimeoutSettings adaptiveTimeouts;
 
         public static Builder from(ExecutionConfig source) {
             var b = new Builder();
             b.parallelism = source.parallelism();
             b.reviewPasses = source.reviewPasses();
+            b.maxParallelism = source.concurrency().maxParallelism();
+            b.adaptiveConcurrency = source.isAdaptiveConcurrencyEnabled();
             b.orchestratorTimeoutMinutes = source.orchestratorTimeoutMinutes();
             b.agentTimeoutMinutes = source.agentTimeoutMinutes();
             b.idleTimeoutMinutes = source.idleTimeoutMinutes();
@@ -235,8 +410,10 @@ public record ExecutionConfig(
             b.maxRetries = source.maxRetries();
             b.maxAccumulatedSize = source.maxAccumulatedSize();
             b.initialAccumulatedCapacity = source.initialAccumulatedCapacity();
-            b.instructionBufferExtraCapacity = source.instructionBufferExtraCapacity();
+            b.instructionBufferExtraCapacity = source.buffers().instructionBufferExtraCapacity();
             b.sharedSessionEnabled = source.isSharedSessionEnabled();
+            b.hedging = source.hedging();
+            b.adaptiveTimeouts = source.adaptiveTimeouts();
             return b;
         }
 
@@ -244,6 +421,13 @@ public record ExecutionConfig(
 
         public Builder reviewPasses(int reviewPasses) { this.reviewPasses = reviewPasses; return this; }
 
+        public Builder maxParallelism(int maxParallelism) { this.maxParallelism = maxParallelism; return this; }
+
+        public Builder adaptiveConcurrency(boolean adaptiveConcurrency) {
+            this.adaptiveConcurrency = adaptiveConcurrency;
+            return this;
+        }
+
         public Builder orchestratorTimeoutMinutes(long orchestratorTimeoutMinutes) {
             this.orchestratorTimeoutMinutes = orchestratorTimeoutMinutes;
             return this;
@@ -289,6 +473,8 @@ public record ExecutionConfig(
             return this;
         }
 
+        /// @deprecated ignored since local review prompts are materialized at their exact length
+        @Deprecated
         public Builder instructionBufferExtraCapacity(int instructionBufferExtraCapacity) {
             this.instructionBufferExtraCapacity = instructionBufferExtraCapacity;
             return this;
@@ -299,9 +485,19 @@ public record ExecutionConfig(
             return this;
         }
 
+        public Builder hedging(HedgingSettings hedging) {
+            this.hedging = hedging;
+            return this;
+        }
+
+        public Builder adaptiveTimeouts(AdaptiveTimeoutSettings adaptiveTimeouts) {
+            this.adaptiveTimeouts = adaptiveTimeouts;
+            return this;
+        }
+
         public ExecutionConfig build() {
-            return ExecutionConfig.of(
-                new ConcurrencySettings(parallelism, reviewPasses),
+            return new ExecutionConfig(
+                new ConcurrencySettings(parallelism, reviewPasses, maxParallelism, adaptiveConcurrency),
                 new TimeoutSettings(
                     orchestratorTimeoutMinutes,
                     agentTimeoutMinutes,
@@ -316,7 +512,9 @@ public record ExecutionConfig(
                     initialAccumulatedCapacity,
                     instructionBufferExtraCapacity
                 ),
-                sharedSessionEnabled
+                sharedSessionEnabled,
+                hedging,
+                adaptiveTimeouts
             );
         }
     }
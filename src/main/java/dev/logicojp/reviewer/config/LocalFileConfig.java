@@ -6,6 +6,39 @@ import io.micronaut.core.annotation.Nullable;
 import java.util.List;
 
 /// Configuration for local file collection limits.
+///
+/// `cacheDirectory` enables the persistent content cache for `--local` reviews when set;
+/// unchanged files are then served from the cache instead of being re-read.
+/// `maxShards > 1` splits local sources larger than `maxTotalSize` into up to that many
+/// prompt-sized shards, each reviewed in its own session, instead of truncating them.
+/// `maxTotalTokens > 0` additionally stops collection once the estimated token count of the
+/// collected sources reaches it; when it is not configured, the orchestrator derives it from the
+/// reviewing models' context windows only if `reviewer.token-budget.limit-collected-sources` is set.
+///
+/// `relevanceRanking` (enabled by default) gives each agent its own relevance-ranked file set
+/// when a single-prompt source exceeds the budget, instead of the first files in path order.
+/// `relevanceQueryExpansions` entries of the form `<phrase>=<term>,<term>...` add code terms to
+/// an agent's query when its focus areas or instruction contain the phrase.
+///
+/// `skipGeneratedFiles` (enabled by default) drops binary, minified and generated files:
+/// `generatedFilePatterns` match file-name suffixes (or, ending in `/`, directories) during the
+/// walk, and `generatedCodeMarkers` are searched for case-sensitively in the head of each file.
+/// `respectGitignore` (enabled by default) skips files and directories ignored by the
+/// `.gitignore` files of the tree and `.git/info/exclude`.
+/// `compactSources` (disabled by default) deduplicates license headers across files, collapses
+/// import blocks and strips trailing whitespace before files are charged against the budgets;
+/// replaced regions are marked with their original line ranges.
+/// `offHeapSourceStore` (disabled by default) keeps the precomputed local sources deflated in
+/// off-heap memory for the whole run; each agent decompresses them when it builds its prompt.
+/// `largeFileExcerptSize > 0` reviews files larger than `maxFileSize` (up to 16 times that) as an
+/// excerpt of at most that many bytes — head, tail, the most complex regions and an outline of
+/// the omitted declarations — instead of skipping them.
+/// `streamingWalk` (disabled by default) walks the tree lazily in path order while a single
+/// path-order collection reads it, so the walk ends as soon as the budget is filled instead of
+/// listing and sorting every file first.
+/// `extractContent` (enabled by default) reduces data-heavy formats to their reviewable part
+/// before budgeting: notebook cells without outputs, SQL schemas with sampled rows, SVG
+/// structure without long path data. The raw file size still decides whether a file is read.
 @ConfigurationProperties("reviewer.local-files")
 public record LocalFileConfig(
     long maxFileSize,
@@ -17,11 +50,52 @@ public record LocalFileConfig(
     @Nullable
     List<String> sensitiveFilePatterns,
     @Nullable
-    List<String> sensitiveExtensions
+    List<String> sensitiveExtensions,
+    int ioParallelism,
+    @Nullable
+    String cacheDirectory,
+    int maxShards,
+    int maxTotalTokens,
+    @Nullable
+    Boolean relevanceRanking,
+    @Nullable
+    List<String> relevanceQueryExpansions,
+    @Nullable
+    Boolean skipGeneratedFiles,
+    @Nullable
+    List<String> generatedFilePatterns,
+    @Nullable
+    List<String> generatedCodeMarkers,
+    @Nullable
+    Boolean respectGitignore,
+    @Nullable
+    Boolean compactSources,
+    @Nullable
+    Boolean offHeapSourceStore,
+    long largeFileExcerptSize,
+    @Nullable
+    Boolean streamingWalk,
+    @Nullable
+    Boolean extractContent
 ) {
 
     public static final long DEFAULT_MAX_FILE_SIZE = 256 * 1024;
     public static final long DEFAULT_MAX_TOTAL_SIZE = 2 * 1024 * 1024;
+    /// Sequential walk/read by default; values above 1 enable concurrent collection.
+    public static final int DEFAULT_IO_PARALLELISM = 1;
+    /// Single prompt by default; sources beyond `maxTotalSize` are truncated.
+    public static final int DEFAULT_MAX_SHARDS = 1;
+    /// No token budget by default; only the byte limits apply.
+    public static final int DEFAULT_MAX_TOTAL_TOKENS = 0;
+    public static final boolean DEFAULT_RELEVANCE_RANKING = true;
+    public static final boolean DEFAULT_SKIP_GENERATED_FILES = true;
+    public static final boolean DEFAULT_RESPECT_GITIGNORE = true;
+    public static final boolean DEFAULT_COMPACT_SOURCES = false;
+    public static final boolean DEFAULT_OFF_HEAP_SOURCE_STORE = false;
+    /// Files over `maxFileSize` are skipped by default.
+    public static final long DEFAULT_LARGE_FILE_EXCERPT_SIZE = 0;
+    public static final boolean DEFAULT_STREAMING_WALK = false;
+    public static final boolean DEFAULT_EXTRACT_CONTENT = true;
 
     private static final List<String> FALLBACK_IGNORED_DIRECTORIES = List.of(
         ".git", ".svn", ".hg",
@@ -38,7 +112,7 @@ public record LocalFileConfig(
         "java", "kt", "kts", "groovy", "scala", "clj",
         "js", "jsx", "ts", "tsx", "mjs", "cjs", "vue", "svelte",
         "c", "cpp", "cc", "cxx", "h", "hpp", "rs", "go", "zig",
-        "py", "rb", "php", "pl", "pm", "lua", "r",
+        "py", "ipynb", "rb", "php", "pl", "pm", "lua", "r",
         "sh", "bash", "zsh", "fish", "ps1", "psm1",
         "cs", "fs", "vb",
         "swift", "m", "mm",
@@ -68,10 +142,39 @@ public record LocalFileConfig(
         "pem", "key", "p12", "pfx", "jks", "keystore", "cert"
     );
 
+    private static final List<String> FALLBACK_RELEVANCE_QUERY_EXPANSIONS = List.of(
+        "認証=auth,authentication,authenticate,login,password,credential,principal,session,token",
+        "認可=authorize,authorization,permission,role,acl,policy",
+        "暗号=crypto,cipher,encrypt,decrypt,hash,digest,secret,random,tls",
+        "sql=sql,query,statement,jdbc",
+        "キャッシ=cache,evict,ttl",
+        "同期=synchronized,lock,thread,concurrent,executor"
+    );
+
+    private static final List<String> FALLBACK_GENERATED_FILE_PATTERNS = List.of(
+        ".min.js", ".min.mjs", ".min.css", ".bundle.js", ".chunk.js",
+        ".pb.go", "_pb2.py", "_pb2_grpc.py", ".pb.cc", ".pb.h", "_pb.js", "_pb.d.ts",
+        ".g.dart", ".freezed.dart", ".designer.cs", ".g.cs",
+        "package-lock.json", "pnpm-lock.yaml",
+        "third_party/", "third-party/", "__generated__/", "generated-sources/"
+    );
+
+    private static final List<String> FALLBACK_GENERATED_CODE_MARKERS = List.of(
+        "@generated", "Code generated by", "<auto-generated", "<autogenerated",
+        "Autogenerated by", "auto-generated by", "automatically generated by",
+        "Generated by the protocol buffer compiler",
+        "@javax.annotation.Generated", "@javax.annotation.processing.Generated", "@jakarta.annotation.Generated",
+        "import javax.annotation.Generated;", "import javax.annotation.processing.Generated;",
+        "import jakarta.annotation.Generated;"
+    );
+
     public static final List<String> DEFAULT_IGNORED_DIRECTORIES = DefaultsHolder.IGNORED_DIRS;
     public static final List<String> DEFAULT_SOURCE_EXTENSIONS = DefaultsHolder.SOURCE_EXTS;
     public static final List<String> DEFAULT_SENSITIVE_FILE_PATTERNS = DefaultsHolder.SENSITIVE_PATTERNS;
     public static final List<String> DEFAULT_SENSITIVE_EXTENSIONS = DefaultsHolder.SENSITIVE_EXTS;
+    public static final List<String> DEFAULT_RELEVANCE_QUERY_EXPANSIONS = DefaultsHolder.RELEVANCE_EXPANSIONS;
+    public static final List<String> DEFAULT_GENERATED_FILE_PATTERNS = DefaultsHolder.GENERATED_PATTERNS;
+    public static final List<String> DEFAULT_GENERATED_CODE_MARKERS = DefaultsHolder.GENERATED_MARKERS;
 
     /// Initialization-on-demand holder for thread-safe lazy loading of resource-based defaults.
     /// Defers I/O until first access, avoiding class-load side effects (GraalVM Native Image safe).
@@ -84,6 +187,12 @@ public record LocalFileConfig(
             "defaults/sensitive-file-patterns.txt", FALLBACK_SENSITIVE_FILE_PATTERNS);
         static final List<String> SENSITIVE_EXTS = ConfigDefaults.loadListFromResource(
             "defaults/sensitive-extensions.txt", FALLBACK_SENSITIVE_EXTENSIONS);
+        static final List<String> RELEVANCE_EXPANSIONS = ConfigDefaults.loadListFromResource(
+            "defaults/relevance-query-expansions.txt", FALLBACK_RELEVANCE_QUERY_EXPANSIONS);
+        static final List<String> GENERATED_PATTERNS = ConfigDefaults.loadListFromResource(
+            "defaults/generated-file-patterns.txt", FALLBACK_GENERATED_FILE_PATTERNS);
+        static final List<String> GENERATED_MARKERS = ConfigDefaults.loadListFromResource(
+            "defaults/generated-code-markers.txt", FALLBACK_GENERATED_CODE_MARKERS);
     }
 
     public LocalFileConfig {
@@ -93,6 +202,222 @@ public record LocalFileConfig(
         sourceExtensions = ConfigDefaults.defaultListIfEmpty(sourceExtensions, DefaultsHolder.SOURCE_EXTS);
         sensitiveFilePatterns = ConfigDefaults.defaultListIfEmpty(sensitiveFilePatterns, DefaultsHolder.SENSITIVE_PATTERNS);
         sensitiveExtensions = ConfigDefaults.defaultListIfEmpty(sensitiveExtensions, DefaultsHolder.SENSITIVE_EXTS);
+        ioParallelism = ConfigDefaults.defaultIfNonPositive(ioParallelism, DEFAULT_IO_PARALLELISM);
+        cacheDirectory = cacheDirectory == null || cacheDirectory.isBlank() ? null : cacheDirectory;
+        maxShards = ConfigDefaults.defaultIfNonPositive(maxShards, DEFAULT_MAX_SHARDS);
+        maxTotalTokens = ConfigDefaults.defaultIfNegative(maxTotalTokens, DEFAULT_MAX_TOTAL_TOKENS);
+        relevanceRanking = relevanceRanking != null ? relevanceRanking : DEFAULT_RELEVANCE_RANKING;
+        relevanceQueryExpansions = ConfigDefaults.defaultListIfEmpty(
+            relevanceQueryExpansions, DefaultsHolder.RELEVANCE_EXPANSIONS);
+        skipGeneratedFiles = skipGeneratedFiles != null ? skipGeneratedFiles : DEFAULT_SKIP_GENERATED_FILES;
+        generatedFilePatterns = ConfigDefaults.defaultListIfEmpty(
+            generatedFilePatterns, DefaultsHolder.GENERATED_PATTERNS);
+        generatedCodeMarkers = ConfigDefaults.defaultListIfEmpty(
+            generatedCodeMarkers, DefaultsHolder.GENERATED_MARKERS);
+        respectGitignore = respectGitignore != null ? respectGitignore : DEFAULT_RESPECT_GITIGNORE;
+        compactSources = compactSources != null ? compactSources : DEFAULT_COMPACT_SOURCES;
+        offHeapSourceStore = offHeapSourceStore != null ? offHeapSourceStore : DEFAULT_OFF_HEAP_SOURCE_STORE;
+        largeFileExcerptSize = ConfigDefaults.defaultIfNegative(largeFileExcerptSize, DEFAULT_LARGE_FILE_EXCERPT_SIZE);
+        streamingWalk = streamingWalk != null ? streamingWalk : DEFAULT_STREAMING_WALK;
+        extractContent = extractContent != null ? extractContent : DEFAULT_EXTRACT_CONTENT;
+    }
+
+    public LocalFileConfig(long maxFileSize,
+                           long maxTotalSize,
+                           List<String> ignoredDirectories,
+                           List<String> sourceExtensions,
+                           List<String> sensitiveFilePatterns,
+                           List<String> sensitiveExtensions,
+                           int ioParallelism,
+                           String cacheDirectory,
+                           int maxShards,
+                           int maxTotalTokens,
+                           Boolean relevanceRanking,
+                           List<String> relevanceQueryExpansions,
+                           Boolean skipGeneratedFiles,
+                           List<String> generatedFilePatterns,
+                           List<String> generatedCodeMarkers,
+                           Boolean respectGitignore,
+                           Boolean compactSources,
+                           Boolean offHeapSourceStore,
+                           long largeFileExcerptSize,
+                           Boolean streamingWalk) {
+        this(maxFileSize, maxTotalSize, ignoredDirectories, sourceExtensions, sensitiveFilePatterns,
+            sensitiveExtensions, ioParallelism, cacheDirectory, maxShards, maxTotalTokens,
+            relevanceRanking, relevanceQueryExpansions, skipGeneratedFiles, generatedFilePatterns,
+            generatedCodeMarkers, respectGitignore, compactSources, offHeapSourceStore,
+            largeFileExcerptSize, streamingWalk, null);
+    }
+
+    public LocalFileConfig(long maxFileSize,
+                           long maxTotalSize,
+                           List<String> ignoredDirectories,
+                           List<String> sourceExtensions,
+                           List<String> sensitiveFilePatterns,
+                           List<String> sensitiveExtensions,
+                           int ioParallelism,
+                           String cacheDirectory,
+                           int maxShards,
+                           int maxTotalTokens,
+                           Boolean relevanceRanking,
+                           List<String> relevanceQueryExpansions,
+                           Boolean skipGeneratedFiles,
+                           List<String> generatedFilePatterns,
+                           List<String> generatedCodeMarkers,
+                           Boolean respectGitignore,
+                           Boolean compactSources,
+                           Boolean offHeapSourceStore,
+                           long largeFileExcerptSize) {
+        this(maxFileSize, maxTotalSize, ignoredDirectories, sourceExtensions, sensitiveFilePatterns,
+            sensitiveExtensions, ioParallelism, cacheDirectory, maxShards, maxTotalTokens,
+            relevanceRanking, relevanceQueryExpansions, skipGeneratedFiles, generatedFilePatterns,
+            generatedCodeMarkers, respectGitignore, compactSources, offHeapSourceStore,
+            largeFileExcerptSize, null, null);
+    }
+
+    public LocalFileConfig(long maxFileSize,
+                           long maxTotalSize,
+                           List<String> ignoredDirectories,
+                           List<String> sourceExtensions,
+                           List<String> sensitiveFilePatterns,
+                           List<String> sensitiveExtensions,
+                           int ioParallelism,
+                           String cacheDirectory,
+                           int maxShards,
+                           int maxTotalTokens,
+                           Boolean relevanceRanking,
+                           List<String> relevanceQueryExpansions,
+                           Boolean skipGeneratedFiles,
+                           List<String> generatedFilePatterns,
+                           List<String> generatedCodeMarkers,
+                           Boolean respectGitignore,
+                           Boolean compactSources,
+                           Boolean offHeapSourceStore) {
+        this(maxFileSize, maxTotalSize, ignoredDirectories, sourceExtensions, sensitiveFilePatterns,
+            sensitiveExtensions, ioParallelism, cacheDirectory, maxShards, maxTotalTokens,
+            relevanceRanking, relevanceQueryExpansions, skipGeneratedFiles, generatedFilePatterns,
+            generatedCodeMarkers, respectGitignore, compactSources, offHeapSourceStore,
+            DEFAULT_LARGE_FILE_EXCERPT_SIZE);
+    }
+
+    public LocalFileConfig(long maxFileSize,
+                           long maxTotalSize,
+                           List<String> ignoredDirectories,
+                           List<String> sourceExtensions,
+                           List<String> sensitiveFilePatterns,
+                           List<String> sensitiveExtensions,
+                           int ioParallelism,
+                           String cacheDirectory,
+                           int maxShards,
+                           int maxTotalTokens,
+                           Boolean relevanceRanking,
+                           List<String> relevanceQueryExpansions,
+                           Boolean skipGeneratedFiles,
+                           List<String> generatedFilePatterns,
+                           List<String> generatedCodeMarkers,
+                           Boolean respectGitignore,
+                           Boolean compactSources) {
+        this(maxFileSize, maxTotalSize, ignoredDirectories, sourceExtensions, sensitiveFilePatterns,
+            sensitiveExtensions, ioParallelism, cacheDirectory, maxShards, maxTotalTokens,
+            relevanceRanking, relevanceQueryExpansions, skipGeneratedFiles, generatedFilePatterns,
+            generatedCodeMarkers, respectGitignore, compactSources, null);
+    }
+
+    public LocalFileConfig(long maxFileSize,
+                           long maxTotalSize,
+                           List<String> ignoredDirectories,
+                           List<String> sourceExtensions,
+                           List<String> sensitiveFilePatterns,
+                           List<String> sensitiveExtensions,
+                           int ioParallelism,
+                           String cacheDirectory,
+                           int maxShards,
+                           int maxTotalTokens,
+                           Boolean relevanceRanking,
+                           List<String> relevanceQueryExpansions,
+                           Boolean skipGeneratedFiles,
+                           List<String> generatedFilePatterns,
+                           List<String> generatedCodeMarkers,
+                           Boolean respectGitignore) {
+        this(maxFileSize, maxTotalSize, ignoredDirectories, sourceExtensions, sensitiveFilePatterns,
+            sensitiveExtensions, ioParallelism, cacheDirectory, maxShards, maxTotalTokens,
+            relevanceRanking, relevanceQueryExpansions, skipGeneratedFiles, generatedFilePatterns,
+            generatedCodeMarkers, respectGitignore, null, null);
+    }
+
+    public LocalFileConfig(long maxFileSize,
+                           long maxTotalSize,
+                           List<String> ignoredDirectories,
+                           List<String> sourceExtensions,
+                           List<String> sensitiveFilePatterns,
+                           List<String> sensitiveExtensions,
+                           int ioParallelism,
+                           String cacheDirectory,
+                           int maxShards,
+                           int maxTotalTokens,
+                           Boolean relevanceRanking,
+                           List<String> relevanceQueryExpansions,
+                           Boolean skipGeneratedFiles,
+                           List<String> generatedFilePatterns,
+                           List<String> generatedCodeMarkers) {
+        this(maxFileSize, maxTotalSize, ignoredDirectories, sourceExtensions, sensitiveFilePatterns,
+            sensitiveExtensions, ioParallelism, cacheDirectory, maxShards, maxTotalTokens,
+            relevanceRanking, relevanceQueryExpansions, skipGeneratedFiles, generatedFilePatterns,
+            generatedCodeMarkers, null, null, null);
+    }
+
+    public LocalFileConfig(long maxFileSize,
+                           long maxTotalSize,
+                           List<String> ignoredDirectories,
+                           List<String> sourceExtensions,
+                           List<String> sensitiveFilePatterns,
+                           List<String> sensitiveExtensions,
+                           int ioParallelism,
+                           String cacheDirectory,
+                           int maxShards,
+                           int maxTotalTokens,
+                           Boolean relevanceRanking,
+                           List<String> relevanceQueryExpansions) {
+        this(maxFileSize, maxTotalSize, ignoredDirectories, sourceExtensions, sensitiveFilePatterns,
+            sensitiveExtensions, ioParallelism, cacheDirectory, maxShards, maxTotalTokens,
+            relevanceRanking, relevanceQueryExpansions, null, null, null, null, null, null);
+    }
+
+    public LocalFileConfig(long maxFileSize,
+                           long maxTotalSize,
+                           List<String> ignoredDirectories,
+                           List<String> sourceExtensions,
+                           List<String> sensitiveFilePatterns,
+                           List<String> sensitiveExtensions,
+                           int ioParallelism,
+                           String cacheDirectory,
+                           int maxShards,
+                           int maxTotalTokens) {
+        this(maxFileSize, maxTotalSize, ignoredDirectories, sourceExtensions, sensitiveFilePatterns,
+            sensitiveExtensions, ioParallelism, cacheDirectory, maxShards, maxTotalTokens, null, null);
+    }
+
+    public LocalFileConfig(long maxFileSize,
+                           long maxTotalSize,
+                           List<String> ignoredDirectories,
+                           List<String> sourceExtensions,
+                           List<String> sensitiveFilePatterns,
+                           List<String> sensitiveExtensions,
+                           int ioParallelism,
+                           String cacheDirectory,
+                           int maxShards) {
+        this(maxFileSize, maxTotalSize, ignoredDirectories, sourceExtensions, sensitiveFilePatterns,
+            sensitiveExtensions, ioParallelism, cacheDirectory, maxShards, DEFAULT_MAX_TOTAL_TOKENS);
+    }
+
+    public LocalFileConfig(long maxFileSize,
+                           long maxTotalSize,
+                           List<String> ignoredDirectories,
+                           List<String> sourceExtensions,
+                           List<String> sensitiveFilePatterns,
+                           List<String> sensitiveExtensions) {
+        this(maxFileSize, maxTotalSize, ignoredDirectories, sourceExtensions,
+            sensitiveFilePatterns, sensitiveExtensions, DEFAULT_IO_PARALLELISM, null, DEFAULT_MAX_SHARDS);
     }
 
     public LocalFileConfig(long maxFileSize, long maxTotalSize) {
@@ -102,4 +427,43 @@ public record LocalFileConfig(
     public LocalFileConfig() {
         this(DEFAULT_MAX_FILE_SIZE, DEFAULT_MAX_TOTAL_SIZE, null, null, null, null);
     }
+
+    /// Returns a copy whose token budget is `modelTokenBudget`, or the configured
+    /// `maxTotalTokens` when that is set and smaller.
+    public LocalFileConfig withModelTokenBudget(int modelTokenBudget) {
+        int effective = maxTotalTokens > 0 ? Math.min(maxTotalTokens, modelTokenBudget) : modelTokenBudget;
+        return new LocalFileConfig(maxFileSize, maxTotalSize, ignoredDirectories, sourceExtensions,
+            sensitiveFilePatterns, sensitiveExtensions, ioParallelism, cacheDirectory, maxShards, effective,
+            relevanceRanking, relevanceQueryExpansions, skipGeneratedFiles, generatedFilePatterns,
+            generatedCodeMarkers, respectGitignore, compactSources, offHeapSourceStore, largeFileExcerptSize,
+            streamingWalk, extractContent);
+    }
+
+    public boolean isRelevanceRankingEnabled() {
+        return Boolean.TRUE.equals(relevanceRanking);
+    }
+
+    public boolean isSkipGeneratedFilesEnabled() {
+        return Boolean.TRUE.equals(skipGeneratedFiles);
+    }
+
+    public boolean isRespectGitignoreEnabled() {
+        return Boolean.TRUE.equals(respectGitignore);
+    }
+
+    public boolean isCompactSourcesEnabled() {
+        return Boolean.TRUE.equals(compactSources);
+    }
+
+    public boolean isOffHeapSourceStoreEnabled() {
+        return Boolean.TRUE.equals(offHeapSourceStore);
+    }
+
+    public boolean isStreamingWalkEnabled() {
+        return Boolean.TRUE.equals(streamingWalk);
+    }
+
+    public boolean isExtractContentEnabled() {
+        return Boolean.TRUE.equals(extractContent);
+    }
 }
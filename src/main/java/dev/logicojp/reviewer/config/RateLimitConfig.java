@@ -0,0 +1,39 @@
+package dev.logicojp.reviewer.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+/// Configuration for the process-wide Copilot request rate limiter.
+///
+/// Session creations and message sends are metered per model, each by a token bucket that
+/// refills at the given rate per second and holds up to the given burst. Review, summary and
+/// skill sessions share the buckets.
+@ConfigurationProperties("reviewer.rate-limit")
+public record RateLimitConfig(
+    Boolean enabled,
+    double sessionsPerSecond,
+    int sessionBurst,
+    double messagesPerSecond,
+    int messageBurst
+) {
+    public static final boolean DEFAULT_ENABLED = true;
+    public static final double DEFAULT_SESSIONS_PER_SECOND = 1.0;
+    public static final int DEFAULT_SESSION_BURST = 4;
+    public static final double DEFAULT_MESSAGES_PER_SECOND = 2.0;
+    public static final int DEFAULT_MESSAGE_BURST = 8;
+
+    public RateLimitConfig {
+        enabled = enabled != null ? enabled : DEFAULT_ENABLED;
+        sessionsPerSecond = ConfigDefaults.defaultIfNonPositive(sessionsPerSecond, DEFAULT_SESSIONS_PER_SECOND);
+        sessionBurst = ConfigDefaults.defaultIfNonPositive(sessionBurst, DEFAULT_SESSION_BURST);
+        messagesPerSecond = ConfigDefaults.defaultIfNonPositive(messagesPerSecond, DEFAULT_MESSAGES_PER_SECOND);
+        messageBurst = ConfigDefaults.defaultIfNonPositive(messageBurst, DEFAULT_MESSAGE_BURST);
+    }
+
+    public RateLimitConfig() {
+        this(null, 0, 0, 0, 0);
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled);
+    }
+}
@@ -3,6 +3,10 @@ package dev.logicojp.reviewer.config;
 import io.micronaut.context.annotation.ConfigurationProperties;
 
 /// Configuration for executive summary generation settings.
+///
+/// `maxTotalPromptTokens > 0` caps the review results embedded in the summary prompt by
+/// estimated tokens in addition to `maxTotalPromptContent`; the report factory derives it
+/// from the summary model's context window when it is not configured.
 @ConfigurationProperties("reviewer.summary")
 public record SummaryConfig(
     int maxContentPerAgent,
@@ -10,7 +14,8 @@ public record SummaryConfig(
     int fallbackExcerptLength,
     int averageResultContentEstimate,
     int initialBufferMargin,
-    int excerptNormalizationMultiplier
+    int excerptNormalizationMultiplier,
+    int maxTotalPromptTokens
 ) {
 
     public static final int DEFAULT_MAX_CONTENT_PER_AGENT = 50_000;
@@ -19,6 +24,7 @@ public record SummaryConfig(
     public static final int DEFAULT_AVERAGE_RESULT_CONTENT_ESTIMATE = 8192;
     public static final int DEFAULT_INITIAL_BUFFER_MARGIN = 4096;
     public static final int DEFAULT_EXCERPT_NORMALIZATION_MULTIPLIER = 3;
+    public static final int DEFAULT_MAX_TOTAL_PROMPT_TOKENS = 0;
 
     public SummaryConfig {
         maxContentPerAgent = ConfigDefaults.defaultIfNonPositive(maxContentPerAgent, DEFAULT_MAX_CONTENT_PER_AGENT);
@@ -42,5 +48,29 @@ public record SummaryConfig(
             excerptNormalizationMultiplier,
             DEFAULT_EXCERPT_NORMALIZATION_MULTIPLIER
         );
+        maxTotalPromptTokens = ConfigDefaults.defaultIfNegative(
+            maxTotalPromptTokens,
+            DEFAULT_MAX_TOTAL_PROMPT_TOKENS
+        );
+    }
+
+    public SummaryConfig(int maxContentPerAgent,
+                         int maxTotalPromptContent,
+                         int fallbackExcerptLength,
+                         int averageResultContentEstimate,
+                         int initialBufferMargin,
+                         int excerptNormalizationMultiplier) {
+        this(maxContentPerAgent, maxTotalPromptContent, fallbackExcerptLength, averageResultContentEstimate,
+            initialBufferMargin, excerptNormalizationMultiplier, DEFAULT_MAX_TOTAL_PROMPT_TOKENS);
+    }
+
+    /// Returns a copy whose token cap is `modelTokenBudget`, or the configured
+    /// `maxTotalPromptTokens` when that is set and smaller.
+    public SummaryConfig withModelTokenBudget(int modelTokenBudget) {
+        int effective = maxTotalPromptTokens > 0
+            ? Math.min(maxTotalPromptTokens, modelTokenBudget)
+            : modelTokenBudget;
+        return new SummaryConfig(maxContentPerAgent, maxTotalPromptContent, fallbackExcerptLength,
+            averageResultContentEstimate, initialBufferMargin, excerptNormalizationMultiplier, effective);
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package dev.logicojp.reviewer.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.List;
+import java.util.Locale;
+
+/// Token budgets derived from each model's context window.
+///
+/// `contextWindows` entries have the form `<model-prefix>=<tokens>` and are matched
+/// case-insensitively against the model name; the longest matching prefix wins and
+/// `defaultContextWindow` applies otherwise. Malformed entries are ignored.
+///
+/// The prompt budget of a model is its context window minus `responseReserveTokens`.
+/// Content embedded in a prompt (collected local sources, review results for the summary)
+/// additionally leaves `promptOverheadTokens` for the instructions and templates around it.
+///
+/// `limitCollectedSources` (disabled by default) caps local source collection at the smallest
+/// content budget among the reviewing models when `max-total-tokens` is not configured;
+/// otherwise collection is bounded by `max-total-size` alone.
+@ConfigurationProperties("reviewer.token-budget")
+public record TokenBudgetConfig(
+    @Nullable
+    List<String> contextWindows,
+    int defaultContextWindow,
+    int responseReserveTokens,
+    int promptOverheadTokens,
+    @Nullable
+    Boolean limitCollectedSources
+) {
+
+    /// Conservative window shared by the models currently served through Copilot.
+    public static final int DEFAULT_CONTEXT_WINDOW = 128_000;
+    public static final int DEFAULT_RESPONSE_RESERVE_TOKENS = 16_000;
+    public static final int DEFAULT_PROMPT_OVERHEAD_TOKENS = 8_000;
+    public static final boolean DEFAULT_LIMIT_COLLECTED_SOURCES = false;
+
+    public TokenBudgetConfig {
+        contextWindows = contextWindows == null ? List.of() : List.copyOf(contextWindows);
+        defaultContextWindow = ConfigDefaults.defaultIfNonPositive(defaultContextWindow, DEFAULT_CONTEXT_WINDOW);
+        responseReserveTokens = ConfigDefaults.defaultIfNegative(responseReserveTokens, DEFAULT_RESPONSE_RESERVE_TOKENS);
+        promptOverheadTokens = ConfigDefaults.defaultIfNegative(promptOverheadTokens, DEFAULT_PROMPT_OVERHEAD_TOKENS);
+        limitCollectedSources = limitCollectedSources != null ? limitCollectedSources : DEFAULT_LIMIT_COLLECTED_SOURCES;
+    }
+
+    public TokenBudgetConfig(@Nullable List<String> contextWindows,
+                             int defaultContextWindow,
+                             int responseReserveTokens,
+                             int promptOverheadTokens) {
+        this(contextWindows, defaultContextWindow, responseReserveTokens, promptOverheadTokens, null);
+    }
+
+    public TokenBudgetConfig() {
+        this(null, DEFAULT_CONTEXT_WINDOW, DEFAULT_RESPONSE_RESERVE_TOKENS, DEFAULT_PROMPT_OVERHEAD_TOKENS);
+    }
+
+    public boolean isCollectedSourceLimitEnabled() {
+        return limitCollectedSources;
+    }
+
+    /// Returns the context window of `model` in tokens.
+    public int contextWindowFor(@Nullable String model) {
+        if (model == null || model.isBlank()) {
+            return defaultContextWindow;
+        }
+        String lowerModel = model.toLowerCase(Locale.ROOT);
+        int window = defaultContextWindow;
+        int matchedPrefixLength = -1;
+        for (String entry : contextWindows) {
+            int separator = entry == null ? -1 : entry.lastIndexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            String prefix = entry.substring(0, separator).trim().toLowerCase(Locale.ROOT);
+            int tokens = parsePositiveInt(entry.substring(separator + 1).trim());
+            if (tokens > 0 && prefix.length() > matchedPrefixLength && lowerModel.startsWith(prefix)) {
+                window = tokens;
+                matchedPrefixLength = prefix.length();
+            }
+        }
+        return window;
+    }
+
+    /// Returns the maximum prompt size for `model`, leaving room for the response.
+    public int promptBudgetFor(@Nullable String model) {
+        return Math.max(1, contextWindowFor(model) - responseReserveTokens);
+    }
+
+    /// Returns the maximum size of content embedded in a prompt for `model`.
+    public int contentBudgetFor(@Nullable String model) {
+        return Math.max(1, promptBudgetFor(model) - promptOverheadTokens);
+    }
+
+    private static int parsePositiveInt(String value) {
+        try {
+            return Integer.parseInt(value.replace("_", ""));
+        } catch (NumberFormatException _) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package dev.logicojp.reviewer.orchestrator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/// Limits concurrent agent sessions, adapting the limit with additive increase and
+/// multiplicative decrease (AIMD).
+///
+/// Each session that succeeds without a latency spike raises the limit by one, up to the
+/// maximum; a session that ends in a rate-limit or timeout signal halves it, down to one.
+/// Sessions started before a decrease cannot trigger another one, so a burst of failures from
+/// the same overloaded window is answered once, as TCP does per round trip. A session counts as
+/// a latency spike when its per-pass latency exceeds {@value #LATENCY_TOLERANCE} times the
+/// smoothed per-pass latency. When the limit drops below the sessions in flight, running
+/// sessions finish and new ones wait.
+///
+/// A limit created with {@link #fixed(int)} never changes and behaves like a semaphore.
+/// Decreases are logged at info level, increases at debug level; {@link #snapshot()} reports the
+/// range the limit moved in and its recent adjustments. Thread-safe.
+final class AdaptiveConcurrencyLimit {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimit.class);
+
+    static final double BACKOFF_RATIO = 0.5;
+    static final double LATENCY_TOLERANCE = 2.0;
+    static final int MAX_HISTORY = 32;
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    /// How a session ended, as far as the limit is concerned.
+    enum Outcome {
+        /// All passes succeeded.
+        SUCCESS,
+        /// The session hit a rate limit or timed out.
+        OVERLOAD,
+        /// The session failed for another reason; the limit is left as is.
+        FAILURE
+    }
+
+    /// A change of the limit.
+    /// @param atNanos Clock reading when the limit changed
+    record Adjustment(long atNanos, int from, int to, String reason) {}
+
+    /// The state of the limit for logs and run summaries.
+    record Snapshot(int limit, int inFlight, int lowestLimit, int highestLimit,
+                    int increases, int decreases, List<Adjustment> history) {
+
+        Snapshot {
+            history = List.copyOf(history);
+        }
+    }
+
+    /// A held permit; release it exactly once through {@link #release(Permit, Outcome, int)}.
+    static final class Permit {
+        private final long acquiredAtNanos;
+        private final long epoch;
+
+        private Permit(long acquiredAtNanos, long epoch) {
+            this.acquiredAtNanos = acquiredAtNanos;
+            this.epoch = epoch;
+        }
+    }
+
+    private final int maxLimit;
+    private final boolean adaptive;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitAvailable = lock.newCondition();
+    private final ArrayDeque<Adjustment> history = new ArrayDeque<>();
+
+    private int limit;
+    private int inFlight;
+    private long epoch;
+    private double smoothedPassLatencyNanos = -1;
+    private int lowestLimit;
+    private int highestLimit;
+    private int increases;
+    private int decreases;
+
+    /// A limit that stays at `limit`.
+    static AdaptiveConcurrencyLimit fixed(int limit) {
+        return new AdaptiveConcurrencyLimit(limit, limit, false, System::nanoTime);
+    }
+
+    /// A limit that starts at `initialLimit` and adapts between one and `maxLimit`.
+    static AdaptiveConcurrencyLimit adaptive(int initialLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimit(initialLimit, maxLimit, true, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int initialLimit, int maxLimit, boolean adaptive, LongSupplier nanoClock) {
+        if (initialLimit < 1) {
+            throw new IllegalArgumentException("initialLimit must be positive: " + initialLimit);
+        }
+        this.limit = initialLimit;
+        this.maxLimit = Math.max(initialLimit, maxLimit);
+        this.adaptive = adaptive;
+        this.nanoClock = nanoClock;
+        this.lowestLimit = initialLimit;
+        this.highestLimit = initialLimit;
+    }
+
+    /// Waits until a session may start.
+    Permit acquire() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= limit) {
+                permitAvailable.await();
+            }
+            inFlight++;
+            return new Permit(nanoClock.getAsLong(), epoch);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /// Takes a permit only if one is free now, for optional sessions such as hedges; returns null
+    /// otherwise.
+    Permit tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= limit) {
+                return null;
+            }
+            inFlight++;
+            return new Permit(nanoClock.getAsLong(), epoch);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /// Ends a session and adapts the limit to how it went.
+    /// @param passes Number of review passes the session ran, to compare latencies per pass
+    void release(Permit permit, Outcome outcome, int passes) {
+        long passLatencyNanos = (nanoClock.getAsLong() - permit.acquiredAtNanos) / Math.max(1, passes);
+        lock.lock();
+        try {
+            inFlight--;
+            if (adaptive) {
+                adapt(permit, outcome, passLatencyNanos);
+            }
+            permitAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int currentLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isAdaptive() {
+        return adaptive;
+    }
+
+    Snapshot snapshot() {
+        lock.lock();
+        try {
+            return new Snapshot(limit, inFlight, lowestLimit, highestLimit, increases, decreases, List.copyOf(history));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adapt(Permit permit, Outcome outcome, long passLatencyNanos) {
+        switch (outcome) {
+            case OVERLOAD -> {
+                // Sessions that started before the last decrease were part of the window it answered.
+                if (permit.epoch == epoch && limit > 1) {
+                    decreases++;
+                    setLimit(Math.max(1, (int) (limit * BACKOFF_RATIO)), "rate limit or timeout");
+                }
+            }
+            case SUCCESS -> {
+                boolean latencyStable = smoothedPassLatencyNanos < 0
+                    || passLatencyNanos <= smoothedPassLatencyNanos * LATENCY_TOLERANCE;
+                smoothedPassLatencyNanos = smoothedPassLatencyNanos < 0
+                    ? passLatencyNanos
+                    : smoothedPassLatencyNanos + LATENCY_SMOOTHING * (passLatencyNanos - smoothedPassLatencyNanos);
+                if (latencyStable && limit < maxLimit) {
+                    increases++;
+                    setLimit(limit + 1, "session succeeded in %d ms per pass"
+                        .formatted(TimeUnit.NANOSECONDS.toMillis(passLatencyNanos)));
+                }
+            }
+            case FAILURE -> {
+            }
+        }
+    }
+
+    private void setLimit(int newLimit, String reason) {
+        if (newLimit < limit) {
+            logger.info("Concurrency limit {} -> {} ({}, {} in flight)", limit, newLimit, reason, inFlight);
+        } else {
+            logger.debug("Concurrency limit {} -> {} ({}, {} in flight)", limit, newLimit, reason, inFlight);
+        }
+        if (history.size() == MAX_HISTORY) {
+            history.removeFirst();
+        }
+        history.addLast(new Adjustment(nanoClock.getAsLong(), limit, newLimit, reason));
+        if (newLimit < limit) {
+            epoch++;
+        }
+        limit = newLimit;
+        lowestLimit = Math.min(lowestLimit, newLimit);
+        highestLimit = Math.max(highestLimit, newLimit);
+    }
+}
@@ -0,0 +1,148 @@
+package dev.logicojp.reviewer.orchestrator;
+
+import dev.logicojp.reviewer.agent.AgentConfig;
+import dev.logicojp.reviewer.config.ExecutionConfig;
+import dev.logicojp.reviewer.report.core.ReviewResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/// Derives per-agent timeouts from the {@link RunHistoryStore} and records each agent run in it.
+///
+/// The successful runs of the same agent and model are used, preferring those with the same
+/// source size bucket when there are at least `minSamples` of them. The agent timeout becomes
+/// the configured percentile of their per-pass durations and the idle timeout the percentile of
+/// their longest time without session events, both multiplied by the margin, rounded up to
+/// whole minutes and clamped between the configured minimum and maximum, so they may end up
+/// above the static timeouts they replace. Agents with too few runs keep the static timeouts.
+/// Thread-safe.
+final class AdaptiveTimeouts {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveTimeouts.class);
+
+    private static final AdaptiveTimeouts DISABLED = new AdaptiveTimeouts(
+        RunHistoryStore.disabled(), 1.0, 1.0, Integer.MAX_VALUE, new Limits(1, 1),
+        new Limits(Long.MAX_VALUE, Long.MAX_VALUE), Clock.systemUTC());
+
+    /// Timeouts of one agent run.
+    /// @param agentTimeoutMinutes Timeout per pass, retries included
+    /// @param idleTimeoutMinutes  Time without session events after which a prompt fails
+    record Limits(long agentTimeoutMinutes, long idleTimeoutMinutes) {}
+
+    private final RunHistoryStore store;
+    private final double percentile;
+    private final double margin;
+    private final int minSamples;
+    private final Limits floor;
+    private final Limits ceiling;
+    private final Clock clock;
+
+    static AdaptiveTimeouts disabled() {
+        return DISABLED;
+    }
+
+    static AdaptiveTimeouts from(ExecutionConfig executionConfig) {
+        if (!executionConfig.isAdaptiveTimeoutsEnabled()) {
+            return DISABLED;
+        }
+        ExecutionConfig.AdaptiveTimeoutSettings settings = executionConfig.adaptiveTimeouts();
+        RunHistoryStore store = RunHistoryStore.open(Path.of(settings.historyFile()));
+        logger.info("Loaded {} past agent run(s) from {}", store.loadedEntries().size(), settings.historyFile());
+        return new AdaptiveTimeouts(store, settings.percentile(), settings.margin(), settings.minSamples(),
+            new Limits(settings.minAgentTimeoutMinutes(), settings.minIdleTimeoutMinutes()),
+            new Limits(settings.maxAgentTimeoutMinutes(), settings.maxIdleTimeoutMinutes()),
+            Clock.systemUTC());
+    }
+
+    AdaptiveTimeouts(RunHistoryStore store,
+                     double percentile,
+                     double margin,
+                     int minSamples,
+                     Limits floor,
+                     Limits ceiling,
+                     Clock clock) {
+        this.store = store;
+        this.percentile = percentile;
+        this.margin = margin;
+        this.minSamples = Math.max(1, minSamples);
+        this.floor = floor;
+        this.ceiling = ceiling;
+        this.clock = clock;
+    }
+
+    boolean isEnabled() {
+        return store.isEnabled();
+    }
+
+    /// Returns the timeouts for an agent run; `staticLimits` apply while the history has too few runs.
+    Limits limitsFor(AgentConfig agent, String sizeBucket, Limits staticLimits) {
+        if (!store.isEnabled()) {
+            return staticLimits;
+        }
+        List<RunHistoryStore.Entry> runs = successfulRuns(agent, sizeBucket);
+        long agentTimeoutMinutes = derive(runs, RunHistoryStore.Entry::passDurationMillis,
+            staticLimits.agentTimeoutMinutes(), floor.agentTimeoutMinutes(), ceiling.agentTimeoutMinutes());
+        List<RunHistoryStore.Entry> runsWithEvents = runs.stream()
+            .filter(run -> run.longestGapMillis() >= 0)
+            .toList();
+        long idleTimeoutMinutes = derive(runsWithEvents, RunHistoryStore.Entry::longestGapMillis,
+            staticLimits.idleTimeoutMinutes(), floor.idleTimeoutMinutes(), ceiling.idleTimeoutMinutes());
+        var limits = new Limits(agentTimeoutMinutes, idleTimeoutMinutes);
+        if (!limits.equals(staticLimits)) {
+            logger.info("Agent {}: timeouts from {} past run(s): {} min per pass, {} min idle (static: {} / {})",
+                agent.name(), runs.size(), agentTimeoutMinutes, idleTimeoutMinutes,
+                staticLimits.agentTimeoutMinutes(), staticLimits.idleTimeoutMinutes());
+        }
+        return limits;
+    }
+
+    /// Appends an agent run to the history.
+    /// @param longestGapMillis Longest time a prompt went without session events, or -1 when none arrived
+    /// @param results          The run's pass results; null when it ended with an unexpected exception
+    void record(AgentConfig agent,
+                String sizeBucket,
+                int passes,
+                long elapsedNanos,
+                long longestGapMillis,
+                List<ReviewResult> results) {
+        if (!store.isEnabled()) {
+            return;
+        }
+        store.append(new RunHistoryStore.Entry(Instant.now(clock), agent.name(), agent.model(), sizeBucket,
+            passes, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), longestGapMillis,
+            RunHistoryStore.outcomeOf(results)));
+    }
+
+    private List<RunHistoryStore.Entry> successfulRuns(AgentConfig agent, String sizeBucket) {
+        List<RunHistoryStore.Entry> runs = store.loadedEntries().stream()
+            .filter(run -> run.outcome() == RunHistoryStore.Outcome.SUCCESS)
+            .filter(run -> run.isFor(agent.name(), agent.model()))
+            .toList();
+        List<RunHistoryStore.Entry> sameSize = runs.stream()
+            .filter(run -> run.sizeBucket().equals(sizeBucket))
+            .toList();
+        return sameSize.size() >= minSamples ? sameSize : runs;
+    }
+
+    private long derive(List<RunHistoryStore.Entry> runs,
+                        ToLongFunction<RunHistoryStore.Entry> sample,
+                        long staticMinutes,
+                        long floorMinutes,
+                        long ceilingMinutes) {
+        if (runs.size() < minSamples) {
+            return staticMinutes;
+        }
+        long[] sorted = runs.stream().mapToLong(sample).sorted().toArray();
+        // Nearest-rank percentile.
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        long observedMillis = sorted[Math.clamp(rank - 1, 0, sorted.length - 1)];
+        long minutes = (long) Math.ceil(observedMillis * margin / TimeUnit.MINUTES.toMillis(1));
+        return Math.clamp(minutes, Math.min(floorMinutes, ceilingMinutes), ceilingMinutes);
+    }
+}
@@ -0,0 +1,25 @@
+package dev.logicojp.reviewer.orchestrator;
+
+import dev.logicojp.reviewer.agent.AgentConfig;
+import dev.logicojp.reviewer.report.core.ReviewResult;
+
+import java.util.List;
+
+/// Receives the pass results of each agent as soon as all of its passes and shards have finished,
+/// while other agents are still running.
+///
+/// Called once per agent, on the virtual thread that ran the agent's last task, so
+/// implementations must be thread-safe. Failed passes are part of the results; agents that timed
+/// out or were cancelled are reported after the run with their failure results. Exceptions are
+/// logged and do not affect the review.
+@FunctionalInterface
+public interface AgentCompletionListener {
+
+    /// A listener that ignores completions.
+    AgentCompletionListener NONE = (_, _) -> {
+    };
+
+    /// @param agent       The agent that finished
+    /// @param passResults Its raw results, one per pass and shard
+    void agentCompleted(AgentConfig agent, List<ReviewResult> passResults);
+}
@@ -2,32 +2,67 @@ package dev.logicojp.reviewer.orchestrator;
 
 import dev.logicojp.reviewer.agent.AgentConfig;
 import dev.logicojp.reviewer.agent.ReviewContext;
+import dev.logicojp.reviewer.config.ExecutionConfig;
 import dev.logicojp.reviewer.report.core.ReviewResult;
 import dev.logicojp.reviewer.target.ReviewTarget;
+import dev.logicojp.reviewer.util.RetryPolicyUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.List;
 
+/// Runs the passes of one agent under the shared {@link AdaptiveConcurrencyLimit}, reporting to
+/// it whether the session succeeded, was rate limited or timed out, or failed otherwise.
+///
+/// When the {@link HedgingPolicy} considers the agent a straggler and the limit has a free
+/// permit, a second reviewer is started on its own session; the first fully successful result
+/// is returned and the other session is cancelled.
+///
+/// With {@link AdaptiveTimeouts} enabled, each agent runs with the timeouts derived from its
+/// past runs, and the run's duration, longest wait for a first session event and outcome are
+/// recorded for the next runs.
 final class AgentReviewExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(AgentReviewExecutor.class);
-    private final Semaphore concurrencyLimit;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
     private final ExecutorService agentExecutionExecutor;
     private final AgentReviewerFactory reviewerFactory;
+    private final HedgingPolicy hedgingPolicy;
+    private final AdaptiveTimeouts adaptiveTimeouts;
 
-    AgentReviewExecutor(Semaphore concurrencyLimit,
+    /// Straggler hedging and history-based timeouts applied to agent runs.
+    record RunPolicies(HedgingPolicy hedgingPolicy, AdaptiveTimeouts adaptiveTimeouts) {
+
+        RunPolicies {
+            hedgingPolicy = hedgingPolicy != null ? hedgingPolicy : HedgingPolicy.disabled();
+            adaptiveTimeouts = adaptiveTimeouts != null ? adaptiveTimeouts : AdaptiveTimeouts.disabled();
+        }
+
+        static RunPolicies disabled() {
+            return new RunPolicies(HedgingPolicy.disabled(), AdaptiveTimeouts.disabled());
+        }
+
+        static RunPolicies from(ExecutionConfig executionConfig) {
+            return new RunPolicies(HedgingPolicy.from(executionConfig), AdaptiveTimeouts.from(executionConfig));
+        }
+    }
+
+    AgentReviewExecutor(AdaptiveConcurrencyLimit concurrencyLimit,
                         ExecutorService agentExecutionExecutor,
-                        AgentReviewerFactory reviewerFactory) {
+                        AgentReviewerFactory reviewerFactory,
+                        RunPolicies runPolicies) {
         this.concurrencyLimit = concurrencyLimit;
         this.agentExecutionExecutor = agentExecutionExecutor;
         this.reviewerFactory = reviewerFactory;
+        this.hedgingPolicy = runPolicies.hedgingPolicy();
+        this.adaptiveTimeouts = runPolicies.adaptiveTimeouts();
     }
 
     List<ReviewResult> executeAgentPassesSafely(AgentConfig config,
@@ -35,37 +70,103 @@ final class AgentReviewExecutor {
                                                 ReviewContext context,
                                                 int reviewPasses,
                                                 long perAgentTimeoutMinutes) {
+        AdaptiveConcurrencyLimit.Permit permit;
         try {
-            concurrencyLimit.acquire();
+            permit = concurrencyLimit.acquire();
         } catch (InterruptedException _) {
             Thread.currentThread().interrupt();
             return ReviewResult.failedResults(config, target.displayName(), reviewPasses,
                 "Review interrupted while waiting for concurrency permit");
         }
+        List<ReviewResult> results = null;
+        try {
+            results = adaptiveTimeouts.isEnabled()
+                ? executeWithAdaptiveTimeouts(config, target, context, reviewPasses, perAgentTimeoutMinutes)
+                : executePassesWithTimeout(config, target, context, reviewPasses, perAgentTimeoutMinutes);
+            return results;
+        } finally {
+            concurrencyLimit.release(permit, outcomeOf(results), reviewPasses);
+        }
+    }
+
+    private List<ReviewResult> executeWithAdaptiveTimeouts(AgentConfig config,
+                                                           ReviewTarget target,
+                                                           ReviewContext context,
+                                                           int reviewPasses,
+                                                           long perAgentTimeoutMinutes) {
+        String sizeBucket = RunHistoryStore.sizeBucket(context.cachedResources().sourceLength());
+        ReviewContext.TimeoutConfig timeouts = context.timeoutConfig();
+        AdaptiveTimeouts.Limits limits = adaptiveTimeouts.limitsFor(config, sizeBucket,
+            new AdaptiveTimeouts.Limits(perAgentTimeoutMinutes, timeouts.idleTimeoutMinutes()));
+        var longestEventGapMillis = new AtomicLong(-1);
+        ReviewContext agentContext = context.forAgentRun(
+            new ReviewContext.TimeoutConfig(
+                // A prompt never outlives its pass, but may use a pass timeout raised by the history.
+                limits.agentTimeoutMinutes() > perAgentTimeoutMinutes
+                    ? limits.agentTimeoutMinutes()
+                    : Math.min(timeouts.timeoutMinutes(), limits.agentTimeoutMinutes()),
+                limits.idleTimeoutMinutes(),
+                timeouts.maxRetries()),
+            gapMillis -> longestEventGapMillis.accumulateAndGet(gapMillis, Math::max));
+        long startNanos = System.nanoTime();
+        List<ReviewResult> results = null;
         try {
-            return executePassesWithTimeout(config, target, context, reviewPasses, perAgentTimeoutMinutes);
+            results = executePassesWithTimeout(config, target, agentContext, reviewPasses,
+                limits.agentTimeoutMinutes());
+            return results;
         } finally {
-            concurrencyLimit.release();
+            adaptiveTimeouts.record(config, sizeBucket, reviewPasses, System.nanoTime() - startNanos,
+                longestEventGapMillis.get(), results);
         }
     }
 
+    /// Logs how the concurrency limit moved and how many hedges ran; silent for a fixed limit
+    /// without hedging.
+    void logConcurrencySummary() {
+        if (hedgingPolicy.isEnabled()) {
+            logger.info("Hedged {} straggling agent(s); {} hedge(s) finished first",
+                hedgingPolicy.hedgesStarted(), hedgingPolicy.hedgesWon());
+        }
+        if (!concurrencyLimit.isAdaptive()) {
+            return;
+        }
+        AdaptiveConcurrencyLimit.Snapshot snapshot = concurrencyLimit.snapshot();
+        logger.info("Concurrency limit ended at {} (range {}-{}, {} increase(s), {} decrease(s))",
+            snapshot.limit(), snapshot.lowestLimit(), snapshot.highestLimit(),
+            snapshot.increases(), snapshot.decreases());
+        for (AdaptiveConcurrencyLimit.Adjustment adjustment : snapshot.history()) {
+            logger.debug("Concurrency limit adjustment: {} -> {} ({})",
+                adjustment.from(), adjustment.to(), adjustment.reason());
+        }
+    }
+
+    /// Any rate-limited or timed-out pass counts as overload; results are null when the session
+    /// ended with an unexpected exception.
+    static AdaptiveConcurrencyLimit.Outcome outcomeOf(List<ReviewResult> results) {
+        if (results == null) {
+            return AdaptiveConcurrencyLimit.Outcome.FAILURE;
+        }
+        boolean failed = false;
+        for (ReviewResult result : results) {
+            if (result.success()) {
+                continue;
+            }
+            if (RetryPolicyUtils.isOverloadMessage(result.errorMessage())) {
+                return AdaptiveConcurrencyLimit.Outcome.OVERLOAD;
+            }
+            failed = true;
+        }
+        return failed ? AdaptiveConcurrencyLimit.Outcome.FAILURE : AdaptiveConcurrencyLimit.Outcome.SUCCESS;
+    }
+
     private List<ReviewResult> executePassesWithTimeout(AgentConfig config,
                                                         ReviewTarget target,
                                                         ReviewContext context,
                                                         int reviewPasses,
                                                         long perAgentTimeoutMinutes) {
         try {
-            AgentReviewer reviewer = reviewerFactory.create(config, context);
-            Future<List<ReviewResult>> future = agentExecutionExecutor.submit(
-                () -> reviewer.reviewPasses(target, reviewPasses)
-            );
-            try {
-                long totalTimeoutMinutes = perAgentTimeoutMinutes * Math.max(1, reviewPasses);
-                return future.get(totalTimeoutMinutes, TimeUnit.MINUTES);
-            } catch (TimeoutException e) {
-                future.cancel(true);
-                throw e;
-            }
+            long totalTimeoutMinutes = perAgentTimeoutMinutes * Math.max(1, reviewPasses);
+            return runPasses(config, target, context, reviewPasses, TimeUnit.MINUTES.toNanos(totalTimeoutMinutes));
         } catch (TimeoutException e) {
             long totalTimeoutMinutes = perAgentTimeoutMinutes * Math.max(1, reviewPasses);
             logger.warn("Agent {} timed out after {} minutes for {} pass(es)",
@@ -82,4 +183,118 @@ final class AgentReviewExecutor {
                 "Review interrupted during execution");
         }
     }
+
+    /// Runs the passes in one session, or in two when the first straggles and a hedge is allowed.
+    private List<ReviewResult> runPasses(AgentConfig config,
+                                         ReviewTarget target,
+                                         ReviewContext context,
+                                         int reviewPasses,
+                                         long timeoutNanos)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + timeoutNanos;
+        var completions = new ExecutorCompletionService<List<ReviewResult>>(agentExecutionExecutor);
+        AgentReviewer reviewer = reviewerFactory.create(config, context);
+        Future<List<ReviewResult>> primary = completions.submit(() -> reviewer.reviewPasses(target, reviewPasses));
+        try {
+            long hedgeDelayNanos = hedgingPolicy.hedgeDelayNanos(reviewPasses);
+            if (hedgeDelayNanos >= 0 && hedgeDelayNanos < timeoutNanos) {
+                if (completions.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS) != null) {
+                    return recordIfSuccessful(primary.get(), startNanos, reviewPasses);
+                }
+                AdaptiveConcurrencyLimit.Permit hedgePermit = tryStartHedge();
+                if (hedgePermit != null) {
+                    logger.info("Agent {} still running after {} s; starting a hedged session",
+                        config.name(), TimeUnit.NANOSECONDS.toSeconds(hedgeDelayNanos));
+                    return raceHedge(config, target, context, reviewPasses, completions, primary,
+                        hedgePermit, startNanos, deadlineNanos);
+                }
+            }
+            List<ReviewResult> results = primary.get(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+            return recordIfSuccessful(results, startNanos, reviewPasses);
+        } finally {
+            primary.cancel(true);
+        }
+    }
+
+    private AdaptiveConcurrencyLimit.Permit tryStartHedge() {
+        if (!hedgingPolicy.tryStartHedge()) {
+            return null;
+        }
+        AdaptiveConcurrencyLimit.Permit permit = concurrencyLimit.tryAcquire();
+        if (permit == null) {
+            hedgingPolicy.cancelHedge();
+        }
+        return permit;
+    }
+
+    /// Waits for the primary and the hedged session and returns the first fully successful result,
+    /// else the first result that arrived; the other session is cancelled. A success is recorded
+    /// at the agent's latency from the primary's start, whichever session delivered it.
+    private List<ReviewResult> raceHedge(AgentConfig config,
+                                         ReviewTarget target,
+                                         ReviewContext context,
+                                         int reviewPasses,
+                                         ExecutorCompletionService<List<ReviewResult>> completions,
+                                         Future<List<ReviewResult>> primary,
+                                         AdaptiveConcurrencyLimit.Permit hedgePermit,
+                                         long startNanos,
+                                         long deadlineNanos)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        List<ReviewResult> hedgeResults = null;
+        Future<List<ReviewResult>> hedge = null;
+        try {
+            AgentReviewer hedgeReviewer = reviewerFactory.create(config, context);
+            hedge = completions.submit(() -> hedgeReviewer.reviewPasses(target, reviewPasses));
+            List<ReviewResult> firstResults = null;
+            ExecutionException firstFailure = null;
+            for (int pending = 2; pending > 0; pending--) {
+                Future<List<ReviewResult>> done = completions.poll(deadlineNanos - System.nanoTime(),
+                    TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new TimeoutException("Primary and hedged sessions both timed out");
+                }
+                List<ReviewResult> results;
+                try {
+                    results = done.get();
+                } catch (ExecutionException e) {
+                    firstFailure = firstFailure != null ? firstFailure : e;
+                    continue;
+                }
+                if (done == hedge) {
+                    hedgeResults = results;
+                }
+                if (allSucceeded(results)) {
+                    hedgingPolicy.recordSuccess(System.nanoTime() - startNanos, reviewPasses);
+                    if (done == hedge) {
+                        hedgingPolicy.hedgeWon();
+                        logger.info("Agent {}: hedged session finished first", config.name());
+                    }
+                    return results;
+                }
+                firstResults = firstResults != null ? firstResults : results;
+            }
+            if (firstResults != null) {
+                return firstResults;
+            }
+            throw firstFailure;
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+            concurrencyLimit.release(hedgePermit, outcomeOf(hedgeResults), reviewPasses);
+        }
+    }
+
+    private List<ReviewResult> recordIfSuccessful(List<ReviewResult> results, long startNanos, int reviewPasses) {
+        if (allSucceeded(results)) {
+            hedgingPolicy.recordSuccess(System.nanoTime() - startNanos, reviewPasses);
+        }
+        return results;
+    }
+
+    private static boolean allSucceeded(List<ReviewResult> results) {
+        return results != null && !results.isEmpty() && results.stream().allMatch(ReviewResult::success);
+    }
 }
\ No newline at end of file
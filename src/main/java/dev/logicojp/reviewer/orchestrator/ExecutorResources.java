@@ -5,12 +5,11 @@ import dev.logicojp.reviewer.util.ExecutorUtils;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Semaphore;
 
 record ExecutorResources(
     ExecutorService agentExecutionExecutor,
     ScheduledExecutorService sharedScheduler,
-    Semaphore concurrencyLimit
+    AdaptiveConcurrencyLimit concurrencyLimit
 ) {
     private static final int EXECUTOR_SHUTDOWN_TIMEOUT_SECONDS = 60;
     private static final int SCHEDULER_SHUTDOWN_TIMEOUT_SECONDS = 10;
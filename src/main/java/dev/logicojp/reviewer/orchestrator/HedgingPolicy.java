@@ -0,0 +1,117 @@
+package dev.logicojp.reviewer.orchestrator;
+
+import dev.logicojp.reviewer.config.ExecutionConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// Decides when a straggling agent gets a speculative second session (a hedge).
+///
+/// The per-pass latencies of the agents that succeeded in this run are recorded; an agent that
+/// runs longer than the configured percentile of them, scaled to its pass count and never less
+/// than the minimum delay, is hedged. No agent is hedged before `minSamples` agents have
+/// succeeded, and at most `maxHedges` hedges are started per run, which bounds the extra
+/// sessions. Thread-safe.
+final class HedgingPolicy {
+
+    private static final HedgingPolicy DISABLED = new HedgingPolicy(false, 1.0, Integer.MAX_VALUE, 0, 0);
+
+    private final boolean enabled;
+    private final double latencyPercentile;
+    private final int minSamples;
+    private final long minDelayNanos;
+    private final int maxHedges;
+    private final List<Long> passLatencySamples = new ArrayList<>();
+    private final AtomicInteger hedgesStarted = new AtomicInteger();
+    private final AtomicInteger hedgesWon = new AtomicInteger();
+
+    static HedgingPolicy disabled() {
+        return DISABLED;
+    }
+
+    static HedgingPolicy from(ExecutionConfig executionConfig) {
+        if (!executionConfig.isHedgingEnabled()) {
+            return DISABLED;
+        }
+        ExecutionConfig.HedgingSettings hedging = executionConfig.hedging();
+        return new HedgingPolicy(true, hedging.latencyPercentile(), hedging.minSamples(),
+            TimeUnit.SECONDS.toNanos(hedging.minDelaySeconds()), hedging.maxHedges());
+    }
+
+    HedgingPolicy(boolean enabled, double latencyPercentile, int minSamples, long minDelayNanos, int maxHedges) {
+        this.enabled = enabled;
+        this.latencyPercentile = latencyPercentile;
+        this.minSamples = Math.max(1, minSamples);
+        this.minDelayNanos = minDelayNanos;
+        this.maxHedges = maxHedges;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /// Records the latency of an agent whose passes all succeeded.
+    void recordSuccess(long elapsedNanos, int passes) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (passLatencySamples) {
+            passLatencySamples.add(elapsedNanos / Math.max(1, passes));
+        }
+    }
+
+    /// Returns how long to wait for an agent with `passes` passes before hedging it, or -1 when it
+    /// should not be hedged (disabled, too few samples or no hedges left).
+    long hedgeDelayNanos(int passes) {
+        if (!enabled || hedgesStarted.get() >= maxHedges) {
+            return -1;
+        }
+        List<Long> sorted;
+        synchronized (passLatencySamples) {
+            if (passLatencySamples.size() < minSamples) {
+                return -1;
+            }
+            sorted = new ArrayList<>(passLatencySamples);
+        }
+        Collections.sort(sorted);
+        // Nearest-rank percentile.
+        int rank = (int) Math.ceil(latencyPercentile * sorted.size());
+        long passLatency = sorted.get(Math.clamp(rank - 1, 0, sorted.size() - 1));
+        return Math.max(minDelayNanos, passLatency * Math.max(1, passes));
+    }
+
+    /// Takes one hedge from the run's budget; returns false when it is used up.
+    boolean tryStartHedge() {
+        if (!enabled) {
+            return false;
+        }
+        int started;
+        do {
+            started = hedgesStarted.get();
+            if (started >= maxHedges) {
+                return false;
+            }
+        } while (!hedgesStarted.compareAndSet(started, started + 1));
+        return true;
+    }
+
+    /// Returns a hedge taken with {@link #tryStartHedge()} that could not be started.
+    void cancelHedge() {
+        hedgesStarted.decrementAndGet();
+    }
+
+    void hedgeWon() {
+        hedgesWon.incrementAndGet();
+    }
+
+    int hedgesStarted() {
+        return hedgesStarted.get();
+    }
+
+    int hedgesWon() {
+        return hedgesWon.get();
+    }
+}
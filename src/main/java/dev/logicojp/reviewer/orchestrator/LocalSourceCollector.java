@@ -1,8 +1,34 @@
 package dev.logicojp.reviewer.orchestrator;
 
+import dev.logicojp.reviewer.target.FileRoutingRules;
 import dev.logicojp.reviewer.target.LocalFileProvider;
+import dev.logicojp.reviewer.target.RelevanceQuery;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @FunctionalInterface
 interface LocalSourceCollector {
     LocalFileProvider.CollectionResult collectAndGenerate();
+
+    /// Collects the source split into prompt-sized shards; a single shard unless overridden.
+    default List<LocalFileProvider.CollectionResult> collectAndGenerateShards() {
+        return List.of(collectAndGenerate());
+    }
+
+    /// Collects shards limited to files routed by `rules`; ignores the rules unless overridden.
+    default List<LocalFileProvider.CollectionResult> collectAndGenerateShards(FileRoutingRules rules) {
+        return collectAndGenerateShards();
+    }
+
+    /// Collects a relevance-ranked source per query key; the same collection for every query unless overridden.
+    default Map<String, LocalFileProvider.CollectionResult> collectAndGenerateRanked(List<RelevanceQuery> queries) {
+        LocalFileProvider.CollectionResult shared = collectAndGenerate();
+        Map<String, LocalFileProvider.CollectionResult> results = new LinkedHashMap<>();
+        for (RelevanceQuery query : queries) {
+            results.put(query.key(), shared);
+        }
+        return results;
+    }
 }
\ No newline at end of file
@@ -1,10 +1,10 @@
 package dev.logicojp.reviewer.orchestrator;
 
 import dev.logicojp.reviewer.config.LocalFileConfig;
-
-import java.nio.file.Path;
+import dev.logicojp.reviewer.target.ReviewTarget;
 
 @FunctionalInterface
 interface LocalSourceCollectorFactory {
-    LocalSourceCollector create(Path directory, LocalFileConfig localFileConfig);
+    /// Creates a collector for a local directory or archive target.
+    LocalSourceCollector create(ReviewTarget target, LocalFileConfig localFileConfig);
 }
\ No newline at end of file
@@ -1,11 +1,23 @@
 package dev.logicojp.reviewer.orchestrator;
 
+import dev.logicojp.reviewer.agent.AgentConfig;
 import dev.logicojp.reviewer.config.LocalFileConfig;
+import dev.logicojp.reviewer.config.TokenBudgetConfig;
+import dev.logicojp.reviewer.target.FileRoutingRules;
+import dev.logicojp.reviewer.target.LocalFileProvider;
+import dev.logicojp.reviewer.target.RelevanceQuery;
 import dev.logicojp.reviewer.target.ReviewTarget;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 final class LocalSourcePrecomputer {
@@ -13,34 +25,115 @@ final class LocalSourcePrecomputer {
     private static final Logger logger = LoggerFactory.getLogger(LocalSourcePrecomputer.class);
     private final LocalSourceCollectorFactory localSourceCollectorFactory;
     private final LocalFileConfig localFileConfig;
+    private final TokenBudgetConfig tokenBudgetConfig;
 
     LocalSourcePrecomputer(LocalSourceCollectorFactory localSourceCollectorFactory,
                            LocalFileConfig localFileConfig) {
+        this(localSourceCollectorFactory, localFileConfig, new TokenBudgetConfig());
+    }
+
+    LocalSourcePrecomputer(LocalSourceCollectorFactory localSourceCollectorFactory,
+                           LocalFileConfig localFileConfig,
+                           TokenBudgetConfig tokenBudgetConfig) {
         this.localSourceCollectorFactory = localSourceCollectorFactory;
         this.localFileConfig = localFileConfig;
+        this.tokenBudgetConfig = tokenBudgetConfig;
+    }
+
+    /// Collects the local source for each agent, keyed by agent name.
+    ///
+    /// With {@link TokenBudgetConfig#isCollectedSourceLimitEnabled()}, collection fits the smallest
+    /// content budget among the models of `agents`. When the source
+    /// is sharded (or relevance ranking is disabled), agents with the same file routing rules
+    /// map to the same shard list. Otherwise each agent gets the routed files most relevant to
+    /// its focus areas and instruction; agents whose selections coincide map to the same list instance.
+    /// Returns an empty map for non-local targets.
+    Map<String, List<String>> preComputeAgentSources(ReviewTarget target, Collection<AgentConfig> agents) {
+        LocalFileConfig collectionConfig = collectionConfigFor(agents);
+        if (agents.isEmpty() || collectionConfig.maxShards() > 1 || !collectionConfig.isRelevanceRankingEnabled()) {
+            return routedShards(target, agents, collectionConfig);
+        }
+        Optional<ReviewTarget> localTarget = resolveLocalTarget(target);
+        if (localTarget.isEmpty()) {
+            return Map.of();
+        }
+
+        logPrecomputeStart(localTarget.get().localPath().orElseThrow(), collectionConfig.maxTotalTokens());
+        List<RelevanceQuery> queries = agents.stream()
+            .map(agent -> new RelevanceQuery(
+                agent.name(), agent.focusAreas(), agent.instruction(), agent.fileRoutingRules()))
+            .toList();
+        var collections = localSourceCollectorFactory.create(localTarget.get(), collectionConfig)
+            .collectAndGenerateRanked(queries);
+        Map<LocalFileProvider.CollectionResult, List<String>> sourcesByCollection = new IdentityHashMap<>();
+        Map<String, List<String>> agentSources = new LinkedHashMap<>();
+        collections.forEach((agentName, collection) -> agentSources.put(agentName,
+            sourcesByCollection.computeIfAbsent(collection, this::toSources)));
+        return agentSources;
+    }
+
+    /// With the collected-source limit enabled, collection uses the smallest content budget among
+    /// the agents' models, so every source fits every agent.
+    private LocalFileConfig collectionConfigFor(Collection<AgentConfig> agents) {
+        if (agents.isEmpty() || !tokenBudgetConfig.isCollectedSourceLimitEnabled()) {
+            return localFileConfig;
+        }
+        int tokenBudget = agents.stream()
+            .mapToInt(agent -> tokenBudgetConfig.contentBudgetFor(agent.model()))
+            .min()
+            .orElseThrow();
+        return localFileConfig.withModelTokenBudget(tokenBudget);
     }
 
-    Optional<String> preComputeSourceContent(ReviewTarget target) {
-        Optional<Path> directory = resolveLocalDirectory(target);
-        if (directory.isEmpty()) {
-            return Optional.empty();
+    /// Collects the shards once per distinct file routing rule set among `agents`.
+    private Map<String, List<String>> routedShards(ReviewTarget target,
+                                                   Collection<AgentConfig> agents,
+                                                   LocalFileConfig collectionConfig) {
+        Optional<ReviewTarget> localTarget = resolveLocalTarget(target);
+        if (localTarget.isEmpty()) {
+            return Map.of();
         }
 
-        logPrecomputeStart(directory.get());
-        var collection = localSourceCollectorFactory.create(directory.get(), localFileConfig).collectAndGenerate();
+        logPrecomputeStart(localTarget.get().localPath().orElseThrow(), collectionConfig.maxTotalTokens());
+        LocalSourceCollector collector = localSourceCollectorFactory.create(localTarget.get(), collectionConfig);
+        Map<FileRoutingRules, List<String>> shardsByRules = new HashMap<>();
+        Map<String, List<String>> agentSources = new LinkedHashMap<>();
+        for (AgentConfig agent : agents) {
+            List<String> shards = shardsByRules.computeIfAbsent(agent.fileRoutingRules(),
+                rules -> toShards(collector.collectAndGenerateShards(rules)));
+            if (!shards.isEmpty()) {
+                agentSources.put(agent.name(), shards);
+            }
+        }
+        return agentSources;
+    }
+
+    private List<String> toShards(List<LocalFileProvider.CollectionResult> collections) {
+        List<String> shards = new ArrayList<>(collections.size());
+        for (var collection : collections) {
+            shards.addAll(toSources(collection));
+        }
+        return List.copyOf(shards);
+    }
+
+    private List<String> toSources(LocalFileProvider.CollectionResult collection) {
         logCollectionResult(collection.fileCount(), collection.directorySummary());
-        return Optional.ofNullable(collection.reviewContent());
+        return collection.reviewContent() != null ? List.of(collection.reviewContent()) : List.of();
     }
 
-    private Optional<Path> resolveLocalDirectory(ReviewTarget target) {
+    private Optional<ReviewTarget> resolveLocalTarget(ReviewTarget target) {
         return switch (target) {
-            case ReviewTarget.LocalTarget(Path directory) -> Optional.of(directory);
+            case ReviewTarget.LocalTarget _, ReviewTarget.ArchiveTarget _, ReviewTarget.CommitTarget _ ->
+                Optional.of(target);
             case ReviewTarget.GitHubTarget(_) -> Optional.empty();
         };
     }
 
-    private void logPrecomputeStart(Path directory) {
-        logger.info("Pre-computing source content for local directory: {}", directory);
+    private void logPrecomputeStart(Path localPath, int maxTotalTokens) {
+        logger.info("Pre-computing source content for local target: {}", localPath);
+        if (maxTotalTokens > 0) {
+            logger.info("Local source token budget: {} tokens per prompt", maxTotalTokens);
+        }
     }
 
     private void logCollectionResult(int fileCount, String directorySummary) {
@@ -3,6 +3,7 @@ package dev.logicojp.reviewer.orchestrator;
 import dev.logicojp.reviewer.config.ExecutionConfig;
 import dev.logicojp.reviewer.config.GithubMcpConfig;
 import dev.logicojp.reviewer.config.LocalFileConfig;
+import dev.logicojp.reviewer.config.TokenBudgetConfig;
 import io.micronaut.core.annotation.Nullable;
 
 import java.util.Objects;
@@ -15,13 +16,27 @@ public record OrchestratorConfig(
     @Nullable String reasoningEffort,
     @Nullable String outputConstraints,
     String invocationTimestamp,
-    PromptTexts promptTexts
+    PromptTexts promptTexts,
+    TokenBudgetConfig tokenBudgetConfig
 ) {
     public OrchestratorConfig {
         executionConfig = Objects.requireNonNull(executionConfig, "executionConfig must not be null");
         localFileConfig = localFileConfig != null ? localFileConfig : new LocalFileConfig();
         invocationTimestamp = invocationTimestamp != null ? invocationTimestamp : "unknown-start-time";
         promptTexts = promptTexts != null ? promptTexts : new PromptTexts(null, null, null);
+        tokenBudgetConfig = tokenBudgetConfig != null ? tokenBudgetConfig : new TokenBudgetConfig();
+    }
+
+    public OrchestratorConfig(@Nullable String githubToken,
+                              @Nullable GithubMcpConfig githubMcpConfig,
+                              LocalFileConfig localFileConfig,
+                              ExecutionConfig executionConfig,
+                              @Nullable String reasoningEffort,
+                              @Nullable String outputConstraints,
+                              String invocationTimestamp,
+                              PromptTexts promptTexts) {
+        this(githubToken, githubMcpConfig, localFileConfig, executionConfig, reasoningEffort,
+            outputConstraints, invocationTimestamp, promptTexts, null);
     }
 
     @Override
@@ -1,9 +1,12 @@
 package dev.logicojp.reviewer.orchestrator;
 
+import dev.logicojp.reviewer.agent.CopilotRateLimiter;
 import dev.logicojp.reviewer.agent.ReviewContext;
 import dev.logicojp.reviewer.agent.SharedCircuitBreaker;
 import dev.logicojp.reviewer.config.ExecutionConfig;
 import dev.logicojp.reviewer.config.LocalFileConfig;
+import dev.logicojp.reviewer.config.TokenBudgetConfig;
+import dev.logicojp.reviewer.util.CompressedText;
 import com.github.copilot.sdk.CopilotClient;
 
 import java.util.Map;
@@ -21,6 +24,8 @@ final class ReviewContextFactory {
     private final LocalFileConfig localFileConfig;
     private final ScheduledExecutorService sharedScheduler;
     private final SharedCircuitBreaker reviewCircuitBreaker;
+    private final TokenBudgetConfig tokenBudgetConfig;
+    private final CopilotRateLimiter rateLimiter;
 
     ReviewContextFactory(CopilotClient client,
                          ExecutionConfig executionConfig,
@@ -30,7 +35,23 @@ final class ReviewContextFactory {
                          Map<String, Object> cachedMcpServers,
                          LocalFileConfig localFileConfig,
                          ScheduledExecutorService sharedScheduler,
-                         SharedCircuitBreaker reviewCircuitBreaker) {
+                         SharedCircuitBreaker reviewCircuitBreaker,
+                         TokenBudgetConfig tokenBudgetConfig) {
+        this(client, executionConfig, reasoningEffort, outputConstraints, invocationTimestamp, cachedMcpServers,
+            localFileConfig, sharedScheduler, reviewCircuitBreaker, tokenBudgetConfig, CopilotRateLimiter.unlimited());
+    }
+
+    ReviewContextFactory(CopilotClient client,
+                         ExecutionConfig executionConfig,
+                         String reasoningEffort,
+                         String outputConstraints,
+                         String invocationTimestamp,
+                         Map<String, Object> cachedMcpServers,
+                         LocalFileConfig localFileConfig,
+                         ScheduledExecutorService sharedScheduler,
+                         SharedCircuitBreaker reviewCircuitBreaker,
+                         TokenBudgetConfig tokenBudgetConfig,
+                         CopilotRateLimiter rateLimiter) {
         this.client = client;
         this.executionConfig = executionConfig;
         this.reasoningEffort = reasoningEffort;
@@ -40,9 +61,15 @@ final class ReviewContextFactory {
         this.localFileConfig = localFileConfig;
         this.sharedScheduler = sharedScheduler;
         this.reviewCircuitBreaker = reviewCircuitBreaker;
+        this.tokenBudgetConfig = tokenBudgetConfig;
+        this.rateLimiter = rateLimiter;
     }
 
+    /// Creates an agent context holding `cachedSourceContent`. With the off-heap source store
+    /// enabled the content is compressed here, so the caller's `String` is the only on-heap copy
+    /// and can be dropped once all contexts exist.
     ReviewContext create(Optional<String> cachedSourceContent) {
+        boolean offHeap = localFileConfig != null && localFileConfig.isOffHeapSourceStoreEnabled();
         return ReviewContext.builder()
             .client(client)
             .timeoutMinutes(executionConfig.agentTimeoutMinutes())
@@ -53,14 +80,19 @@ final class ReviewContextFactory {
             .outputConstraints(outputConstraints)
             .invocationTimestamp(invocationTimestamp)
             .cachedMcpServers(cachedMcpServers)
-            .cachedSourceContent(cachedSourceContent.orElse(null))
+            .cachedSourceContent(offHeap ? null : cachedSourceContent.orElse(null))
+            .cachedCompressedSourceContent(offHeap
+                ? cachedSourceContent.map(CompressedText::compress).orElse(null)
+                : null)
             .localFileConfig(localFileConfig)
             .sharedScheduler(sharedScheduler)
             .reviewCircuitBreaker(reviewCircuitBreaker)
+            .tokenBudgetConfig(tokenBudgetConfig)
+            .rateLimiter(rateLimiter)
             .agentTuningConfig(new ReviewContext.AgentTuningConfig(
                 executionConfig.maxAccumulatedSize(),
                 executionConfig.initialAccumulatedCapacity(),
-                executionConfig.instructionBufferExtraCapacity()))
+                executionConfig.buffers().instructionBufferExtraCapacity()))
             .build();
     }
 }
\ No newline at end of file
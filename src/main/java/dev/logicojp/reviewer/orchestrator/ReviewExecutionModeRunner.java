@@ -10,11 +10,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.StructuredTaskScope;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
 
 final class ReviewExecutionModeRunner {
 
@@ -24,6 +31,37 @@ final class ReviewExecutionModeRunner {
     private record SubtaskWithConfig(StructuredTaskScope.Subtask<List<ReviewResult>> subtask, AgentConfig config) {
     }
 
+    /// Collects the results of an agent's tasks and reports the agent once its last task is done.
+    private static final class AgentCompletion {
+        private final AgentConfig config;
+        private final AtomicReferenceArray<List<ReviewResult>> taskResults;
+        private final AtomicInteger remainingTasks;
+        private final AtomicBoolean reported = new AtomicBoolean();
+
+        private AgentCompletion(AgentConfig config, int taskCount) {
+            this.config = config;
+            this.taskResults = new AtomicReferenceArray<>(taskCount);
+            this.remainingTasks = new AtomicInteger(taskCount);
+        }
+
+        /// Records the results of a finished task; returns whether it was the agent's last one.
+        private boolean taskCompleted(int taskIndex, List<ReviewResult> results) {
+            taskResults.set(taskIndex, results);
+            return remainingTasks.decrementAndGet() == 0;
+        }
+
+        private List<ReviewResult> results() {
+            List<ReviewResult> results = new ArrayList<>();
+            for (int i = 0; i < taskResults.length(); i++) {
+                List<ReviewResult> task = taskResults.get(i);
+                if (task != null) {
+                    task.stream().filter(Objects::nonNull).forEach(results::add);
+                }
+            }
+            return results;
+        }
+    }
+
     @FunctionalInterface
     interface AgentPassExecutor {
         List<ReviewResult> execute(AgentConfig config,
@@ -48,26 +86,100 @@ final class ReviewExecutionModeRunner {
                                          ReviewTarget target,
                                          ReviewContext sharedContext,
                                          AgentPassExecutor agentPassExecutor) {
+        return executeStructuredShards(agents, target, Collections.singletonList(sharedContext), agentPassExecutor);
+    }
+
+    /// Runs every agent against every shard context as independent structured subtasks.
+    /// With a single context this is the regular per-agent execution.
+    List<ReviewResult> executeStructuredShards(Map<String, AgentConfig> agents,
+                                               ReviewTarget target,
+                                               List<ReviewContext> shardContexts,
+                                               AgentPassExecutor agentPassExecutor) {
+        return executeStructuredPerAgent(agents, target, _ -> shardContexts, agentPassExecutor);
+    }
+
+    /// Runs every agent against each of its own shard contexts as independent structured subtasks,
+    /// for agents that review different (e.g. relevance-ranked) sources.
+    List<ReviewResult> executeStructuredPerAgent(Map<String, AgentConfig> agents,
+                                                 ReviewTarget target,
+                                                 Function<AgentConfig, List<ReviewContext>> contextsForAgent,
+                                                 AgentPassExecutor agentPassExecutor) {
+        return executeStructuredPerAgent(agents, target, contextsForAgent, agentPassExecutor,
+            AgentCompletionListener.NONE);
+    }
+
+    /// Like {@link #executeStructuredPerAgent(Map, ReviewTarget, Function, AgentPassExecutor)}, reporting
+    /// each agent to `completionListener` as soon as all of its tasks have returned. Agents with a
+    /// task that did not return (timed out or cancelled) are reported with their failure results
+    /// after the join.
+    List<ReviewResult> executeStructuredPerAgent(Map<String, AgentConfig> agents,
+                                                 ReviewTarget target,
+                                                 Function<AgentConfig, List<ReviewContext>> contextsForAgent,
+                                                 AgentPassExecutor agentPassExecutor,
+                                                 AgentCompletionListener completionListener) {
         ExecutionParams params = executionParams(agents.size());
         List<SubtaskWithConfig> tasks = new ArrayList<>(params.agentCount());
+        Map<String, AgentCompletion> completions = new LinkedHashMap<>();
         try (var scope = StructuredTaskScope.<List<ReviewResult>>open()) {
             for (var config : agents.values()) {
-                tasks.add(new SubtaskWithConfig(scope.fork(() -> executeAgentPasses(
-                    config,
-                    target,
-                    sharedContext,
-                    params.reviewPasses(),
-                    params.perAgentTimeoutMinutes(),
-                    agentPassExecutor
-                )), config));
+                List<ReviewContext> shardContexts = contextsForAgent.apply(config);
+                var completion = new AgentCompletion(config, shardContexts.size());
+                completions.put(config.name(), completion);
+                for (int i = 0; i < shardContexts.size(); i++) {
+                    var shardContext = shardContexts.get(i);
+                    int taskIndex = i;
+                    tasks.add(new SubtaskWithConfig(scope.fork(() -> {
+                        List<ReviewResult> results = executeAgentPasses(
+                            config,
+                            target,
+                            shardContext,
+                            params.reviewPasses(),
+                            params.perAgentTimeoutMinutes(),
+                            agentPassExecutor
+                        );
+                        if (completion.taskCompleted(taskIndex, results)) {
+                            reportCompletion(completion, completion.results(), completionListener);
+                        }
+                        return results;
+                    }), config));
+                }
             }
 
             joinStructuredWithTimeout(scope, params.timeoutMinutes());
 
-            return finalizeResults(
-                params.reviewPasses(),
-                collectStructuredResults(tasks, target, params.perAgentTimeoutMinutes())
-            );
+            List<ReviewResult> results = collectStructuredResults(tasks, target, params.perAgentTimeoutMinutes());
+            reportRemainingCompletions(completions, results, completionListener);
+            return finalizeResults(params.reviewPasses(), results);
+        }
+    }
+
+    /// Reports the agents whose tasks did not all return, with their summarized results.
+    private void reportRemainingCompletions(Map<String, AgentCompletion> completions,
+                                            List<ReviewResult> results,
+                                            AgentCompletionListener completionListener) {
+        for (AgentCompletion completion : completions.values()) {
+            if (completion.reported.get()) {
+                continue;
+            }
+            List<ReviewResult> agentResults = results.stream()
+                .filter(Objects::nonNull)
+                .filter(result -> result.agentConfig() != null
+                    && result.agentConfig().name().equals(completion.config.name()))
+                .toList();
+            reportCompletion(completion, agentResults, completionListener);
+        }
+    }
+
+    private void reportCompletion(AgentCompletion completion,
+                                  List<ReviewResult> results,
+                                  AgentCompletionListener completionListener) {
+        if (!completion.reported.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            completionListener.agentCompleted(completion.config, results);
+        } catch (RuntimeException e) {
+            logger.warn("Completion listener failed for agent {}: {}", completion.config.name(), e.getMessage(), e);
         }
     }
 
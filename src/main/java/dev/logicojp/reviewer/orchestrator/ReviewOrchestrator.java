@@ -1,24 +1,35 @@
 package dev.logicojp.reviewer.orchestrator;
 
 import dev.logicojp.reviewer.agent.AgentConfig;
+import dev.logicojp.reviewer.agent.CopilotRateLimiter;
 import dev.logicojp.reviewer.agent.ReviewAgent;
 import dev.logicojp.reviewer.agent.ReviewContext;
 import dev.logicojp.reviewer.agent.SharedCircuitBreaker;
 import dev.logicojp.reviewer.config.ExecutionConfig;
 import dev.logicojp.reviewer.config.GithubMcpConfig;
 import dev.logicojp.reviewer.report.core.ReviewResult;
+import dev.logicojp.reviewer.target.ArchiveSourceProvider;
+import dev.logicojp.reviewer.target.FileRoutingRules;
+import dev.logicojp.reviewer.target.GitRevisionSourceProvider;
+import dev.logicojp.reviewer.target.LocalChangeScope;
 import dev.logicojp.reviewer.target.LocalFileProvider;
+import dev.logicojp.reviewer.target.RelevanceQuery;
 import dev.logicojp.reviewer.target.ReviewTarget;
 import dev.logicojp.reviewer.util.ExecutorUtils;
 import com.github.copilot.sdk.CopilotClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 
 /// Orchestrates parallel execution of multiple review agents.
 ///
@@ -70,7 +81,8 @@ public class ReviewOrchestrator implements AutoCloseable {
                 orchestratorConfig,
                 reviewerFactory,
                 localSourceCollectorFactory,
-                SharedCircuitBreaker.withDefaultConfig()
+                SharedCircuitBreaker.withDefaultConfig(),
+                CopilotRateLimiter.unlimited()
             )
         );
     }
@@ -87,7 +99,12 @@ public class ReviewOrchestrator implements AutoCloseable {
         this.reviewContextFactory = collaborators.reviewContextFactory();
         this.localSourcePrecomputer = collaborators.localSourcePrecomputer();
         
-        logger.info("Parallelism set to {}", executionConfig.parallelism());
+        if (executionConfig.isAdaptiveConcurrencyEnabled()) {
+            logger.info("Parallelism set to {} (adaptive, up to {})",
+                executionConfig.parallelism(), executionConfig.maxParallelism());
+        } else {
+            logger.info("Parallelism set to {}", executionConfig.parallelism());
+        }
         if (executionConfig.reviewPasses() > 1) {
             logger.info("Multi-pass review enabled: {} passes per agent", executionConfig.reviewPasses());
         }
@@ -96,12 +113,20 @@ public class ReviewOrchestrator implements AutoCloseable {
     static OrchestratorCollaborators defaultCollaborators(CopilotClient client,
                                                           OrchestratorConfig orchestratorConfig,
                                                           SharedCircuitBreaker reviewCircuitBreaker) {
+        return defaultCollaborators(client, orchestratorConfig, reviewCircuitBreaker, CopilotRateLimiter.unlimited());
+    }
+
+    static OrchestratorCollaborators defaultCollaborators(CopilotClient client,
+                                                          OrchestratorConfig orchestratorConfig,
+                                                          SharedCircuitBreaker reviewCircuitBreaker,
+                                                          CopilotRateLimiter rateLimiter) {
         return collaboratorsFromFactories(
             client,
             orchestratorConfig,
             defaultReviewerFactory(orchestratorConfig),
             defaultLocalSourceCollectorFactory(),
-            reviewCircuitBreaker
+            reviewCircuitBreaker,
+            rateLimiter
         );
     }
 
@@ -110,11 +135,12 @@ public class ReviewOrchestrator implements AutoCloseable {
             OrchestratorConfig orchestratorConfig,
             AgentReviewerFactory reviewerFactory,
             LocalSourceCollectorFactory localSourceCollectorFactory,
-            SharedCircuitBreaker reviewCircuitBreaker) {
+            SharedCircuitBreaker reviewCircuitBreaker,
+            CopilotRateLimiter rateLimiter) {
         ExecutorResources resources = createExecutorResources(orchestratorConfig);
         try {
             return assembleCollaborators(client, orchestratorConfig, reviewerFactory,
-                localSourceCollectorFactory, resources, reviewCircuitBreaker);
+                localSourceCollectorFactory, resources, reviewCircuitBreaker, rateLimiter);
         } catch (Exception e) {
             resources.shutdownGracefully();
             throw e;
@@ -123,7 +149,10 @@ public class ReviewOrchestrator implements AutoCloseable {
 
     private static ExecutorResources createExecutorResources(
             OrchestratorConfig orchestratorConfig) {
-        Semaphore concurrencyLimit = new Semaphore(orchestratorConfig.executionConfig().parallelism());
+        ExecutionConfig executionConfig = orchestratorConfig.executionConfig();
+        AdaptiveConcurrencyLimit concurrencyLimit = executionConfig.isAdaptiveConcurrencyEnabled()
+            ? AdaptiveConcurrencyLimit.adaptive(executionConfig.parallelism(), executionConfig.maxParallelism())
+            : AdaptiveConcurrencyLimit.fixed(executionConfig.parallelism());
         var agentExecutionExecutor = Executors.newThreadPerTaskExecutor(
             Thread.ofVirtual().name("agent-execution-", 0).factory());
         // Scheduler uses one lightweight platform thread intentionally:
@@ -141,7 +170,8 @@ public class ReviewOrchestrator implements AutoCloseable {
             AgentReviewerFactory reviewerFactory,
             LocalSourceCollectorFactory localSourceCollectorFactory,
             ExecutorResources resources,
-            SharedCircuitBreaker reviewCircuitBreaker) {
+            SharedCircuitBreaker reviewCircuitBreaker,
+            CopilotRateLimiter rateLimiter) {
         Map<String, Object> cachedMcpServers = GithubMcpConfig.buildMcpServers(
             orchestratorConfig.githubToken(),
             orchestratorConfig.githubMcpConfig()
@@ -151,10 +181,11 @@ public class ReviewOrchestrator implements AutoCloseable {
             orchestratorConfig, resources, reviewerFactory);
 
         ReviewContextFactory reviewContextFactory = createReviewContextFactory(
-            client, orchestratorConfig, cachedMcpServers, resources, reviewCircuitBreaker);
+            client, orchestratorConfig, cachedMcpServers, resources, reviewCircuitBreaker, rateLimiter);
 
         LocalSourcePrecomputer localSourcePrecomputer = new LocalSourcePrecomputer(
-            localSourceCollectorFactory, orchestratorConfig.localFileConfig());
+            localSourceCollectorFactory, orchestratorConfig.localFileConfig(),
+            orchestratorConfig.tokenBudgetConfig());
 
         return new OrchestratorCollaborators(
             reviewerFactory, localSourceCollectorFactory, resources, cachedMcpServers,
@@ -174,7 +205,8 @@ public class ReviewOrchestrator implements AutoCloseable {
             AgentReviewerFactory reviewerFactory) {
         ReviewResultPipeline pipeline = new ReviewResultPipeline();
         AgentReviewExecutor executor = new AgentReviewExecutor(
-            resources.concurrencyLimit(), resources.agentExecutionExecutor(), reviewerFactory);
+            resources.concurrencyLimit(), resources.agentExecutionExecutor(), reviewerFactory,
+            AgentReviewExecutor.RunPolicies.from(orchestratorConfig.executionConfig()));
         ReviewExecutionModeRunner modeRunner = new ReviewExecutionModeRunner(
             orchestratorConfig.executionConfig(), pipeline);
         return new ExecutionPipelineComponents(pipeline, executor, modeRunner);
@@ -185,7 +217,8 @@ public class ReviewOrchestrator implements AutoCloseable {
             OrchestratorConfig orchestratorConfig,
             Map<String, Object> cachedMcpServers,
             ExecutorResources resources,
-            SharedCircuitBreaker reviewCircuitBreaker) {
+            SharedCircuitBreaker reviewCircuitBreaker,
+            CopilotRateLimiter rateLimiter) {
         return new ReviewContextFactory(
             client, orchestratorConfig.executionConfig(),
             orchestratorConfig.reasoningEffort(),
@@ -193,7 +226,7 @@ public class ReviewOrchestrator implements AutoCloseable {
             orchestratorConfig.invocationTimestamp(),
             cachedMcpServers,
             orchestratorConfig.localFileConfig(), resources.sharedScheduler(),
-            reviewCircuitBreaker);
+            reviewCircuitBreaker, orchestratorConfig.tokenBudgetConfig(), rateLimiter);
     }
 
     private static AgentReviewerFactory defaultReviewerFactory(OrchestratorConfig orchestratorConfig) {
@@ -221,33 +254,134 @@ public class ReviewOrchestrator implements AutoCloseable {
         };
     }
 
-    private static LocalSourceCollectorFactory defaultLocalSourceCollectorFactory() {
-        return (directory, config) -> {
-            LocalFileProvider provider = new LocalFileProvider(directory, config);
-            return provider::collectAndGenerate;
+    static LocalSourceCollectorFactory defaultLocalSourceCollectorFactory() {
+        return (target, config) -> switch (target) {
+            case ReviewTarget.LocalTarget(Path directory, LocalChangeScope changeScope) ->
+                directoryCollector(new LocalFileProvider(directory, config, changeScope));
+            case ReviewTarget.ArchiveTarget(Path archive) ->
+                singleShardCollector(new ArchiveSourceProvider(archive, config)::collectAndGenerate);
+            case ReviewTarget.CommitTarget(Path directory, String commit) ->
+                singleShardCollector(new GitRevisionSourceProvider(directory, commit, config)::collectAndGenerate);
+            case ReviewTarget.GitHubTarget(String repository) ->
+                throw new IllegalArgumentException("Not a local target: " + repository);
+        };
+    }
+
+    private static LocalSourceCollector directoryCollector(LocalFileProvider provider) {
+        return new LocalSourceCollector() {
+            @Override
+            public LocalFileProvider.CollectionResult collectAndGenerate() {
+                return provider.collectAndGenerate();
+            }
+
+            @Override
+            public List<LocalFileProvider.CollectionResult> collectAndGenerateShards() {
+                return provider.collectAndGenerateShards();
+            }
+
+            @Override
+            public List<LocalFileProvider.CollectionResult> collectAndGenerateShards(FileRoutingRules rules) {
+                return provider.collectAndGenerateShards(rules);
+            }
+
+            @Override
+            public Map<String, LocalFileProvider.CollectionResult> collectAndGenerateRanked(
+                    List<RelevanceQuery> queries) {
+                return provider.collectAndGenerateRanked(queries);
+            }
+        };
+    }
+
+    /// Archives and commits are collected as a single shard. Relevance queries are not ranked;
+    /// queries with the same file routing rules share one collection.
+    private static LocalSourceCollector singleShardCollector(
+            Function<FileRoutingRules, LocalFileProvider.CollectionResult> collect) {
+        return new LocalSourceCollector() {
+            @Override
+            public LocalFileProvider.CollectionResult collectAndGenerate() {
+                return collect.apply(FileRoutingRules.all());
+            }
+
+            @Override
+            public List<LocalFileProvider.CollectionResult> collectAndGenerateShards(FileRoutingRules rules) {
+                return List.of(collect.apply(rules));
+            }
+
+            @Override
+            public Map<String, LocalFileProvider.CollectionResult> collectAndGenerateRanked(
+                    List<RelevanceQuery> queries) {
+                var byRules = new HashMap<FileRoutingRules, LocalFileProvider.CollectionResult>();
+                var results = new LinkedHashMap<String, LocalFileProvider.CollectionResult>();
+                for (RelevanceQuery query : queries) {
+                    results.put(query.key(), byRules.computeIfAbsent(query.fileRoutingRules(), collect));
+                }
+                return results;
+            }
         };
     }
     
     /// Executes reviews for all provided agents in parallel.
     /// When `reviewPasses > 1`, each agent is reviewed multiple times in parallel
     /// and the results are merged per agent before returning.
+    /// When a local source is split into shards, every agent reviews each shard in its own
+    /// session; the per-shard results are returned like additional passes. When an oversized
+    /// local source is not sharded, each agent reviews its own relevance-ranked file selection.
     /// @param agents Map of agent name to AgentConfig
     /// @param target The target to review (GitHub repository or local directory)
     /// @return List of ReviewResults from all agents (one per agent, merged if multi-pass)
     public List<ReviewResult> executeReviews(Map<String, AgentConfig> agents, ReviewTarget target) {
+        return executeReviews(agents, target, AgentCompletionListener.NONE);
+    }
+
+    /// Like {@link #executeReviews(Map, ReviewTarget)}, passing each agent's pass results to
+    /// `completionListener` as soon as that agent has finished, so its reports can be written
+    /// while slower agents are still running.
+    /// @param completionListener Called once per agent, possibly concurrently
+    public List<ReviewResult> executeReviews(Map<String, AgentConfig> agents,
+                                             ReviewTarget target,
+                                             AgentCompletionListener completionListener) {
         int reviewPasses = executionConfig.reviewPasses();
         int totalTasks = agents.size() * reviewPasses;
         logReviewStart(agents.size(), reviewPasses, totalTasks, target);
 
-        var cachedSourceContent = localSourcePrecomputer.preComputeSourceContent(target);
-
-        ReviewContext sharedContext = reviewContextFactory.create(cachedSourceContent);
-        return reviewExecutionModeRunner.executeStructured(
+        // The precomputed sources are not kept in a local, so that with the off-heap source store
+        // the on-heap strings become unreachable once the contexts hold their compressed copies.
+        Map<String, List<ReviewContext>> agentContexts = createAgentContexts(
+            agents, localSourcePrecomputer.preComputeAgentSources(target, agents.values()));
+        List<ReviewResult> results = reviewExecutionModeRunner.executeStructuredPerAgent(
             agents,
             target,
-            sharedContext,
-            agentReviewExecutor::executeAgentPassesSafely
+            config -> agentContexts.get(config.name()),
+            agentReviewExecutor::executeAgentPassesSafely,
+            completionListener
         );
+        agentReviewExecutor.logConcurrencySummary();
+        return results;
+    }
+
+    /// Creates one set of shard contexts per distinct source list, so agents sharing a source
+    /// (the common case) also share its contexts.
+    private Map<String, List<ReviewContext>> createAgentContexts(Map<String, AgentConfig> agents,
+                                                                 Map<String, List<String>> agentSources) {
+        List<String> noSource = List.of();
+        Map<List<String>, List<ReviewContext>> contextsBySource = new IdentityHashMap<>();
+        Map<String, List<ReviewContext>> agentContexts = new HashMap<>();
+        for (AgentConfig config : agents.values()) {
+            List<String> sourceShards = agentSources.getOrDefault(config.name(), noSource);
+            agentContexts.put(config.name(), contextsBySource.computeIfAbsent(sourceShards, this::createShardContexts));
+        }
+        return agentContexts;
+    }
+
+    private List<ReviewContext> createShardContexts(List<String> sourceShards) {
+        if (sourceShards.size() <= 1) {
+            return List.of(reviewContextFactory.create(sourceShards.stream().findFirst()));
+        }
+        logger.info("Local source split into {} shards; each agent reviews every shard in its own session",
+            sourceShards.size());
+        return sourceShards.stream()
+            .map(shard -> reviewContextFactory.create(Optional.of(shard)))
+            .toList();
     }
 
     private void logReviewStart(int agentCount,
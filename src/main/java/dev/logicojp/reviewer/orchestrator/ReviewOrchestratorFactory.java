@@ -3,7 +3,9 @@ package dev.logicojp.reviewer.orchestrator;
 import dev.logicojp.reviewer.config.ExecutionConfig;
 import dev.logicojp.reviewer.config.GithubMcpConfig;
 import dev.logicojp.reviewer.config.LocalFileConfig;
+import dev.logicojp.reviewer.config.TokenBudgetConfig;
 import dev.logicojp.reviewer.agent.CircuitBreakerFactory;
+import dev.logicojp.reviewer.agent.CopilotRateLimiter;
 import dev.logicojp.reviewer.service.CopilotService;
 import dev.logicojp.reviewer.service.TemplateService;
 import com.github.copilot.sdk.CopilotClient;
@@ -35,13 +37,26 @@ public class ReviewOrchestratorFactory {
     private final TemplateService templateService;
     private final CircuitBreakerFactory circuitBreakerFactory;
     private final OrchestratorCreator orchestratorCreator;
+    private final TokenBudgetConfig tokenBudgetConfig;
+
+    public ReviewOrchestratorFactory(CopilotService copilotService,
+                                     GithubMcpConfig githubMcpConfig,
+                                     LocalFileConfig localFileConfig,
+                                     CircuitBreakerFactory circuitBreakerFactory,
+                                     TemplateService templateService,
+                                     TokenBudgetConfig tokenBudgetConfig) {
+        this(copilotService, githubMcpConfig, localFileConfig, circuitBreakerFactory, templateService,
+            tokenBudgetConfig, CopilotRateLimiter.unlimited());
+    }
 
     @Inject
     public ReviewOrchestratorFactory(CopilotService copilotService,
                                      GithubMcpConfig githubMcpConfig,
                                      LocalFileConfig localFileConfig,
                                      CircuitBreakerFactory circuitBreakerFactory,
-                                     TemplateService templateService) {
+                                     TemplateService templateService,
+                                     TokenBudgetConfig tokenBudgetConfig,
+                                     CopilotRateLimiter rateLimiter) {
         this(
             copilotService,
             githubMcpConfig,
@@ -52,10 +67,12 @@ public class ReviewOrchestratorFactory {
                 var collaborators = ReviewOrchestrator.defaultCollaborators(
                     client,
                     orchestratorConfig,
-                    circuitBreakerFactory.forReview()
+                    circuitBreakerFactory.forReview(),
+                    rateLimiter
                 );
                 return new ReviewOrchestrator(client, orchestratorConfig, collaborators);
-            }
+            },
+            tokenBudgetConfig
         );
     }
 
@@ -65,12 +82,24 @@ public class ReviewOrchestratorFactory {
                               CircuitBreakerFactory circuitBreakerFactory,
                               TemplateService templateService,
                               OrchestratorCreator orchestratorCreator) {
+        this(copilotService, githubMcpConfig, localFileConfig, circuitBreakerFactory, templateService,
+            orchestratorCreator, new TokenBudgetConfig());
+    }
+
+    ReviewOrchestratorFactory(CopilotService copilotService,
+                              GithubMcpConfig githubMcpConfig,
+                              LocalFileConfig localFileConfig,
+                              CircuitBreakerFactory circuitBreakerFactory,
+                              TemplateService templateService,
+                              OrchestratorCreator orchestratorCreator,
+                              TokenBudgetConfig tokenBudgetConfig) {
         this.copilotService = copilotService;
         this.githubMcpConfig = githubMcpConfig;
         this.localFileConfig = localFileConfig;
         this.circuitBreakerFactory = circuitBreakerFactory;
         this.templateService = templateService;
         this.orchestratorCreator = orchestratorCreator;
+        this.tokenBudgetConfig = tokenBudgetConfig;
     }
 
     /// Creates a new {@link ReviewOrchestrator} for a single review run.
@@ -110,7 +139,8 @@ public class ReviewOrchestratorFactory {
             reasoningEffort,
             outputConstraints,
             invocationTimestamp,
-            promptTexts
+            promptTexts,
+            tokenBudgetConfig
         );
     }
 
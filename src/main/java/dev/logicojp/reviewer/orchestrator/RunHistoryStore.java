@@ -0,0 +1,202 @@
+package dev.logicojp.reviewer.orchestrator;
+
+import dev.logicojp.reviewer.report.core.ReviewResult;
+import dev.logicojp.reviewer.util.RetryPolicyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+
+/// Append-only file of past agent runs, one tab-separated line per run:
+/// `timestamp agent model size passes durationMillis longestGapMillis outcome`.
+///
+/// `size` is a coarse bucket of the reviewed source ({@link #sizeBucket(int)}), and
+/// `longestGapMillis` is the longest time a prompt of the run went without session events (the
+/// quantity the idle timeout limits), or -1 when none arrived. Only the last {@value #MAX_LOADED_ENTRIES} lines are loaded;
+/// malformed lines are skipped. Write failures are logged and never fail a review. Thread-safe.
+final class RunHistoryStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RunHistoryStore.class);
+
+    static final int MAX_LOADED_ENTRIES = 2_000;
+    static final int SMALL_SOURCE_CHARS = 50_000;
+    static final int MEDIUM_SOURCE_CHARS = 500_000;
+    private static final int FIELD_COUNT = 8;
+    private static final RunHistoryStore DISABLED = new RunHistoryStore(null, List.of());
+
+    /// How an agent run ended; failures are listed in order of precedence when passes differ.
+    enum Outcome {
+        SUCCESS,
+        /// A session sent no events for the idle timeout.
+        IDLE_TIMEOUT,
+        /// The run or a prompt exceeded its wall-clock timeout, or the run was cancelled.
+        TIMEOUT,
+        RATE_LIMITED,
+        FAILED
+    }
+
+    record Entry(Instant timestamp,
+                 String agent,
+                 String model,
+                 String sizeBucket,
+                 int passes,
+                 long durationMillis,
+                 long longestGapMillis,
+                 Outcome outcome) {
+
+        Entry {
+            agent = clean(agent);
+            model = clean(model);
+        }
+
+        boolean isFor(String agentName, String modelName) {
+            return agent.equals(clean(agentName)) && model.equals(clean(modelName));
+        }
+
+        long passDurationMillis() {
+            return durationMillis / Math.max(1, passes);
+        }
+
+        private String toLine() {
+            return String.join("\t", timestamp.toString(), agent, model, sizeBucket,
+                Integer.toString(passes), Long.toString(durationMillis), Long.toString(longestGapMillis),
+                outcome.name()) + "\n";
+        }
+
+        private static Entry parse(String line) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length != FIELD_COUNT) {
+                return null;
+            }
+            try {
+                return new Entry(Instant.parse(fields[0]), fields[1], fields[2], fields[3],
+                    Integer.parseInt(fields[4]), Long.parseLong(fields[5]), Long.parseLong(fields[6]),
+                    Outcome.valueOf(fields[7]));
+            } catch (DateTimeParseException | IllegalArgumentException _) {
+                return null;
+            }
+        }
+
+        private static String clean(String value) {
+            return value == null || value.isBlank() ? "-" : value.replaceAll("\\s", "_");
+        }
+    }
+
+    private final Path file;
+    private final List<Entry> loadedEntries;
+
+    static RunHistoryStore disabled() {
+        return DISABLED;
+    }
+
+    /// Loads the recent entries of `file`; a missing file is an empty history.
+    static RunHistoryStore open(Path file) {
+        return new RunHistoryStore(file, load(file));
+    }
+
+    private RunHistoryStore(Path file, List<Entry> loadedEntries) {
+        this.file = file;
+        this.loadedEntries = List.copyOf(loadedEntries);
+    }
+
+    boolean isEnabled() {
+        return file != null;
+    }
+
+    /// The entries that existed when the store was opened; runs appended since are not included,
+    /// so timeouts stay the same for the whole run.
+    List<Entry> loadedEntries() {
+        return loadedEntries;
+    }
+
+    void append(Entry entry) {
+        if (file == null) {
+            return;
+        }
+        synchronized (this) {
+            try {
+                Path parent = file.getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                Files.writeString(file, entry.toLine(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                logger.warn("Failed to append to run history {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /// Buckets the reviewed source by size; targets reviewed through MCP tools have no source.
+    static String sizeBucket(int sourceChars) {
+        if (sourceChars <= 0) {
+            return "none";
+        }
+        if (sourceChars < SMALL_SOURCE_CHARS) {
+            return "small";
+        }
+        return sourceChars < MEDIUM_SOURCE_CHARS ? "medium" : "large";
+    }
+
+    /// Classifies a run by the errors of its failed passes; null results mean an unexpected exception.
+    static Outcome outcomeOf(List<ReviewResult> results) {
+        if (results == null || results.isEmpty()) {
+            return Outcome.FAILED;
+        }
+        Outcome outcome = Outcome.SUCCESS;
+        for (ReviewResult result : results) {
+            if (result.success()) {
+                continue;
+            }
+            Outcome failure = failureOf(result.errorMessage());
+            if (outcome == Outcome.SUCCESS || failure.ordinal() < outcome.ordinal()) {
+                outcome = failure;
+            }
+        }
+        return outcome;
+    }
+
+    private static Outcome failureOf(String errorMessage) {
+        String lower = errorMessage != null ? errorMessage.toLowerCase(Locale.ROOT) : "";
+        if (lower.contains("no activity for")) {
+            return Outcome.IDLE_TIMEOUT;
+        }
+        if (lower.contains("timed out") || lower.contains("timeout") || lower.contains("cancelled")) {
+            return Outcome.TIMEOUT;
+        }
+        return RetryPolicyUtils.isOverloadMessage(errorMessage) ? Outcome.RATE_LIMITED : Outcome.FAILED;
+    }
+
+    private static List<Entry> load(Path file) {
+        var entries = new ArrayDeque<Entry>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Entry entry = Entry.parse(line);
+                if (entry == null) {
+                    continue;
+                }
+                if (entries.size() == MAX_LOADED_ENTRIES) {
+                    entries.removeFirst();
+                }
+                entries.addLast(entry);
+            }
+        } catch (NoSuchFileException _) {
+            return List.of();
+        } catch (IOException e) {
+            logger.warn("Failed to read run history {}: {}", file, e.getMessage());
+        }
+        return List.copyOf(entries);
+    }
+}
@@ -4,8 +4,10 @@ import dev.logicojp.reviewer.report.core.ReportGenerator;
 import dev.logicojp.reviewer.report.summary.SummaryGenerator;
 
 import dev.logicojp.reviewer.agent.CircuitBreakerFactory;
+import dev.logicojp.reviewer.agent.CopilotRateLimiter;
 import dev.logicojp.reviewer.agent.SharedCircuitBreaker;
 import dev.logicojp.reviewer.config.SummaryConfig;
+import dev.logicojp.reviewer.config.TokenBudgetConfig;
 import dev.logicojp.reviewer.service.TemplateService;
 import com.github.copilot.sdk.CopilotClient;
 import jakarta.inject.Inject;
@@ -43,11 +45,22 @@ public class ReportGeneratorFactory {
     private final ReportGeneratorCreator reportGeneratorCreator;
     private final SummaryGeneratorCreator summaryGeneratorCreator;
     private final SharedCircuitBreaker circuitBreaker;
+    private final TokenBudgetConfig tokenBudgetConfig;
+
+    public ReportGeneratorFactory(TemplateService templateService,
+                                  SummaryConfig summaryConfig,
+                                  CircuitBreakerFactory circuitBreakerFactory,
+                                  TokenBudgetConfig tokenBudgetConfig) {
+        this(templateService, summaryConfig, circuitBreakerFactory, tokenBudgetConfig,
+            CopilotRateLimiter.unlimited());
+    }
 
     @Inject
     public ReportGeneratorFactory(TemplateService templateService,
                                   SummaryConfig summaryConfig,
-                                  CircuitBreakerFactory circuitBreakerFactory) {
+                                  CircuitBreakerFactory circuitBreakerFactory,
+                                  TokenBudgetConfig tokenBudgetConfig,
+                                  CopilotRateLimiter rateLimiter) {
         this(
             templateService,
             summaryConfig,
@@ -58,8 +71,10 @@ public class ReportGeneratorFactory {
                     .timeoutMinutes(timeoutMinutes)
                     .summaryConfig(cfg)
                     .circuitBreaker(breaker)
+                    .rateLimiter(rateLimiter)
                     .build(),
-            circuitBreakerFactory.forSummary()
+            circuitBreakerFactory.forSummary(),
+            tokenBudgetConfig
         );
     }
 
@@ -85,11 +100,22 @@ public class ReportGeneratorFactory {
                            ReportGeneratorCreator reportGeneratorCreator,
                            SummaryGeneratorCreator summaryGeneratorCreator,
                            SharedCircuitBreaker circuitBreaker) {
+        this(templateService, summaryConfig, reportGeneratorCreator, summaryGeneratorCreator, circuitBreaker,
+            new TokenBudgetConfig());
+    }
+
+    ReportGeneratorFactory(TemplateService templateService,
+                           SummaryConfig summaryConfig,
+                           ReportGeneratorCreator reportGeneratorCreator,
+                           SummaryGeneratorCreator summaryGeneratorCreator,
+                           SharedCircuitBreaker circuitBreaker,
+                           TokenBudgetConfig tokenBudgetConfig) {
         this.templateService = templateService;
         this.summaryConfig = summaryConfig;
         this.reportGeneratorCreator = reportGeneratorCreator;
         this.summaryGeneratorCreator = summaryGeneratorCreator;
         this.circuitBreaker = circuitBreaker;
+        this.tokenBudgetConfig = tokenBudgetConfig;
     }
 
     /// Creates a new {@link ReportGenerator} for the given output directory.
@@ -101,6 +127,7 @@ public class ReportGeneratorFactory {
     }
 
     /// Creates a new {@link SummaryGenerator} with the given configuration.
+    /// The summary prompt is capped to the summary model's token budget.
     ///
     /// @param outputDirectory      Directory to write summary to
     /// @param client               Copilot SDK client for AI summary generation
@@ -120,7 +147,7 @@ public class ReportGeneratorFactory {
             reasoningEffort,
             timeoutMinutes,
             templateService,
-            summaryConfig,
+            summaryConfig.withModelTokenBudget(tokenBudgetConfig.contentBudgetFor(summaryModel)),
             circuitBreaker
         );
     }
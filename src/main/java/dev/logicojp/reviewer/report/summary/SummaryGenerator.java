@@ -1,5 +1,6 @@
 package dev.logicojp.reviewer.report.summary;
 
+import dev.logicojp.reviewer.agent.CopilotRateLimiter;
 import dev.logicojp.reviewer.agent.SharedCircuitBreaker;
 import dev.logicojp.reviewer.report.util.ReportFileUtils;
 
@@ -58,7 +59,8 @@ public class SummaryGenerator {
             return new SummaryCollaborators(
                 new SummaryPromptBuilder(templateService,
                     effective.maxContentPerAgent(), effective.maxTotalPromptContent(),
-                    effective.averageResultContentEstimate(), effective.initialBufferMargin()),
+                    effective.averageResultContentEstimate(), effective.initialBufferMargin(),
+                    effective.maxTotalPromptTokens()),
                 new FallbackSummaryBuilder(templateService, effective.fallbackExcerptLength(),
                     effective.excerptNormalizationMultiplier()),
                 new SummaryFinalReportFormatter(templateService),
@@ -103,6 +105,7 @@ public class SummaryGenerator {
     private final SummaryFinalReportFormatter summaryFinalReportFormatter;
     private final AiSummaryBuilder aiSummaryBuilder;
     private final SharedCircuitBreaker circuitBreaker;
+    private final CopilotRateLimiter rateLimiter;
     
     public static Builder builder(Path outputDirectory,
                                   CopilotClient client,
@@ -123,6 +126,7 @@ public class SummaryGenerator {
         private BiFunction<List<ReviewResult>, String, String> aiSummaryBuilderOverride;
         private Clock clock = Clock.systemDefaultZone();
         private SharedCircuitBreaker circuitBreaker = SharedCircuitBreaker.withDefaultConfig();
+        private CopilotRateLimiter rateLimiter = CopilotRateLimiter.unlimited();
 
         private Builder(Path outputDirectory,
                         CopilotClient client,
@@ -170,6 +174,11 @@ public class SummaryGenerator {
             return this;
         }
 
+        public Builder rateLimiter(CopilotRateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
         public SummaryGenerator build() {
             var config = new SummaryGeneratorConfig(outputDirectory, summaryModel, reasoningEffort, timeoutMinutes);
             SummaryCollaborators effectiveCollaborators = collaborators;
@@ -196,7 +205,8 @@ public class SummaryGenerator {
                 summaryConfig,
                 effectiveCollaborators,
                 clock,
-                circuitBreaker
+                circuitBreaker,
+                rateLimiter
             );
         }
     }
@@ -209,11 +219,13 @@ public class SummaryGenerator {
             SummaryConfig summaryConfig,
             SummaryCollaborators collaborators,
             Clock clock,
-            SharedCircuitBreaker circuitBreaker) {
+            SharedCircuitBreaker circuitBreaker,
+            CopilotRateLimiter rateLimiter) {
         this.config = config;
         this.client = client;
         this.templateService = templateService;
         this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter != null ? rateLimiter : CopilotRateLimiter.unlimited();
         this.invocationTimestamp = LocalDateTime.now(clock).format(TIMESTAMP_FORMATTER);
         SummaryCollaborators defaults = SummaryCollaborators.defaults(templateService, summaryConfig, this);
         var effective = (collaborators != null ? collaborators : defaults).withDefaults(defaults);
@@ -279,9 +291,12 @@ public class SummaryGenerator {
         var sessionConfig = createSummarySessionConfig();
         long sessionCreateTimeoutMinutes = sessionCreateTimeoutMinutes(config.timeoutMinutes());
 
-        try (CopilotSession session = client.createSession(sessionConfig)
-            .get(sessionCreateTimeoutMinutes, TimeUnit.MINUTES)) {
-            return sendUntilNonBlank(session, prompt);
+        try {
+            rateLimiter.acquireSession(config.summaryModel());
+            try (CopilotSession session = client.createSession(sessionConfig)
+                .get(sessionCreateTimeoutMinutes, TimeUnit.MINUTES)) {
+                return sendUntilNonBlank(session, prompt);
+            }
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
             throw new CopilotCliException("Summary generation interrupted", ex);
@@ -296,6 +311,7 @@ public class SummaryGenerator {
         int contentAttempts = AI_SUMMARY_MAX_RETRIES + 1;
 
         for (int attempt = 1; attempt <= contentAttempts; attempt++) {
+            rateLimiter.acquireMessage(config.summaryModel());
             var response = session
                 .sendAndWait(new MessageOptions().setPrompt(prompt), timeoutMs)
                 .get(config.timeoutMinutes(), TimeUnit.MINUTES);
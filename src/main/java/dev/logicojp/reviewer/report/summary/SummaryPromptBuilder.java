@@ -3,26 +3,44 @@ package dev.logicojp.reviewer.report.summary;
 import dev.logicojp.reviewer.report.core.ReviewResult;
 
 import dev.logicojp.reviewer.service.TemplateService;
+import dev.logicojp.reviewer.util.TokenEstimator;
 
 import java.util.List;
 import java.util.Map;
 
+/// Builds the executive summary user prompt from per-agent review results.
+///
+/// Result content is clipped by characters (`maxContentPerAgent`, `maxTotalPromptContent`)
+/// and, when `maxTotalPromptTokens > 0`, by estimated tokens so that the prompt fits the
+/// summary model's context window regardless of how densely the results tokenize.
 final class SummaryPromptBuilder {
 
+    private static final String TRUNCATION_MARKER = "\n\n... (truncated for summary)";
+
     private final TemplateService templateService;
     private final int maxContentPerAgent;
     private final int maxTotalPromptContent;
     private final int averageResultContentEstimate;
     private final int initialBufferMargin;
+    private final int maxTotalPromptTokens;
 
     SummaryPromptBuilder(TemplateService templateService, int maxContentPerAgent,
                          int maxTotalPromptContent,
                          int averageResultContentEstimate, int initialBufferMargin) {
+        this(templateService, maxContentPerAgent, maxTotalPromptContent,
+            averageResultContentEstimate, initialBufferMargin, 0);
+    }
+
+    SummaryPromptBuilder(TemplateService templateService, int maxContentPerAgent,
+                         int maxTotalPromptContent,
+                         int averageResultContentEstimate, int initialBufferMargin,
+                         int maxTotalPromptTokens) {
         this.templateService = templateService;
         this.maxContentPerAgent = maxContentPerAgent;
         this.maxTotalPromptContent = maxTotalPromptContent;
         this.averageResultContentEstimate = averageResultContentEstimate;
         this.initialBufferMargin = initialBufferMargin;
+        this.maxTotalPromptTokens = maxTotalPromptTokens;
     }
 
     String buildSummaryPrompt(List<ReviewResult> results, String repository) {
@@ -33,6 +51,7 @@ final class SummaryPromptBuilder {
             )
         );
         int totalContentSize = 0;
+        int totalContentTokens = 0;
 
         // Pre-load templates once to avoid per-iteration regex/Matcher overhead
         String successTemplate = templateService.loadTemplateContent(
@@ -43,11 +62,17 @@ final class SummaryPromptBuilder {
         for (ReviewResult result : results) {
             if (result.success()) {
                 int remaining = maxTotalPromptContent - totalContentSize;
-                if (remaining <= 0) {
+                int remainingTokens = maxTotalPromptTokens > 0
+                    ? maxTotalPromptTokens - totalContentTokens
+                    : Integer.MAX_VALUE;
+                if (remaining <= 0 || remainingTokens <= 0) {
                     break;
                 }
-                String content = clipContentForSummary(result.content(), remaining);
+                String content = clipContentForSummary(result.content(), remaining, remainingTokens);
                 totalContentSize += content.length();
+                if (maxTotalPromptTokens > 0) {
+                    totalContentTokens += TokenEstimator.estimate(content);
+                }
                 appendSuccessEntry(resultsSection, result, content, successTemplate);
             } else {
                 appendErrorEntry(resultsSection, result, errorTemplate);
@@ -60,13 +85,15 @@ final class SummaryPromptBuilder {
         return templateService.getSummaryUserPrompt(placeholders);
     }
 
-    private String clipContentForSummary(String content, int remaining) {
+    private String clipContentForSummary(String content, int remaining, int remainingTokens) {
         String safeContent = content != null ? content : "";
         int maxAllowed = Math.min(maxContentPerAgent, remaining);
-        if (safeContent.length() <= maxAllowed) {
-            return safeContent;
+        String clipped = safeContent.length() <= maxAllowed ? safeContent : safeContent.substring(0, maxAllowed);
+        if (remainingTokens != Integer.MAX_VALUE && TokenEstimator.estimate(clipped) > remainingTokens) {
+            int markerTokens = TokenEstimator.estimate(TRUNCATION_MARKER);
+            clipped = TokenEstimator.truncateToTokens(clipped, Math.max(0, remainingTokens - markerTokens));
         }
-        return safeContent.substring(0, maxAllowed) + "\n\n... (truncated for summary)";
+        return clipped.length() == safeContent.length() ? safeContent : clipped + TRUNCATION_MARKER;
     }
 
     private void appendSuccessEntry(StringBuilder resultsSection, ReviewResult result,
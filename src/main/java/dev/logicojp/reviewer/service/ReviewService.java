@@ -2,6 +2,7 @@ package dev.logicojp.reviewer.service;
 
 import dev.logicojp.reviewer.agent.AgentConfig;
 import dev.logicojp.reviewer.config.ExecutionConfig;
+import dev.logicojp.reviewer.orchestrator.AgentCompletionListener;
 import dev.logicojp.reviewer.orchestrator.ReviewOrchestrator;
 import dev.logicojp.reviewer.orchestrator.ReviewOrchestratorFactory;
 import dev.logicojp.reviewer.report.core.ReviewResult;
@@ -12,6 +13,7 @@ import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +30,20 @@ public class ReviewService {
                                String reasoningEffort,
                                String outputConstraints,
                                String invocationTimestamp);
+
+        /// Runs like {@link #run}, reporting agents to `completionListener` as they finish.
+        /// Runners that cannot stream report nothing, and callers handle all agents at the end.
+        default List<ReviewResult> run(Map<String, AgentConfig> agentConfigs,
+                                       ReviewTarget target,
+                                       String githubToken,
+                                       ExecutionConfig executionConfig,
+                                       String reasoningEffort,
+                                       String outputConstraints,
+                                       String invocationTimestamp,
+                                       AgentCompletionListener completionListener) {
+            return run(agentConfigs, target, githubToken, executionConfig, reasoningEffort, outputConstraints,
+                invocationTimestamp);
+        }
     }
     
     private static final Logger logger = LoggerFactory.getLogger(ReviewService.class);
@@ -44,18 +60,7 @@ public class ReviewService {
             orchestratorFactory,
             executionConfig,
             templateService,
-            (agentConfigs, target, githubToken, overriddenConfig, reasoningEffort, outputConstraints,
-             invocationTimestamp) -> {
-                try (ReviewOrchestrator orchestrator = orchestratorFactory.create(
-                    githubToken,
-                    overriddenConfig,
-                    reasoningEffort,
-                    outputConstraints,
-                    invocationTimestamp
-                )) {
-                    return orchestrator.executeReviews(agentConfigs, target);
-                }
-            }
+            new FactoryOrchestratorRunner(orchestratorFactory)
         );
     }
 
@@ -83,10 +88,50 @@ public class ReviewService {
             @Nullable String reasoningEffort,
             boolean noSharedSession,
             String invocationTimestamp) {
+        return executeReviews(agentConfigs, target, githubToken, parallelism, reasoningEffort, noSharedSession,
+            invocationTimestamp, AgentCompletionListener.NONE);
+    }
+
+    /// Executes reviews like {@link #executeReviews(Map, ReviewTarget, String, int, String, boolean, String)},
+    /// passing each agent's pass results to `completionListener` as soon as that agent has finished.
+    /// @param completionListener Called once per agent, possibly concurrently
+    /// @return List of review results from all agents
+    public List<ReviewResult> executeReviews(
+            Map<String, AgentConfig> agentConfigs,
+            ReviewTarget target,
+            @Nullable String githubToken,
+            int parallelism,
+            @Nullable String reasoningEffort,
+            boolean noSharedSession,
+            String invocationTimestamp,
+            AgentCompletionListener completionListener) {
+        return executeReviews(agentConfigs, target, githubToken, parallelism, reasoningEffort, noSharedSession,
+            invocationTimestamp, completionListener, null);
+    }
+
+    /// Executes reviews like
+    /// {@link #executeReviews(Map, ReviewTarget, String, int, String, boolean, String, AgentCompletionListener)},
+    /// recording agent runs to `runHistoryFile` and deriving their timeouts from it, unless another
+    /// history file is configured.
+    /// @param runHistoryFile Run history file, or null for none unless configured
+    /// @return List of review results from all agents
+    public List<ReviewResult> executeReviews(
+            Map<String, AgentConfig> agentConfigs,
+            ReviewTarget target,
+            @Nullable String githubToken,
+            int parallelism,
+            @Nullable String reasoningEffort,
+            boolean noSharedSession,
+            String invocationTimestamp,
+            AgentCompletionListener completionListener,
+            @Nullable Path runHistoryFile) {
         
         logger.info("Executing reviews for {} agents on target: {}", 
             agentConfigs.size(), target.displayName());
         ExecutionConfig overriddenConfig = overrideExecution(parallelism, noSharedSession);
+        if (runHistoryFile != null) {
+            overriddenConfig = overriddenConfig.withDefaultRunHistoryFile(runHistoryFile);
+        }
         String outputConstraints = loadOutputConstraints();
 
         return orchestratorRunner.run(
@@ -96,7 +141,8 @@ public class ReviewService {
             overriddenConfig,
             reasoningEffort,
             outputConstraints,
-            invocationTimestamp
+            invocationTimestamp,
+            completionListener
         );
     }
 
@@ -106,6 +152,43 @@ public class ReviewService {
             .withSharedSessionEnabled(!noSharedSession);
     }
 
+    /// Runs each review in its own orchestrator from the factory.
+    private record FactoryOrchestratorRunner(ReviewOrchestratorFactory orchestratorFactory)
+            implements OrchestratorRunner {
+
+        @Override
+        public List<ReviewResult> run(Map<String, AgentConfig> agentConfigs,
+                                      ReviewTarget target,
+                                      String githubToken,
+                                      ExecutionConfig executionConfig,
+                                      String reasoningEffort,
+                                      String outputConstraints,
+                                      String invocationTimestamp) {
+            return run(agentConfigs, target, githubToken, executionConfig, reasoningEffort, outputConstraints,
+                invocationTimestamp, AgentCompletionListener.NONE);
+        }
+
+        @Override
+        public List<ReviewResult> run(Map<String, AgentConfig> agentConfigs,
+                                      ReviewTarget target,
+                                      String githubToken,
+                                      ExecutionConfig executionConfig,
+                                      String reasoningEffort,
+                                      String outputConstraints,
+                                      String invocationTimestamp,
+                                      AgentCompletionListener completionListener) {
+            try (ReviewOrchestrator orchestrator = orchestratorFactory.create(
+                githubToken,
+                executionConfig,
+                reasoningEffort,
+                outputConstraints,
+                invocationTimestamp
+            )) {
+                return orchestrator.executeReviews(agentConfigs, target, completionListener);
+            }
+        }
+    }
+
     private String loadOutputConstraints() {
         String outputConstraints = templateService.getOutputConstraints();
         if (outputConstraints != null && !outputConstraints.isBlank()) {
@@ -5,6 +5,7 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.RemovalCause;
 import dev.logicojp.reviewer.agent.AgentConfig;
 import dev.logicojp.reviewer.agent.CircuitBreakerFactory;
+import dev.logicojp.reviewer.agent.CopilotRateLimiter;
 import dev.logicojp.reviewer.agent.SharedCircuitBreaker;
 import dev.logicojp.reviewer.config.ExecutionConfig;
 import dev.logicojp.reviewer.config.GithubMcpConfig;
@@ -36,6 +37,7 @@ public class SkillService {
     private final ExecutionConfig executionConfig;
     private final SkillConfig skillConfig;
     private final SharedCircuitBreaker circuitBreaker;
+    private final CopilotRateLimiter rateLimiter;
     private final Cache<ExecutorCacheKey, SkillExecutor> executorCache;
 
     @Inject
@@ -44,9 +46,10 @@ public class SkillService {
                         GithubMcpConfig githubMcpConfig,
                         ExecutionConfig executionConfig,
                         SkillConfig skillConfig,
-                        CircuitBreakerFactory circuitBreakerFactory) {
+                        CircuitBreakerFactory circuitBreakerFactory,
+                        CopilotRateLimiter rateLimiter) {
         this(skillRegistry, copilotService, githubMcpConfig, executionConfig, skillConfig,
-                    circuitBreakerFactory.forSkill());
+                    circuitBreakerFactory.forSkill(), rateLimiter);
     }
 
     SkillService(SkillRegistry skillRegistry,
@@ -54,13 +57,15 @@ public class SkillService {
                      GithubMcpConfig githubMcpConfig,
                      ExecutionConfig executionConfig,
                      SkillConfig skillConfig,
-                     SharedCircuitBreaker circuitBreaker) {
+                     SharedCircuitBreaker circuitBreaker,
+                     CopilotRateLimiter rateLimiter) {
         this.skillRegistry = skillRegistry;
         this.copilotService = copilotService;
         this.githubMcpConfig = githubMcpConfig;
         this.executionConfig = executionConfig;
         this.skillConfig = skillConfig;
         this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter;
         this.executorCache = Caffeine.newBuilder()
             .initialCapacity(skillConfig.executorCacheInitialCapacity())
             .maximumSize(skillConfig.maxExecutorCacheSize())
@@ -149,7 +154,8 @@ public class SkillService {
                 skillConfig.maxParameterValueLength(),
                 skillConfig.executorShutdownTimeoutSeconds()
             ),
-            circuitBreaker
+            circuitBreaker,
+            rateLimiter
         ));
     }
 
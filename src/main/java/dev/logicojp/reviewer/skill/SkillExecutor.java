@@ -1,5 +1,6 @@
 package dev.logicojp.reviewer.skill;
 
+import dev.logicojp.reviewer.agent.CopilotRateLimiter;
 import dev.logicojp.reviewer.agent.SharedCircuitBreaker;
 import dev.logicojp.reviewer.config.GithubMcpConfig;
 import dev.logicojp.reviewer.util.CopilotPermissionHandlers;
@@ -34,6 +35,7 @@ public class SkillExecutor implements AutoCloseable {
     private final int maxParameterValueLength;
     private final Map<String, Object> cachedMcpServers;
     private final SharedCircuitBreaker circuitBreaker;
+    private final CopilotRateLimiter rateLimiter;
 
     public SkillExecutor(CopilotClient client, String githubToken,
                          GithubMcpConfig githubMcpConfig,
@@ -52,12 +54,22 @@ public class SkillExecutor implements AutoCloseable {
                          GithubMcpConfig githubMcpConfig,
                          SkillExecutorConfig config,
                          SharedCircuitBreaker circuitBreaker) {
+        this(client, githubToken, githubMcpConfig, config, circuitBreaker, CopilotRateLimiter.unlimited());
+    }
+
+    public SkillExecutor(CopilotClient client,
+                         String githubToken,
+                         GithubMcpConfig githubMcpConfig,
+                         SkillExecutorConfig config,
+                         SharedCircuitBreaker circuitBreaker,
+                         CopilotRateLimiter rateLimiter) {
         this.client = client;
         this.defaultModel = config.defaultModel();
         this.timeoutMinutes = config.timeoutMinutes();
         this.maxParameterValueLength = config.maxParameterValueLength();
         this.cachedMcpServers = GithubMcpConfig.buildMcpServers(githubToken, githubMcpConfig).orElse(Map.of());
         this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter;
     }
 
     /// Configuration values for {@link SkillExecutor} behavior.
@@ -186,8 +198,10 @@ public class SkillExecutor implements AutoCloseable {
         SessionConfig sessionConfig = buildSkillSessionConfig(systemPrompt);
         long timeoutMs = TimeUnit.MINUTES.toMillis(timeoutMinutes);
 
+        rateLimiter.acquireSession(defaultModel);
         try (var session = client.createSession(sessionConfig).get(timeoutMinutes, TimeUnit.MINUTES)) {
             logger.debug("Sending skill prompt: {} (timeout: {} min)", skill.id(), timeoutMinutes);
+            rateLimiter.acquireMessage(defaultModel);
             var response = session
                 .sendAndWait(new MessageOptions().setPrompt(prompt), timeoutMs)
                 .get(timeoutMinutes, TimeUnit.MINUTES);
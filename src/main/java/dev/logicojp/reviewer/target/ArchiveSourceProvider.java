@@ -0,0 +1,172 @@
+package dev.logicojp.reviewer.target;
+
+import dev.logicojp.reviewer.config.LocalFileConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/// Collects review source straight from a zip or tar archive, without extracting it.
+///
+/// Entries are selected like the files of a local directory: ignored directories, source
+/// extensions, sensitive names, generated files and the `maxFileSize`, `maxTotalSize` and
+/// `maxTotalTokens` budgets all apply. Zip archives (`.zip`, `.jar`, `.war`) are read through
+/// {@link ZipFile} in path order; the central directory lets oversized entries be skipped without
+/// inflating them. Tar archives (`.tar`, `.tar.gz`, `.tgz`) are streamed once in archive order.
+///
+/// An archive is reviewed as one prompt: sharding, relevance ranking, `.gitignore` rules and the
+/// content cache only apply to directories.
+public class ArchiveSourceProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveSourceProvider.class);
+
+    /// Supported archive file name suffixes, matched case-insensitively.
+    static final List<String> SUPPORTED_SUFFIXES = List.of(".tar.gz", ".tgz", ".tar", ".zip", ".jar", ".war");
+
+    private static final List<String> TAR_SUFFIXES = List.of(".tar.gz", ".tgz", ".tar");
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Path archive;
+    private final LocalFileSelectionConfig selectionConfig;
+    private final int maxTotalTokens;
+    private final LocalFileContentFormatter contentFormatter;
+    private final SourceCompactor sourceCompactor;
+
+    /// @param archive The zip or tar archive to review
+    /// @param config Local file selection rules and limits
+    public ArchiveSourceProvider(Path archive, LocalFileConfig config) {
+        if (archive == null) {
+            throw new IllegalArgumentException("Archive must not be null");
+        }
+        this.archive = archive.toAbsolutePath().normalize();
+        this.selectionConfig = LocalFileSelectionConfig.from(config);
+        this.maxTotalTokens = config.maxTotalTokens();
+        this.contentFormatter = new LocalFileContentFormatter(this.archive, selectionConfig.maxTotalSize());
+        this.sourceCompactor = selectionConfig.compactSources() ? new SourceCompactor() : SourceCompactor.disabled();
+    }
+
+    /// Returns whether the file name of `path` has a supported archive suffix.
+    public static boolean isSupportedArchive(Path path) {
+        return path.getFileName() != null && archiveSuffix(path.getFileName().toString()).isPresent();
+    }
+
+    /// Returns the archive file name without its archive suffix (`app-1.0.tar.gz` → `app-1.0`).
+    static String baseName(String fileName) {
+        return archiveSuffix(fileName)
+            .filter(suffix -> suffix.length() < fileName.length())
+            .map(suffix -> fileName.substring(0, fileName.length() - suffix.length()))
+            .orElse(fileName);
+    }
+
+    private static Optional<String> archiveSuffix(String fileName) {
+        String lowerName = fileName.toLowerCase(Locale.ROOT);
+        return SUPPORTED_SUFFIXES.stream().filter(lowerName::endsWith).findFirst();
+    }
+
+    /// Collects the archive's source entries and generates prompt-ready content in one pass.
+    public LocalFileProvider.CollectionResult collectAndGenerate() {
+        return collectAndGenerate(FileRoutingRules.all());
+    }
+
+    /// Collects and generates like {@link #collectAndGenerate()}, limited to entries routed by `rules`.
+    public LocalFileProvider.CollectionResult collectAndGenerate(FileRoutingRules rules) {
+        if (!Files.isRegularFile(archive)) {
+            logger.warn("Archive does not exist or is not a regular file: {}", archive);
+            return noSourceFilesResult();
+        }
+        var collection = new StreamedSourceCollection(selectionConfig, maxTotalTokens, contentFormatter,
+            sourceCompactor, rules.toMatcher(), "archive " + archive);
+        try {
+            if (isTarArchive()) {
+                collectTar(collection);
+            } else {
+                collectZip(collection);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive: " + archive, e);
+        }
+        return collection.result();
+    }
+
+    private boolean isTarArchive() {
+        return archiveSuffix(archive.getFileName().toString()).filter(TAR_SUFFIXES::contains).isPresent();
+    }
+
+    private void collectZip(StreamedSourceCollection collection) throws IOException {
+        try (ZipFile zipFile = new ZipFile(archive.toFile(), StandardCharsets.UTF_8)) {
+            List<? extends ZipEntry> entries = zipFile.stream()
+                .filter(entry -> !entry.isDirectory())
+                .sorted(Comparator.comparing(ZipEntry::getName))
+                .toList();
+            for (ZipEntry entry : entries) {
+                Optional<String> relativePath = normalizeEntryName(entry.getName())
+                    .flatMap(name -> collection.select(name, entry.getSize()));
+                if (relativePath.isEmpty()) {
+                    continue;
+                }
+                try (InputStream content = zipFile.getInputStream(entry)) {
+                    if (!collection.accept(relativePath.get(), content)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void collectTar(StreamedSourceCollection collection) throws IOException {
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(archive), READ_BUFFER_SIZE);
+             InputStream in = archive.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".tar")
+                 ? raw
+                 : new GZIPInputStream(raw, READ_BUFFER_SIZE)) {
+            TarEntryReader reader = new TarEntryReader(in);
+            for (TarEntryReader.Entry entry = reader.next(); entry != null; entry = reader.next()) {
+                if (!entry.regularFile()) {
+                    continue;
+                }
+                long size = entry.size();
+                Optional<String> relativePath = normalizeEntryName(entry.name())
+                    .flatMap(name -> collection.select(name, size));
+                if (relativePath.isPresent() && !collection.accept(relativePath.get(), reader.content())) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /// Normalizes an entry name to a `/`-separated relative path; absolute and `..` names are rejected.
+    static Optional<String> normalizeEntryName(String name) {
+        String normalized = name.replace('\\', '/');
+        while (normalized.startsWith("./")) {
+            normalized = normalized.substring(2);
+        }
+        if (normalized.isEmpty() || normalized.startsWith("/") || normalized.endsWith("/")) {
+            logger.debug("Skipping archive entry with unsafe name: {}", name);
+            return Optional.empty();
+        }
+        for (String segment : normalized.split("/")) {
+            if (segment.equals("..")) {
+                logger.debug("Skipping archive entry with unsafe name: {}", name);
+                return Optional.empty();
+            }
+        }
+        return Optional.of(normalized);
+    }
+
+    private LocalFileProvider.CollectionResult noSourceFilesResult() {
+        return StreamedSourceCollection.noSourceFilesResult(contentFormatter);
+    }
+}
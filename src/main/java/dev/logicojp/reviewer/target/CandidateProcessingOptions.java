@@ -0,0 +1,126 @@
+package dev.logicojp.reviewer.target;
+
+/// Budgets and collaborators of a {@link LocalFileCandidateProcessor}.
+///
+/// The builder starts from the size limits with sequential reads, no token budget and every
+/// collaborator disabled; {@link LocalFileProvider} fills it from its {@link LocalFileSelectionConfig}.
+/// @param maxFileSize             Files larger than this are skipped unless excerpted
+/// @param maxTotalSize            Budget of the collected content in bytes
+/// @param ioParallelism           Number of files read concurrently
+/// @param contentCache            Cache of previously read contents
+/// @param maxTotalTokens          Budget of the collected content in estimated tokens; 0 disables it
+/// @param generatedSourceDetector Skips generated, minified and binary files
+/// @param sourceCompactor         Compacts each file before it is charged
+/// @param largeFileExcerpter      Replaces files above `maxFileSize` by an excerpt
+/// @param contentExtractors       Reduces data files to their reviewable part
+/// @param hunkExcerpter           Reduces changed files to their hunks before they are charged
+record CandidateProcessingOptions(
+    long maxFileSize,
+    long maxTotalSize,
+    int ioParallelism,
+    LocalFileContentCache contentCache,
+    int maxTotalTokens,
+    GeneratedSourceDetector generatedSourceDetector,
+    SourceCompactor sourceCompactor,
+    LargeFileExcerpter largeFileExcerpter,
+    ContentExtractors contentExtractors,
+    HunkExcerpter hunkExcerpter
+) {
+
+    CandidateProcessingOptions {
+        ioParallelism = Math.max(1, ioParallelism);
+        contentCache = contentCache != null ? contentCache : LocalFileContentCache.disabled();
+        generatedSourceDetector = generatedSourceDetector != null
+            ? generatedSourceDetector
+            : GeneratedSourceDetector.disabled();
+        sourceCompactor = sourceCompactor != null ? sourceCompactor : SourceCompactor.disabled();
+        largeFileExcerpter = largeFileExcerpter != null ? largeFileExcerpter : LargeFileExcerpter.disabled();
+        contentExtractors = contentExtractors != null ? contentExtractors : ContentExtractors.disabled();
+        hunkExcerpter = hunkExcerpter != null ? hunkExcerpter : HunkExcerpter.disabled();
+    }
+
+    static Builder builder(long maxFileSize, long maxTotalSize) {
+        return new Builder(maxFileSize, maxTotalSize);
+    }
+
+    Builder toBuilder() {
+        return new Builder(maxFileSize, maxTotalSize)
+            .ioParallelism(ioParallelism)
+            .contentCache(contentCache)
+            .maxTotalTokens(maxTotalTokens)
+            .generatedSourceDetector(generatedSourceDetector)
+            .sourceCompactor(sourceCompactor)
+            .largeFileExcerpter(largeFileExcerpter)
+            .contentExtractors(contentExtractors)
+            .hunkExcerpter(hunkExcerpter);
+    }
+
+    static final class Builder {
+        private final long maxFileSize;
+        private long maxTotalSize;
+        private int ioParallelism = 1;
+        private LocalFileContentCache contentCache;
+        private int maxTotalTokens;
+        private GeneratedSourceDetector generatedSourceDetector;
+        private SourceCompactor sourceCompactor;
+        private LargeFileExcerpter largeFileExcerpter;
+        private ContentExtractors contentExtractors;
+        private HunkExcerpter hunkExcerpter;
+
+        private Builder(long maxFileSize, long maxTotalSize) {
+            this.maxFileSize = maxFileSize;
+            this.maxTotalSize = maxTotalSize;
+        }
+
+        Builder maxTotalSize(long maxTotalSize) {
+            this.maxTotalSize = maxTotalSize;
+            return this;
+        }
+
+        Builder ioParallelism(int ioParallelism) {
+            this.ioParallelism = ioParallelism;
+            return this;
+        }
+
+        Builder contentCache(LocalFileContentCache contentCache) {
+            this.contentCache = contentCache;
+            return this;
+        }
+
+        Builder maxTotalTokens(int maxTotalTokens) {
+            this.maxTotalTokens = maxTotalTokens;
+            return this;
+        }
+
+        Builder generatedSourceDetector(GeneratedSourceDetector generatedSourceDetector) {
+            this.generatedSourceDetector = generatedSourceDetector;
+            return this;
+        }
+
+        Builder sourceCompactor(SourceCompactor sourceCompactor) {
+            this.sourceCompactor = sourceCompactor;
+            return this;
+        }
+
+        Builder largeFileExcerpter(LargeFileExcerpter largeFileExcerpter) {
+            this.largeFileExcerpter = largeFileExcerpter;
+            return this;
+        }
+
+        Builder contentExtractors(ContentExtractors contentExtractors) {
+            this.contentExtractors = contentExtractors;
+            return this;
+        }
+
+        Builder hunkExcerpter(HunkExcerpter hunkExcerpter) {
+            this.hunkExcerpter = hunkExcerpter;
+            return this;
+        }
+
+        CandidateProcessingOptions build() {
+            return new CandidateProcessingOptions(maxFileSize, maxTotalSize, ioParallelism, contentCache,
+                maxTotalTokens, generatedSourceDetector, sourceCompactor, largeFileExcerpter, contentExtractors,
+                hunkExcerpter);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package dev.logicojp.reviewer.target;
+
+import java.util.Set;
+
+/// Reduces a data-heavy file format to the part worth reviewing before the file is added to a
+/// prompt, such as the code cells of a notebook without their outputs.
+///
+/// Extractors are selected by file extension (see {@link ContentExtractors}). Besides the
+/// built-in ones, implementations listed in
+/// `META-INF/services/dev.logicojp.reviewer.target.ContentExtractor` are loaded with
+/// {@link java.util.ServiceLoader} and take precedence for the extensions they declare.
+/// The extracted content, not the raw file, is charged against the collection budgets.
+public interface ContentExtractor {
+
+    /// Lower-case file extensions without the dot, e.g. `ipynb`.
+    Set<String> extensions();
+
+    /// Returns the reviewable content of a file, or `content` itself when nothing can be dropped.
+    /// Implementations must not fail on malformed input; they return `content` unchanged instead.
+    /// @param relativePath `/`-separated path relative to the source root
+    /// @param content The complete file content
+    String extract(String relativePath, String content);
+}
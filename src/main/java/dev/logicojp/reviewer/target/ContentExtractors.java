@@ -0,0 +1,101 @@
+package dev.logicojp.reviewer.target;
+
+import io.micronaut.core.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/// The {@link ContentExtractor}s of a collection, keyed by file extension.
+///
+/// The defaults are the built-in notebook, SQL dump and SVG extractors plus any found through
+/// {@link ServiceLoader}; native images only see providers registered at build time. An extractor
+/// that throws is logged and the file is used as is.
+final class ContentExtractors {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentExtractors.class);
+
+    private static final ContentExtractors DISABLED = new ContentExtractors(Map.of());
+
+    private final Map<String, ContentExtractor> extractorsByExtension;
+
+    private ContentExtractors(Map<String, ContentExtractor> extractorsByExtension) {
+        this.extractorsByExtension = extractorsByExtension;
+    }
+
+    /// Loads the service providers once, on first use.
+    private static final class DefaultsHolder {
+        static final ContentExtractors DEFAULTS = load();
+
+        private static ContentExtractors load() {
+            List<ContentExtractor> extractors = new ArrayList<>(List.of(
+                new NotebookContentExtractor(), new SqlDumpContentExtractor(), new SvgContentExtractor()));
+            try {
+                ServiceLoader.load(ContentExtractor.class).forEach(extractors::add);
+            } catch (ServiceConfigurationError e) {
+                logger.warn("Ignoring content extractors that failed to load: {}", e.getMessage());
+            }
+            return of(extractors);
+        }
+    }
+
+    /// The built-in extractors, overridden per extension by service providers.
+    static ContentExtractors defaults() {
+        return DefaultsHolder.DEFAULTS;
+    }
+
+    /// Extractors that extract nothing; every file is used as is.
+    static ContentExtractors disabled() {
+        return DISABLED;
+    }
+
+    /// Later extractors take precedence for the extensions they share with earlier ones.
+    static ContentExtractors of(List<? extends ContentExtractor> extractors) {
+        Map<String, ContentExtractor> extractorsByExtension = new HashMap<>();
+        for (ContentExtractor extractor : extractors) {
+            for (String extension : extractor.extensions()) {
+                extractorsByExtension.put(extension.toLowerCase(Locale.ROOT), extractor);
+            }
+        }
+        return new ContentExtractors(Map.copyOf(extractorsByExtension));
+    }
+
+    boolean isEnabled() {
+        return !extractorsByExtension.isEmpty();
+    }
+
+    /// Whether the content of the file at `relativePath` is extracted before it is used.
+    boolean supports(String relativePath) {
+        return extractorFor(relativePath) != null;
+    }
+
+    /// Returns the extracted content, or empty when no extractor handles the file or it failed.
+    Optional<String> extract(String relativePath, String content) {
+        ContentExtractor extractor = extractorFor(relativePath);
+        if (extractor == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(extractor.extract(relativePath, content));
+        } catch (RuntimeException e) {
+            logger.warn("Content extractor failed for {}, using the file as is: {}", relativePath, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private @Nullable ContentExtractor extractorFor(String relativePath) {
+        if (extractorsByExtension.isEmpty()) {
+            return null;
+        }
+        String name = relativePath.substring(relativePath.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? null : extractorsByExtension.get(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,67 @@
+package dev.logicojp.reviewer.target;
+
+import dev.logicojp.reviewer.util.TokenHashUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/// Recognizes files whose content is identical to a file already emitted in the same collection,
+/// such as vendored copies and copy-pasted modules.
+///
+/// Only files whose size is shared with another candidate are hashed (SHA-256), so collections
+/// without duplicates pay for one pass over the walked sizes and nothing else. When the
+/// candidates are walked lazily their sizes are not known up front, and every file is hashed.
+/// Not thread-safe; files must be offered in the order they are emitted.
+final class DuplicateContentTracker {
+
+    private static final DuplicateContentTracker DISABLED = new DuplicateContentTracker(Set.of(), false);
+
+    private final Set<Long> sharedSizes;
+    private final boolean allSizesShared;
+    private final Map<String, String> firstPathByDigest = new HashMap<>();
+
+    private DuplicateContentTracker(Set<Long> sharedSizes, boolean allSizesShared) {
+        this.sharedSizes = sharedSizes;
+        this.allSizesShared = allSizesShared;
+    }
+
+    static DuplicateContentTracker forCandidates(List<LocalFileCandidate> candidates) {
+        Set<Long> seenSizes = HashSet.newHashSet(candidates.size());
+        Set<Long> sharedSizes = new HashSet<>();
+        for (LocalFileCandidate candidate : candidates) {
+            if (!seenSizes.add(candidate.size())) {
+                sharedSizes.add(candidate.size());
+            }
+        }
+        return new DuplicateContentTracker(sharedSizes, false);
+    }
+
+    /// A tracker for candidates that are not known in advance; any file may be a duplicate.
+    static DuplicateContentTracker forUnknownCandidates() {
+        return new DuplicateContentTracker(Set.of(), true);
+    }
+
+    /// A tracker that treats every file as unique.
+    static DuplicateContentTracker disabled() {
+        return DISABLED;
+    }
+
+    /// Whether a file of `sizeBytes` can be identical to another candidate.
+    boolean mayBeDuplicate(long sizeBytes) {
+        return allSizesShared || sharedSizes.contains(sizeBytes);
+    }
+
+    /// Returns the path of an earlier file with the same content, or records `relativePath`
+    /// as the first file with this content and returns empty.
+    Optional<String> findOriginal(String relativePath, String content, long sizeBytes) {
+        if (!mayBeDuplicate(sizeBytes)) {
+            return Optional.empty();
+        }
+        String digest = sizeBytes + ":" + TokenHashUtils.sha256HexOrEmpty(content);
+        return Optional.ofNullable(firstPathByDigest.putIfAbsent(digest, relativePath));
+    }
+}
@@ -0,0 +1,155 @@
+package dev.logicojp.reviewer.target;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.PatternSyntaxException;
+
+/// Include/exclude glob rules limiting which local files a reviewer receives.
+///
+/// A file is routed to the reviewer when it matches at least one include pattern (or there
+/// are none) and no exclude pattern. Patterns use `glob:` {@link PathMatcher} syntax against
+/// the `/`-separated path relative to the review directory. Patterns without a `/` match the
+/// file name in any directory, and a leading `**/` also matches at the top level, so `*.sql`
+/// and `**/*.sql` both match `schema.sql`.
+///
+/// Patterns are trimmed, de-duplicated and sorted, so rule sets that differ only in order
+/// are equal and share one collected source.
+/// @param includePatterns Globs a file must match one of; empty to include every file
+/// @param excludePatterns Globs a file must not match
+public record FileRoutingRules(List<String> includePatterns, List<String> excludePatterns) {
+
+    private static final FileRoutingRules ALL = new FileRoutingRules(List.of(), List.of());
+
+    public FileRoutingRules {
+        includePatterns = normalize(includePatterns);
+        excludePatterns = normalize(excludePatterns);
+        includePatterns.forEach(FileRoutingRules::compile);
+        excludePatterns.forEach(FileRoutingRules::compile);
+    }
+
+    /// Rules that route every file.
+    public static FileRoutingRules all() {
+        return ALL;
+    }
+
+    /// Parses comma-separated pattern lists as written in agent frontmatter
+    /// (`include: "**/*.sql, db/**"`, optionally wrapped in `[...]`).
+    /// Commas inside `{...}` alternatives do not separate patterns.
+    /// @throws IllegalArgumentException if a pattern is not a valid glob
+    public static FileRoutingRules parse(@Nullable String include, @Nullable String exclude) {
+        return new FileRoutingRules(splitPatterns(include), splitPatterns(exclude));
+    }
+
+    public boolean isUnrestricted() {
+        return includePatterns.isEmpty() && excludePatterns.isEmpty();
+    }
+
+    /// Returns whether any of the `/`-separated relative paths is routed by these rules.
+    public boolean routesAny(Collection<String> relativePaths) {
+        Predicate<String> matcher = toMatcher();
+        return relativePaths.stream().anyMatch(matcher);
+    }
+
+    /// Compiles the rules into a predicate over `/`-separated relative paths.
+    Predicate<String> toMatcher() {
+        if (isUnrestricted()) {
+            return _ -> true;
+        }
+        List<PathMatcher> includes = compileAll(includePatterns);
+        List<PathMatcher> excludes = compileAll(excludePatterns);
+        return relativePath -> {
+            Path path = Path.of(relativePath);
+            return (includes.isEmpty() || matchesAny(includes, path)) && !matchesAny(excludes, path);
+        };
+    }
+
+    private static boolean matchesAny(List<PathMatcher> matchers, Path path) {
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathMatcher> compileAll(List<String> patterns) {
+        List<PathMatcher> matchers = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            matchers.addAll(compile(pattern));
+        }
+        return matchers;
+    }
+
+    private static List<PathMatcher> compile(String pattern) {
+        try {
+            if (!pattern.contains("/")) {
+                return List.of(glob(pattern), glob("**/" + pattern));
+            }
+            if (pattern.startsWith("**/")) {
+                return List.of(glob(pattern), glob(pattern.substring("**/".length())));
+            }
+            return List.of(glob(pattern));
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid file pattern '" + pattern + "': " + e.getDescription(), e);
+        }
+    }
+
+    private static PathMatcher glob(String pattern) {
+        return FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+    }
+
+    private static List<String> normalize(@Nullable List<String> patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            return List.of();
+        }
+        return patterns.stream()
+            .filter(pattern -> pattern != null && !pattern.isBlank())
+            .map(String::trim)
+            .distinct()
+            .sorted()
+            .toList();
+    }
+
+    private static List<String> splitPatterns(@Nullable String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        String trimmed = value.trim();
+        if (trimmed.startsWith("[") && trimmed.endsWith("]")) {
+            trimmed = trimmed.substring(1, trimmed.length() - 1);
+        }
+        List<String> patterns = new ArrayList<>();
+        int braceDepth = 0;
+        int start = 0;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c == '{') {
+                braceDepth++;
+            } else if (c == '}' && braceDepth > 0) {
+                braceDepth--;
+            } else if (c == ',' && braceDepth == 0) {
+                patterns.add(unquote(trimmed.substring(start, i)));
+                start = i + 1;
+            }
+        }
+        patterns.add(unquote(trimmed.substring(start)));
+        return patterns;
+    }
+
+    private static String unquote(String pattern) {
+        String trimmed = pattern.trim();
+        if (trimmed.length() >= 2
+                && ((trimmed.startsWith("\"") && trimmed.endsWith("\""))
+                 || (trimmed.startsWith("'") && trimmed.endsWith("'")))) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+}
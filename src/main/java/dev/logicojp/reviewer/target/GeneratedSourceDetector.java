@@ -0,0 +1,131 @@
+package dev.logicojp.reviewer.target;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/// Detects binary, minified and generated files so they do not consume the collection budget.
+///
+/// Paths are checked during the walk, before any read, against `generatedFilePatterns`
+/// (lower-cased): a pattern ending in `/` matches a directory segment of the relative path
+/// (e.g. `third_party/`), any other pattern a file-name suffix (e.g. `.min.js`, `_pb2.py`).
+///
+/// Content is sniffed on the head of a file only (the first {@value #SNIFF_LENGTH} bytes):
+/// a NUL character marks a binary file, an average line longer than
+/// {@value #MAX_AVERAGE_LINE_LENGTH} characters a minified one, and any of the case-sensitive
+/// `generatedCodeMarkers` (e.g. `Code generated by`, `@generated`) a generated source.
+final class GeneratedSourceDetector {
+
+    enum Kind {
+        BINARY("binary"),
+        MINIFIED("minified"),
+        GENERATED("generated");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        String label() {
+            return label;
+        }
+    }
+
+    /// Bytes read from the start of a file before deciding whether to read the rest.
+    static final int SNIFF_LENGTH = 4096;
+    /// Hand-written code and prose stay far below this even with long paragraphs per line.
+    static final int MAX_AVERAGE_LINE_LENGTH = 500;
+    /// Heads shorter than this are too small to judge the line length by.
+    private static final int MIN_LINE_LENGTH_SAMPLE = 1024;
+
+    private static final GeneratedSourceDetector DISABLED =
+        new GeneratedSourceDetector(List.of(), List.of(), false);
+
+    private final List<String> directoryPatterns;
+    private final List<String> suffixPatterns;
+    private final List<String> codeMarkers;
+    private final boolean enabled;
+
+    GeneratedSourceDetector(Collection<String> generatedFilePatterns, List<String> generatedCodeMarkers) {
+        this(generatedFilePatterns, generatedCodeMarkers, true);
+    }
+
+    private GeneratedSourceDetector(Collection<String> generatedFilePatterns,
+                                    List<String> generatedCodeMarkers,
+                                    boolean enabled) {
+        this.directoryPatterns = generatedFilePatterns.stream()
+            .filter(pattern -> pattern.endsWith("/"))
+            .map(pattern -> pattern.startsWith("/") ? pattern : "/" + pattern)
+            .toList();
+        this.suffixPatterns = generatedFilePatterns.stream()
+            .filter(pattern -> !pattern.endsWith("/"))
+            .toList();
+        this.codeMarkers = List.copyOf(generatedCodeMarkers);
+        this.enabled = enabled;
+    }
+
+    /// A detector that accepts every file and content.
+    static GeneratedSourceDetector disabled() {
+        return DISABLED;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /// Returns whether the `/`-separated, lower-cased relative path is a known generated or vendored file.
+    boolean isGeneratedPath(String relativePath) {
+        if (!enabled) {
+            return false;
+        }
+        for (String suffix : suffixPatterns) {
+            if (relativePath.endsWith(suffix)) {
+                return true;
+            }
+        }
+        if (directoryPatterns.isEmpty()) {
+            return false;
+        }
+        String rootedPath = "/" + relativePath;
+        for (String directory : directoryPatterns) {
+            if (rootedPath.contains(directory)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /// Classifies a file by its head; longer input is only inspected up to {@value #SNIFF_LENGTH} characters.
+    Optional<Kind> sniff(String content) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String head = content.length() > SNIFF_LENGTH ? content.substring(0, SNIFF_LENGTH) : content;
+        if (head.indexOf('\0') >= 0) {
+            return Optional.of(Kind.BINARY);
+        }
+        if (isMinified(head)) {
+            return Optional.of(Kind.MINIFIED);
+        }
+        for (String marker : codeMarkers) {
+            if (head.contains(marker)) {
+                return Optional.of(Kind.GENERATED);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isMinified(String head) {
+        if (head.length() < MIN_LINE_LENGTH_SAMPLE) {
+            return false;
+        }
+        int lines = 1;
+        for (int i = 0; i < head.length(); i++) {
+            if (head.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return head.length() / lines > MAX_AVERAGE_LINE_LENGTH;
+    }
+}
@@ -0,0 +1,149 @@
+package dev.logicojp.reviewer.target;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/// Files changed since a git revision, with the changed line ranges of each file.
+///
+/// Parsed from `git diff --unified=0` output plus the list of untracked files.
+/// An empty range list means the whole file is relevant (untracked or added without hunks).
+/// @param changedFiles Changed line ranges keyed by `/`-separated relative path
+record GitChangeSet(Map<String, List<LineRange>> changedFiles) {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitChangeSet.class);
+
+    private static final Pattern HUNK_HEADER = Pattern.compile("^@@ -\\d+(?:,\\d+)? \\+(\\d+)(?:,(\\d+))? @@");
+    private static final String DIFF_HEADER_PREFIX = "diff --git ";
+    private static final String NEW_FILE_PREFIX = "+++ ";
+    private static final String NEW_FILE_PATH_PREFIX = "+++ b/";
+
+    /// An inclusive, 1-based line range in the new version of a file.
+    record LineRange(int start, int end) {
+    }
+
+    GitChangeSet {
+        changedFiles = Map.copyOf(changedFiles);
+    }
+
+    /// Parses unified diff output and untracked file paths into a change set.
+    static GitChangeSet parse(String unifiedDiff, List<String> untrackedFiles) {
+        Map<String, List<LineRange>> changedFiles = new LinkedHashMap<>();
+        String currentPath = null;
+        boolean inFileHeader = false;
+        for (String line : unifiedDiff.split("\n")) {
+            if (line.startsWith(DIFF_HEADER_PREFIX)) {
+                inFileHeader = true;
+                currentPath = null;
+            } else if (inFileHeader && line.startsWith(NEW_FILE_PREFIX)) {
+                currentPath = parseNewFilePath(line);
+                if (currentPath != null) {
+                    changedFiles.putIfAbsent(currentPath, new ArrayList<>());
+                }
+            } else if (line.startsWith("@@")) {
+                inFileHeader = false;
+                addHunk(changedFiles, currentPath, line);
+            }
+        }
+        for (String untracked : untrackedFiles) {
+            if (!untracked.isEmpty()) {
+                changedFiles.put(untracked, List.of());
+            }
+        }
+        return new GitChangeSet(changedFiles);
+    }
+
+    /// A change set in which each of `relativePaths` is relevant as a whole.
+    static GitChangeSet ofWholeFiles(Collection<String> relativePaths) {
+        Map<String, List<LineRange>> changedFiles = new LinkedHashMap<>();
+        for (String relativePath : relativePaths) {
+            changedFiles.put(relativePath.replace('\\', '/'), List.of());
+        }
+        return new GitChangeSet(changedFiles);
+    }
+
+    Set<String> paths() {
+        return changedFiles.keySet();
+    }
+
+    /// Reduces content to the changed hunks of the file plus `contextLines` of context.
+    /// Returns the content unchanged when the whole file is relevant.
+    String excerpt(String relativePath, String content, int contextLines) {
+        List<LineRange> ranges = changedFiles.get(relativePath.replace('\\', '/'));
+        if (contextLines < 0 || ranges == null || ranges.isEmpty()) {
+            return content;
+        }
+        String[] lines = content.split("\n", -1);
+        int lineCount = content.endsWith("\n") ? lines.length - 1 : lines.length;
+        List<LineRange> windows = mergeWindows(ranges, contextLines, lineCount);
+        if (windows.isEmpty() || (windows.size() == 1
+            && windows.getFirst().start() == 1 && windows.getFirst().end() == lineCount)) {
+            return content;
+        }
+
+        var sb = new StringBuilder();
+        for (LineRange window : windows) {
+            sb.append("@@ lines ").append(window.start()).append('-').append(window.end()).append(" @@\n");
+            for (int line = window.start(); line <= window.end(); line++) {
+                sb.append(lines[line - 1]).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String parseNewFilePath(String line) {
+        if (line.startsWith(NEW_FILE_PATH_PREFIX)) {
+            return line.substring(NEW_FILE_PATH_PREFIX.length());
+        }
+        if (!line.equals("+++ /dev/null")) {
+            logger.debug("Skipping changed file with quoted path: {}", line);
+        }
+        return null;
+    }
+
+    private static void addHunk(Map<String, List<LineRange>> changedFiles, String currentPath, String line) {
+        if (currentPath == null) {
+            return;
+        }
+        Matcher matcher = HUNK_HEADER.matcher(line);
+        if (!matcher.find()) {
+            return;
+        }
+        int start = Integer.parseInt(matcher.group(1));
+        int count = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 1;
+        // Pure deletions report the line before the removed block; keep it as a context anchor.
+        LineRange range = count == 0
+            ? new LineRange(Math.max(start, 1), Math.max(start, 1))
+            : new LineRange(start, start + count - 1);
+        changedFiles.get(currentPath).add(range);
+    }
+
+    private static List<LineRange> mergeWindows(List<LineRange> ranges, int contextLines, int lineCount) {
+        List<LineRange> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingInt(LineRange::start));
+        List<LineRange> windows = new ArrayList<>();
+        for (LineRange range : sorted) {
+            int start = Math.max(1, range.start() - contextLines);
+            int end = Math.min(lineCount, range.end() + contextLines);
+            if (start > end) {
+                continue;
+            }
+            if (!windows.isEmpty() && start <= windows.getLast().end() + 1) {
+                LineRange last = windows.removeLast();
+                windows.add(new LineRange(last.start(), Math.max(last.end(), end)));
+            } else {
+                windows.add(new LineRange(start, end));
+            }
+        }
+        return windows;
+    }
+}
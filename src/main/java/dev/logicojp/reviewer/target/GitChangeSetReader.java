@@ -0,0 +1,103 @@
+package dev.logicojp.reviewer.target;
+
+import dev.logicojp.reviewer.util.CliPathResolver;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/// Lists files changed since a git revision by running the local `git` binary.
+///
+/// Only read-only plumbing is used (`diff`, `ls-files`), and the repository-configured
+/// external diff, textconv and fsmonitor helpers are disabled. Clean filters of
+/// `filter.<driver>.clean` still run when `git diff` compares work-tree files, so a
+/// repository's own filters execute as they would for any `git diff` in it.
+final class GitChangeSetReader {
+
+    private static final long GIT_TIMEOUT_SECONDS = 60;
+
+    private GitChangeSetReader() {
+    }
+
+    /// Reads changed, added and untracked files under the work tree directory.
+    /// Paths are relative to `workTree`, which may be a sub-directory of the repository.
+    static GitChangeSet read(Path workTree, LocalChangeScope scope) throws IOException {
+        String git = findGit();
+        String diff = runGit(git, workTree,
+            "diff", "--no-color", "--no-ext-diff", "--no-textconv", "--relative",
+            "--unified=0", "--diff-filter=ACMR", "--src-prefix=a/", "--dst-prefix=b/", scope.sinceRef(), "--");
+        String untracked = runGit(git, workTree, "ls-files", "--others", "--exclude-standard", "-z");
+        List<String> untrackedFiles = Arrays.asList(untracked.split("\0"));
+        return GitChangeSet.parse(diff, untrackedFiles);
+    }
+
+    static String findGit() throws IOException {
+        return CliPathResolver.findExecutableInPath("git")
+            .map(Path::toString)
+            .orElseThrow(() -> new IOException("git executable not found in PATH"));
+    }
+
+    /// Starts `git` in `workTree` with quoting and fsmonitor disabled; stderr is discarded.
+    static Process startGit(String git, Path workTree, String... args) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+            git, "-c", "core.quotePath=false", "-c", "core.fsmonitor=false"));
+        command.addAll(List.of(args));
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.directory(workTree.toFile());
+        builder.redirectError(ProcessBuilder.Redirect.DISCARD);
+        return builder.start();
+    }
+
+    /// Runs `git` to completion and returns its standard output.
+    ///
+    /// The output is drained on a virtual thread, so a `git` that hangs without closing its
+    /// output is still bounded by the timeout and killed when it expires.
+    static String runGit(String git, Path workTree, String... args) throws IOException {
+        Process process = startGit(git, workTree, args);
+        var output = new FutureTask<>(() -> process.getInputStream().readAllBytes());
+        Thread.ofVirtual().name("git-output").start(output);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(GIT_TIMEOUT_SECONDS);
+        boolean completed = false;
+        try {
+            if (!process.waitFor(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw timedOut(args[0]);
+            }
+            byte[] stdout = output.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            int exitCode = process.exitValue();
+            if (exitCode != 0) {
+                throw new IOException("git " + args[0] + " failed with exit code " + exitCode
+                    + " (is " + workTree + " inside a git work tree and the revision valid?)");
+            }
+            completed = true;
+            return new String(stdout, StandardCharsets.UTF_8);
+        } catch (TimeoutException _) {
+            throw timedOut(args[0]);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io
+                ? io
+                : new IOException("Failed to read the output of git " + args[0], e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while running git " + args[0]);
+        } finally {
+            if (completed) {
+                process.destroy();
+            } else {
+                process.destroyForcibly();
+                output.cancel(true);
+            }
+        }
+    }
+
+    private static IOException timedOut(String command) {
+        return new IOException("git " + command + " timed out after " + GIT_TIMEOUT_SECONDS + " seconds");
+    }
+}
@@ -0,0 +1,113 @@
+package dev.logicojp.reviewer.target;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/// Applies the `.gitignore` files of a directory tree during the walk.
+///
+/// Each directory's `.gitignore` is read once, when the first path below it is checked, so
+/// nested ignore files are picked up as the walk reaches them. As in git, rules of deeper
+/// ignore files take precedence over shallower ones, `.gitignore` files between the enclosing
+/// repository root and the base directory apply too, and `.git/info/exclude` has the lowest
+/// precedence. A path inside an ignored directory cannot be re-included, since the walk never
+/// enters that directory.
+///
+/// The git index is not consulted, so tracked files that match an ignore rule are skipped as well.
+/// Safe for concurrent use by the sub-tree walkers.
+final class GitIgnoreMatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitIgnoreMatcher.class);
+
+    static final String IGNORE_FILE_NAME = ".gitignore";
+
+    private static final GitIgnoreMatcher DISABLED = new GitIgnoreMatcher(null, GitIgnoreRules.EMPTY);
+
+    /// Outermost directory whose ignore files apply: the repository root, or the base directory
+    /// when it is not inside a repository. `null` when disabled.
+    private final Path topDirectory;
+    private final GitIgnoreRules excludeRules;
+    private final ConcurrentMap<Path, GitIgnoreRules> rulesByDirectory = new ConcurrentHashMap<>();
+
+    private GitIgnoreMatcher(Path topDirectory, GitIgnoreRules excludeRules) {
+        this.topDirectory = topDirectory;
+        this.excludeRules = excludeRules;
+    }
+
+    /// Creates a matcher for the tree rooted at the absolute, normalized `baseDirectory`.
+    static GitIgnoreMatcher load(Path baseDirectory) {
+        Path repositoryRoot = findRepositoryRoot(baseDirectory);
+        if (repositoryRoot == null) {
+            return new GitIgnoreMatcher(baseDirectory, GitIgnoreRules.EMPTY);
+        }
+        GitIgnoreRules excludeRules = readRules(repositoryRoot.resolve(".git").resolve("info").resolve("exclude"));
+        return new GitIgnoreMatcher(repositoryRoot, excludeRules);
+    }
+
+    /// A matcher that ignores nothing.
+    static GitIgnoreMatcher disabled() {
+        return DISABLED;
+    }
+
+    /// Returns whether `path` (below the base directory) is ignored.
+    boolean isIgnored(Path path, boolean directory) {
+        if (topDirectory == null || !path.startsWith(topDirectory) || path.equals(topDirectory)) {
+            return false;
+        }
+        for (Path dir = path.getParent(); dir != null && dir.startsWith(topDirectory); dir = dir.getParent()) {
+            GitIgnoreRules rules = rulesFor(dir);
+            if (rules.isEmpty()) {
+                continue;
+            }
+            GitIgnoreRules.Match match = rules.match(relativePath(dir, path), directory);
+            if (match != GitIgnoreRules.Match.NONE) {
+                return match == GitIgnoreRules.Match.IGNORED;
+            }
+        }
+        return !excludeRules.isEmpty()
+            && excludeRules.match(relativePath(topDirectory, path), directory) == GitIgnoreRules.Match.IGNORED;
+    }
+
+    private GitIgnoreRules rulesFor(Path directory) {
+        GitIgnoreRules rules = rulesByDirectory.get(directory);
+        if (rules == null) {
+            rules = readRules(directory.resolve(IGNORE_FILE_NAME));
+            GitIgnoreRules existing = rulesByDirectory.putIfAbsent(directory, rules);
+            if (existing != null) {
+                rules = existing;
+            }
+        }
+        return rules;
+    }
+
+    private static GitIgnoreRules readRules(Path ignoreFile) {
+        if (!Files.isRegularFile(ignoreFile)) {
+            return GitIgnoreRules.EMPTY;
+        }
+        try {
+            return GitIgnoreRules.parse(Files.readAllLines(ignoreFile, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.debug("Cannot read ignore file {}: {}", ignoreFile, e.getMessage());
+            return GitIgnoreRules.EMPTY;
+        }
+    }
+
+    private static Path findRepositoryRoot(Path baseDirectory) {
+        for (Path dir = baseDirectory; dir != null; dir = dir.getParent()) {
+            if (Files.exists(dir.resolve(".git"))) {
+                return dir;
+            }
+        }
+        return null;
+    }
+
+    private static String relativePath(Path directory, Path path) {
+        return directory.relativize(path).toString().replace('\\', '/');
+    }
+}
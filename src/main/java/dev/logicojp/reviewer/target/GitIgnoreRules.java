@@ -0,0 +1,265 @@
+package dev.logicojp.reviewer.target;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/// The rules of one ignore file (`.gitignore` or `.git/info/exclude`), compiled for lookup.
+///
+/// Follows git semantics: the last matching rule wins, `!` re-includes, a trailing `/` limits
+/// a rule to directories, and a rule containing a `/` is anchored to the ignore file's directory
+/// while any other rule matches the name at any depth.
+///
+/// Most real-world rules are literal names (`node_modules`), literal paths (`/build`) or
+/// extension globs (`*.log`). Those are looked up in hash maps and a reversed suffix trie, so
+/// matching costs O(path length) regardless of the number of rules; only the remaining
+/// wildcard rules are tried one by one, newest first, until one can no longer win.
+final class GitIgnoreRules {
+
+    enum Match {
+        NONE,
+        IGNORED,
+        KEPT
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(GitIgnoreRules.class);
+
+    static final GitIgnoreRules EMPTY = new GitIgnoreRules();
+
+    private record Rule(int order, boolean negated, boolean directoryOnly) {
+        boolean appliesTo(boolean directory) {
+            return directory || !directoryOnly;
+        }
+    }
+
+    private record GlobRule(Rule rule, Pattern pattern, boolean matchesName) {
+    }
+
+    private final Map<String, List<Rule>> nameLiterals = new HashMap<>();
+    private final Map<String, List<Rule>> pathLiterals = new HashMap<>();
+    private final SuffixTrie nameSuffixes = new SuffixTrie();
+    private final List<GlobRule> globs = new ArrayList<>();
+    private int ruleCount;
+
+    private GitIgnoreRules() {
+    }
+
+    static GitIgnoreRules parse(List<String> lines) {
+        var rules = new GitIgnoreRules();
+        for (String line : lines) {
+            rules.add(line);
+        }
+        return rules.ruleCount == 0 ? EMPTY : rules;
+    }
+
+    boolean isEmpty() {
+        return ruleCount == 0;
+    }
+
+    /// Matches a `/`-separated path relative to the ignore file's directory.
+    Match match(String relativePath, boolean directory) {
+        String name = relativePath.substring(relativePath.lastIndexOf('/') + 1);
+        Rule latest = latest(null, nameLiterals.get(name), directory);
+        latest = latest(latest, pathLiterals.get(relativePath), directory);
+        latest = nameSuffixes.latestMatch(name, latest, directory);
+        for (int i = globs.size() - 1; i >= 0; i--) {
+            GlobRule glob = globs.get(i);
+            if (latest != null && glob.rule().order() < latest.order()) {
+                break;
+            }
+            if (glob.rule().appliesTo(directory)
+                    && glob.pattern().matcher(glob.matchesName() ? name : relativePath).matches()) {
+                latest = glob.rule();
+                break;
+            }
+        }
+        if (latest == null) {
+            return Match.NONE;
+        }
+        return latest.negated() ? Match.KEPT : Match.IGNORED;
+    }
+
+    private void add(String line) {
+        String pattern = stripTrailingSpaces(line);
+        if (pattern.isEmpty() || pattern.startsWith("#")) {
+            return;
+        }
+        boolean negated = pattern.startsWith("!");
+        if (negated) {
+            pattern = pattern.substring(1);
+        } else if (pattern.startsWith("\\#") || pattern.startsWith("\\!")) {
+            pattern = pattern.substring(1);
+        }
+        boolean directoryOnly = pattern.endsWith("/");
+        if (directoryOnly) {
+            pattern = pattern.substring(0, pattern.length() - 1);
+        }
+        if (pattern.startsWith("**/") && pattern.indexOf('/', 3) < 0) {
+            pattern = pattern.substring(3);
+        }
+        boolean anchored = pattern.contains("/");
+        if (pattern.startsWith("/")) {
+            pattern = pattern.substring(1);
+        }
+        if (pattern.isEmpty()) {
+            return;
+        }
+
+        var rule = new Rule(ruleCount, negated, directoryOnly);
+        if (!hasWildcard(pattern)) {
+            (anchored ? pathLiterals : nameLiterals).computeIfAbsent(pattern, _ -> new ArrayList<>()).add(rule);
+        } else if (!anchored && pattern.startsWith("*") && !hasWildcard(pattern.substring(1))) {
+            nameSuffixes.add(pattern.substring(1), rule);
+        } else {
+            try {
+                globs.add(new GlobRule(rule, Pattern.compile(toRegex(pattern)), !anchored));
+            } catch (PatternSyntaxException e) {
+                logger.debug("Ignoring invalid ignore pattern '{}': {}", line, e.getDescription());
+                return;
+            }
+        }
+        ruleCount++;
+    }
+
+    private static Rule latest(Rule latest, List<Rule> candidates, boolean directory) {
+        if (candidates == null) {
+            return latest;
+        }
+        for (Rule candidate : candidates) {
+            if (candidate.appliesTo(directory) && (latest == null || candidate.order() > latest.order())) {
+                latest = candidate;
+            }
+        }
+        return latest;
+    }
+
+    private static boolean hasWildcard(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /// Trailing spaces are ignored unless escaped with a backslash.
+    private static String stripTrailingSpaces(String line) {
+        int end = line.length();
+        while (end > 0 && line.charAt(end - 1) == ' ' && (end < 2 || line.charAt(end - 2) != '\\')) {
+            end--;
+        }
+        return line.substring(0, end);
+    }
+
+    /// Translates a gitignore glob to a regex: `*` and `?` stay within one path segment,
+    /// `**` spans segments when it forms a whole segment.
+    private static String toRegex(String glob) {
+        var regex = new StringBuilder(glob.length() * 2);
+        int i = 0;
+        while (i < glob.length()) {
+            char c = glob.charAt(i);
+            if (c == '*' && glob.startsWith("**", i) && isWholeSegment(glob, i)) {
+                if (i + 2 == glob.length()) {
+                    regex.append(".*");
+                    i += 2;
+                } else {
+                    regex.append("(?:.*/)?");
+                    i += 3;
+                }
+            } else if (c == '*') {
+                regex.append("[^/]*");
+                i++;
+            } else if (c == '?') {
+                regex.append("[^/]");
+                i++;
+            } else if (c == '[' && classEnd(glob, i) > 0) {
+                int end = classEnd(glob, i);
+                appendCharacterClass(regex, glob.substring(i + 1, end));
+                i = end + 1;
+            } else if (c == '\\' && i + 1 < glob.length()) {
+                appendLiteral(regex, glob.charAt(i + 1));
+                i += 2;
+            } else {
+                appendLiteral(regex, c);
+                i++;
+            }
+        }
+        return regex.toString();
+    }
+
+    private static boolean isWholeSegment(String glob, int index) {
+        boolean startsSegment = index == 0 || glob.charAt(index - 1) == '/';
+        boolean endsSegment = index + 2 == glob.length() || glob.charAt(index + 2) == '/';
+        return startsSegment && endsSegment;
+    }
+
+    /// Returns the index of the `]` closing the class opened at `start`, or -1.
+    private static int classEnd(String glob, int start) {
+        int i = start + 1;
+        if (i < glob.length() && (glob.charAt(i) == '!' || glob.charAt(i) == '^')) {
+            i++;
+        }
+        if (i < glob.length() && glob.charAt(i) == ']') {
+            i++;
+        }
+        return glob.indexOf(']', i);
+    }
+
+    private static void appendCharacterClass(StringBuilder regex, String body) {
+        regex.append('[');
+        int i = 0;
+        if (!body.isEmpty() && (body.charAt(0) == '!' || body.charAt(0) == '^')) {
+            regex.append('^');
+            i++;
+        }
+        for (; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c == '[' || c == ']' || c == '&' || c == '\\' || c == '^') {
+                regex.append('\\');
+            }
+            regex.append(c);
+        }
+        regex.append(']');
+    }
+
+    private static void appendLiteral(StringBuilder regex, char c) {
+        if ("\\.[]{}()<>*+-=!?^$|".indexOf(c) >= 0) {
+            regex.append('\\');
+        }
+        regex.append(c);
+    }
+
+    /// Suffixes of `*<suffix>` rules, stored reversed so a name is matched by one walk from its end.
+    private static final class SuffixTrie {
+
+        private final Map<Character, SuffixTrie> children = new HashMap<>();
+        private final List<Rule> rules = new ArrayList<>();
+
+        void add(String suffix, Rule rule) {
+            SuffixTrie node = this;
+            for (int i = suffix.length() - 1; i >= 0; i--) {
+                node = node.children.computeIfAbsent(suffix.charAt(i), _ -> new SuffixTrie());
+            }
+            node.rules.add(rule);
+        }
+
+        Rule latestMatch(String name, Rule latest, boolean directory) {
+            SuffixTrie node = this;
+            latest = GitIgnoreRules.latest(latest, node.rules, directory);
+            for (int i = name.length() - 1; i >= 0 && node != null; i--) {
+                node = node.children.get(name.charAt(i));
+                if (node != null) {
+                    latest = GitIgnoreRules.latest(latest, node.rules, directory);
+                }
+            }
+            return latest;
+        }
+    }
+}
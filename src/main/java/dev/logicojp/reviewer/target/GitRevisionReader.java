@@ -0,0 +1,159 @@
+package dev.logicojp.reviewer.target;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/// Reads the files of a git commit straight from the object database with the local `git`
+/// binary, without checking the commit out.
+///
+/// The commit's tree is listed once with `ls-tree`, and blobs are streamed one at a time through
+/// a single long-lived `cat-file --batch` process, so packed and loose objects (including
+/// deltified ones) are resolved by git itself. Like {@link GitChangeSetReader}, only read-only
+/// plumbing runs. An instance is not thread-safe; concurrent collections open their own reader.
+final class GitRevisionReader implements AutoCloseable {
+
+    /// A blob in the listed tree.
+    /// @param objectId The blob's object id
+    /// @param size The blob's size in bytes
+    /// @param path `/`-separated path relative to the listed directory
+    record TreeEntry(String objectId, long size, String path) {}
+
+    private final Process process;
+    private final OutputStream requests;
+    private final InputStream responses;
+    private long remaining = -1;
+
+    private GitRevisionReader(Process process) {
+        this.process = process;
+        this.requests = new BufferedOutputStream(process.getOutputStream());
+        this.responses = new BufferedInputStream(process.getInputStream(), 64 * 1024);
+    }
+
+    /// Resolves `revision` to the full id of the commit it names.
+    static String resolveCommit(Path workTree, String revision) throws IOException {
+        return GitChangeSetReader.runGit(GitChangeSetReader.findGit(), workTree,
+            "rev-parse", "--verify", "--quiet", revision + "^{commit}").strip();
+    }
+
+    /// Lists the regular files of `commit` under `workTree`, which may be a sub-directory of the
+    /// repository, in path order. Symbolic links and submodules are not listed.
+    static List<TreeEntry> listTree(Path workTree, String commit) throws IOException {
+        return parseTree(GitChangeSetReader.runGit(GitChangeSetReader.findGit(), workTree,
+            "ls-tree", "-r", "-l", "-z", commit));
+    }
+
+    /// Parses `ls-tree -r -l -z` output: `<mode> <type> <id> <size>\t<path>` records separated by NUL.
+    static List<TreeEntry> parseTree(String output) {
+        List<TreeEntry> entries = new ArrayList<>();
+        for (String record : output.split("\0")) {
+            int tab = record.indexOf('\t');
+            if (tab < 0) {
+                continue;
+            }
+            String[] fields = record.substring(0, tab).trim().split(" +");
+            if (fields.length != 4 || !fields[1].equals("blob")
+                || !(fields[0].equals("100644") || fields[0].equals("100755"))) {
+                continue;
+            }
+            entries.add(new TreeEntry(fields[2], Long.parseLong(fields[3]), record.substring(tab + 1)));
+        }
+        return entries;
+    }
+
+    /// Starts a `cat-file --batch` process for the repository containing `workTree`.
+    static GitRevisionReader open(Path workTree) throws IOException {
+        return new GitRevisionReader(GitChangeSetReader.startGit(
+            GitChangeSetReader.findGit(), workTree, "cat-file", "--batch"));
+    }
+
+    /// Returns the content of a blob. The stream is valid until the next call; content left
+    /// unread is skipped then.
+    InputStream openBlob(String objectId) throws IOException {
+        skipRemaining();
+        requests.write((objectId + "\n").getBytes(StandardCharsets.US_ASCII));
+        requests.flush();
+        remaining = parseBatchHeader(objectId, readLine());
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int value = responses.read();
+                if (value < 0) {
+                    throw new EOFException("git cat-file ended inside blob " + objectId);
+                }
+                remaining--;
+                return value;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int read = responses.read(buffer, offset, (int) Math.min(length, remaining));
+                if (read < 0) {
+                    throw new EOFException("git cat-file ended inside blob " + objectId);
+                }
+                remaining -= read;
+                return read;
+            }
+        };
+    }
+
+    /// Parses a `cat-file --batch` header line (`<id> <type> <size>` or `<id> missing`) and
+    /// returns the size of the blob that follows.
+    static long parseBatchHeader(String objectId, String header) throws IOException {
+        String[] fields = header.split(" ");
+        if (fields.length != 3 || !fields[1].equals("blob")) {
+            throw new IOException("git object " + objectId + " is not a readable blob: " + header);
+        }
+        try {
+            return Long.parseLong(fields[2]);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid git cat-file header: " + header, e);
+        }
+    }
+
+    /// Skips the unread content of the previous blob and its terminating newline.
+    private void skipRemaining() throws IOException {
+        if (remaining < 0) {
+            return;
+        }
+        responses.skipNBytes(remaining + 1);
+        remaining = -1;
+    }
+
+    private String readLine() throws IOException {
+        var line = new ByteArrayOutputStream(96);
+        int value;
+        while ((value = responses.read()) != '\n') {
+            if (value < 0) {
+                throw new EOFException("git cat-file ended unexpectedly");
+            }
+            line.write(value);
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        try {
+            requests.close();
+        } catch (IOException _) {
+            // The process is destroyed below either way.
+        } finally {
+            process.destroy();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package dev.logicojp.reviewer.target;
+
+import dev.logicojp.reviewer.config.LocalFileConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/// Collects review source from a git commit of a local repository, reading blobs straight from
+/// the object database (see {@link GitRevisionReader}) instead of a checked-out work tree.
+///
+/// Files are selected like the files of a local directory and read in path order under the
+/// same size and token budgets. Several commits of one clone can be collected concurrently,
+/// since nothing is written to the work tree. A commit is reviewed as one prompt: sharding,
+/// relevance ranking, `.gitignore` rules and the content cache only apply to directories.
+public class GitRevisionSourceProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitRevisionSourceProvider.class);
+
+    private final Path directory;
+    private final String commit;
+    private final LocalFileSelectionConfig selectionConfig;
+    private final int maxTotalTokens;
+    private final LocalFileContentFormatter contentFormatter;
+    private final SourceCompactor sourceCompactor;
+
+    /// @param directory A directory inside the repository; only files under it are collected
+    /// @param commit The commit to review, preferably a full id from {@link #resolveCommit(Path, String)}
+    /// @param config Local file selection rules and limits
+    public GitRevisionSourceProvider(Path directory, String commit, LocalFileConfig config) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory must not be null");
+        }
+        if (commit == null || !LocalChangeScope.isValidRevision(commit)) {
+            throw new IllegalArgumentException("Invalid git revision: " + commit);
+        }
+        this.directory = directory.toAbsolutePath().normalize();
+        this.commit = commit;
+        this.selectionConfig = LocalFileSelectionConfig.from(config);
+        this.maxTotalTokens = config.maxTotalTokens();
+        this.contentFormatter = new LocalFileContentFormatter(this.directory, selectionConfig.maxTotalSize());
+        this.sourceCompactor = selectionConfig.compactSources() ? new SourceCompactor() : SourceCompactor.disabled();
+    }
+
+    /// Resolves a revision (branch, tag, `HEAD~3`, abbreviated id) to a full commit id, so a
+    /// review keeps reading the same commit even if the branch moves meanwhile.
+    /// @throws IllegalArgumentException if the revision is malformed or does not name a commit
+    public static String resolveCommit(Path directory, String revision) {
+        if (revision == null || !LocalChangeScope.isValidRevision(revision)) {
+            throw new IllegalArgumentException("Invalid git revision: " + revision);
+        }
+        try {
+            return GitRevisionReader.resolveCommit(directory, revision);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot resolve git commit '" + revision + "' in " + directory
+                + ": " + e.getMessage(), e);
+        }
+    }
+
+    /// Collects the commit's source files and generates prompt-ready content in one pass.
+    public LocalFileProvider.CollectionResult collectAndGenerate() {
+        return collectAndGenerate(FileRoutingRules.all());
+    }
+
+    /// Collects and generates like {@link #collectAndGenerate()}, limited to files routed by `rules`.
+    public LocalFileProvider.CollectionResult collectAndGenerate(FileRoutingRules rules) {
+        var collection = new StreamedSourceCollection(selectionConfig, maxTotalTokens, contentFormatter,
+            sourceCompactor, rules.toMatcher(), "commit " + commit + " in " + directory);
+        try {
+            List<GitRevisionReader.TreeEntry> entries = GitRevisionReader.listTree(directory, commit);
+            logger.debug("Commit {} lists {} files under {}", commit, entries.size(), directory);
+            try (GitRevisionReader reader = GitRevisionReader.open(directory)) {
+                for (GitRevisionReader.TreeEntry entry : entries) {
+                    Optional<String> relativePath = collection.select(entry.path(), entry.size());
+                    if (relativePath.isPresent()
+                        && !collection.accept(relativePath.get(), reader.openBlob(entry.objectId()))) {
+                        break;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read commit " + commit + " in: " + directory, e);
+        }
+        return collection.result();
+    }
+}
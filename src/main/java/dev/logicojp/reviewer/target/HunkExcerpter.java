@@ -0,0 +1,69 @@
+package dev.logicojp.reviewer.target;
+
+import java.util.Map;
+
+/// Reduces changed files to their hunks plus context lines, for reviews of the changes since a
+/// git revision with context lines (see {@link LocalChangeScope#excerptsHunks()}).
+///
+/// Only the hunk excerpt is charged against the budgets, so changed files are read up to
+/// {@value LargeFileExcerpter#MAX_SOURCE_SIZE_FACTOR} times `maxFileSize` like large-file
+/// excerpts, and a file is skipped only when its excerpt still exceeds `maxFileSize`.
+final class HunkExcerpter {
+
+    private static final HunkExcerpter DISABLED = new HunkExcerpter(new GitChangeSet(Map.of()), -1, 0, 0);
+
+    private final GitChangeSet changeSet;
+    private final int contextLines;
+    private final long maxFileSize;
+    private final long maxSourceSize;
+
+    private HunkExcerpter(GitChangeSet changeSet, int contextLines, long maxFileSize, long maxSourceSize) {
+        this.changeSet = changeSet;
+        this.contextLines = contextLines;
+        this.maxFileSize = maxFileSize;
+        this.maxSourceSize = maxSourceSize;
+    }
+
+    /// @param contextLines Context lines around each hunk; negative disables excerpting
+    /// @param maxFileSize  Largest excerpt that is reviewed
+    static HunkExcerpter create(GitChangeSet changeSet, int contextLines, long maxFileSize) {
+        if (contextLines < 0 || maxFileSize <= 0) {
+            return DISABLED;
+        }
+        long maxSourceSize = maxFileSize > Long.MAX_VALUE / LargeFileExcerpter.MAX_SOURCE_SIZE_FACTOR
+            ? Long.MAX_VALUE
+            : maxFileSize * LargeFileExcerpter.MAX_SOURCE_SIZE_FACTOR;
+        return new HunkExcerpter(changeSet, contextLines, maxFileSize, maxSourceSize);
+    }
+
+    /// An excerpter that keeps files whole.
+    static HunkExcerpter disabled() {
+        return DISABLED;
+    }
+
+    boolean isEnabled() {
+        return contextLines >= 0;
+    }
+
+    /// Largest file that is read to be excerpted.
+    long maxSourceSize() {
+        return maxSourceSize;
+    }
+
+    /// Whether a file of `size` bytes is read to be excerpted.
+    boolean canExcerpt(long size) {
+        return isEnabled() && size <= maxSourceSize;
+    }
+
+    /// Returns an upper bound of the bytes a file of `size` is charged, or -1 when it is skipped
+    /// unread. The excerpt size is only known after reading; it never exceeds `maxFileSize`.
+    long expectedCharge(long size) {
+        return canExcerpt(size) ? Math.min(size, maxFileSize) : -1;
+    }
+
+    /// Returns the changed hunks of `content` with their context, or `content` itself when the
+    /// whole file is relevant.
+    String excerpt(String relativePath, String content) {
+        return changeSet.excerpt(relativePath, content, contextLines);
+    }
+}
@@ -0,0 +1,333 @@
+package dev.logicojp.reviewer.target;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/// Cuts a bounded excerpt out of a source file that is larger than `maxFileSize`, so that large
+/// files are reviewed in part instead of being skipped.
+///
+/// Within a per-file byte budget, the excerpt keeps in original line order:
+/// - the head and the tail of the file,
+/// - the windows with the most branching (`if`, loops, `case`, `catch`, `&&`, `||`), weighted by
+///   indentation depth; windows of {@value #REGION_LINES} lines are tried first, then halved
+///   down to {@value #MIN_REGION_LINES} lines to fill what remains of the budget,
+/// - and an outline of the type and function declarations in the omitted lines.
+///
+/// Omitted ranges are replaced by markers such as `// [lines 120-480 omitted]`, each followed by
+/// the declarations it contains as `//   142: void process(Order order) {`, so the original number of any kept line
+/// can be derived from the nearest marker like for {@link SourceCompactor} markers.
+/// Files larger than {@value #MAX_SOURCE_SIZE_FACTOR} times `maxFileSize` are still skipped.
+final class LargeFileExcerpter {
+
+    static final long MAX_SOURCE_SIZE_FACTOR = 16;
+    static final int REGION_LINES = 40;
+    static final int MIN_REGION_LINES = 5;
+    static final int MAX_OUTLINE_LINE_LENGTH = 160;
+
+    private static final LargeFileExcerpter DISABLED = new LargeFileExcerpter(0, 0);
+
+    private static final String MODIFIERS = "(?:(?:public|protected|private|internal|static|final|abstract|sealed"
+        + "|non-sealed|open|override|suspend|async|export|default|synchronized|native|inline|virtual|unsafe"
+        + "|extern|pub(?:\\([\\w:]+\\))?)\\s+)*";
+    private static final String ANNOTATIONS = "(?:@[\\w.]+(?:\\([^)]*\\))?\\s+)*";
+    private static final Pattern TYPE_OR_FUNCTION = Pattern.compile("^\\s*" + ANNOTATIONS + MODIFIERS
+        + "(?:class|interface|enum|record|struct|trait|impl|object|module|def|fn|func|function|fun)\\b");
+    private static final Pattern METHOD = Pattern.compile(
+        "^\\s*" + ANNOTATIONS + MODIFIERS + "([\\w$][\\w$<>\\[\\],.? ]*)\\s+[\\w$]+\\s*\\([^;]*$");
+    private static final Set<String> STATEMENT_KEYWORDS = Set.of(
+        "return", "new", "throw", "else", "if", "for", "while", "switch", "case", "await", "yield",
+        "assert", "catch", "do", "var", "val", "let", "const", "goto", "sizeof", "typeof");
+    private static final Pattern BRANCH = Pattern.compile(
+        "\\b(?:if|for|foreach|while|case|catch|except|elif|when|match)\\b|&&|\\|\\|");
+
+    private final long budget;
+    private final long maxSourceSize;
+
+    private LargeFileExcerpter(long budget, long maxSourceSize) {
+        this.budget = budget;
+        this.maxSourceSize = maxSourceSize;
+    }
+
+    /// @param excerptSize Per-file excerpt budget in bytes; non-positive disables excerpting
+    /// @param maxFileSize Files up to this size are reviewed in full; also caps the budget
+    static LargeFileExcerpter create(long excerptSize, long maxFileSize) {
+        if (excerptSize <= 0 || maxFileSize <= 0) {
+            return DISABLED;
+        }
+        long maxSourceSize = maxFileSize > Long.MAX_VALUE / MAX_SOURCE_SIZE_FACTOR
+            ? Long.MAX_VALUE
+            : maxFileSize * MAX_SOURCE_SIZE_FACTOR;
+        return new LargeFileExcerpter(Math.min(excerptSize, maxFileSize), maxSourceSize);
+    }
+
+    /// An excerpter that excerpts nothing; files over `maxFileSize` are skipped.
+    static LargeFileExcerpter disabled() {
+        return DISABLED;
+    }
+
+    boolean isEnabled() {
+        return budget > 0;
+    }
+
+    /// Largest file that is read to be excerpted.
+    long maxSourceSize() {
+        return maxSourceSize;
+    }
+
+    /// Whether a file of `size` bytes, larger than `maxFileSize`, is excerpted instead of skipped.
+    boolean canExcerpt(long size) {
+        return isEnabled() && size <= maxSourceSize;
+    }
+
+    /// Returns the bytes a file of `size` is expected to be charged: its size when it fits
+    /// `maxFileSize`, the excerpt budget when it is excerpted, or -1 when it is skipped.
+    long expectedCharge(long size, long maxFileSize) {
+        if (size <= maxFileSize) {
+            return size;
+        }
+        return canExcerpt(size) ? budget : -1;
+    }
+
+    /// Returns an excerpt of `content` of at most the budget in UTF-8 bytes.
+    String excerpt(String relativePath, String content) {
+        String[] lines = splitLines(content);
+        String comment = SourceCompactor.lineCommentOf(relativePath);
+        String header = marker(comment, "excerpt of " + lines.length + " lines, "
+            + SourceCompactor.utf8Length(content) + " bytes");
+        long[] costs = new long[lines.length];
+        String[] outline = new String[lines.length];
+        long outlineCost = 0;
+        for (int i = 0; i < lines.length; i++) {
+            costs[i] = SourceCompactor.utf8Length(lines[i]) + 1;
+            if (isDeclaration(lines[i])) {
+                outline[i] = (comment != null ? comment + "   " : "  ") + (i + 1) + ": " + abbreviate(lines[i].strip());
+                outlineCost += SourceCompactor.utf8Length(outline[i]) + 1;
+            }
+        }
+
+        long remaining = budget - SourceCompactor.utf8Length(header) - 1;
+        long outlineBudget = Math.min(outlineCost, Math.max(0, remaining / 5));
+        remaining -= outlineBudget;
+        var selection = new Selection(lines.length, costs);
+        remaining -= selection.keepHead(remaining / 4);
+        remaining -= selection.keepTail(remaining / 8);
+        for (int regionLines = REGION_LINES; regionLines >= MIN_REGION_LINES; regionLines /= 2) {
+            remaining -= selection.keepComplexRegions(lines, regionLines, remaining);
+        }
+        // What no complex region could use extends the head.
+        selection.keepHead(remaining);
+
+        return truncate(render(lines, outline, selection.kept, header, comment, outlineBudget));
+    }
+
+    /// Renders kept lines verbatim and a marker per omitted range. The outline budget is shared
+    /// among omitted ranges in proportion to the declarations they contain.
+    private String render(String[] lines, String[] outline, boolean[] kept, String header, String comment,
+                          long outlineBudget) {
+        int omittedDeclarations = 0;
+        for (int i = 0; i < lines.length; i++) {
+            if (!kept[i] && outline[i] != null) {
+                omittedDeclarations++;
+            }
+        }
+        var excerpt = new StringBuilder((int) Math.min(budget + 256, Integer.MAX_VALUE - 8));
+        excerpt.append(header).append('\n');
+        int line = 0;
+        while (line < lines.length) {
+            if (kept[line]) {
+                excerpt.append(lines[line]).append('\n');
+                line++;
+                continue;
+            }
+            int gapEnd = line;
+            int declarations = 0;
+            while (gapEnd < lines.length && !kept[gapEnd]) {
+                if (outline[gapEnd] != null) {
+                    declarations++;
+                }
+                gapEnd++;
+            }
+            long share = declarations == 0 ? 0 : outlineBudget * declarations / omittedDeclarations;
+            outlineBudget -= appendGap(excerpt, outline, line, gapEnd, comment, share);
+            omittedDeclarations -= declarations;
+            line = gapEnd;
+        }
+        return excerpt.toString();
+    }
+
+    /// Appends the marker of the omitted `[start, end)` and as many of its declarations as fit
+    /// `limit`; returns the bytes spent on declarations.
+    private static long appendGap(StringBuilder excerpt, String[] outline, int start, int end, String comment,
+                                  long limit) {
+        List<String> entries = new ArrayList<>();
+        int declarations = 0;
+        long spent = 0;
+        for (int i = start; i < end; i++) {
+            if (outline[i] == null) {
+                continue;
+            }
+            declarations++;
+            long cost = SourceCompactor.utf8Length(outline[i]) + 1;
+            if (spent + cost <= limit) {
+                entries.add(outline[i]);
+                spent += cost;
+            }
+        }
+        String omitted = SourceCompactor.lineRange(start, end) + " omitted";
+        if (declarations > entries.size()) {
+            omitted += ", " + (declarations - entries.size()) + " more declarations";
+        }
+        excerpt.append(marker(comment, omitted)).append('\n');
+        entries.forEach(entry -> excerpt.append(entry).append('\n'));
+        return spent;
+    }
+
+    static boolean isDeclaration(String line) {
+        if (TYPE_OR_FUNCTION.matcher(line).find()) {
+            return true;
+        }
+        Matcher method = METHOD.matcher(line);
+        if (!method.find()) {
+            return false;
+        }
+        String type = method.group(1).strip();
+        int space = type.indexOf(' ');
+        return !STATEMENT_KEYWORDS.contains(space < 0 ? type : type.substring(0, space));
+    }
+
+    /// Branch count of a line, weighted by its indentation depth.
+    static int complexity(String line) {
+        int branches = 0;
+        Matcher matcher = BRANCH.matcher(line);
+        while (matcher.find()) {
+            branches++;
+        }
+        if (branches == 0) {
+            return 0;
+        }
+        int indent = 0;
+        for (int i = 0; i < line.length() && (line.charAt(i) == ' ' || line.charAt(i) == '\t'); i++) {
+            indent += line.charAt(i) == '\t' ? 4 : 1;
+        }
+        return branches * (1 + Math.min(indent / 4, 8));
+    }
+
+    private static String[] splitLines(String content) {
+        String body = content.endsWith("\n") ? content.substring(0, content.length() - 1) : content;
+        return body.split("\n", -1);
+    }
+
+    private static String marker(String comment, String text) {
+        return comment != null ? comment + " [" + text + "]" : "[" + text + "]";
+    }
+
+    private static String abbreviate(String line) {
+        return line.length() <= MAX_OUTLINE_LINE_LENGTH ? line : line.substring(0, MAX_OUTLINE_LINE_LENGTH) + "...";
+    }
+
+    /// Cuts the excerpt at the last line that fits the budget; only reached when markers of
+    /// many small gaps outgrow the share reserved for them.
+    private String truncate(String text) {
+        if (SourceCompactor.utf8Length(text) <= budget) {
+            return text;
+        }
+        long length = 0;
+        int end = 0;
+        while (end < text.length()) {
+            int newline = text.indexOf('\n', end);
+            int lineEnd = newline < 0 ? text.length() : newline + 1;
+            length += SourceCompactor.utf8Length(text.subSequence(end, lineEnd));
+            if (length > budget) {
+                break;
+            }
+            end = lineEnd;
+        }
+        return text.substring(0, end);
+    }
+
+    /// Lines chosen to be kept verbatim. Every kept range is charged a marker for the gap it opens.
+    private static final class Selection {
+
+        /// Reserved per kept range for the omission marker that follows it.
+        private static final long MARKER_COST = 32;
+
+        private final boolean[] kept;
+        private final long[] costs;
+
+        private Selection(int lineCount, long[] costs) {
+            this.kept = new boolean[lineCount];
+            this.costs = costs;
+        }
+
+        /// Keeps the first lines, or the lines following those already kept, within `limit`;
+        /// returns the bytes spent.
+        long keepHead(long limit) {
+            int line = 0;
+            while (line < kept.length && kept[line]) {
+                line++;
+            }
+            int first = line;
+            long spent = first == 0 ? MARKER_COST : 0;
+            while (line < kept.length && !kept[line] && spent + costs[line] <= limit) {
+                spent += costs[line];
+                kept[line++] = true;
+            }
+            return line == first ? 0 : spent;
+        }
+
+        /// Keeps trailing lines within `limit`; returns the bytes spent.
+        long keepTail(long limit) {
+            long spent = MARKER_COST;
+            int line = kept.length - 1;
+            while (line >= 0 && !kept[line] && spent + costs[line] <= limit) {
+                spent += costs[line];
+                kept[line--] = true;
+            }
+            return line == kept.length - 1 ? 0 : spent;
+        }
+
+        /// Keeps the most complex windows of `regionLines`, best first, that do not overlap kept
+        /// lines and fit `limit`; returns the bytes spent.
+        long keepComplexRegions(String[] lines, int regionLines, long limit) {
+            record Region(int start, int end, long score, long cost) {}
+            List<Region> regions = new ArrayList<>();
+            for (int start = 0; start < lines.length; start += Math.max(1, regionLines / 2)) {
+                int end = Math.min(lines.length, start + regionLines);
+                long score = 0;
+                long cost = MARKER_COST;
+                for (int i = start; i < end; i++) {
+                    score += complexity(lines[i]);
+                    cost += costs[i];
+                }
+                if (score > 0) {
+                    regions.add(new Region(start, end, score, cost));
+                }
+            }
+            regions.sort(Comparator.comparingLong(Region::score).reversed().thenComparingInt(Region::start));
+            long remaining = limit;
+            for (Region region : regions) {
+                if (region.cost() > remaining || overlapsKept(region.start(), region.end())) {
+                    continue;
+                }
+                for (int i = region.start(); i < region.end(); i++) {
+                    kept[i] = true;
+                }
+                remaining -= region.cost();
+            }
+            return limit - remaining;
+        }
+
+        private boolean overlapsKept(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (kept[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package dev.logicojp.reviewer.target;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/// Restricts a local review to files changed since a git revision, or to an explicit file list.
+///
+/// Changed and added files are listed with the local `git` binary (no network access).
+/// With `contextLines >= 0`, each file is reduced to its changed hunks plus that many
+/// lines of surrounding context; with {@link #WHOLE_FILES}, changed files are included in full.
+/// A scope created with {@link #ofFiles(Collection)} (used by `review watch`) does not consult
+/// git and always includes the listed files in full.
+/// @param sinceRef Git revision to diff the working tree against (e.g. `main`, `HEAD~3`),
+///                 or null for an explicit file list
+/// @param contextLines Context lines around each hunk, or {@link #WHOLE_FILES}
+/// @param files `/`-separated relative paths to review, or null to ask git
+public record LocalChangeScope(@Nullable String sinceRef, int contextLines, @Nullable Set<String> files) {
+
+    /// Marker for including changed files in full rather than as hunk excerpts.
+    public static final int WHOLE_FILES = -1;
+
+    private static final Pattern REVISION_PATTERN = Pattern.compile("^[A-Za-z0-9._/~^@{}+-]+$");
+
+    public LocalChangeScope {
+        if (files != null) {
+            files = Set.copyOf(files);
+            contextLines = WHOLE_FILES;
+        } else {
+            if (sinceRef == null || sinceRef.isBlank()) {
+                throw new IllegalArgumentException("Git revision must not be null or blank");
+            }
+            if (!isValidRevision(sinceRef)) {
+                throw new IllegalArgumentException("Invalid git revision: " + sinceRef);
+            }
+            contextLines = contextLines < 0 ? WHOLE_FILES : contextLines;
+        }
+    }
+
+    public LocalChangeScope(String sinceRef, int contextLines) {
+        this(sinceRef, contextLines, null);
+    }
+
+    public LocalChangeScope(String sinceRef) {
+        this(sinceRef, WHOLE_FILES);
+    }
+
+    /// Creates a scope covering exactly `relativePaths`, included in full.
+    public static LocalChangeScope ofFiles(Collection<String> relativePaths) {
+        return new LocalChangeScope(null, WHOLE_FILES, Set.copyOf(relativePaths));
+    }
+
+    /// Returns whether `revision` is a plain revision expression that git cannot mistake for an option.
+    static boolean isValidRevision(String revision) {
+        return !revision.startsWith("-") && REVISION_PATTERN.matcher(revision).matches();
+    }
+
+    /// Returns true if the scope lists its files explicitly instead of diffing against git.
+    public boolean listsFiles() {
+        return files != null;
+    }
+
+    /// Returns true if changed files are reduced to hunk excerpts.
+    public boolean excerptsHunks() {
+        return contextLines != WHOLE_FILES;
+    }
+}
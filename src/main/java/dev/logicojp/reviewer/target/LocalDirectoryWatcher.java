@@ -0,0 +1,162 @@
+package dev.logicojp.reviewer.target;
+
+import dev.logicojp.reviewer.config.LocalFileConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/// Watches a local directory tree for file changes.
+///
+/// Every directory below the base directory is registered with a {@link WatchService}, except
+/// the configured ignored directories and the excluded directories (such as the review's own
+/// output directory), which are never entered. Directories created later are
+/// registered as they appear, and the files inside them count as changed.
+///
+/// {@link #awaitChanges()} blocks until a change arrives and then keeps collecting until no
+/// event has arrived for the debounce interval, so a save touching several files (or an
+/// editor writing a file in several steps) is reported as one batch.
+public final class LocalDirectoryWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalDirectoryWatcher.class);
+
+    private final Path baseDirectory;
+    private final Set<String> ignoredDirectories;
+    private final Set<Path> excludedDirectories;
+    private final Duration debounce;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+    /// Starts watching `baseDirectory`.
+    /// @param excludedDirectories directories whose changes are never reported, e.g. where the
+    ///                            reviews triggered by this watcher write their reports
+    /// @throws IOException if the watch service cannot be created or the tree cannot be registered
+    public LocalDirectoryWatcher(Path baseDirectory,
+                                 LocalFileConfig config,
+                                 Duration debounce,
+                                 Collection<Path> excludedDirectories) throws IOException {
+        if (debounce == null || debounce.isNegative()) {
+            throw new IllegalArgumentException("Debounce interval must not be negative");
+        }
+        this.baseDirectory = baseDirectory.toAbsolutePath().normalize();
+        this.ignoredDirectories = LocalFileSelectionConfig.from(config).ignoredDirectories();
+        this.excludedDirectories = new HashSet<>();
+        for (Path excluded : excludedDirectories) {
+            this.excludedDirectories.add(excluded.toAbsolutePath().normalize());
+        }
+        this.debounce = debounce;
+        this.watchService = this.baseDirectory.getFileSystem().newWatchService();
+        registerTree(this.baseDirectory, new TreeSet<>());
+        logger.info("Watching {} directories under: {}", watchedDirectories.size(), this.baseDirectory);
+    }
+
+    /// Blocks until files change and returns the `/`-separated relative paths of the changed
+    /// files once the tree has been quiet for the debounce interval. Deleted files are included.
+    /// @throws InterruptedException if the thread is interrupted while waiting
+    public Set<String> awaitChanges() throws InterruptedException {
+        Set<String> changed = new TreeSet<>();
+        drain(watchService.take(), changed);
+        WatchKey key;
+        while ((key = watchService.poll(debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+            drain(key, changed);
+        }
+        return changed;
+    }
+
+    private void drain(WatchKey key, Set<String> changed) {
+        Path directory = watchedDirectories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                logger.warn("File change events were lost under {}; some changes may not be reviewed", directory);
+                continue;
+            }
+            if (directory == null || !(event.context() instanceof Path name)) {
+                continue;
+            }
+            Path path = directory.resolve(name);
+            if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && !isIgnored(path)) {
+                    registerNewDirectory(path, changed);
+                }
+            } else {
+                changed.add(toRelativePath(path));
+            }
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+    }
+
+    private void registerNewDirectory(Path directory, Set<String> changed) {
+        try {
+            registerTree(directory, changed);
+        } catch (IOException e) {
+            logger.warn("Cannot watch new directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /// Registers `root` and its non-ignored sub-directories, adding the files found to `files`.
+    private void registerTree(Path root, Set<String> files) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(baseDirectory) && isIgnored(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                WatchKey key = dir.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirectories.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (!root.equals(baseDirectory)) {
+                    files.add(toRelativePath(file));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                logger.debug("Skipping unreadable path {}: {}", file, e.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private boolean isIgnored(Path directory) {
+        return ignoredDirectories.contains(directory.getFileName().toString().toLowerCase(Locale.ROOT))
+            || excludedDirectories.contains(directory);
+    }
+
+    private String toRelativePath(Path path) {
+        return baseDirectory.relativize(path).toString().replace('\\', '/');
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
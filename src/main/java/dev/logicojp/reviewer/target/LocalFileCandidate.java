@@ -2,5 +2,10 @@ package dev.logicojp.reviewer.target;
 
 import java.nio.file.Path;
 
-record LocalFileCandidate(Path path, long size) {
+/// @param lastModifiedMillis mtime observed during the walk, or `-1` when unknown
+record LocalFileCandidate(Path path, long size, long lastModifiedMillis) {
+
+    LocalFileCandidate(Path path, long size) {
+        this(path, size, -1);
+    }
 }
@@ -1,53 +1,274 @@
 package dev.logicojp.reviewer.target;
 
+import io.micronaut.core.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.Set;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /// Collects candidate source files from a local directory tree.
+///
+/// When `ioParallelism > 1`, the first {@value #FAN_OUT_DEPTH} directory levels are listed
+/// on the calling thread and each remaining sub-tree is walked on its own virtual thread,
+/// bounded by `ioParallelism` concurrent walks. Results are merged and sorted, so the
+/// candidate order is identical to the sequential walk.
+///
+/// {@link #streamCandidateFiles()} walks lazily instead: each directory is listed and sorted
+/// only when the walk reaches it, so a consumer that stops early never lists the rest of the
+/// tree, and only the listings along the current path are held.
+///
+/// Files whose paths the {@link GeneratedSourceDetector} recognizes as generated or vendored
+/// (e.g. `*.min.js`, `third_party/`) are dropped here, before any content is read.
+/// Directories ignored by `.gitignore` rules (see {@link GitIgnoreMatcher}) are not entered,
+/// and ignored files are skipped; files requested by path (a git change set) are not checked.
 final class LocalFileCandidateCollector {
 
     private static final Logger logger = LoggerFactory.getLogger(LocalFileCandidateCollector.class);
 
+    /// Directory depth at which sub-trees are handed off to concurrent walkers.
+    /// Two levels spread typical layouts (`src/main`, `packages/<name>`) across walkers.
+    static final int FAN_OUT_DEPTH = 2;
+
     private final Path baseDirectory;
     private final Path realBaseDirectory;
-    private final Set<String> ignoredDirectories;
-    private final Set<String> sourceExtensions;
-    private final Set<String> sensitiveFilePatterns;
-    private final Set<String> sensitiveExtensions;
+    private final LocalFileSelectionConfig selectionConfig;
+    private final int ioParallelism;
+    private final GeneratedSourceDetector generatedSourceDetector;
+    private final GitIgnoreMatcher gitIgnoreMatcher;
 
     LocalFileCandidateCollector(Path baseDirectory,
                                 Path realBaseDirectory,
-                                Set<String> ignoredDirectories,
-                                Set<String> sourceExtensions,
-                                Set<String> sensitiveFilePatterns,
-                                Set<String> sensitiveExtensions) {
+                                LocalFileSelectionConfig selectionConfig,
+                                GitIgnoreMatcher gitIgnoreMatcher) {
         this.baseDirectory = baseDirectory;
         this.realBaseDirectory = realBaseDirectory;
-        this.ignoredDirectories = ignoredDirectories;
-        this.sourceExtensions = sourceExtensions;
-        this.sensitiveFilePatterns = sensitiveFilePatterns;
-        this.sensitiveExtensions = sensitiveExtensions;
+        this.selectionConfig = selectionConfig;
+        this.ioParallelism = Math.max(1, selectionConfig.ioParallelism());
+        this.generatedSourceDetector = selectionConfig.generatedSourceDetector();
+        this.gitIgnoreMatcher = gitIgnoreMatcher;
     }
 
     List<LocalFileCandidate> collectCandidateFiles() throws IOException {
+        List<LocalFileCandidate> candidates = ioParallelism > 1
+            ? collectConcurrently()
+            : walkSubtree(baseDirectory);
+        candidates.sort(Comparator.comparing(LocalFileCandidate::path));
+        return candidates;
+    }
+
+    /// Walks the tree lazily in path order, applying the same filters as
+    /// {@link #collectCandidateFiles()}; a directory is listed when the stream reaches it.
+    /// Listing failures surface as {@link UncheckedIOException} from the stream.
+    Stream<LocalFileCandidate> streamCandidateFiles() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new PathOrderWalk(),
+            Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /// Depth-first walk that sorts each directory's entries by name, with directories compared
+    /// as `name/`. That is the order of their full paths, so the stream matches the sorted walk.
+    private final class PathOrderWalk implements Iterator<LocalFileCandidate> {
+
+        private record Entry(String sortKey, Path path, BasicFileAttributes attrs) {}
+
+        private final Deque<Iterator<Entry>> listings = new ArrayDeque<>();
+        private @Nullable LocalFileCandidate next;
+
+        private PathOrderWalk() {
+            listings.push(list(baseDirectory).iterator());
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !listings.isEmpty()) {
+                Iterator<Entry> listing = listings.peek();
+                if (!listing.hasNext()) {
+                    listings.pop();
+                    continue;
+                }
+                Entry entry = listing.next();
+                if (entry.attrs().isDirectory()) {
+                    if (!isSkippedDirectory(entry.path())) {
+                        listings.push(list(entry.path()).iterator());
+                    }
+                } else if (isWalkedCandidate(entry.path(), entry.attrs())) {
+                    next = toCandidate(entry.path(), entry.attrs());
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public LocalFileCandidate next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            LocalFileCandidate candidate = next;
+            next = null;
+            return candidate;
+        }
+
+        /// Entries removed since their parent was listed are skipped, as the walk may reach a
+        /// directory long after listing its parent.
+        private List<Entry> list(Path directory) {
+            List<Entry> entries = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path path : stream) {
+                    BasicFileAttributes attrs;
+                    try {
+                        attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (NoSuchFileException _) {
+                        continue;
+                    }
+                    String name = path.getFileName().toString();
+                    entries.add(new Entry(attrs.isDirectory() ? name + "/" : name, path, attrs));
+                }
+            } catch (NoSuchFileException _) {
+                logger.debug("Directory removed during walk: {}", directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to list directory: " + directory, e);
+            }
+            entries.sort(Comparator.comparing(Entry::sortKey));
+            return entries;
+        }
+    }
+
+    /// Collects candidates for the given relative paths only, applying the same filters as the walk.
+    /// Paths that are missing, outside the base directory, or under an ignored directory are skipped.
+    List<LocalFileCandidate> collectCandidateFiles(Collection<String> relativePaths) throws IOException {
+        List<LocalFileCandidate> candidates = new ArrayList<>(relativePaths.size());
+        for (String relativePath : relativePaths) {
+            Path file = baseDirectory.resolve(relativePath).normalize();
+            if (!file.startsWith(baseDirectory) || isUnderIgnoredDirectory(file)) {
+                continue;
+            }
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (NoSuchFileException _) {
+                continue;
+            }
+            if (isCollectableCandidate(file, attrs)) {
+                candidates.add(toCandidate(file, attrs));
+            }
+        }
+        candidates.sort(Comparator.comparing(LocalFileCandidate::path));
+        return candidates;
+    }
+
+    /// Like {@link #collectCandidateFiles(Collection)}, but also skips files ignored by
+    /// `.gitignore`, since the paths come from the file system rather than from git.
+    List<LocalFileCandidate> collectObservedFiles(Collection<String> relativePaths) throws IOException {
+        List<LocalFileCandidate> candidates = collectCandidateFiles(relativePaths);
+        candidates.removeIf(candidate -> gitIgnoreMatcher.isIgnored(candidate.path(), false));
+        return candidates;
+    }
+
+    private List<LocalFileCandidate> collectConcurrently() throws IOException {
         List<LocalFileCandidate> candidates = new ArrayList<>();
-        Files.walkFileTree(baseDirectory, new SimpleFileVisitor<>() {
+        List<Path> subtreeRoots = new ArrayList<>();
+        partitionSubtrees(baseDirectory, 0, candidates, subtreeRoots);
+        logger.debug("Walking {} sub-trees with I/O parallelism {}", subtreeRoots.size(), ioParallelism);
+        candidates.addAll(walkSubtreesConcurrently(subtreeRoots));
+        return candidates;
+    }
+
+    /// Lists shallow directory levels on the calling thread, collecting files directly
+    /// and recording sub-tree roots at {@link #FAN_OUT_DEPTH} for concurrent walking.
+    private void partitionSubtrees(Path directory,
+                                   int depth,
+                                   List<LocalFileCandidate> candidates,
+                                   List<Path> subtreeRoots) throws IOException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                BasicFileAttributes attrs = Files.readAttributes(
+                    entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                if (attrs.isDirectory()) {
+                    if (isSkippedDirectory(entry)) {
+                        continue;
+                    }
+                    if (depth + 1 < FAN_OUT_DEPTH) {
+                        partitionSubtrees(entry, depth + 1, candidates, subtreeRoots);
+                    } else {
+                        subtreeRoots.add(entry);
+                    }
+                } else if (isWalkedCandidate(entry, attrs)) {
+                    candidates.add(toCandidate(entry, attrs));
+                }
+            }
+        }
+    }
+
+    private List<LocalFileCandidate> walkSubtreesConcurrently(List<Path> subtreeRoots) throws IOException {
+        if (subtreeRoots.isEmpty()) {
+            return List.of();
+        }
+        Semaphore walkPermits = new Semaphore(ioParallelism);
+        try (var scope = StructuredTaskScope.<List<LocalFileCandidate>>open()) {
+            List<StructuredTaskScope.Subtask<List<LocalFileCandidate>>> tasks = new ArrayList<>(subtreeRoots.size());
+            for (Path root : subtreeRoots) {
+                tasks.add(scope.fork(() -> walkSubtreeWithPermit(root, walkPermits)));
+            }
+            scope.join();
+
+            List<LocalFileCandidate> candidates = new ArrayList<>();
+            for (var task : tasks) {
+                candidates.addAll(task.get());
+            }
+            return candidates;
+        } catch (StructuredTaskScope.FailedException e) {
+            if (e.getCause() instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while walking directory: " + baseDirectory);
+        }
+    }
+
+    private List<LocalFileCandidate> walkSubtreeWithPermit(Path root, Semaphore walkPermits)
+            throws InterruptedException {
+        walkPermits.acquire();
+        try {
+            return walkSubtree(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            walkPermits.release();
+        }
+    }
+
+    private List<LocalFileCandidate> walkSubtree(Path root) throws IOException {
+        List<LocalFileCandidate> candidates = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
-                if (!dir.equals(baseDirectory)
-                    && ignoredDirectories.contains(dir.getFileName().toString().toLowerCase(Locale.ROOT))) {
+                if (!dir.equals(baseDirectory) && isSkippedDirectory(dir)) {
                     return FileVisitResult.SKIP_SUBTREE;
                 }
                 return FileVisitResult.CONTINUE;
@@ -55,16 +276,39 @@ final class LocalFileCandidateCollector {
 
             @Override
             public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                if (isCollectableCandidate(file, attrs)) {
+                if (isWalkedCandidate(file, attrs)) {
                     candidates.add(toCandidate(file, attrs));
                 }
                 return FileVisitResult.CONTINUE;
             }
         });
-        candidates.sort(Comparator.comparing(LocalFileCandidate::path));
         return candidates;
     }
 
+    private boolean isUnderIgnoredDirectory(Path file) {
+        for (Path dir = file.getParent(); dir != null && !dir.equals(baseDirectory); dir = dir.getParent()) {
+            if (isIgnoredDirectory(dir)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSkippedDirectory(Path dir) {
+        if (isIgnoredDirectory(dir)) {
+            return true;
+        }
+        if (gitIgnoreMatcher.isIgnored(dir, true)) {
+            logger.debug("Skipping directory ignored by .gitignore: {}", dir);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isIgnoredDirectory(Path dir) {
+        return selectionConfig.ignoredDirectories().contains(dir.getFileName().toString().toLowerCase(Locale.ROOT));
+    }
+
     private boolean isCollectableCandidate(Path file, BasicFileAttributes attrs) {
         if (!attrs.isRegularFile() || attrs.isSymbolicLink()) {
             return false;
@@ -73,35 +317,33 @@ final class LocalFileCandidateCollector {
             return false;
         }
         String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
-        return isSourceFile(fileName) && isNotSensitiveFile(fileName);
+        return isSourceFile(fileName) && isNotSensitiveFile(fileName) && isNotGeneratedFile(file);
     }
 
-    private LocalFileCandidate toCandidate(Path file, BasicFileAttributes attrs) {
-        return new LocalFileCandidate(file, attrs.size());
+    private boolean isWalkedCandidate(Path file, BasicFileAttributes attrs) {
+        return isCollectableCandidate(file, attrs) && !gitIgnoreMatcher.isIgnored(file, false);
     }
 
-    private boolean isSourceFile(String fileName) {
-        if (isSpecialSourceFilename(fileName)) {
-            return true;
-        }
-
-        return hasSourceExtension(fileName);
+    private LocalFileCandidate toCandidate(Path file, BasicFileAttributes attrs) {
+        return new LocalFileCandidate(file, attrs.size(), attrs.lastModifiedTime().toMillis());
     }
 
-    private boolean isSpecialSourceFilename(String fileName) {
-        return fileName.equals("makefile")
-            || fileName.equals("dockerfile")
-            || fileName.equals("rakefile")
-            || fileName.equals("gemfile");
+    private boolean isSourceFile(String fileName) {
+        return selectionConfig.isSourceFileName(fileName);
     }
 
-    private boolean hasSourceExtension(String fileName) {
-        int dotIndex = fileName.lastIndexOf('.');
-        if (dotIndex < 0) {
+    private boolean isNotGeneratedFile(Path file) {
+        if (!generatedSourceDetector.isEnabled()) {
+            return true;
+        }
+        String relativePath = baseDirectory.relativize(file).toString()
+            .replace('\\', '/')
+            .toLowerCase(Locale.ROOT);
+        if (generatedSourceDetector.isGeneratedPath(relativePath)) {
+            logger.debug("Skipping generated or vendored file: {}", file);
             return false;
         }
-        String ext = fileName.substring(dotIndex + 1);
-        return sourceExtensions.contains(ext);
+        return true;
     }
 
     private boolean isWithinBaseDirectory(Path path, BasicFileAttributes attrs) {
@@ -118,19 +360,6 @@ final class LocalFileCandidateCollector {
     }
 
     private boolean isNotSensitiveFile(String fileName) {
-        int dotIndex = fileName.lastIndexOf('.');
-        if (dotIndex >= 0) {
-            String ext = fileName.substring(dotIndex + 1);
-            if (sensitiveExtensions.contains(ext)) {
-                return false;
-            }
-        }
-
-        for (String pattern : sensitiveFilePatterns) {
-            if (fileName.contains(pattern)) {
-                return false;
-            }
-        }
-        return true;
+        return !selectionConfig.isSensitiveFileName(fileName);
     }
 }
@@ -1,16 +1,63 @@
 package dev.logicojp.reviewer.target;
 
+import dev.logicojp.reviewer.util.TokenEstimator;
+import io.micronaut.core.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope;
 
+/// Reads collected candidates in path order while enforcing per-file and total size budgets.
+///
+/// With `ioParallelism > 1`, candidates are read concurrently in windows whose expected
+/// sizes fit the remaining budget. Results are still applied in path order, so the set of
+/// included files and the stop point match the sequential mode.
+///
+/// With `maxTotalTokens > 0`, collection also stops before the first file whose content
+/// would push the estimated token count of the collected sources past that budget.
+///
+/// The head of each file is sniffed by the {@link GeneratedSourceDetector} before the rest is
+/// read; binary, minified and generated files are skipped without reading them in full.
+///
+/// With an enabled {@link SourceCompactor}, each file is compacted in path order before it is
+/// charged, so both budgets apply to the compacted content. Files are then read up to
+/// `maxFileSize` even when their raw size exceeds the remaining total budget, because the
+/// compacted content may still fit.
+///
+/// With an enabled {@link LargeFileExcerpter}, files larger than `maxFileSize` (up to its
+/// `maxSourceSize`) are read in full and replaced by a bounded excerpt instead of being skipped.
+/// Excerpts are charged at their own size and are not compacted, as their markers refer to
+/// original line numbers.
+///
+/// With an enabled {@link HunkExcerpter}, changed files are reduced to their hunks right after
+/// reading and charged at the size of that excerpt, so they are read regardless of the remaining
+/// budget and up to its `maxSourceSize`. Like large-file excerpts, hunk excerpts are neither
+/// extracted nor compacted; files whose excerpt still exceeds `maxFileSize` are skipped.
+///
+/// Files handled by one of the {@link ContentExtractors} are reduced to their reviewable part
+/// right after reading and charged at the extracted size; like compacted files, they are read
+/// even when their raw size exceeds the remaining budget. Their heads are not rejected as
+/// minified, since long lines (embedded images, path data) are what extraction drops.
+///
+/// Files are opened relative to directory handles without following symbolic links where the
+/// platform supports it (see {@link SecureFileOpener}); elsewhere each file's real path is
+/// re-validated against the base directory right before it is read.
+///
+/// When duplicates are requested, a file identical to an already accepted one is reported as
+/// an alias of it instead of being accepted again, and costs nothing against the budgets.
 final class LocalFileCandidateProcessor {
 
     @FunctionalInterface
@@ -18,159 +65,617 @@ final class LocalFileCandidateProcessor {
         void accept(String relativePath, String content, long sizeBytes);
     }
 
-    record ProcessingResult(long totalSize, int fileCount) {
+    /// Receives a file whose content is identical to the already accepted `originalPath`.
+    @FunctionalInterface
+    interface DuplicateConsumer {
+        void accept(String relativePath, String originalPath, long sizeBytes);
+    }
+
+    /// `duplicateCount` files totalling `duplicateBytes` were identical to accepted files and
+    /// are not part of `fileCount` and `totalSize`.
+    record ProcessingResult(long totalSize, int fileCount, long totalTokens, int duplicateCount, long duplicateBytes) {
+
+        ProcessingResult(long totalSize, int fileCount, long totalTokens) {
+            this(totalSize, fileCount, totalTokens, 0, 0);
+        }
     }
 
     private static final Logger logger = LoggerFactory.getLogger(LocalFileCandidateProcessor.class);
 
+    /// Upper bound of candidates read concurrently in one window, so that a lazily walked
+    /// source is not pulled far beyond what is being read.
+    static final int MAX_WINDOW_FILES = 256;
+
     private final Path baseDirectory;
     private final Path realBaseDirectory;
     private final long maxFileSize;
     private final long maxTotalSize;
+    private final int ioParallelism;
+    private final LocalFileContentCache contentCache;
+    private final int maxTotalTokens;
+    private final GeneratedSourceDetector generatedSourceDetector;
+    private final SourceCompactor sourceCompactor;
+    private final LargeFileExcerpter largeFileExcerpter;
+    private final ContentExtractors contentExtractors;
+    private final HunkExcerpter hunkExcerpter;
 
-    LocalFileCandidateProcessor(Path baseDirectory,
-                                Path realBaseDirectory,
-                                long maxFileSize,
-                                long maxTotalSize) {
+    LocalFileCandidateProcessor(Path baseDirectory, Path realBaseDirectory, CandidateProcessingOptions options) {
         this.baseDirectory = baseDirectory;
         this.realBaseDirectory = realBaseDirectory;
-        this.maxFileSize = maxFileSize;
-        this.maxTotalSize = maxTotalSize;
+        this.maxFileSize = options.maxFileSize();
+        this.maxTotalSize = options.maxTotalSize();
+        this.ioParallelism = options.ioParallelism();
+        this.contentCache = options.contentCache();
+        this.maxTotalTokens = options.maxTotalTokens();
+        this.generatedSourceDetector = options.generatedSourceDetector();
+        this.sourceCompactor = options.sourceCompactor();
+        this.largeFileExcerpter = options.largeFileExcerpter();
+        this.contentExtractors = options.contentExtractors();
+        this.hunkExcerpter = options.hunkExcerpter();
     }
 
     ProcessingResult process(List<LocalFileCandidate> candidates, FileConsumer consumer) {
-        long totalSize = 0;
-        int fileCount = 0;
+        return process(candidates, consumer, null);
+    }
+
+    /// Like {@link #process(List, FileConsumer)}, but files whose content is identical to an
+    /// already accepted file are handed to `duplicateConsumer` instead and are not charged.
+    /// Without a `duplicateConsumer`, every file is accepted on its own.
+    ProcessingResult process(List<LocalFileCandidate> candidates,
+                             FileConsumer consumer,
+                             @Nullable DuplicateConsumer duplicateConsumer) {
+        return process(candidates.iterator(), new Emitter(consumer, duplicateConsumer, duplicateConsumer != null
+            ? DuplicateContentTracker.forCandidates(candidates)
+            : DuplicateContentTracker.disabled()));
+    }
+
+    /// Like {@link #process(List, FileConsumer, DuplicateConsumer)} for candidates produced
+    /// lazily in path order: no candidate is requested after collection stops, so a lazy walk
+    /// ends there. As the sizes are not known up front, every file is hashed for duplicates.
+    ProcessingResult processStream(Iterator<LocalFileCandidate> candidates,
+                                   FileConsumer consumer,
+                                   @Nullable DuplicateConsumer duplicateConsumer) {
+        return process(candidates, new Emitter(consumer, duplicateConsumer, duplicateConsumer != null
+            ? DuplicateContentTracker.forUnknownCandidates()
+            : DuplicateContentTracker.disabled()));
+    }
+
+    private ProcessingResult process(Iterator<LocalFileCandidate> candidates, Emitter emitter) {
+        try (SecureFileOpener opener = SecureFileOpener.open(realBaseDirectory)) {
+            if (ioParallelism > 1) {
+                return processConcurrently(candidates, emitter, opener);
+            }
+            return processSequentially(candidates, emitter, opener);
+        }
+    }
+
+    private ProcessingResult processSequentially(Iterator<LocalFileCandidate> candidates,
+                                                 Emitter emitter,
+                                                 SecureFileOpener opener) {
         byte[] readBuffer = new byte[8192];
 
-        for (LocalFileCandidate candidate : candidates) {
-            ProcessedCandidate processed = processCandidate(candidate, totalSize, readBuffer);
+        while (candidates.hasNext()) {
+            ProcessedCandidate processed = processCandidate(candidates.next(), emitter, opener, readBuffer);
             if (processed.stopProcessing()) {
                 break;
             }
-            if (!processed.included()) {
-                continue;
+            if (processed.included() && !emitter.emit(processed)) {
+                break;
             }
-            consumer.accept(processed.relativePath(), processed.content(), processed.size());
-            totalSize += processed.size();
-            fileCount++;
         }
 
-        return new ProcessingResult(totalSize, fileCount);
+        return emitter.result();
+    }
+
+    private ProcessingResult processConcurrently(Iterator<LocalFileCandidate> candidates,
+                                                 Emitter emitter,
+                                                 SecureFileOpener opener) {
+        var pending = new PendingCandidates(candidates);
+        Semaphore readPermits = new Semaphore(ioParallelism);
+
+        while (pending.peek() != null) {
+            List<LocalFileCandidate> windowCandidates = budgetWindow(pending, maxTotalSize - emitter.totalSize);
+            if (windowCandidates.isEmpty()) {
+                if (!emitter.chargesAfterRead(pending.peek())) {
+                    logTotalSizeLimitReached(emitter.totalSize);
+                    break;
+                }
+                // The next file may still fit once compacted or deduplicated; read it alone to find out.
+                windowCandidates = List.of(pending.take());
+            }
+            List<ProcessedCandidate> window = readWindow(windowCandidates, opener, readPermits);
+            if (window == null) {
+                break;
+            }
+            for (ProcessedCandidate processed : window) {
+                if (processed.included() && !emitter.emit(processed)) {
+                    return emitter.result();
+                }
+            }
+        }
+
+        return emitter.result();
+    }
+
+    /// Replaces the content with its compacted form, charged at its UTF-8 length.
+    private ProcessedCandidate compact(ProcessedCandidate processed, SourceCompactor.Session compaction) {
+        if (!sourceCompactor.isEnabled() || processed.excerpted()) {
+            return processed;
+        }
+        String content = compaction.compact(processed.relativePath(), processed.content());
+        return ProcessedCandidate.included(processed.relativePath(), content, SourceCompactor.utf8Length(content));
+    }
+
+    /// Takes the next read window: the longest run of at most {@value #MAX_WINDOW_FILES} pending
+    /// candidates whose expected charges fit `remainingBudget`. Oversized candidates are kept in
+    /// the window so that they are skipped (not treated as a stop) like the sequential path.
+    private List<LocalFileCandidate> budgetWindow(PendingCandidates pending, long remainingBudget) {
+        List<LocalFileCandidate> window = new ArrayList<>();
+        long windowSize = 0;
+        while (pending.peek() != null && window.size() < MAX_WINDOW_FILES) {
+            long size = expectedCharge(pending.peek().size());
+            if (size >= 0) {
+                if (windowSize + size > remainingBudget) {
+                    break;
+                }
+                windowSize += size;
+            }
+            window.add(pending.take());
+        }
+        return window;
+    }
+
+    /// Candidates not yet read, with one candidate of lookahead for the window bound.
+    private static final class PendingCandidates {
+
+        private final Iterator<LocalFileCandidate> candidates;
+        private @Nullable LocalFileCandidate next;
+
+        private PendingCandidates(Iterator<LocalFileCandidate> candidates) {
+            this.candidates = candidates;
+            this.next = candidates.hasNext() ? candidates.next() : null;
+        }
+
+        @Nullable LocalFileCandidate peek() {
+            return next;
+        }
+
+        LocalFileCandidate take() {
+            LocalFileCandidate taken = next;
+            next = candidates.hasNext() ? candidates.next() : null;
+            return taken;
+        }
+    }
+
+    /// Reads a window of candidates concurrently and returns the outcomes in window order,
+    /// or `null` when interrupted.
+    private List<ProcessedCandidate> readWindow(List<LocalFileCandidate> window,
+                                                SecureFileOpener opener,
+                                                Semaphore readPermits) {
+        try (var scope = StructuredTaskScope.<ProcessedCandidate>open()) {
+            List<StructuredTaskScope.Subtask<ProcessedCandidate>> tasks = new ArrayList<>(window.size());
+            for (LocalFileCandidate candidate : window) {
+                tasks.add(scope.fork(() -> readCandidateWithPermit(candidate, opener, readPermits)));
+            }
+            scope.join();
+            return tasks.stream().map(StructuredTaskScope.Subtask::get).toList();
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while reading local files. Stopping collection.");
+            return null;
+        }
+    }
+
+    private ProcessedCandidate readCandidateWithPermit(LocalFileCandidate candidate,
+                                                       SecureFileOpener opener,
+                                                       Semaphore readPermits) throws InterruptedException {
+        if (isTooLarge(candidate.size())) {
+            logSkippedLargeFile(candidate.path(), candidate.size());
+            return ProcessedCandidate.skip();
+        }
+        readPermits.acquire();
+        try {
+            return readCandidate(candidate, opener);
+        } finally {
+            readPermits.release();
+        }
+    }
+
+    /// Budget-independent read used by the concurrent path; the total budget is applied
+    /// afterwards in path order by the caller.
+    private ProcessedCandidate readCandidate(LocalFileCandidate candidate, SecureFileOpener opener) {
+        Path path = candidate.path();
+        String relativePath = toRelativePath(path);
+        Optional<ProcessedCandidate> cached = lookupCached(candidate, relativePath);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        try (SeekableByteChannel channel = openSafely(path, relativePath, opener)) {
+            if (channel == null) {
+                return ProcessedCandidate.skip();
+            }
+            ReadResult readResult = readUtf8WithLimit(channel, maxReadSize(), new byte[8192],
+                contentExtractors.supports(relativePath));
+            if (readResult.exceededLimit()) {
+                logger.warn("File size exceeded limit during read (possible race), skipping: {}", path);
+                return ProcessedCandidate.skip();
+            }
+            if (readResult.detected() != null) {
+                logSkippedDetectedFile(path, readResult.detected());
+                return ProcessedCandidate.skip();
+            }
+            return toProcessed(candidate, relativePath, readResult);
+        } catch (IOException e) {
+            logger.warn("Failed to read file {}: {}", path, e.getMessage(), e);
+            return ProcessedCandidate.skip();
+        }
+    }
+
+    /// Serves unchanged files (same size and mtime) from the persistent cache, skipping the
+    /// symlink/realpath re-validation and the read entirely. Cached content is sniffed again,
+    /// as it may have been stored while detection was disabled.
+    private Optional<ProcessedCandidate> lookupCached(LocalFileCandidate candidate, String relativePath) {
+        if (candidate.size() > maxFileSize) {
+            return Optional.empty();
+        }
+        return contentCache.lookup(relativePath, candidate.size(), candidate.lastModifiedMillis())
+            .filter(content -> sniff(content, contentExtractors.supports(relativePath)).isEmpty())
+            .map(content -> toProcessed(relativePath, content, candidate.size()));
+    }
+
+    private void storeInCache(LocalFileCandidate candidate, String relativePath, ReadResult readResult) {
+        // A size change between walk and read means the walked mtime may be stale as well.
+        if (readResult.sizeBytes() == candidate.size()) {
+            contentCache.store(relativePath, readResult.sizeBytes(), candidate.lastModifiedMillis(),
+                readResult.content());
+        }
+    }
+
+    /// Opens a candidate right before reading it, re-validated against symbolic-link swaps since
+    /// the walk; returns `null` when it must be skipped.
+    private @Nullable SeekableByteChannel openSafely(Path path, String relativePath, SecureFileOpener opener)
+            throws IOException {
+        if (opener.isSupported()) {
+            SeekableByteChannel channel = opener.openFile(relativePath);
+            if (channel == null) {
+                logger.warn("File or directory became symbolic link after collection, skipping: {}", path);
+            }
+            return channel;
+        }
+        Path realPath = resolveSafeRealPath(path);
+        return realPath != null ? Files.newByteChannel(realPath) : null;
+    }
+
+    /// Path-based re-validation for platforms without secure directory streams; returns `null`
+    /// when the candidate must be skipped.
+    private @Nullable Path resolveSafeRealPath(Path path) throws IOException {
+        if (Files.isSymbolicLink(path)) {
+            logger.warn("File became symbolic link after collection, skipping: {}", path);
+            return null;
+        }
+        Path realPath = path.toRealPath();
+        if (!realPath.startsWith(realBaseDirectory)) {
+            logger.warn("File escaped base directory (possible race), skipping: {}", path);
+            return null;
+        }
+        return realPath;
     }
 
     private ProcessedCandidate processCandidate(LocalFileCandidate candidate,
-                                                long totalSize,
+                                                Emitter emitter,
+                                                SecureFileOpener opener,
                                                 byte[] readBuffer) {
         Path path = candidate.path();
         long size = candidate.size();
+        long totalSize = emitter.totalSize;
+        boolean chargesAfterRead = emitter.chargesAfterRead(candidate);
         if (isTooLarge(size)) {
             logSkippedLargeFile(path, size);
             return ProcessedCandidate.skip();
         }
-        if (wouldExceedTotalSize(totalSize, size)) {
+        long expectedCharge = expectedCharge(size);
+        if (!chargesAfterRead && wouldExceedTotalSize(totalSize, expectedCharge)) {
             logTotalSizeLimitReached(totalSize);
             return ProcessedCandidate.stop();
         }
 
-        try {
-            if (Files.isSymbolicLink(path)) {
-                logger.warn("File became symbolic link after collection, skipping: {}", path);
-                return ProcessedCandidate.skip();
-            }
+        String relativePath = toRelativePath(path);
+        Optional<ProcessedCandidate> cached = lookupCached(candidate, relativePath);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
 
-            Path realPath = path.toRealPath();
-            if (!realPath.startsWith(realBaseDirectory)) {
-                logger.warn("File escaped base directory (possible race), skipping: {}", path);
-                return ProcessedCandidate.skip();
-            }
+        // Excerpted files are charged after reading, at the size of their excerpt.
+        long remainingBudget = chargesAfterRead || size > maxFileSize ? maxReadSize() : maxTotalSize - totalSize;
+        long readLimit = Math.min(maxReadSize(), remainingBudget);
+        if (readLimit <= 0) {
+            logTotalSizeLimitReached(totalSize);
+            return ProcessedCandidate.stop();
+        }
 
-            long remainingBudget = maxTotalSize - totalSize;
-            long readLimit = Math.min(maxFileSize, remainingBudget);
-            if (readLimit <= 0) {
-                logTotalSizeLimitReached(totalSize);
-                return ProcessedCandidate.stop();
+        try (SeekableByteChannel channel = openSafely(path, relativePath, opener)) {
+            if (channel == null) {
+                return ProcessedCandidate.skip();
             }
-
-            ReadResult readResult = readUtf8WithLimit(realPath, readLimit, size, readBuffer);
+            ReadResult readResult = readUtf8WithLimit(channel, readLimit, readBuffer,
+                contentExtractors.supports(relativePath));
             if (readResult.exceededLimit()) {
-                if (maxFileSize <= remainingBudget) {
+                if (maxReadSize() <= remainingBudget) {
                     logger.warn("File size exceeded limit during read (possible race), skipping: {}", path);
                     return ProcessedCandidate.skip();
                 }
                 logTotalSizeLimitReached(totalSize);
                 return ProcessedCandidate.stop();
             }
+            if (readResult.detected() != null) {
+                logSkippedDetectedFile(path, readResult.detected());
+                return ProcessedCandidate.skip();
+            }
 
-            String content = readResult.content();
-            String relativePath = toRelativePath(path);
-            return ProcessedCandidate.included(relativePath, content, readResult.sizeBytes());
+            return toProcessed(candidate, relativePath, readResult);
         } catch (IOException e) {
             logger.warn("Failed to read file {}: {}", candidate.path(), e.getMessage(), e);
             return ProcessedCandidate.skip();
         }
     }
 
-    private ReadResult readUtf8WithLimit(Path path,
+    /// Caches files read in full, as read, before they are extracted or excerpted.
+    private ProcessedCandidate toProcessed(LocalFileCandidate candidate, String relativePath, ReadResult readResult) {
+        if (readResult.sizeBytes() <= maxFileSize) {
+            storeInCache(candidate, relativePath, readResult);
+        }
+        return toProcessed(relativePath, readResult.content(), readResult.sizeBytes());
+    }
+
+    /// Cuts changed files to their hunks, or extracts the reviewable part of data-heavy formats;
+    /// content still over `maxFileSize` is replaced by its excerpt.
+    private ProcessedCandidate toProcessed(String relativePath, String content, long size) {
+        if (hunkExcerpter.isEnabled()) {
+            return toHunkExcerpt(relativePath, content, size);
+        }
+        Optional<String> extracted = contentExtractors.extract(relativePath, content);
+        if (extracted.isPresent() && !extracted.get().equals(content)) {
+            content = extracted.get();
+            long extractedSize = SourceCompactor.utf8Length(content);
+            logger.debug("Extracted {} of {} bytes: {}", extractedSize, size, relativePath);
+            size = extractedSize;
+        }
+        if (size <= maxFileSize || !largeFileExcerpter.isEnabled()) {
+            return ProcessedCandidate.included(relativePath, content, size);
+        }
+        String excerpt = largeFileExcerpter.excerpt(relativePath, content);
+        logger.debug("Excerpted large file ({} of {} bytes): {}", SourceCompactor.utf8Length(excerpt), size, relativePath);
+        return ProcessedCandidate.excerpted(relativePath, excerpt, SourceCompactor.utf8Length(excerpt));
+    }
+
+    /// Replaces a changed file by its hunks; whole files and excerpts over `maxFileSize` are skipped.
+    private ProcessedCandidate toHunkExcerpt(String relativePath, String content, long size) {
+        String excerpt = hunkExcerpter.excerpt(relativePath, content);
+        boolean whole = excerpt.equals(content);
+        long excerptSize = whole ? size : SourceCompactor.utf8Length(excerpt);
+        if (excerptSize > maxFileSize) {
+            logger.debug("Skipping large changed file ({} bytes in its hunks): {}", excerptSize, relativePath);
+            return ProcessedCandidate.skip();
+        }
+        if (whole) {
+            return ProcessedCandidate.included(relativePath, content, size);
+        }
+        logger.debug("Excerpted changed hunks ({} of {} bytes): {}", excerptSize, size, relativePath);
+        return ProcessedCandidate.excerpted(relativePath, excerpt, excerptSize);
+    }
+
+    /// Sniffs a head; extracted formats are not rejected as minified.
+    private Optional<GeneratedSourceDetector.Kind> sniff(String head, boolean extracted) {
+        return generatedSourceDetector.sniff(head)
+            .filter(kind -> !extracted || kind != GeneratedSourceDetector.Kind.MINIFIED);
+    }
+
+    /// Reads an opened candidate of at most `maxBytes`. The size is taken from the open handle,
+    /// so files that grew past the limit since the walk are rejected before they are read.
+    private ReadResult readUtf8WithLimit(SeekableByteChannel channel,
                                          long maxBytes,
-                                         long expectedSize,
-                                         byte[] readBuffer) throws IOException {
-        // Most candidates already pass the size guard before this method is called.
-        // In that common case, avoid ByteArrayOutputStream re-allocation/copy churn.
-        if (expectedSize <= maxBytes) {
-            String content = Files.readString(path, StandardCharsets.UTF_8);
-            long actualSize = Files.size(path);
-            if (actualSize > maxBytes) {
-                return ReadResult.exceeded();
-            }
-            return ReadResult.included(content, actualSize);
+                                         byte[] readBuffer,
+                                         boolean extracted) throws IOException {
+        long size = channel.size();
+        if (size > maxBytes) {
+            return ReadResult.exceeded();
+        }
+        InputStream inputStream = Channels.newInputStream(channel);
+        if (generatedSourceDetector.isEnabled()) {
+            return readSniffedUtf8WithLimit(inputStream, maxBytes, size, readBuffer, extracted);
+        }
+        // Read exactly the known size to avoid ByteArrayOutputStream re-allocation/copy churn.
+        byte[] bytes = inputStream.readNBytes((int) size);
+        int next = bytes.length < size ? -1 : inputStream.read();
+        if (next == -1) {
+            return ReadResult.included(new String(bytes, StandardCharsets.UTF_8), bytes.length);
+        }
+        // The file grew after it was opened; keep reading under the limit.
+        if (bytes.length + 1L > maxBytes) {
+            return ReadResult.exceeded();
+        }
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length + readBuffer.length)) {
+            outputStream.write(bytes);
+            outputStream.write(next);
+            return readRemaining(inputStream, outputStream, bytes.length + 1L, maxBytes, readBuffer);
         }
+    }
 
-        int initialCapacity = (int) Math.min(expectedSize, maxBytes);
-        try (InputStream inputStream = Files.newInputStream(path);
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(initialCapacity, 32))) {
-            long totalRead = 0;
-            int read;
-            while ((read = inputStream.read(readBuffer)) != -1) {
-                totalRead += read;
-                if (totalRead > maxBytes) {
-                    return ReadResult.exceeded();
-                }
-                outputStream.write(readBuffer, 0, read);
-            }
+    /// Reads the head first and stops there for detected files; files no longer than the head
+    /// are decoded once and never re-read.
+    private ReadResult readSniffedUtf8WithLimit(InputStream inputStream,
+                                                long maxBytes,
+                                                long expectedSize,
+                                                byte[] readBuffer,
+                                                boolean extracted) throws IOException {
+        int headLength = inputStream.readNBytes(
+            readBuffer, 0, Math.min(readBuffer.length, GeneratedSourceDetector.SNIFF_LENGTH));
+        if (headLength > maxBytes) {
+            return ReadResult.exceeded();
+        }
+        String head = new String(readBuffer, 0, headLength, StandardCharsets.UTF_8);
+        Optional<GeneratedSourceDetector.Kind> detected = sniff(head, extracted);
+        if (detected.isPresent()) {
+            return ReadResult.detected(detected.get());
+        }
+        if (headLength < GeneratedSourceDetector.SNIFF_LENGTH) {
+            return ReadResult.included(head, headLength);
+        }
 
-            String content = outputStream.toString(StandardCharsets.UTF_8);
-            return ReadResult.included(content, totalRead);
+        int initialCapacity = (int) Math.max(Math.min(expectedSize, maxBytes), headLength);
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream(initialCapacity)) {
+            outputStream.write(readBuffer, 0, headLength);
+            return readRemaining(inputStream, outputStream, headLength, maxBytes, readBuffer);
         }
     }
 
+    private static ReadResult readRemaining(InputStream inputStream,
+                                            ByteArrayOutputStream outputStream,
+                                            long alreadyRead,
+                                            long maxBytes,
+                                            byte[] readBuffer) throws IOException {
+        long totalRead = alreadyRead;
+        int read;
+        while ((read = inputStream.read(readBuffer)) != -1) {
+            totalRead += read;
+            if (totalRead > maxBytes) {
+                return ReadResult.exceeded();
+            }
+            outputStream.write(readBuffer, 0, read);
+        }
+
+        String content = outputStream.toString(StandardCharsets.UTF_8);
+        return ReadResult.included(content, totalRead);
+    }
+
     private String toRelativePath(Path path) {
         return baseDirectory.relativize(path).toString().replace('\\', '/');
     }
 
     private boolean isTooLarge(long size) {
-        return size > maxFileSize;
+        return size > maxFileSize && !largeFileExcerpter.canExcerpt(size) && !hunkExcerpter.canExcerpt(size);
+    }
+
+    /// Files up to this size are read: `maxFileSize`, or an excerpter's larger source limit.
+    private long maxReadSize() {
+        long maxReadSize = largeFileExcerpter.isEnabled() ? largeFileExcerpter.maxSourceSize() : maxFileSize;
+        return hunkExcerpter.isEnabled() ? Math.max(maxReadSize, hunkExcerpter.maxSourceSize()) : maxReadSize;
+    }
+
+    /// Upper bound of what a file of `size` bytes is charged, or -1 when it is skipped unread.
+    private long expectedCharge(long size) {
+        return hunkExcerpter.isEnabled()
+            ? hunkExcerpter.expectedCharge(size)
+            : largeFileExcerpter.expectedCharge(size, maxFileSize);
     }
 
     private boolean wouldExceedTotalSize(long totalSize, long fileSize) {
         return totalSize + fileSize > maxTotalSize;
     }
 
+    /// Token estimates are only computed when a token budget is configured.
+    private int estimateTokens(String content) {
+        return maxTotalTokens > 0 ? TokenEstimator.estimate(content) : 0;
+    }
+
+    private boolean wouldExceedTotalTokens(long totalTokens, int fileTokens) {
+        return maxTotalTokens > 0 && totalTokens + fileTokens > maxTotalTokens;
+    }
+
     private void logSkippedLargeFile(Path path, long size) {
         logger.debug("Skipping large file ({} bytes): {}", size, path);
     }
 
+    private void logSkippedDetectedFile(Path path, GeneratedSourceDetector.Kind kind) {
+        logger.debug("Skipping {} file: {}", kind.label(), path);
+    }
+
     private void logTotalSizeLimitReached(long totalSize) {
         logger.warn("Total content size limit reached ({} bytes). Stopping collection.", totalSize);
     }
 
-    private record ReadResult(boolean exceededLimit, String content, long sizeBytes) {
+    private void logTotalTokenLimitReached(long totalTokens) {
+        logger.warn("Token budget reached (~{} of {} tokens). Stopping collection.", totalTokens, maxTotalTokens);
+    }
+
+    /// Charges read files against the budgets in path order and hands them to the consumers;
+    /// shared by the sequential and concurrent paths.
+    private final class Emitter {
+
+        private final FileConsumer consumer;
+        private final @Nullable DuplicateConsumer duplicateConsumer;
+        private final DuplicateContentTracker duplicates;
+        private final SourceCompactor.Session compaction = sourceCompactor.newSession();
+        private long totalSize;
+        private long totalTokens;
+        private int fileCount;
+        private int duplicateCount;
+        private long duplicateBytes;
+
+        private Emitter(FileConsumer consumer,
+                        @Nullable DuplicateConsumer duplicateConsumer,
+                        DuplicateContentTracker duplicates) {
+            this.consumer = consumer;
+            this.duplicateConsumer = duplicateConsumer;
+            this.duplicates = duplicates;
+        }
+
+        /// Whether the charge of `candidate` can only be known after reading it, because it may
+        /// shrink when compacted, extracted or cut to its hunks, or turn out to be a free duplicate.
+        boolean chargesAfterRead(LocalFileCandidate candidate) {
+            return sourceCompactor.isEnabled() || hunkExcerpter.isEnabled()
+                || duplicates.mayBeDuplicate(candidate.size())
+                || contentExtractors.supports(candidate.path().getFileName().toString());
+        }
+
+        /// Returns false when the file does not fit the remaining budget and collection stops.
+        boolean emit(ProcessedCandidate processed) {
+            if (duplicateConsumer != null) {
+                Optional<String> original = duplicates.findOriginal(
+                    processed.relativePath(), processed.content(), processed.size());
+                if (original.isPresent()) {
+                    duplicateConsumer.accept(processed.relativePath(), original.get(), processed.size());
+                    duplicateCount++;
+                    duplicateBytes += processed.size();
+                    return true;
+                }
+            }
+            processed = compact(processed, compaction);
+            if (wouldExceedTotalSize(totalSize, processed.size())) {
+                logTotalSizeLimitReached(totalSize);
+                return false;
+            }
+            int tokens = estimateTokens(processed.content());
+            if (wouldExceedTotalTokens(totalTokens, tokens)) {
+                logTotalTokenLimitReached(totalTokens);
+                return false;
+            }
+            consumer.accept(processed.relativePath(), processed.content(), processed.size());
+            totalSize += processed.size();
+            totalTokens += tokens;
+            fileCount++;
+            return true;
+        }
+
+        ProcessingResult result() {
+            return new ProcessingResult(totalSize, fileCount, totalTokens, duplicateCount, duplicateBytes);
+        }
+    }
+
+    private record ReadResult(boolean exceededLimit,
+                              String content,
+                              long sizeBytes,
+                              GeneratedSourceDetector.Kind detected) {
         private static ReadResult included(String content, long sizeBytes) {
-            return new ReadResult(false, content, sizeBytes);
+            return new ReadResult(false, content, sizeBytes, null);
         }
 
         private static ReadResult exceeded() {
-            return new ReadResult(true, null, 0);
+            return new ReadResult(true, null, 0, null);
+        }
+
+        private static ReadResult detected(GeneratedSourceDetector.Kind kind) {
+            return new ReadResult(false, null, 0, kind);
         }
     }
 
@@ -178,17 +683,22 @@ final class LocalFileCandidateProcessor {
                                       boolean stopProcessing,
                                       String relativePath,
                                       String content,
-                                      long size) {
+                                      long size,
+                                      boolean excerpted) {
         private static ProcessedCandidate included(String relativePath, String content, long size) {
-            return new ProcessedCandidate(true, false, relativePath, content, size);
+            return new ProcessedCandidate(true, false, relativePath, content, size, false);
+        }
+
+        private static ProcessedCandidate excerpted(String relativePath, String content, long size) {
+            return new ProcessedCandidate(true, false, relativePath, content, size, true);
         }
 
         private static ProcessedCandidate skip() {
-            return new ProcessedCandidate(false, false, null, null, 0);
+            return new ProcessedCandidate(false, false, null, null, 0, false);
         }
 
         private static ProcessedCandidate stop() {
-            return new ProcessedCandidate(false, true, null, null, 0);
+            return new ProcessedCandidate(false, true, null, null, 0, false);
         }
     }
 }
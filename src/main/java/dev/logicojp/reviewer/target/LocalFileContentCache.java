@@ -0,0 +1,181 @@
+package dev.logicojp.reviewer.target;
+
+import dev.logicojp.reviewer.report.util.ReportFileUtils;
+import dev.logicojp.reviewer.util.TokenHashUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// Persistent cache of collected file contents for one local base directory.
+///
+/// Entries are keyed by relative path and validated by size and mtime, so unchanged files
+/// are served without re-resolving or re-reading them. Each entry also stores a SHA-256
+/// of its content, which is verified on load to discard corrupted or truncated entries.
+///
+/// Like git's index, entries whose mtime is not strictly older than the previous cache write
+/// are treated as "racily clean" and re-read, because a same-second edit could otherwise be missed.
+///
+/// Only entries used during the current run are persisted, so deleted files drop out automatically.
+final class LocalFileContentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalFileContentCache.class);
+
+    private static final String HEADER_PREFIX = "#local-file-cache v1 ";
+    private static final String CACHE_FILE_SUFFIX = ".cache";
+    private static final int CACHE_FILE_HASH_LENGTH = 16;
+
+    private static final LocalFileContentCache DISABLED = new LocalFileContentCache(null, Map.of(), Long.MIN_VALUE);
+
+    record Entry(long sizeBytes, long lastModifiedMillis, String contentHash, String content) {
+    }
+
+    private final Path cacheFile;
+    private final Map<String, Entry> previousEntries;
+    private final long previousWriteMillis;
+    private final Map<String, Entry> currentEntries = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private LocalFileContentCache(Path cacheFile, Map<String, Entry> previousEntries, long previousWriteMillis) {
+        this.cacheFile = cacheFile;
+        this.previousEntries = previousEntries;
+        this.previousWriteMillis = previousWriteMillis;
+    }
+
+    /// Returns a cache that never hits and never persists.
+    static LocalFileContentCache disabled() {
+        return DISABLED;
+    }
+
+    /// Loads the cache for the given base directory, starting empty when no valid cache exists.
+    static LocalFileContentCache load(Path cacheDirectory, Path realBaseDirectory) {
+        String directoryHash = TokenHashUtils.sha256HexOrEmpty(realBaseDirectory.toString());
+        Path cacheFile = cacheDirectory.resolve(directoryHash.substring(0, CACHE_FILE_HASH_LENGTH) + CACHE_FILE_SUFFIX);
+        if (!Files.isRegularFile(cacheFile)) {
+            return new LocalFileContentCache(cacheFile, Map.of(), Long.MIN_VALUE);
+        }
+        try {
+            String serialized = Files.readString(cacheFile, StandardCharsets.UTF_8);
+            return parse(cacheFile, serialized);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable local file cache {}: {}", cacheFile, e.getMessage());
+            return new LocalFileContentCache(cacheFile, Map.of(), Long.MIN_VALUE);
+        }
+    }
+
+    boolean isEnabled() {
+        return cacheFile != null;
+    }
+
+    /// Returns cached content when size and mtime match and the entry is not racily clean.
+    Optional<String> lookup(String relativePath, long sizeBytes, long lastModifiedMillis) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        Entry entry = previousEntries.get(relativePath);
+        if (entry == null
+            || entry.sizeBytes() != sizeBytes
+            || entry.lastModifiedMillis() != lastModifiedMillis
+            || lastModifiedMillis >= previousWriteMillis) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        currentEntries.put(relativePath, entry);
+        return Optional.of(entry.content());
+    }
+
+    /// Records freshly read content for persistence. Safe to call from concurrent readers.
+    void store(String relativePath, long sizeBytes, long lastModifiedMillis, String content) {
+        if (!isEnabled() || lastModifiedMillis < 0 || !isSerializablePath(relativePath)) {
+            return;
+        }
+        currentEntries.put(relativePath, new Entry(
+            sizeBytes, lastModifiedMillis, TokenHashUtils.sha256HexOrEmpty(content), content));
+    }
+
+    int hits() {
+        return hits.get();
+    }
+
+    int misses() {
+        return misses.get();
+    }
+
+    /// Writes the entries used in this run. Failures are logged and never fail collection.
+    void persist() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            ReportFileUtils.ensureOutputDirectory(cacheFile.getParent());
+            ReportFileUtils.writeSecureString(cacheFile, serialize(System.currentTimeMillis()));
+            logger.debug("Persisted {} local file cache entries to {}", currentEntries.size(), cacheFile);
+        } catch (IOException e) {
+            logger.warn("Failed to persist local file cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private String serialize(long writeMillis) {
+        var sb = new StringBuilder(HEADER_PREFIX).append(writeMillis).append('\n');
+        for (Map.Entry<String, Entry> mapEntry : new TreeMap<>(currentEntries).entrySet()) {
+            Entry entry = mapEntry.getValue();
+            sb.append(mapEntry.getKey()).append('\t')
+                .append(entry.sizeBytes()).append('\t')
+                .append(entry.lastModifiedMillis()).append('\t')
+                .append(entry.contentHash()).append('\t')
+                .append(entry.content().length()).append('\n')
+                .append(entry.content()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static LocalFileContentCache parse(Path cacheFile, String serialized) {
+        int headerEnd = serialized.indexOf('\n');
+        if (!serialized.startsWith(HEADER_PREFIX) || headerEnd < 0) {
+            throw new IllegalStateException("unsupported cache header");
+        }
+        long writeMillis = Long.parseLong(serialized.substring(HEADER_PREFIX.length(), headerEnd).trim());
+
+        Map<String, Entry> entries = new HashMap<>();
+        int position = headerEnd + 1;
+        while (position < serialized.length()) {
+            int lineEnd = serialized.indexOf('\n', position);
+            if (lineEnd < 0) {
+                throw new IllegalStateException("truncated entry header");
+            }
+            String[] fields = serialized.substring(position, lineEnd).split("\t", -1);
+            if (fields.length != 5) {
+                throw new IllegalStateException("malformed entry header");
+            }
+            int contentStart = lineEnd + 1;
+            int contentEnd = contentStart + Integer.parseInt(fields[4]);
+            if (contentEnd >= serialized.length() || serialized.charAt(contentEnd) != '\n') {
+                throw new IllegalStateException("truncated entry content");
+            }
+            String content = serialized.substring(contentStart, contentEnd);
+            if (TokenHashUtils.sha256HexOrEmpty(content).equals(fields[3])) {
+                entries.put(fields[0], new Entry(
+                    Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3], content));
+            } else {
+                logger.debug("Discarding local file cache entry with mismatched hash: {}", fields[0]);
+            }
+            position = contentEnd + 1;
+        }
+        return new LocalFileContentCache(cacheFile, Map.copyOf(entries), writeMillis);
+    }
+
+    private static boolean isSerializablePath(String relativePath) {
+        return relativePath.indexOf('\t') < 0 && relativePath.indexOf('\n') < 0;
+    }
+}
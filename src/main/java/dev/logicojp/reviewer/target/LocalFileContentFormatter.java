@@ -60,6 +60,32 @@ final class LocalFileContentFormatter {
         sb.append("```\n\n");
     }
 
+    /// Lists files left out of the prompt because they are identical to an included file, so
+    /// findings about the included file can be attributed to every copy.
+    void appendDuplicateAliases(StringBuilder sb, Map<String, List<String>> aliasesByOriginal) {
+        if (aliasesByOriginal.isEmpty()) {
+            return;
+        }
+        sb.append("### Identical copies (not repeated above)\n\n");
+        for (Map.Entry<String, List<String>> entry : aliasesByOriginal.entrySet()) {
+            sb.append("- ").append(entry.getKey()).append(" is also at: ")
+                .append(String.join(", ", entry.getValue())).append("\n");
+        }
+        sb.append("\n");
+    }
+
+    String shardHeader(int shardNumber, int shardCount) {
+        return "> Shard " + shardNumber + " of " + shardCount
+            + ": this directory was split into several prompts. Only the files below are part of this review;"
+            + " do not report findings about files that are not shown.\n\n";
+    }
+
+    String relevanceSelectionHeader(int selectedCount, int totalCount) {
+        return "> Relevance-ranked selection: this directory exceeds the prompt budget, so only the "
+            + selectedCount + " of " + totalCount + " files most relevant to your focus areas are included."
+            + " Do not report findings about files that are not shown.\n\n";
+    }
+
     String generateReviewContent(List<LocalFileProvider.LocalFile> files) {
         if (files == null || files.isEmpty()) {
             return "(no source files found)";
@@ -93,13 +119,26 @@ final class LocalFileContentFormatter {
     }
 
     String generateDirectorySummary(int fileCount, long totalSize, StringBuilder fileListBuilder) {
+        return generateDirectorySummary(fileCount, totalSize, fileListBuilder, 0, 0);
+    }
+
+    String generateDirectorySummary(int fileCount,
+                                    long totalSize,
+                                    StringBuilder fileListBuilder,
+                                    int duplicateCount,
+                                    long duplicateBytes) {
         if (fileCount == 0) {
             return noSourceFilesSummary();
         }
-        return new StringBuilder()
+        var summary = new StringBuilder()
             .append("Directory: ").append(baseDirectory).append("\n")
             .append("Files: ").append(fileCount).append("\n")
-            .append("Total size: ").append(totalSize).append(" bytes\n\n")
+            .append("Total size: ").append(totalSize).append(" bytes\n");
+        if (duplicateCount > 0) {
+            summary.append("Identical copies omitted: ").append(duplicateCount)
+                .append(" files (").append(duplicateBytes).append(" bytes saved)\n");
+        }
+        return summary.append("\n")
             .append("File list:\n")
             .append(fileListBuilder)
             .toString();
@@ -1,6 +1,8 @@
 package dev.logicojp.reviewer.target;
 
 import dev.logicojp.reviewer.config.LocalFileConfig;
+import dev.logicojp.reviewer.util.TokenEstimator;
+import io.micronaut.core.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -9,7 +11,15 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /// Collects source files from a local directory for code review.
 ///
@@ -21,6 +31,11 @@ public class LocalFileProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(LocalFileProvider.class);
 
+    /// Upper bound of source read to build the relevance index, as a multiple of `maxTotalSize`.
+    /// Keeps ranking within a few budgets' worth of I/O and postings (8 MB with the 2 MB default)
+    /// on very large checkouts; candidates beyond it (in path order) are not ranked.
+    private static final long RELEVANCE_INDEX_SIZE_FACTOR = 4;
+
     /// Default maximum file size to include (256 KB) — configurable via LocalFileConfig
     private final long maxFileSize;
 
@@ -48,6 +63,14 @@ public class LocalFileProvider {
     private final LocalFileCandidateCollector candidateCollector;
     private final LocalFileCandidateProcessor candidateProcessor;
     private final LocalFileContentFormatter contentFormatter;
+    private final CandidateProcessingOptions processingOptions;
+    private final Path cacheDirectory;
+    private final @Nullable LocalChangeScope changeScope;
+    private final int maxShards;
+    private final int maxTotalTokens;
+    private final Map<String, List<String>> queryExpansions;
+    private final LargeFileExcerpter largeFileExcerpter;
+    private final boolean streamingWalk;
 
     /// Creates a new LocalFileProvider for the given directory with default limits.
     /// @param baseDirectory The root directory to collect files from
@@ -64,6 +87,14 @@ public class LocalFileProvider {
     }
 
     public LocalFileProvider(Path baseDirectory, LocalFileConfig config) {
+        this(baseDirectory, config, null);
+    }
+
+    /// Creates a new LocalFileProvider that only collects files changed since a git revision.
+    /// @param baseDirectory The root directory to collect files from
+    /// @param config Local file collection limits
+    /// @param changeScope Git change scope, or null to collect the whole directory
+    public LocalFileProvider(Path baseDirectory, LocalFileConfig config, @Nullable LocalChangeScope changeScope) {
         if (baseDirectory == null) {
             throw new IllegalArgumentException("Base directory must not be null");
         }
@@ -79,18 +110,35 @@ public class LocalFileProvider {
         this.candidateCollector = new LocalFileCandidateCollector(
             this.baseDirectory,
             this.realBaseDirectory,
-            selectionConfig.ignoredDirectories(),
-            selectionConfig.sourceExtensions(),
-            selectionConfig.sensitiveFilePatterns(),
-            selectionConfig.sensitiveExtensions()
+            selectionConfig,
+            selectionConfig.respectGitignore()
+                ? GitIgnoreMatcher.load(this.baseDirectory)
+                : GitIgnoreMatcher.disabled()
         );
+        // Hunk excerpts are cut by original line numbers, so they need the files uncompacted.
+        boolean excerptsHunks = changeScope != null && changeScope.excerptsHunks();
+        this.largeFileExcerpter = excerptsHunks ? LargeFileExcerpter.disabled() : selectionConfig.largeFileExcerpter();
+        this.processingOptions = CandidateProcessingOptions.builder(this.maxFileSize, this.maxTotalSize)
+            .ioParallelism(selectionConfig.ioParallelism())
+            .maxTotalTokens(config.maxTotalTokens())
+            .generatedSourceDetector(selectionConfig.generatedSourceDetector())
+            .sourceCompactor(selectionConfig.compactSources() && !excerptsHunks
+                ? new SourceCompactor()
+                : SourceCompactor.disabled())
+            .largeFileExcerpter(this.largeFileExcerpter)
+            .contentExtractors(excerptsHunks ? ContentExtractors.disabled() : selectionConfig.contentExtractors())
+            .build();
         this.candidateProcessor = new LocalFileCandidateProcessor(
-            this.baseDirectory,
-            this.realBaseDirectory,
-            this.maxFileSize,
-            this.maxTotalSize
-        );
+            this.baseDirectory, this.realBaseDirectory, this.processingOptions);
         this.contentFormatter = new LocalFileContentFormatter(this.baseDirectory, this.maxTotalSize);
+        this.cacheDirectory = config.cacheDirectory() != null
+            ? Path.of(config.cacheDirectory()).toAbsolutePath().normalize()
+            : null;
+        this.changeScope = changeScope;
+        this.maxShards = config.maxShards();
+        this.maxTotalTokens = config.maxTotalTokens();
+        this.queryExpansions = selectionConfig.queryExpansions();
+        this.streamingWalk = selectionConfig.streamingWalk();
     }
 
     /// Collects all source files from the directory tree.
@@ -107,49 +155,420 @@ public class LocalFileProvider {
         List<LocalFile> files = new ArrayList<>();
 
         try {
-            List<LocalFileCandidate> candidates = candidateCollector.collectCandidateFiles();
-            LocalFileCandidateProcessor.ProcessingResult result = candidateProcessor.process(candidates, (relativePath, content, size) ->
+            GitChangeSet changeSet = readChangeSet();
+            List<LocalFileCandidate> candidates = collectCandidates(changeSet);
+            LocalFileCandidateProcessor processor = selectProcessor(LocalFileContentCache.disabled(), changeSet);
+            LocalFileCandidateProcessor.ProcessingResult result = processor.process(candidates, (relativePath, content, size) ->
                 files.add(new LocalFile(relativePath, content, size)));
-            logCollectedFiles(result.fileCount(), result.totalSize());
+            logCollectedFiles(result);
         } catch (IOException e) {
             throw new UncheckedIOException("Failed to walk directory: " + baseDirectory, e);
         }
         return List.copyOf(files);
     }
 
+    /// Returns the `/`-separated relative paths among `relativePaths` that a review would
+    /// collect: existing, non-ignored source files that pass the same filters as the walk.
+    public List<String> selectReviewablePaths(Collection<String> relativePaths) {
+        if (isMissingBaseDirectory()) {
+            return List.of();
+        }
+        try {
+            return candidateCollector.collectObservedFiles(relativePaths).stream()
+                .map(candidate -> toRelativePath(candidate.path()))
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to inspect changed files in: " + baseDirectory, e);
+        }
+    }
+
     /// Collects local files and generates prompt-ready content in one pass.
     /// Avoids retaining both per-file content list and concatenated content simultaneously.
+    /// When a cache directory is configured, unchanged files are served from the persistent
+    /// content cache and the cache is rewritten with the files used in this run.
+    /// With a change scope, only files changed since the revision are collected. With a
+    /// streaming walk, the directory is walked only as far as the collection reads.
     public CollectionResult collectAndGenerate() {
+        return collectAndGenerate(FileRoutingRules.all());
+    }
+
+    /// Collects and generates like {@link #collectAndGenerate()}, limited to files routed by `rules`.
+    public CollectionResult collectAndGenerate(FileRoutingRules rules) {
         if (isMissingBaseDirectory()) {
             logMissingBaseDirectory();
-            return new CollectionResult("(no source files found)",
-                contentFormatter.noSourceFilesSummary(), 0, 0);
+            return noSourceFilesResult();
         }
 
         try {
-            List<LocalFileCandidate> candidates = candidateCollector.collectCandidateFiles();
-            int reviewCapacity = contentFormatter.estimateReviewContentCapacity(candidates);
-            StringBuilder reviewContentBuilder = new StringBuilder(reviewCapacity);
-            StringBuilder fileListBuilder = new StringBuilder();
-            LocalFileCandidateProcessor.ProcessingResult result = candidateProcessor.process(candidates, (relativePath, content, size) -> {
-                contentFormatter.appendFileBlock(reviewContentBuilder, relativePath, content);
-
-                fileListBuilder.append("  - ")
-                    .append(relativePath)
-                    .append(" (")
-                    .append(size)
-                    .append(" bytes)\n");
-            });
-
-            long totalSize = result.totalSize();
-            int fileCount = result.fileCount();
-            logCollectedFiles(fileCount, totalSize);
-            return createCollectionResult(fileCount, totalSize, reviewContentBuilder, fileListBuilder);
+            GitChangeSet changeSet = readChangeSet();
+            LocalFileContentCache contentCache = openContentCache();
+            LocalFileCandidateProcessor processor = selectProcessor(contentCache, changeSet);
+            CollectionResult result;
+            if (streamingWalk && changeSet == null) {
+                result = generateStreamedCollection(processor, rules);
+            } else {
+                result = generateCollection(processor, route(collectCandidates(changeSet), rules), changeSet, "");
+            }
+            persistContentCache(contentCache);
+            return result;
         } catch (IOException e) {
             throw new UncheckedIOException("Failed to walk directory: " + baseDirectory, e);
         }
     }
 
+    /// Collects local files split into prompt-sized shards of at most `maxTotalSize` each.
+    /// With `maxShards == 1` this is equivalent to {@link #collectAndGenerate()}.
+    /// Each shard's review content starts with a note identifying it as part of a larger source.
+    public List<CollectionResult> collectAndGenerateShards() {
+        return collectAndGenerateShards(FileRoutingRules.all());
+    }
+
+    /// Collects shards like {@link #collectAndGenerateShards()}, limited to files routed by `rules`.
+    public List<CollectionResult> collectAndGenerateShards(FileRoutingRules rules) {
+        if (maxShards <= 1) {
+            return List.of(collectAndGenerate(rules));
+        }
+        if (isMissingBaseDirectory()) {
+            logMissingBaseDirectory();
+            return List.of(noSourceFilesResult());
+        }
+
+        try {
+            GitChangeSet changeSet = readChangeSet();
+            List<LocalFileCandidate> candidates = route(collectCandidates(changeSet), rules);
+            List<List<LocalFileCandidate>> shards =
+                new LocalFileShardPlanner(maxTotalSize, maxFileSize, maxShards, largeFileExcerpter,
+                    hunkExcerpter(changeSet)).plan(candidates);
+            if (shards.isEmpty()) {
+                shards = List.of(List.of());
+            } else if (shards.size() > 1) {
+                logger.info("Split {} candidate files into {} shards", candidates.size(), shards.size());
+            }
+
+            LocalFileContentCache contentCache = openContentCache();
+            LocalFileCandidateProcessor processor = selectProcessor(contentCache, changeSet);
+            List<CollectionResult> results = new ArrayList<>(shards.size());
+            for (int i = 0; i < shards.size(); i++) {
+                String shardHeader = shards.size() > 1 ? contentFormatter.shardHeader(i + 1, shards.size()) : "";
+                results.add(generateCollection(processor, shards.get(i), changeSet, shardHeader));
+            }
+            persistContentCache(contentCache);
+            return List.copyOf(results);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to walk directory: " + baseDirectory, e);
+        }
+    }
+
+    /// Collects a relevance-ranked source for each query.
+    ///
+    /// Each query sees only the files routed by its {@link RelevanceQuery#fileRoutingRules()}.
+    /// When those files fit the collection budget, every query with the same rules shares one
+    /// collection. Otherwise the candidates are indexed once and each query gets the most
+    /// relevant routed files that fit the budget, so reviewers with different focus areas see
+    /// different parts of an oversized directory. Queries with identical selections share one result.
+    /// @param queries Relevance queries, typically one per agent
+    /// @return Collection result per {@link RelevanceQuery#key()}, in query order
+    public Map<String, CollectionResult> collectAndGenerateRanked(List<RelevanceQuery> queries) {
+        if (isMissingBaseDirectory()) {
+            logMissingBaseDirectory();
+            return sharedCollection(queries, noSourceFilesResult());
+        }
+
+        try {
+            GitChangeSet changeSet = readChangeSet();
+            LocalFileContentCache contentCache = openContentCache();
+            var collections = new RankedCollections(
+                collectCandidates(changeSet), changeSet, contentCache, selectProcessor(contentCache, changeSet));
+            Map<String, CollectionResult> results = new LinkedHashMap<>();
+            for (RelevanceQuery query : queries) {
+                results.put(query.key(), collections.collect(query));
+            }
+            persistContentCache(contentCache);
+            return results;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to walk directory: " + baseDirectory, e);
+        }
+    }
+
+    /// Per-call state of {@link #collectAndGenerateRanked}: routed candidate lists and results are
+    /// memoized per rule set and selection, and the relevance index is built on first need.
+    private final class RankedCollections {
+
+        private final List<LocalFileCandidate> candidates;
+        private final @Nullable GitChangeSet changeSet;
+        private final LocalFileContentCache contentCache;
+        private final LocalFileCandidateProcessor processor;
+        private final LocalFileRelevancePlanner planner = new LocalFileRelevancePlanner(maxTotalSize, maxTotalTokens);
+        private final Map<FileRoutingRules, Set<LocalFileCandidate>> routedByRules = new HashMap<>();
+        private final Map<FileRoutingRules, CollectionResult> sharedByRules = new HashMap<>();
+        private final Map<List<LocalFileCandidate>, CollectionResult> resultsBySelection = new HashMap<>();
+        private @Nullable LocalFileRelevanceIndex index;
+
+        private RankedCollections(List<LocalFileCandidate> candidates,
+                                  @Nullable GitChangeSet changeSet,
+                                  LocalFileContentCache contentCache,
+                                  LocalFileCandidateProcessor processor) {
+            this.candidates = candidates;
+            this.changeSet = changeSet;
+            this.contentCache = contentCache;
+            this.processor = processor;
+        }
+
+        CollectionResult collect(RelevanceQuery query) throws IOException {
+            FileRoutingRules rules = query.fileRoutingRules();
+            CollectionResult shared = sharedByRules.get(rules);
+            if (shared != null) {
+                return shared;
+            }
+            Set<LocalFileCandidate> routed = routedByRules.computeIfAbsent(rules,
+                _ -> new LinkedHashSet<>(route(candidates, rules)));
+            if (fitsBudget(routed)) {
+                shared = generateCollection(processor, List.copyOf(routed), changeSet, "");
+                sharedByRules.put(rules, shared);
+                return shared;
+            }
+
+            LocalFileRelevanceIndex relevanceIndex = index();
+            List<LocalFileCandidate> selection =
+                planner.plan(relevanceIndex, query.weightedTerms(queryExpansions), routed::contains);
+            int routedCount = (int) relevanceIndex.files().stream()
+                .filter(file -> routed.contains(file.candidate()))
+                .count();
+            logger.info("Selected {} of {} local files by relevance for: {}", selection.size(), routedCount, query.key());
+            CollectionResult result = resultsBySelection.get(selection);
+            if (result == null) {
+                String header = contentFormatter.relevanceSelectionHeader(selection.size(), routedCount);
+                result = generateCollection(processor, selection, changeSet, header);
+                resultsBySelection.put(selection, result);
+            }
+            return result;
+        }
+
+        /// Without a token budget the walked sizes decide; otherwise the indexed estimates do.
+        private boolean fitsBudget(Set<LocalFileCandidate> routed) {
+            if (fitsSizeBudgetWithoutTokens(routed, changeSet)) {
+                return true;
+            }
+            long totalSize = 0;
+            long totalTokens = 0;
+            for (var file : index().files()) {
+                if (routed.contains(file.candidate())) {
+                    totalSize += file.size();
+                    totalTokens += file.tokens();
+                }
+            }
+            return totalSize <= maxTotalSize && (maxTotalTokens <= 0 || totalTokens <= maxTotalTokens);
+        }
+
+        private LocalFileRelevanceIndex index() {
+            if (index == null) {
+                index = buildRelevanceIndex(candidates, contentCache, changeSet);
+            }
+            return index;
+        }
+    }
+
+    /// Reads every candidate within the index bound once, keeping only postings and budget charges.
+    /// Charges are taken uncompacted, so a selection planned from them still fits once compacted.
+    private LocalFileRelevanceIndex buildRelevanceIndex(List<LocalFileCandidate> candidates,
+                                                        LocalFileContentCache contentCache,
+                                                        @Nullable GitChangeSet changeSet) {
+        Map<String, LocalFileCandidate> candidatesByPath = HashMap.newHashMap(candidates.size());
+        for (LocalFileCandidate candidate : candidates) {
+            candidatesByPath.put(toRelativePath(candidate.path()), candidate);
+        }
+        long maxIndexedSize = maxTotalSize > Long.MAX_VALUE / RELEVANCE_INDEX_SIZE_FACTOR
+            ? Long.MAX_VALUE
+            : maxTotalSize * RELEVANCE_INDEX_SIZE_FACTOR;
+        var indexingProcessor = new LocalFileCandidateProcessor(baseDirectory, realBaseDirectory,
+            processingOptions(changeSet).toBuilder()
+                .maxTotalSize(maxIndexedSize)
+                .contentCache(contentCache)
+                .maxTotalTokens(0)
+                .sourceCompactor(SourceCompactor.disabled())
+                .build());
+
+        var index = new LocalFileRelevanceIndex();
+        indexingProcessor.process(candidates, (relativePath, content, size) -> index.add(
+            candidatesByPath.get(relativePath), relativePath, content, size,
+            maxTotalTokens > 0 ? TokenEstimator.estimate(content) : 0));
+        logger.info("Indexed {} local files ({} bytes) for relevance ranking", index.documentCount(), index.totalSize());
+        return index;
+    }
+
+    /// Without a token budget, candidates whose readable files fit `maxTotalSize` need no ranking.
+    private boolean fitsSizeBudgetWithoutTokens(Collection<LocalFileCandidate> candidates,
+                                                @Nullable GitChangeSet changeSet) {
+        if (maxTotalTokens > 0) {
+            return false;
+        }
+        HunkExcerpter hunkExcerpter = hunkExcerpter(changeSet);
+        long totalSize = 0;
+        for (LocalFileCandidate candidate : candidates) {
+            long expectedCharge = hunkExcerpter.isEnabled()
+                ? hunkExcerpter.expectedCharge(candidate.size())
+                : largeFileExcerpter.expectedCharge(candidate.size(), maxFileSize);
+            totalSize += Math.max(0, expectedCharge);
+        }
+        return totalSize <= maxTotalSize;
+    }
+
+    private List<LocalFileCandidate> route(List<LocalFileCandidate> candidates, FileRoutingRules rules) {
+        if (rules.isUnrestricted()) {
+            return candidates;
+        }
+        Predicate<String> matcher = rules.toMatcher();
+        List<LocalFileCandidate> routed = candidates.stream()
+            .filter(candidate -> matcher.test(toRelativePath(candidate.path())))
+            .toList();
+        logger.debug("File routing rules {} matched {} of {} files", rules, routed.size(), candidates.size());
+        return routed;
+    }
+
+    private static Map<String, CollectionResult> sharedCollection(List<RelevanceQuery> queries,
+                                                                   CollectionResult result) {
+        Map<String, CollectionResult> results = new LinkedHashMap<>();
+        for (RelevanceQuery query : queries) {
+            results.put(query.key(), result);
+        }
+        return results;
+    }
+
+    private String toRelativePath(Path path) {
+        return baseDirectory.relativize(path).toString().replace('\\', '/');
+    }
+
+    private CollectionResult generateCollection(LocalFileCandidateProcessor processor,
+                                                List<LocalFileCandidate> candidates,
+                                                @Nullable GitChangeSet changeSet,
+                                                String header) {
+        int reviewCapacity = contentFormatter.estimateReviewContentCapacity(candidates) + header.length();
+        return generateCollection(reviewCapacity, changeSet, header,
+            (consumer, duplicateConsumer) -> processor.process(candidates, consumer, duplicateConsumer));
+    }
+
+    /// Reads the whole directory in path order while it is walked; the walk stops with the collection.
+    private CollectionResult generateStreamedCollection(LocalFileCandidateProcessor processor,
+                                                        FileRoutingRules rules) throws IOException {
+        Predicate<String> matcher = rules.toMatcher();
+        try (Stream<LocalFileCandidate> candidates = candidateCollector.streamCandidateFiles()
+            .filter(candidate -> rules.isUnrestricted() || matcher.test(toRelativePath(candidate.path())))) {
+            return generateCollection(contentFormatter.estimateReviewContentCapacity(List.of()), null, "",
+                (consumer, duplicateConsumer) ->
+                    processor.processStream(candidates.iterator(), consumer, duplicateConsumer));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /// Runs a processor over some candidates with the given consumers.
+    @FunctionalInterface
+    private interface CandidateRun {
+        LocalFileCandidateProcessor.ProcessingResult process(
+            LocalFileCandidateProcessor.FileConsumer consumer,
+            @Nullable LocalFileCandidateProcessor.DuplicateConsumer duplicateConsumer);
+    }
+
+    private CollectionResult generateCollection(int reviewCapacity,
+                                                @Nullable GitChangeSet changeSet,
+                                                String header,
+                                                CandidateRun run) {
+        StringBuilder reviewContentBuilder = new StringBuilder(reviewCapacity).append(header);
+        StringBuilder fileListBuilder = new StringBuilder();
+        Map<String, List<String>> aliasesByOriginal = new LinkedHashMap<>();
+        LocalFileCandidateProcessor.DuplicateConsumer duplicateConsumer = (relativePath, originalPath, size) -> {
+            aliasesByOriginal.computeIfAbsent(originalPath, _ -> new ArrayList<>()).add(relativePath);
+            fileListBuilder.append("  - ")
+                .append(relativePath)
+                .append(" (")
+                .append(size)
+                .append(" bytes, identical to ")
+                .append(originalPath)
+                .append(")\n");
+        };
+        LocalFileCandidateProcessor.ProcessingResult result = run.process((relativePath, content, size) -> {
+            contentFormatter.appendFileBlock(reviewContentBuilder, relativePath, content);
+
+            fileListBuilder.append("  - ")
+                .append(relativePath)
+                .append(" (")
+                .append(size)
+                .append(" bytes)\n");
+        }, excerptsHunks(changeSet) ? null : duplicateConsumer);
+        contentFormatter.appendDuplicateAliases(reviewContentBuilder, aliasesByOriginal);
+
+        logCollectedFiles(result);
+        return createCollectionResult(result, reviewContentBuilder, fileListBuilder);
+    }
+
+    private CollectionResult noSourceFilesResult() {
+        return new CollectionResult("(no source files found)",
+            contentFormatter.noSourceFilesSummary(), 0, 0);
+    }
+
+    private LocalFileCandidateProcessor selectProcessor(LocalFileContentCache contentCache,
+                                                        @Nullable GitChangeSet changeSet) {
+        if (!contentCache.isEnabled() && !excerptsHunks(changeSet)) {
+            return candidateProcessor;
+        }
+        return new LocalFileCandidateProcessor(baseDirectory, realBaseDirectory,
+            processingOptions(changeSet).toBuilder().contentCache(contentCache).build());
+    }
+
+    /// The configured options, with changed files cut to their hunks when the scope asks for it.
+    private CandidateProcessingOptions processingOptions(@Nullable GitChangeSet changeSet) {
+        if (!excerptsHunks(changeSet)) {
+            return processingOptions;
+        }
+        return processingOptions.toBuilder().hunkExcerpter(hunkExcerpter(changeSet)).build();
+    }
+
+    private HunkExcerpter hunkExcerpter(@Nullable GitChangeSet changeSet) {
+        return excerptsHunks(changeSet)
+            ? HunkExcerpter.create(changeSet, changeScope.contextLines(), maxFileSize)
+            : HunkExcerpter.disabled();
+    }
+
+    private @Nullable GitChangeSet readChangeSet() throws IOException {
+        if (changeScope == null) {
+            return null;
+        }
+        if (changeScope.listsFiles()) {
+            logger.info("Reviewing {} listed files in: {}", changeScope.files().size(), baseDirectory);
+            return GitChangeSet.ofWholeFiles(changeScope.files());
+        }
+        GitChangeSet changeSet = GitChangeSetReader.read(baseDirectory, changeScope);
+        logger.info("Found {} files changed since {} in: {}",
+            changeSet.paths().size(), changeScope.sinceRef(), baseDirectory);
+        return changeSet;
+    }
+
+    private List<LocalFileCandidate> collectCandidates(@Nullable GitChangeSet changeSet) throws IOException {
+        return changeSet != null
+            ? candidateCollector.collectCandidateFiles(changeSet.paths())
+            : candidateCollector.collectCandidateFiles();
+    }
+
+    /// Identical files may differ in their hunks, so excerpted files are never deduplicated.
+    private boolean excerptsHunks(@Nullable GitChangeSet changeSet) {
+        return changeSet != null && changeScope != null && changeScope.excerptsHunks();
+    }
+
+    private LocalFileContentCache openContentCache() {
+        if (cacheDirectory == null) {
+            return LocalFileContentCache.disabled();
+        }
+        return LocalFileContentCache.load(cacheDirectory, realBaseDirectory);
+    }
+
+    private void persistContentCache(LocalFileContentCache contentCache) {
+        if (!contentCache.isEnabled()) {
+            return;
+        }
+        contentCache.persist();
+        logger.info("Local file cache: {} unchanged, {} re-read", contentCache.hits(), contentCache.misses());
+    }
+
     private boolean isMissingBaseDirectory() {
         return !Files.isDirectory(baseDirectory);
     }
@@ -158,19 +577,29 @@ public class LocalFileProvider {
         logger.warn("Base directory does not exist or is not a directory: {}", baseDirectory);
     }
 
-    private void logCollectedFiles(int fileCount, long totalSize) {
-        logger.info("Collected {} source files ({} bytes) from: {}", fileCount, totalSize, baseDirectory);
+    private void logCollectedFiles(LocalFileCandidateProcessor.ProcessingResult result) {
+        if (maxTotalTokens > 0) {
+            logger.info("Collected {} source files ({} bytes, ~{} tokens) from: {}",
+                result.fileCount(), result.totalSize(), result.totalTokens(), baseDirectory);
+        } else {
+            logger.info("Collected {} source files ({} bytes) from: {}",
+                result.fileCount(), result.totalSize(), baseDirectory);
+        }
+        if (result.duplicateCount() > 0) {
+            logger.info("Omitted {} files ({} bytes) identical to collected files",
+                result.duplicateCount(), result.duplicateBytes());
+        }
     }
 
-    private CollectionResult createCollectionResult(int fileCount,
-                                                    long totalSize,
+    private CollectionResult createCollectionResult(LocalFileCandidateProcessor.ProcessingResult result,
                                                     StringBuilder reviewContentBuilder,
                                                     StringBuilder fileListBuilder) {
-        String reviewContent = fileCount == 0
+        String reviewContent = result.fileCount() == 0
             ? "(no source files found)"
             : reviewContentBuilder.toString();
-        String directorySummary = contentFormatter.generateDirectorySummary(fileCount, totalSize, fileListBuilder);
-        return new CollectionResult(reviewContent, directorySummary, fileCount, totalSize);
+        String directorySummary = contentFormatter.generateDirectorySummary(result.fileCount(), result.totalSize(),
+            fileListBuilder, result.duplicateCount(), result.duplicateBytes());
+        return new CollectionResult(reviewContent, directorySummary, result.fileCount(), result.totalSize());
     }
 
     /// Generates the review content string with all file contents embedded.
@@ -0,0 +1,193 @@
+package dev.logicojp.reviewer.target;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/// In-memory BM25 inverted index over collected local files.
+///
+/// Text is split into lower-cased identifier parts (`getUserName` → `get`, `user`, `name`)
+/// and character bigrams of CJK runs, so Japanese comments can match Japanese focus areas.
+/// Path segments are indexed with the content at a higher weight: a file named
+/// `AuthFilter.java` is about authentication even when its body rarely says so.
+/// Only postings are retained; file contents are dropped once indexed.
+///
+/// Documents are numbered in insertion order, which is the candidates' path order.
+final class LocalFileRelevanceIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    /// Each path term counts as this many occurrences in the document.
+    private static final int PATH_TERM_WEIGHT = 3;
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final Set<String> STOP_WORDS = Set.of(
+        "an", "and", "are", "as", "at", "be", "by", "for", "if", "in", "is", "it",
+        "of", "on", "or", "that", "the", "this", "to", "with"
+    );
+
+    /// An indexed candidate with the size and estimated tokens the collection budget charges for it.
+    record IndexedFile(LocalFileCandidate candidate, long size, int tokens) {
+    }
+
+    private record Posting(int document, int frequency) {
+    }
+
+    private final Map<String, List<Posting>> postings = new HashMap<>();
+    private final List<IndexedFile> files = new ArrayList<>();
+    private int[] documentLengths = new int[64];
+    private long totalTermCount;
+    private long totalSize;
+    private long totalTokens;
+
+    void add(LocalFileCandidate candidate, String relativePath, String content, long size, int tokens) {
+        int document = files.size();
+        Map<String, Integer> frequencies = new HashMap<>();
+        forEachTerm(relativePath, term -> frequencies.merge(term, PATH_TERM_WEIGHT, Integer::sum));
+        forEachTerm(content, term -> frequencies.merge(term, 1, Integer::sum));
+
+        int length = 0;
+        for (var entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), _ -> new ArrayList<>())
+                .add(new Posting(document, entry.getValue()));
+            length += entry.getValue();
+        }
+        if (document == documentLengths.length) {
+            documentLengths = Arrays.copyOf(documentLengths, document * 2);
+        }
+        documentLengths[document] = length;
+        totalTermCount += length;
+        totalSize += size;
+        totalTokens += tokens;
+        files.add(new IndexedFile(candidate, size, tokens));
+    }
+
+    List<IndexedFile> files() {
+        return files;
+    }
+
+    int documentCount() {
+        return files.size();
+    }
+
+    long totalSize() {
+        return totalSize;
+    }
+
+    long totalTokens() {
+        return totalTokens;
+    }
+
+    /// Returns the BM25 score of every document for the weighted query terms, indexed by document.
+    double[] score(Map<String, Double> queryTerms) {
+        int documentCount = files.size();
+        double[] scores = new double[documentCount];
+        if (documentCount == 0) {
+            return scores;
+        }
+        double averageLength = Math.max(1.0, (double) totalTermCount / documentCount);
+        queryTerms.forEach((term, weight) -> {
+            List<Posting> termPostings = postings.get(term);
+            if (termPostings == null) {
+                return;
+            }
+            double documentFrequency = termPostings.size();
+            double idf = Math.log(1.0 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            for (Posting posting : termPostings) {
+                double frequency = posting.frequency();
+                double lengthNorm = K1 * (1.0 - B + B * documentLengths[posting.document()] / averageLength);
+                scores[posting.document()] += weight * idf * frequency * (K1 + 1.0) / (frequency + lengthNorm);
+            }
+        });
+        return scores;
+    }
+
+    /// Passes every index term of `text` to `action`, in text order.
+    static void forEachTerm(CharSequence text, Consumer<String> action) {
+        int length = text.length();
+        int index = 0;
+        while (index < length) {
+            int codePoint = Character.codePointAt(text, index);
+            if (isAsciiAlphanumeric(codePoint)) {
+                int end = index + 1;
+                while (end < length && isAsciiAlphanumeric(text.charAt(end))) {
+                    end++;
+                }
+                emitIdentifierParts(text, index, end, action);
+                index = end;
+            } else if (isCjk(codePoint)) {
+                int end = index + Character.charCount(codePoint);
+                while (end < length && isCjk(Character.codePointAt(text, end))) {
+                    end += Character.charCount(Character.codePointAt(text, end));
+                }
+                emitBigrams(text, index, end, action);
+                index = end;
+            } else {
+                index += Character.charCount(codePoint);
+            }
+        }
+    }
+
+    /// Splits an ASCII identifier at case and letter/digit boundaries (`HTTPServer2` → `http`, `server`).
+    private static void emitIdentifierParts(CharSequence text, int start, int end, Consumer<String> action) {
+        int partStart = start;
+        for (int i = start + 1; i < end; i++) {
+            char previous = text.charAt(i - 1);
+            char current = text.charAt(i);
+            boolean lowerToUpper = Character.isLowerCase(previous) && Character.isUpperCase(current);
+            boolean acronymEnd = Character.isUpperCase(previous) && Character.isUpperCase(current)
+                && i + 1 < end && Character.isLowerCase(text.charAt(i + 1));
+            boolean digitBoundary = Character.isDigit(previous) != Character.isDigit(current);
+            if (lowerToUpper || acronymEnd || digitBoundary) {
+                emitPart(text, partStart, i, action);
+                partStart = i;
+            }
+        }
+        emitPart(text, partStart, end, action);
+    }
+
+    private static void emitPart(CharSequence text, int start, int end, Consumer<String> action) {
+        if (end - start < MIN_TERM_LENGTH || Character.isDigit(text.charAt(start))) {
+            return;
+        }
+        String part = text.subSequence(start, end).toString().toLowerCase(Locale.ROOT);
+        if (!STOP_WORDS.contains(part)) {
+            action.accept(part);
+        }
+    }
+
+    /// CJK text has no word separators; overlapping character bigrams are the usual index unit.
+    private static void emitBigrams(CharSequence text, int start, int end, Consumer<String> action) {
+        int first = start;
+        int second = first + Character.charCount(Character.codePointAt(text, first));
+        while (second < end) {
+            int third = second + Character.charCount(Character.codePointAt(text, second));
+            action.accept(text.subSequence(first, third).toString());
+            first = second;
+            second = third;
+        }
+    }
+
+    private static boolean isAsciiAlphanumeric(int codePoint) {
+        return (codePoint >= 'a' && codePoint <= 'z')
+            || (codePoint >= 'A' && codePoint <= 'Z')
+            || (codePoint >= '0' && codePoint <= '9');
+    }
+
+    private static boolean isCjk(int codePoint) {
+        if (codePoint < 0x80) {
+            return false;
+        }
+        if (Character.isIdeographic(codePoint) || codePoint == 'ー') {
+            return true;
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HIRAGANA
+            || script == Character.UnicodeScript.KATAKANA
+            || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,71 @@
+package dev.logicojp.reviewer.target;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/// Selects the candidates most relevant to a query that fit the collection budget.
+///
+/// Indexed files are taken in descending BM25 score and skipped (not stopped at) when they
+/// no longer fit, so one large relevant file does not crowd out several smaller ones. Files
+/// that do not match the query fill the remaining budget in path order, as without ranking.
+/// The selection is returned in path order so files of the same directory stay together.
+final class LocalFileRelevancePlanner {
+
+    private final long maxTotalSize;
+    private final int maxTotalTokens;
+
+    LocalFileRelevancePlanner(long maxTotalSize, int maxTotalTokens) {
+        this.maxTotalSize = maxTotalSize;
+        this.maxTotalTokens = maxTotalTokens;
+    }
+
+    List<LocalFileCandidate> plan(LocalFileRelevanceIndex index, Map<String, Double> queryTerms) {
+        return plan(index, queryTerms, _ -> true);
+    }
+
+    /// Plans like {@link #plan(LocalFileRelevanceIndex, Map)}, considering only `eligible` candidates.
+    List<LocalFileCandidate> plan(LocalFileRelevanceIndex index,
+                                  Map<String, Double> queryTerms,
+                                  Predicate<LocalFileCandidate> eligible) {
+        double[] scores = index.score(queryTerms);
+        List<LocalFileRelevanceIndex.IndexedFile> files = index.files();
+        boolean[] selected = new boolean[files.size()];
+        long selectedSize = 0;
+        long selectedTokens = 0;
+
+        int[] rankedDocuments = IntStream.range(0, files.size())
+            .boxed()
+            .sorted(Comparator.comparingDouble((Integer document) -> -scores[document])
+                .thenComparingInt(document -> document))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        for (int document : rankedDocuments) {
+            var file = files.get(document);
+            if (!eligible.test(file.candidate())) {
+                continue;
+            }
+            if (selectedSize + file.size() > maxTotalSize || exceedsTokens(selectedTokens + file.tokens())) {
+                continue;
+            }
+            selected[document] = true;
+            selectedSize += file.size();
+            selectedTokens += file.tokens();
+        }
+
+        List<LocalFileCandidate> selection = new ArrayList<>();
+        for (int document = 0; document < files.size(); document++) {
+            if (selected[document]) {
+                selection.add(files.get(document).candidate());
+            }
+        }
+        return List.copyOf(selection);
+    }
+
+    private boolean exceedsTokens(long tokens) {
+        return maxTotalTokens > 0 && tokens > maxTotalTokens;
+    }
+}
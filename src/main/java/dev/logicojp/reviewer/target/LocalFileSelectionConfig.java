@@ -2,11 +2,15 @@ package dev.logicojp.reviewer.target;
 
 import dev.logicojp.reviewer.config.LocalFileConfig;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 record LocalFileSelectionConfig(
     long maxFileSize,
@@ -14,7 +18,15 @@ record LocalFileSelectionConfig(
     Set<String> ignoredDirectories,
     Set<String> sourceExtensions,
     Set<String> sensitiveFilePatterns,
-    Set<String> sensitiveExtensions
+    Set<String> sensitiveExtensions,
+    int ioParallelism,
+    Map<String, List<String>> queryExpansions,
+    GeneratedSourceDetector generatedSourceDetector,
+    boolean respectGitignore,
+    boolean compactSources,
+    LargeFileExcerpter largeFileExcerpter,
+    boolean streamingWalk,
+    ContentExtractors contentExtractors
 ) {
 
     static LocalFileSelectionConfig from(LocalFileConfig config) {
@@ -24,10 +36,93 @@ record LocalFileSelectionConfig(
             normalizeSet(config.ignoredDirectories()),
             normalizeSet(config.sourceExtensions()),
             normalizeSet(config.sensitiveFilePatterns()),
-            normalizeSet(config.sensitiveExtensions())
+            normalizeSet(config.sensitiveExtensions()),
+            config.ioParallelism(),
+            parseQueryExpansions(config.relevanceQueryExpansions()),
+            createGeneratedSourceDetector(config),
+            config.isRespectGitignoreEnabled(),
+            config.isCompactSourcesEnabled(),
+            LargeFileExcerpter.create(config.largeFileExcerptSize(), config.maxFileSize()),
+            config.isStreamingWalkEnabled(),
+            config.isExtractContentEnabled() ? ContentExtractors.defaults() : ContentExtractors.disabled()
         );
     }
 
+    /// Returns whether the lower-cased file name has a source extension or is a well-known build file.
+    boolean isSourceFileName(String fileName) {
+        return isSourceFileName(fileName, sourceExtensions);
+    }
+
+    /// Returns whether the lower-cased file name has a sensitive extension or contains a sensitive pattern.
+    boolean isSensitiveFileName(String fileName) {
+        return isSensitiveFileName(fileName, sensitiveFilePatterns, sensitiveExtensions);
+    }
+
+    static boolean isSourceFileName(String fileName, Set<String> sourceExtensions) {
+        if (fileName.equals("makefile")
+            || fileName.equals("dockerfile")
+            || fileName.equals("rakefile")
+            || fileName.equals("gemfile")) {
+            return true;
+        }
+        int dotIndex = fileName.lastIndexOf('.');
+        return dotIndex >= 0 && sourceExtensions.contains(fileName.substring(dotIndex + 1));
+    }
+
+    static boolean isSensitiveFileName(String fileName,
+                                       Set<String> sensitiveFilePatterns,
+                                       Set<String> sensitiveExtensions) {
+        int dotIndex = fileName.lastIndexOf('.');
+        if (dotIndex >= 0 && sensitiveExtensions.contains(fileName.substring(dotIndex + 1))) {
+            return true;
+        }
+        for (String pattern : sensitiveFilePatterns) {
+            if (fileName.contains(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /// File patterns are lower-cased like the other path filters; code markers keep their case.
+    private static GeneratedSourceDetector createGeneratedSourceDetector(LocalFileConfig config) {
+        if (!config.isSkipGeneratedFilesEnabled()) {
+            return GeneratedSourceDetector.disabled();
+        }
+        List<String> codeMarkers = config.generatedCodeMarkers() == null
+            ? List.of()
+            : config.generatedCodeMarkers().stream()
+                .filter(marker -> marker != null && !marker.isBlank())
+                .toList();
+        return new GeneratedSourceDetector(normalizeSet(config.generatedFilePatterns()), codeMarkers);
+    }
+
+    /// Parses `<phrase>=<term>,<term>...` entries into lower-cased phrase → terms.
+    /// Entries without a phrase or terms are ignored; repeated phrases accumulate their terms.
+    private static Map<String, List<String>> parseQueryExpansions(List<String> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<String>> expansions = new LinkedHashMap<>();
+        for (String entry : entries) {
+            int separator = entry == null ? -1 : entry.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            String phrase = entry.substring(0, separator).trim().toLowerCase(Locale.ROOT);
+            List<String> terms = Arrays.stream(entry.substring(separator + 1).split(","))
+                .map(LocalFileSelectionConfig::normalizeValue)
+                .flatMap(Optional::stream)
+                .map(String::trim)
+                .toList();
+            if (!phrase.isEmpty() && !terms.isEmpty()) {
+                expansions.merge(phrase, terms, (existing, added) ->
+                    Stream.concat(existing.stream(), added.stream()).toList());
+            }
+        }
+        return Map.copyOf(expansions);
+    }
+
     private static Set<String> normalizeSet(List<String> values) {
         if (values == null || values.isEmpty()) {
             return Set.of();
@@ -0,0 +1,79 @@
+package dev.logicojp.reviewer.target;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/// Packs collection candidates into prompt-sized shards.
+///
+/// Candidates are packed next-fit in path order, so files of the same directory stay
+/// in the same shard where possible — reviewers see related code together.
+/// Candidates larger than `maxFileSize` are planned at the size of their excerpt when the
+/// {@link LargeFileExcerpter} takes them, and left out otherwise, as the processor skips them.
+/// Changed files cut to their hunks by a {@link HunkExcerpter} are planned at `maxFileSize` at
+/// most, since their excerpt is only known once read.
+final class LocalFileShardPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalFileShardPlanner.class);
+
+    private final long shardCapacity;
+    private final long maxFileSize;
+    private final int maxShards;
+    private final LargeFileExcerpter largeFileExcerpter;
+    private final HunkExcerpter hunkExcerpter;
+
+    LocalFileShardPlanner(long shardCapacity,
+                          long maxFileSize,
+                          int maxShards,
+                          LargeFileExcerpter largeFileExcerpter,
+                          HunkExcerpter hunkExcerpter) {
+        this.shardCapacity = shardCapacity;
+        this.maxFileSize = maxFileSize;
+        this.maxShards = Math.max(1, maxShards);
+        this.largeFileExcerpter = largeFileExcerpter;
+        this.hunkExcerpter = hunkExcerpter;
+    }
+
+    /// Splits path-ordered candidates into at most `maxShards` shards of at most `shardCapacity` bytes.
+    List<List<LocalFileCandidate>> plan(List<LocalFileCandidate> candidates) {
+        List<List<LocalFileCandidate>> shards = new ArrayList<>();
+        List<LocalFileCandidate> current = new ArrayList<>();
+        long currentSize = 0;
+        int planned = 0;
+        for (LocalFileCandidate candidate : candidates) {
+            long size = hunkExcerpter.isEnabled()
+                ? hunkExcerpter.expectedCharge(candidate.size())
+                : largeFileExcerpter.expectedCharge(candidate.size(), maxFileSize);
+            if (size < 0) {
+                continue;
+            }
+            if (!current.isEmpty() && currentSize + size > shardCapacity) {
+                shards.add(current);
+                if (shards.size() == maxShards) {
+                    current = List.of();
+                    break;
+                }
+                current = new ArrayList<>();
+                currentSize = 0;
+            }
+            current.add(candidate);
+            currentSize += size;
+            planned++;
+        }
+        if (!current.isEmpty()) {
+            shards.add(current);
+        }
+        logUnplannedCandidates(candidates.size(), planned);
+        return shards;
+    }
+
+    private void logUnplannedCandidates(int candidateCount, int planned) {
+        int skipped = candidateCount - planned;
+        if (skipped > 0) {
+            logger.warn("{} of {} local files were not assigned to any of {} shard(s) (size limits reached)",
+                skipped, candidateCount, maxShards);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package dev.logicojp.reviewer.target;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/// Extracts the cells of a Jupyter notebook (`.ipynb`) without their outputs.
+///
+/// Cells are rendered in the "percent" format: each cell starts with a `# %% [cell N]` line
+/// (`# %% [markdown] [cell N]` for markdown, whose lines are commented out), so findings can
+/// be located by cell number. Outputs and attachments, which hold execution results and
+/// base64 images, are skipped without being decoded; a header line counts what was dropped.
+/// Languages with `//` comments (kernels for Scala, JavaScript, C# and the like) get `//` markers.
+/// Content that is not a notebook is returned unchanged.
+final class NotebookContentExtractor implements ContentExtractor {
+
+    private static final Set<String> SLASH_COMMENT_LANGUAGES = Set.of(
+        "c", "c#", "c++", "csharp", "cpp", "go", "java", "javascript", "kotlin", "rust", "scala", "typescript");
+
+    private record Cell(String type, String source) {}
+
+    @Override
+    public Set<String> extensions() {
+        return Set.of("ipynb");
+    }
+
+    @Override
+    public String extract(String relativePath, String content) {
+        Notebook notebook;
+        try {
+            notebook = new JsonReader(content).readNotebook();
+        } catch (IllegalArgumentException _) {
+            return content;
+        }
+        if (notebook.cells().isEmpty()) {
+            return content;
+        }
+        String comment = SLASH_COMMENT_LANGUAGES.contains(notebook.language()) ? "//" : "#";
+        var extracted = new StringBuilder(content.length() / 4);
+        extracted.append(comment).append(" [notebook: ").append(notebook.cells().size()).append(" cells");
+        if (!notebook.language().isEmpty()) {
+            extracted.append(", ").append(notebook.language());
+        }
+        if (notebook.omittedOutputs() > 0) {
+            extracted.append(", ").append(notebook.omittedOutputs()).append(" outputs omitted");
+        }
+        extracted.append("]\n");
+        for (int i = 0; i < notebook.cells().size(); i++) {
+            Cell cell = notebook.cells().get(i);
+            extracted.append('\n').append(comment).append(" %%");
+            boolean code = cell.type().equals("code");
+            if (!code) {
+                extracted.append(" [").append(cell.type()).append(']');
+            }
+            extracted.append(" [cell ").append(i + 1).append("]\n");
+            for (String line : cell.source().split("\n", -1)) {
+                if (!code) {
+                    extracted.append(comment).append(line.isEmpty() ? "" : " ");
+                }
+                extracted.append(line).append('\n');
+            }
+        }
+        return extracted.toString();
+    }
+
+    private record Notebook(List<Cell> cells, String language, int omittedOutputs) {}
+
+    /// Reads just enough JSON for notebooks; values that are not needed are skipped unparsed.
+    private static final class JsonReader {
+
+        private final String json;
+        private int position;
+
+        private JsonReader(String json) {
+            this.json = json;
+        }
+
+        Notebook readNotebook() {
+            List<Cell> cells = new ArrayList<>();
+            String language = "";
+            int omittedOutputs = 0;
+            expect('{');
+            if (!consume('}')) {
+                do {
+                    String key = readString();
+                    expect(':');
+                    switch (key) {
+                        case "cells" -> omittedOutputs += readCells(cells);
+                        case "metadata" -> language = readLanguage();
+                        default -> skipValue();
+                    }
+                } while (consume(','));
+                expect('}');
+            }
+            return new Notebook(cells, language, omittedOutputs);
+        }
+
+        /// Reads the cells into `cells` and returns the number of outputs skipped.
+        private int readCells(List<Cell> cells) {
+            int omittedOutputs = 0;
+            expect('[');
+            if (consume(']')) {
+                return 0;
+            }
+            do {
+                String type = "code";
+                String source = "";
+                expect('{');
+                if (!consume('}')) {
+                    do {
+                        String key = readString();
+                        expect(':');
+                        switch (key) {
+                            case "cell_type" -> type = readString();
+                            case "source" -> source = readSource();
+                            case "outputs" -> omittedOutputs += skipArray();
+                            default -> skipValue();
+                        }
+                    } while (consume(','));
+                    expect('}');
+                }
+                cells.add(new Cell(type, source.endsWith("\n") ? source.substring(0, source.length() - 1) : source));
+            } while (consume(','));
+            expect(']');
+            return omittedOutputs;
+        }
+
+        /// Cell sources are a string or an array of line strings.
+        private String readSource() {
+            skipWhitespace();
+            if (peek() != '[') {
+                return readString();
+            }
+            expect('[');
+            var source = new StringBuilder();
+            if (!consume(']')) {
+                do {
+                    source.append(readString());
+                } while (consume(','));
+                expect(']');
+            }
+            return source.toString();
+        }
+
+        /// Returns `metadata.kernelspec.language`, else `metadata.language_info.name`, lower-cased.
+        private String readLanguage() {
+            String kernelLanguage = "";
+            String infoName = "";
+            expect('{');
+            if (!consume('}')) {
+                do {
+                    String key = readString();
+                    expect(':');
+                    switch (key) {
+                        case "kernelspec" -> kernelLanguage = readMember("language");
+                        case "language_info" -> infoName = readMember("name");
+                        default -> skipValue();
+                    }
+                } while (consume(','));
+                expect('}');
+            }
+            return (kernelLanguage.isEmpty() ? infoName : kernelLanguage).toLowerCase(Locale.ROOT);
+        }
+
+        /// Reads an object and returns its string member `name`, or an empty string.
+        private String readMember(String name) {
+            String value = "";
+            skipWhitespace();
+            if (peek() != '{') {
+                skipValue();
+                return value;
+            }
+            expect('{');
+            if (!consume('}')) {
+                do {
+                    String key = readString();
+                    expect(':');
+                    skipWhitespace();
+                    if (key.equals(name) && peek() == '"') {
+                        value = readString();
+                    } else {
+                        skipValue();
+                    }
+                } while (consume(','));
+                expect('}');
+            }
+            return value;
+        }
+
+        /// Skips an array and returns its number of elements.
+        private int skipArray() {
+            expect('[');
+            if (consume(']')) {
+                return 0;
+            }
+            int elements = 0;
+            do {
+                skipValue();
+                elements++;
+            } while (consume(','));
+            expect(']');
+            return elements;
+        }
+
+        private void skipValue() {
+            skipWhitespace();
+            char next = peek();
+            switch (next) {
+                case '"' -> skipString();
+                case '[' -> skipArray();
+                case '{' -> {
+                    expect('{');
+                    if (!consume('}')) {
+                        do {
+                            skipString();
+                            expect(':');
+                            skipValue();
+                        } while (consume(','));
+                        expect('}');
+                    }
+                }
+                default -> {
+                    int start = position;
+                    while (position < json.length() && ",}] \t\r\n".indexOf(json.charAt(position)) < 0) {
+                        position++;
+                    }
+                    if (position == start) {
+                        throw new IllegalArgumentException("Unexpected character at " + position);
+                    }
+                }
+            }
+        }
+
+        private void skipString() {
+            expect('"');
+            while (position < json.length()) {
+                char c = json.charAt(position++);
+                if (c == '\\') {
+                    position++;
+                } else if (c == '"') {
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("Unterminated string");
+        }
+
+        private String readString() {
+            expect('"');
+            var value = new StringBuilder();
+            while (position < json.length()) {
+                char c = json.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (position >= json.length()) {
+                    break;
+                }
+                char escaped = json.charAt(position++);
+                switch (escaped) {
+                    case 'n' -> value.append('\n');
+                    case 't' -> value.append('\t');
+                    case 'r' -> value.append('\r');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'u' -> {
+                        if (position + 4 > json.length()) {
+                            throw new IllegalArgumentException("Truncated unicode escape");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(json, position, position + 4, 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid unicode escape", e);
+                        }
+                        position += 4;
+                    }
+                    default -> value.append(escaped);
+                }
+            }
+            throw new IllegalArgumentException("Unterminated string");
+        }
+
+        private void expect(char expected) {
+            skipWhitespace();
+            if (position >= json.length() || json.charAt(position) != expected) {
+                throw new IllegalArgumentException("Expected '" + expected + "' at " + position);
+            }
+            position++;
+        }
+
+        private boolean consume(char expected) {
+            skipWhitespace();
+            if (position < json.length() && json.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private char peek() {
+            if (position >= json.length()) {
+                throw new IllegalArgumentException("Unexpected end of input");
+            }
+            return json.charAt(position);
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dev.logicojp.reviewer.target;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/// What a reviewer is looking for, used to rank local files when they do not all fit one prompt.
+/// @param key Identifies the reviewer (the agent name) in ranked collection results
+/// @param focusAreas Focus areas of the reviewer; their terms weigh more than the instruction's
+/// @param instruction Free-text instruction of the reviewer (nullable)
+/// @param fileRoutingRules Files the reviewer may receive at all
+public record RelevanceQuery(String key,
+                             List<String> focusAreas,
+                             @Nullable String instruction,
+                             FileRoutingRules fileRoutingRules) {
+
+    private static final double FOCUS_AREA_WEIGHT = 2.0;
+    private static final double INSTRUCTION_WEIGHT = 1.0;
+    /// Template placeholders such as `${repository}` say nothing about the reviewer's interests.
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{[^}]*}");
+
+    public RelevanceQuery {
+        key = key == null ? "" : key;
+        focusAreas = focusAreas == null ? List.of() : List.copyOf(focusAreas);
+        fileRoutingRules = fileRoutingRules == null ? FileRoutingRules.all() : fileRoutingRules;
+    }
+
+    public RelevanceQuery(String key, List<String> focusAreas, @Nullable String instruction) {
+        this(key, focusAreas, instruction, FileRoutingRules.all());
+    }
+
+    /// Returns the query terms with their weights.
+    /// Text containing an expansion phrase also contributes the phrase's code terms, at the
+    /// weight of that text; a term found in several places keeps its highest weight.
+    Map<String, Double> weightedTerms(Map<String, List<String>> expansions) {
+        Map<String, Double> terms = new HashMap<>();
+        for (String focusArea : focusAreas) {
+            addTerms(terms, focusArea, FOCUS_AREA_WEIGHT, expansions);
+        }
+        if (instruction != null) {
+            addTerms(terms, PLACEHOLDER.matcher(instruction).replaceAll(" "), INSTRUCTION_WEIGHT, expansions);
+        }
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Double> terms,
+                                 String text,
+                                 double weight,
+                                 Map<String, List<String>> expansions) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        LocalFileRelevanceIndex.forEachTerm(text, term -> terms.merge(term, weight, Math::max));
+        String lowerText = text.toLowerCase(Locale.ROOT);
+        expansions.forEach((phrase, expansionTerms) -> {
+            if (lowerText.contains(phrase)) {
+                for (String expansionTerm : expansionTerms) {
+                    LocalFileRelevanceIndex.forEachTerm(expansionTerm, term -> terms.merge(term, weight, Math::max));
+                }
+            }
+        });
+    }
+}
@@ -1,25 +1,47 @@
 package dev.logicojp.reviewer.target;
 
+import io.micronaut.core.annotation.Nullable;
+
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
-/// Represents the target to review — either a GitHub repository or a local directory.
+/// Represents the target to review — a GitHub repository, a local directory, a local archive
+/// or a commit of a local git repository.
 ///
 /// Uses Java 21+ sealed interface with record patterns for exhaustive pattern matching:
 /// ```java
 /// return switch (target) {
-///     case ReviewTarget.LocalTarget(Path directory) -> handleLocal(directory);
+///     case ReviewTarget.LocalTarget(Path directory, _) -> handleLocal(directory);
+///     case ReviewTarget.ArchiveTarget(Path archive) -> handleArchive(archive);
+///     case ReviewTarget.CommitTarget(Path directory, String commit) -> handleCommit(directory, commit);
 ///     case ReviewTarget.GitHubTarget(String repository) -> handleGitHub(repository);
 /// };
 /// ```
-public sealed interface ReviewTarget permits ReviewTarget.LocalTarget, ReviewTarget.GitHubTarget {
+public sealed interface ReviewTarget permits ReviewTarget.LocalTarget, ReviewTarget.ArchiveTarget,
+    ReviewTarget.CommitTarget, ReviewTarget.GitHubTarget {
 
     Pattern REPOSITORY_PATTERN = Pattern.compile("^[a-zA-Z0-9._-]+/[a-zA-Z0-9._-]+$");
+    Pattern COMMIT_ID_PATTERN = Pattern.compile("^[0-9a-f]{40}([0-9a-f]{24})?$");
 
     /// A local directory target.
     /// @param directory The absolute path to the local directory to review
-    record LocalTarget(Path directory) implements ReviewTarget {}
+    /// @param changeScope Restricts the review to files changed since a git revision, or null for all files
+    record LocalTarget(Path directory, @Nullable LocalChangeScope changeScope) implements ReviewTarget {
+
+        public LocalTarget(Path directory) {
+            this(directory, null);
+        }
+    }
+
+    /// A local zip or tar archive target, reviewed without extracting it.
+    /// @param archive The absolute path to the archive file
+    record ArchiveTarget(Path archive) implements ReviewTarget {}
+
+    /// A commit of a local git repository, read from the object database without a checkout.
+    /// @param directory The absolute path to a directory inside the repository; only files under it are reviewed
+    /// @param commit The commit id (or revision) to review
+    record CommitTarget(Path directory, String commit) implements ReviewTarget {}
 
     /// A GitHub repository target.
     /// @param repository The repository identifier in "owner/repo" format
@@ -53,37 +75,87 @@ public sealed interface ReviewTarget permits ReviewTarget.LocalTarget, ReviewTar
         return new LocalTarget(directory);
     }
 
+    /// Creates a local directory target restricted to files changed since a git revision.
+    /// @param directory Path to the local directory
+    /// @param changeScope Git change scope
+    /// @return A new LocalTarget
+    static ReviewTarget localChanges(Path directory, LocalChangeScope changeScope) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory must not be null");
+        }
+        if (changeScope == null) {
+            throw new IllegalArgumentException("Change scope must not be null");
+        }
+        return new LocalTarget(directory, changeScope);
+    }
+
+    /// Creates a local archive target.
+    /// @param archive Path to a zip or tar archive
+    /// @return A new ArchiveTarget
+    static ReviewTarget archive(Path archive) {
+        if (archive == null) {
+            throw new IllegalArgumentException("Archive must not be null");
+        }
+        return new ArchiveTarget(archive);
+    }
+
+    /// Creates a target for a commit of the git repository containing `directory`.
+    /// @param directory Path to a directory inside the repository
+    /// @param commit Commit id or revision
+    /// @return A new CommitTarget
+    static ReviewTarget commit(Path directory, String commit) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory must not be null");
+        }
+        if (commit == null || !LocalChangeScope.isValidRevision(commit)) {
+            throw new IllegalArgumentException("Invalid git revision: " + commit);
+        }
+        return new CommitTarget(directory, commit);
+    }
+
     /// Returns a human-readable display name for the target.
     /// For GitHub targets, returns the "owner/repo" string.
-    /// For local targets, returns the directory name or path.
+    /// For local targets, returns the directory or archive file name, or the path.
+    /// For commit targets, returns the directory name followed by `@` and the abbreviated commit.
     default String displayName() {
         return switch (this) {
             case GitHubTarget(String repository) -> repository;
-            case LocalTarget(Path directory) -> directory.getFileName() != null
-                ? directory.getFileName().toString()
-                : directory.toString();
+            case LocalTarget(Path directory, _) -> fileNameOrPath(directory);
+            case ArchiveTarget(Path archive) -> fileNameOrPath(archive);
+            case CommitTarget(Path directory, String commit) -> fileNameOrPath(directory) + "@" + abbreviate(commit);
         };
     }
 
-    /// Returns true if this target is a local directory.
+    /// Returns true if this target is a local directory or archive.
     default boolean isLocal() {
         return switch (this) {
-            case LocalTarget _ -> true;
+            case LocalTarget _, ArchiveTarget _, CommitTarget _ -> true;
             case GitHubTarget _ -> false;
         };
     }
 
-    /// Returns the local path if this is a local target, empty otherwise.
+    /// Returns the local directory or archive path if this is a local target, empty otherwise.
     default Optional<Path> localPath() {
         return switch (this) {
-            case LocalTarget(Path directory) -> Optional.of(directory);
+            case LocalTarget(Path directory, _) -> Optional.of(directory);
+            case ArchiveTarget(Path archive) -> Optional.of(archive);
+            case CommitTarget(Path directory, _) -> Optional.of(directory);
             case GitHubTarget(_) -> Optional.empty();
         };
     }
 
+    /// Returns the git change scope if this is a local target restricted to changed files.
+    default Optional<LocalChangeScope> localChangeScope() {
+        return switch (this) {
+            case LocalTarget(_, LocalChangeScope changeScope) -> Optional.ofNullable(changeScope);
+            case ArchiveTarget _, CommitTarget _, GitHubTarget _ -> Optional.empty();
+        };
+    }
+
     /// Returns the sub-path to use within the output directory for this target.
     /// For GitHub targets, returns "owner/repo" (e.g. "anishi1222/multi-agent-code-reviewer-java").
-    /// For local targets, returns the directory name.
+    /// For local and commit targets, returns the directory name; for archives, the file name without
+    /// its archive suffix.
     /// @throws IllegalArgumentException if the repository name contains path traversal characters
     default Path repositorySubPath() {
         return switch (this) {
@@ -94,13 +166,30 @@ public sealed interface ReviewTarget permits ReviewTarget.LocalTarget, ReviewTar
                 }
                 yield subPath;
             }
-            case LocalTarget(Path directory) -> {
-                Path fileName = directory.getFileName();
-                yield fileName != null ? Path.of(fileName.toString()) : Path.of(directory.toString());
+            case LocalTarget(Path directory, _) -> directorySubPath(directory);
+            case CommitTarget(Path directory, _) -> directorySubPath(directory);
+            case ArchiveTarget(Path archive) -> {
+                Path fileName = archive.getFileName();
+                yield fileName != null
+                    ? Path.of(ArchiveSourceProvider.baseName(fileName.toString()))
+                    : Path.of(archive.toString());
             }
         };
     }
 
+    private static Path directorySubPath(Path directory) {
+        Path fileName = directory.getFileName();
+        return fileName != null ? Path.of(fileName.toString()) : Path.of(directory.toString());
+    }
+
+    private static String abbreviate(String commit) {
+        return COMMIT_ID_PATTERN.matcher(commit).matches() ? commit.substring(0, 12) : commit;
+    }
+
+    private static String fileNameOrPath(Path path) {
+        return path.getFileName() != null ? path.getFileName().toString() : path.toString();
+    }
+
     private static boolean isTraversalSegment(String segment) {
         return ".".equals(segment) || "..".equals(segment);
     }
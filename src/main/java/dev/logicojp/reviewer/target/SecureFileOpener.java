@@ -0,0 +1,154 @@
+package dev.logicojp.reviewer.target;
+
+import io.micronaut.core.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.SecureDirectoryStream;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/// Opens files below a base directory relative to open directory handles, never following
+/// symbolic links, on platforms that provide a {@link SecureDirectoryStream} (`openat`).
+///
+/// Every path segment is opened with `NOFOLLOW_LINKS` relative to its parent's handle, so a file
+/// or directory swapped for a symbolic link after the walk cannot lead outside the base directory,
+/// without resolving the real path of each file. The handles of the last opened directory chain
+/// stay open, so path-ordered reads open each directory once.
+///
+/// Opening is serialized; the returned channels are independent and may be read concurrently.
+final class SecureFileOpener implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecureFileOpener.class);
+
+    private static final SecureFileOpener UNSUPPORTED = new SecureFileOpener(null, null);
+    private static final Set<OpenOption> READ_NO_FOLLOW = Set.of(StandardOpenOption.READ, LinkOption.NOFOLLOW_LINKS);
+
+    private final @Nullable SecureDirectoryStream<Path> root;
+    private final @Nullable FileSystem fileSystem;
+    private final List<String> chainNames = new ArrayList<>();
+    private final List<SecureDirectoryStream<Path>> chain = new ArrayList<>();
+
+    private SecureFileOpener(@Nullable SecureDirectoryStream<Path> root, @Nullable FileSystem fileSystem) {
+        this.root = root;
+        this.fileSystem = fileSystem;
+    }
+
+    /// Opens `directory`, which should be a real path; the returned opener is unsupported when
+    /// the platform has no secure directory streams or the directory cannot be opened.
+    static SecureFileOpener open(Path directory) {
+        try {
+            DirectoryStream<Path> stream = Files.newDirectoryStream(directory);
+            if (stream instanceof SecureDirectoryStream<Path> secure) {
+                return new SecureFileOpener(secure, directory.getFileSystem());
+            }
+            stream.close();
+        } catch (IOException e) {
+            logger.debug("Cannot open {} for handle-relative reads: {}", directory, e.getMessage());
+        }
+        return UNSUPPORTED;
+    }
+
+    /// An opener that opens nothing; callers fall back to path-based checks.
+    static SecureFileOpener unsupported() {
+        return UNSUPPORTED;
+    }
+
+    boolean isSupported() {
+        return root != null;
+    }
+
+    /// Opens the file at `relativePath` (`/`-separated) for reading.
+    /// @return The channel, or `null` when a segment of the path is a symbolic link or the path
+    ///     does not stay below the base directory
+    synchronized @Nullable SeekableByteChannel openFile(String relativePath) throws IOException {
+        if (root == null) {
+            throw new IllegalStateException("Secure directory streams are not supported");
+        }
+        String[] segments = relativePath.split("/");
+        for (String segment : segments) {
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..")) {
+                return null;
+            }
+        }
+        int directories = segments.length - 1;
+        int shared = 0;
+        while (shared < chain.size() && shared < directories && chainNames.get(shared).equals(segments[shared])) {
+            shared++;
+        }
+        closeChainFrom(shared);
+        for (int i = shared; i < directories; i++) {
+            SecureDirectoryStream<Path> parent = i == 0 ? root : chain.get(i - 1);
+            Path name = relative(segments[i]);
+            SecureDirectoryStream<Path> directory;
+            try {
+                directory = parent.newDirectoryStream(name, LinkOption.NOFOLLOW_LINKS);
+            } catch (IOException e) {
+                if (isSymbolicLink(parent, name)) {
+                    return null;
+                }
+                throw e;
+            }
+            chain.add(directory);
+            chainNames.add(segments[i]);
+        }
+        SecureDirectoryStream<Path> directory = directories == 0 ? root : chain.get(directories - 1);
+        Path name = relative(segments[directories]);
+        try {
+            return directory.newByteChannel(name, READ_NO_FOLLOW);
+        } catch (IOException e) {
+            if (isSymbolicLink(directory, name)) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private Path relative(String segment) {
+        return fileSystem.getPath(segment);
+    }
+
+    private static boolean isSymbolicLink(SecureDirectoryStream<Path> directory, Path name) {
+        try {
+            return directory.getFileAttributeView(name, BasicFileAttributeView.class, LinkOption.NOFOLLOW_LINKS)
+                .readAttributes()
+                .isSymbolicLink();
+        } catch (IOException _) {
+            return false;
+        }
+    }
+
+    private void closeChainFrom(int depth) {
+        while (chain.size() > depth) {
+            closeQuietly(chain.removeLast());
+            chainNames.removeLast();
+        }
+    }
+
+    private static void closeQuietly(SecureDirectoryStream<Path> directory) {
+        try {
+            directory.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close directory handle: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closeChainFrom(0);
+        if (root != null) {
+            closeQuietly(root);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package dev.logicojp.reviewer.target;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/// Shrinks source files before they are added to a prompt.
+///
+/// - A leading comment block of at least {@value #MIN_HEADER_LINES} lines (typically a license
+///   header) is kept in the first file of a collection that has it; identical headers in later
+///   files are replaced by a one-line reference to that file.
+/// - Runs of at least {@value #MIN_IMPORT_LINES} top-level import lines are collapsed into one
+///   line. Java-style qualified imports are grouped by package, e.g. `java.util.{List, Map}`.
+/// - Trailing whitespace is removed and line endings are normalized to `\n`.
+///
+/// Every replaced region is marked with the original line range it covered, such as
+/// `// [lines 3-14: 11 imports] ...`, so the original number of any following line can be
+/// derived from the nearest marker. Blank lines are kept for the same reason.
+/// Files with an unknown extension only get the whitespace normalization.
+final class SourceCompactor {
+
+    static final int MIN_HEADER_LINES = 3;
+    static final int MIN_IMPORT_LINES = 3;
+
+    private static final SourceCompactor DISABLED = new SourceCompactor(false);
+
+    private static final Pattern QUALIFIED_IMPORT =
+        Pattern.compile("(?:import|using)\\s+(static\\s+)?([\\w.]+?)(?:\\.([\\w]+|\\*))?\\s*;?");
+    private static final Pattern PYTHON_IMPORT =
+        Pattern.compile("(?:import\\s+[\\w., ]+|from\\s+[\\w.]+\\s+import\\s+[\\w., *]+)");
+    private static final Pattern SCRIPT_IMPORT =
+        Pattern.compile("import\\s+(?:[\\w*{}\\s,$]+\\s+from\\s+)?['\"][^'\"]+['\"]\\s*;?");
+    private static final Pattern RUST_USE =
+        Pattern.compile("(?:pub\\s+)?use\\s+[\\w:{}, *]+;");
+
+    private record Syntax(String lineComment, boolean blockComments, Pattern importLine, boolean qualifiedImports) {
+    }
+
+    private static final Syntax JVM = new Syntax("//", true, QUALIFIED_IMPORT, true);
+    private static final Syntax SCRIPT = new Syntax("//", true, SCRIPT_IMPORT, false);
+    private static final Syntax RUST = new Syntax("//", true, RUST_USE, false);
+    private static final Syntax PYTHON = new Syntax("#", false, PYTHON_IMPORT, false);
+    private static final Syntax C_LIKE = new Syntax("//", true, null, false);
+    private static final Syntax HASH_COMMENTS = new Syntax("#", false, null, false);
+    private static final Syntax DASH_COMMENTS = new Syntax("--", false, null, false);
+
+    private static final Map<String, Syntax> SYNTAX_BY_EXTENSION = Map.ofEntries(
+        Map.entry("java", JVM), Map.entry("kt", JVM), Map.entry("kts", JVM),
+        Map.entry("scala", JVM), Map.entry("groovy", JVM), Map.entry("cs", JVM),
+        Map.entry("js", SCRIPT), Map.entry("jsx", SCRIPT), Map.entry("mjs", SCRIPT),
+        Map.entry("cjs", SCRIPT), Map.entry("ts", SCRIPT), Map.entry("tsx", SCRIPT),
+        Map.entry("rs", RUST),
+        Map.entry("py", PYTHON),
+        Map.entry("c", C_LIKE), Map.entry("h", C_LIKE), Map.entry("cc", C_LIKE),
+        Map.entry("cpp", C_LIKE), Map.entry("hpp", C_LIKE), Map.entry("go", C_LIKE),
+        Map.entry("swift", C_LIKE), Map.entry("php", C_LIKE),
+        Map.entry("rb", HASH_COMMENTS), Map.entry("sh", HASH_COMMENTS), Map.entry("bash", HASH_COMMENTS),
+        Map.entry("yml", HASH_COMMENTS), Map.entry("yaml", HASH_COMMENTS), Map.entry("toml", HASH_COMMENTS),
+        Map.entry("sql", DASH_COMMENTS), Map.entry("lua", DASH_COMMENTS)
+    );
+
+    private final boolean enabled;
+
+    SourceCompactor() {
+        this(true);
+    }
+
+    private SourceCompactor(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /// A compactor that returns every file unchanged.
+    static SourceCompactor disabled() {
+        return DISABLED;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /// Starts the compaction of one collection; headers are deduplicated within a session.
+    Session newSession() {
+        return new Session(enabled);
+    }
+
+    /// Returns the UTF-8 encoded length of `text` without encoding it.
+    static long utf8Length(CharSequence text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /// Compaction state of one collection. Files must be compacted in the order they are
+    /// emitted, so that the first file with a header keeps it. Not thread-safe.
+    static final class Session {
+
+        private final boolean enabled;
+        private final Map<String, String> firstPathByHeader = new HashMap<>();
+
+        private Session(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        String compact(String relativePath, String content) {
+            if (!enabled) {
+                return content;
+            }
+            String[] lines = content.split("\n", -1);
+            for (int i = 0; i < lines.length; i++) {
+                lines[i] = lines[i].stripTrailing();
+            }
+            Syntax syntax = syntaxOf(relativePath);
+            List<String> output = new ArrayList<>(lines.length);
+            int index = 0;
+            if (syntax != null) {
+                if (lines[0].startsWith("#!")) {
+                    output.add(lines[0]);
+                    index = 1;
+                }
+                index = compactHeader(relativePath, lines, index, syntax, output);
+            }
+            while (index < lines.length) {
+                int importEnd = syntax != null && syntax.importLine() != null
+                    ? importRunEnd(lines, index, syntax)
+                    : -1;
+                if (importEnd > 0) {
+                    output.add(importsMarker(lines, index, importEnd, syntax));
+                    index = importEnd;
+                } else {
+                    output.add(lines[index]);
+                    index++;
+                }
+            }
+            return String.join("\n", output);
+        }
+
+        /// Replaces a header already emitted by an earlier file and returns the next line index.
+        private int compactHeader(String relativePath, String[] lines, int start, Syntax syntax, List<String> output) {
+            int end = headerEnd(lines, start, syntax);
+            if (end - start < MIN_HEADER_LINES) {
+                return start;
+            }
+            String header = String.join("\n", List.of(lines).subList(start, end));
+            String firstPath = firstPathByHeader.putIfAbsent(header, relativePath);
+            if (firstPath == null) {
+                return start;
+            }
+            String note = "[" + lineRange(start, end) + ": same header as " + firstPath + "]";
+            output.add(lines[start].stripLeading().startsWith("/*")
+                ? "/* " + note + " */"
+                : syntax.lineComment() + " " + note);
+            return end;
+        }
+    }
+
+    /// Returns the line comment prefix of the file's language, or `null` for unknown extensions.
+    static String lineCommentOf(String relativePath) {
+        Syntax syntax = syntaxOf(relativePath);
+        return syntax != null ? syntax.lineComment() : null;
+    }
+
+    private static Syntax syntaxOf(String relativePath) {
+        String name = relativePath.substring(relativePath.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? null : SYNTAX_BY_EXTENSION.get(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /// Returns the exclusive end of the comment block starting at `start`, or `start` when
+    /// there is none. A block comment followed by code on its closing line is not a header.
+    private static int headerEnd(String[] lines, int start, Syntax syntax) {
+        if (start >= lines.length) {
+            return start;
+        }
+        String first = lines[start].stripLeading();
+        if (syntax.blockComments() && first.startsWith("/*")) {
+            int searchFrom = lines[start].indexOf("/*") + 2;
+            for (int i = start; i < lines.length; i++) {
+                int close = lines[i].indexOf("*/", i == start ? searchFrom : 0);
+                if (close >= 0) {
+                    return lines[i].substring(close + 2).isBlank() ? i + 1 : start;
+                }
+            }
+            return start;
+        }
+        int end = start;
+        while (end < lines.length && lines[end].stripLeading().startsWith(syntax.lineComment())) {
+            end++;
+        }
+        return end;
+    }
+
+    /// Returns the exclusive end of an import run starting at `start`, or -1 when the run is
+    /// shorter than {@value #MIN_IMPORT_LINES} imports. Blank lines inside a run belong to it.
+    private static int importRunEnd(String[] lines, int start, Syntax syntax) {
+        if (!isImport(lines[start], syntax)) {
+            return -1;
+        }
+        int imports = 0;
+        int end = start;
+        for (int i = start; i < lines.length; i++) {
+            if (isImport(lines[i], syntax)) {
+                imports++;
+                end = i + 1;
+            } else if (!lines[i].isEmpty()) {
+                break;
+            }
+        }
+        return imports >= MIN_IMPORT_LINES ? end : -1;
+    }
+
+    /// Only top-level imports are collapsed; indented ones may be significant in Python.
+    private static boolean isImport(String line, Syntax syntax) {
+        return !line.isEmpty()
+            && !Character.isWhitespace(line.charAt(0))
+            && syntax.importLine().matcher(line).matches();
+    }
+
+    private static String importsMarker(String[] lines, int start, int end, Syntax syntax) {
+        List<String> imports = new ArrayList<>();
+        for (int i = start; i < end; i++) {
+            if (!lines[i].isEmpty()) {
+                imports.add(lines[i]);
+            }
+        }
+        String summary = syntax.qualifiedImports()
+            ? groupQualifiedImports(imports)
+            : String.join("; ", imports.stream().map(SourceCompactor::stripSemicolon).toList());
+        return syntax.lineComment() + " [" + lineRange(start, end) + ": " + imports.size() + " imports] " + summary;
+    }
+
+    /// Groups `import a.b.C;` lines by their package: `a.b.{C, D}`, keeping first-seen order.
+    private static String groupQualifiedImports(List<String> imports) {
+        Map<String, List<String>> namesByPackage = new LinkedHashMap<>();
+        for (String line : imports) {
+            Matcher matcher = QUALIFIED_IMPORT.matcher(line);
+            if (!matcher.matches()) {
+                continue;
+            }
+            String prefix = matcher.group(1) != null ? "static " : "";
+            String packageName = matcher.group(3) != null ? matcher.group(2) : "";
+            String name = matcher.group(3) != null ? matcher.group(3) : matcher.group(2);
+            namesByPackage.computeIfAbsent(prefix + packageName, _ -> new ArrayList<>()).add(name);
+        }
+        List<String> groups = new ArrayList<>(namesByPackage.size());
+        for (Map.Entry<String, List<String>> entry : namesByPackage.entrySet()) {
+            String packageName = entry.getKey();
+            List<String> names = entry.getValue();
+            String qualifier = packageName.isEmpty() || packageName.equals("static ") ? packageName : packageName + ".";
+            groups.add(names.size() == 1
+                ? qualifier + names.getFirst()
+                : qualifier + "{" + String.join(", ", names) + "}");
+        }
+        return String.join(", ", groups);
+    }
+
+    private static String stripSemicolon(String statement) {
+        return statement.endsWith(";") ? statement.substring(0, statement.length() - 1) : statement;
+    }
+
+    /// Formats the 1-based, inclusive line range of the 0-based, exclusive `[start, end)`.
+    static String lineRange(int start, int end) {
+        return end - start == 1 ? "line " + (start + 1) : "lines " + (start + 1) + "-" + end;
+    }
+}
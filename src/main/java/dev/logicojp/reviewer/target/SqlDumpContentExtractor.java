@@ -0,0 +1,133 @@
+package dev.logicojp.reviewer.target;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/// Keeps the schema of a SQL file and samples its data.
+///
+/// DDL, comments and all other statements are kept. Of the `INSERT`/`REPLACE` statements into
+/// a table, the first {@value #SAMPLE_ROWS} are kept and the rest dropped; the rows of a
+/// `COPY ... FROM stdin` block (`pg_dump`) are sampled the same way. Kept lines longer than
+/// {@value #MAX_LINE_LENGTH} characters, typically multi-row inserts, are cut off. Every dropped
+/// run is replaced by a marker with its original line range, such as
+/// `-- [lines 40-1200: 1161 more rows into users]`. Hand-written migrations with a few rows per
+/// table come out unchanged.
+final class SqlDumpContentExtractor implements ContentExtractor {
+
+    static final int SAMPLE_ROWS = 3;
+    static final int MAX_LINE_LENGTH = 1_000;
+
+    private static final Pattern INSERT =
+        Pattern.compile("(?i)\\s*(?:INSERT|REPLACE)\\s+(?:IGNORE\\s+)?INTO\\s+([^\\s(]+).*");
+    private static final Pattern COPY_FROM_STDIN =
+        Pattern.compile("(?i)\\s*COPY\\s+([^\\s(]+).*\\bFROM\\s+stdin.*");
+
+    @Override
+    public Set<String> extensions() {
+        return Set.of("sql");
+    }
+
+    @Override
+    public String extract(String relativePath, String content) {
+        String[] lines = content.split("\n", -1);
+        var extracted = new StringBuilder(Math.min(content.length(), 64 * 1024));
+        Map<String, Integer> insertsByTable = new HashMap<>();
+        boolean changed = false;
+        int i = 0;
+        while (i < lines.length) {
+            String line = lines[i];
+            Matcher copy = COPY_FROM_STDIN.matcher(line);
+            if (copy.matches()) {
+                changed |= appendLine(extracted, line);
+                int rows = 0;
+                int end = i + 1;
+                while (end < lines.length && !lines[end].equals("\\.")) {
+                    if (rows < SAMPLE_ROWS) {
+                        changed |= appendLine(extracted, lines[end]);
+                    }
+                    rows++;
+                    end++;
+                }
+                if (rows > SAMPLE_ROWS) {
+                    appendMarker(extracted, i + 2 + SAMPLE_ROWS, end, rows - SAMPLE_ROWS, unquote(copy.group(1)));
+                    changed = true;
+                }
+                i = end;
+                continue;
+            }
+            Matcher insert = INSERT.matcher(line);
+            if (!insert.matches()) {
+                changed |= appendLine(extracted, line);
+                i++;
+                continue;
+            }
+            String table = unquote(insert.group(1));
+            int start = i;
+            int dropped = 0;
+            while (i < lines.length) {
+                Matcher next = INSERT.matcher(lines[i]);
+                if (!next.matches() || !unquote(next.group(1)).equals(table)) {
+                    break;
+                }
+                int statementEnd = statementEnd(lines, i);
+                if (insertsByTable.merge(table, 1, Integer::sum) <= SAMPLE_ROWS) {
+                    if (dropped > 0) {
+                        appendMarker(extracted, start + 1, i, dropped, table);
+                        dropped = 0;
+                    }
+                    for (int j = i; j <= statementEnd; j++) {
+                        changed |= appendLine(extracted, lines[j]);
+                    }
+                    start = statementEnd + 1;
+                } else {
+                    dropped++;
+                }
+                i = statementEnd + 1;
+            }
+            if (dropped > 0) {
+                appendMarker(extracted, start + 1, i, dropped, table);
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return content;
+        }
+        // The split keeps a trailing empty element, so the loop appended one newline too many.
+        extracted.setLength(extracted.length() - 1);
+        return extracted.toString();
+    }
+
+    /// Returns the index of the last line of the statement starting at `start`.
+    private static int statementEnd(String[] lines, int start) {
+        int end = start;
+        while (end < lines.length - 1 && !lines[end].stripTrailing().endsWith(";")) {
+            end++;
+        }
+        return end;
+    }
+
+    /// Appends a line, cut off when too long; returns whether it was cut.
+    private static boolean appendLine(StringBuilder extracted, String line) {
+        if (line.length() <= MAX_LINE_LENGTH) {
+            extracted.append(line).append('\n');
+            return false;
+        }
+        extracted.append(line, 0, MAX_LINE_LENGTH)
+            .append(" -- [").append(line.length() - MAX_LINE_LENGTH).append(" more characters]\n");
+        return true;
+    }
+
+    /// Marks the dropped 1-based lines `firstLine`..`lastLine`.
+    private static void appendMarker(StringBuilder extracted, int firstLine, int lastLine, int rows, String table) {
+        extracted.append("-- [lines ").append(firstLine).append('-').append(lastLine).append(": ")
+            .append(rows).append(" more rows into ").append(table).append("]\n");
+    }
+
+    private static String unquote(String table) {
+        return table.replaceAll("[`\"\\[\\]]", "").toLowerCase(Locale.ROOT);
+    }
+}
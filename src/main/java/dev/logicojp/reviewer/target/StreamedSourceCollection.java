@@ -0,0 +1,162 @@
+package dev.logicojp.reviewer.target;
+
+import dev.logicojp.reviewer.util.TokenEstimator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/// Selects and formats source files that are read as streams instead of from a directory
+/// (archive entries, git blobs), in the order they are offered.
+///
+/// Offered paths pass the same filters as the files of a local directory, and accepted content
+/// is charged against the `maxFileSize`, `maxTotalSize` and `maxTotalTokens` budgets; the first
+/// file that does not fit ends the collection. Files over `maxFileSize` are replaced by their
+/// {@link LargeFileExcerpter} excerpt when excerpting is enabled, after data-heavy formats are
+/// reduced by the {@link ContentExtractors}. Used for a single collection.
+final class StreamedSourceCollection {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamedSourceCollection.class);
+
+    private final LocalFileSelectionConfig selectionConfig;
+    private final int maxTotalTokens;
+    private final LocalFileContentFormatter contentFormatter;
+    private final SourceCompactor sourceCompactor;
+    private final SourceCompactor.Session compaction;
+    private final LargeFileExcerpter largeFileExcerpter;
+    private final ContentExtractors contentExtractors;
+    private final Predicate<String> routing;
+    private final String sourceDescription;
+    private final StringBuilder reviewContent = new StringBuilder();
+    private final StringBuilder fileList = new StringBuilder();
+    private final byte[] headBuffer = new byte[GeneratedSourceDetector.SNIFF_LENGTH];
+    private long totalSize;
+    private long totalTokens;
+    private int fileCount;
+
+    /// @param routing Predicate over relative paths from the agent's file routing rules
+    /// @param sourceDescription Names the source in log messages (e.g. `archive /tmp/app.zip`)
+    StreamedSourceCollection(LocalFileSelectionConfig selectionConfig,
+                             int maxTotalTokens,
+                             LocalFileContentFormatter contentFormatter,
+                             SourceCompactor sourceCompactor,
+                             Predicate<String> routing,
+                             String sourceDescription) {
+        this.selectionConfig = selectionConfig;
+        this.maxTotalTokens = maxTotalTokens;
+        this.contentFormatter = contentFormatter;
+        this.sourceCompactor = sourceCompactor;
+        this.compaction = sourceCompactor.newSession();
+        this.largeFileExcerpter = selectionConfig.largeFileExcerpter();
+        this.contentExtractors = selectionConfig.contentExtractors();
+        this.routing = routing;
+        this.sourceDescription = sourceDescription;
+    }
+
+    static LocalFileProvider.CollectionResult noSourceFilesResult(LocalFileContentFormatter contentFormatter) {
+        return new LocalFileProvider.CollectionResult("(no source files found)",
+            contentFormatter.noSourceFilesSummary(), 0, 0);
+    }
+
+    /// Applies the path filters and the per-file size limit to a file.
+    /// @param relativePath `/`-separated path relative to the source root
+    /// @param size File size from the source's index, or -1 when unknown
+    /// @return The path if the file should be read
+    Optional<String> select(String relativePath, long size) {
+        String lowerPath = relativePath.toLowerCase(Locale.ROOT);
+        String[] segments = lowerPath.split("/");
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (selectionConfig.ignoredDirectories().contains(segments[i])) {
+                return Optional.empty();
+            }
+        }
+        String fileName = segments[segments.length - 1];
+        if (!selectionConfig.isSourceFileName(fileName) || selectionConfig.isSensitiveFileName(fileName)) {
+            return Optional.empty();
+        }
+        if (selectionConfig.generatedSourceDetector().isGeneratedPath(lowerPath)) {
+            logger.debug("Skipping generated or vendored file: {}", relativePath);
+            return Optional.empty();
+        }
+        if (size > selectionConfig.maxFileSize() && !largeFileExcerpter.canExcerpt(size)) {
+            logger.debug("Skipping large file ({} bytes): {}", size, relativePath);
+            return Optional.empty();
+        }
+        return routing.test(relativePath) ? Optional.of(relativePath) : Optional.empty();
+    }
+
+    /// Reads a selected file and appends it; returns false when it does not fit the remaining
+    /// budget and collection stops. Reads at most one byte more than the largest readable file.
+    boolean accept(String relativePath, InputStream in) throws IOException {
+        int headLength = in.readNBytes(headBuffer, 0, headBuffer.length);
+        String head = new String(headBuffer, 0, headLength, StandardCharsets.UTF_8);
+        boolean extracted = contentExtractors.supports(relativePath);
+        Optional<GeneratedSourceDetector.Kind> detected = selectionConfig.generatedSourceDetector().sniff(head)
+            .filter(kind -> !extracted || kind != GeneratedSourceDetector.Kind.MINIFIED);
+        if (detected.isPresent()) {
+            logger.debug("Skipping {} file: {}", detected.get().label(), relativePath);
+            return true;
+        }
+        long maxReadSize = largeFileExcerpter.isEnabled()
+            ? largeFileExcerpter.maxSourceSize()
+            : selectionConfig.maxFileSize();
+        byte[] rest = in.readNBytes((int) Math.min(maxReadSize - headLength + 1, Integer.MAX_VALUE - headLength));
+        long size = (long) headLength + rest.length;
+        if (size > maxReadSize) {
+            logger.debug("Skipping large file (over {} bytes): {}", maxReadSize, relativePath);
+            return true;
+        }
+        String content = rest.length == 0 ? head : decode(headLength, rest);
+        Optional<String> extractedContent = contentExtractors.extract(relativePath, content);
+        if (extractedContent.isPresent() && !extractedContent.get().equals(content)) {
+            content = extractedContent.get();
+            size = SourceCompactor.utf8Length(content);
+        }
+        if (size > selectionConfig.maxFileSize() && largeFileExcerpter.isEnabled()) {
+            // Excerpt markers refer to original line numbers, so excerpts are not compacted.
+            content = largeFileExcerpter.excerpt(relativePath, content);
+            logger.debug("Excerpted large file ({} bytes): {}", size, relativePath);
+            size = SourceCompactor.utf8Length(content);
+        } else if (sourceCompactor.isEnabled()) {
+            content = compaction.compact(relativePath, content);
+            size = SourceCompactor.utf8Length(content);
+        }
+        if (totalSize + size > selectionConfig.maxTotalSize()) {
+            logger.warn("Total content size limit reached ({} bytes). Stopping collection.", totalSize);
+            return false;
+        }
+        int tokens = maxTotalTokens > 0 ? TokenEstimator.estimate(content) : 0;
+        if (maxTotalTokens > 0 && totalTokens + tokens > maxTotalTokens) {
+            logger.warn("Token budget reached (~{} of {} tokens). Stopping collection.", totalTokens, maxTotalTokens);
+            return false;
+        }
+        contentFormatter.appendFileBlock(reviewContent, relativePath, content);
+        fileList.append("  - ").append(relativePath).append(" (").append(size).append(" bytes)\n");
+        totalSize += size;
+        totalTokens += tokens;
+        fileCount++;
+        return true;
+    }
+
+    /// Decodes head and rest together so a character split at the head boundary stays intact.
+    private String decode(int headLength, byte[] rest) {
+        byte[] bytes = new byte[headLength + rest.length];
+        System.arraycopy(headBuffer, 0, bytes, 0, headLength);
+        System.arraycopy(rest, 0, bytes, headLength, rest.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    LocalFileProvider.CollectionResult result() {
+        logger.info("Collected {} source files ({} bytes) from {}", fileCount, totalSize, sourceDescription);
+        if (fileCount == 0) {
+            return noSourceFilesResult(contentFormatter);
+        }
+        return new LocalFileProvider.CollectionResult(reviewContent.toString(),
+            contentFormatter.generateDirectorySummary(fileCount, totalSize, fileList), fileCount, totalSize);
+    }
+}
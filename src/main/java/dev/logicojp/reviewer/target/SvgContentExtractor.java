@@ -0,0 +1,48 @@
+package dev.logicojp.reviewer.target;
+
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/// Keeps the element structure of an SVG image and shortens its geometry and embedded data.
+///
+/// Attribute values longer than {@value #MAX_ATTRIBUTE_LENGTH} characters — path data (`d`),
+/// `points` lists, `data:` URIs of embedded images — keep their first
+/// {@value #KEPT_ATTRIBUTE_PREFIX} characters followed by `…[N more characters]`. Elements,
+/// ids, classes, styles, scripts and links are kept, which is what a review looks at.
+final class SvgContentExtractor implements ContentExtractor {
+
+    static final int MAX_ATTRIBUTE_LENGTH = 200;
+    static final int KEPT_ATTRIBUTE_PREFIX = 48;
+
+    private static final Pattern ATTRIBUTE = Pattern.compile("(\\s[\\w:.-]+\\s*=\\s*)([\"'])(.*?)\\2", Pattern.DOTALL);
+
+    @Override
+    public Set<String> extensions() {
+        return Set.of("svg");
+    }
+
+    @Override
+    public String extract(String relativePath, String content) {
+        Matcher attribute = ATTRIBUTE.matcher(content);
+        StringBuilder extracted = null;
+        int copied = 0;
+        while (attribute.find()) {
+            String value = attribute.group(3);
+            if (value.length() <= MAX_ATTRIBUTE_LENGTH) {
+                continue;
+            }
+            if (extracted == null) {
+                extracted = new StringBuilder(content.length() / 2);
+            }
+            extracted.append(content, copied, attribute.start(3))
+                .append(value, 0, KEPT_ATTRIBUTE_PREFIX)
+                .append("…[").append(value.length() - KEPT_ATTRIBUTE_PREFIX).append(" more characters]");
+            copied = attribute.end(3);
+        }
+        if (extracted == null) {
+            return content;
+        }
+        return extracted.append(content, copied, content.length()).toString();
+    }
+}
@@ -0,0 +1,215 @@
+package dev.logicojp.reviewer.target;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/// Streams the entries of a tar archive (ustar, GNU long names and pax `path`/`size` records).
+///
+/// Only the entry headers are parsed; the content of the current entry is exposed through
+/// {@link #content()} and whatever is left unread is skipped by the next {@link #next()} call,
+/// so the archive is read exactly once and never extracted. The reader does not close the
+/// underlying stream.
+final class TarEntryReader {
+
+    static final int BLOCK_SIZE = 512;
+
+    private static final int NAME_OFFSET = 0;
+    private static final int NAME_LENGTH = 100;
+    private static final int SIZE_OFFSET = 124;
+    private static final int SIZE_LENGTH = 12;
+    private static final int TYPE_OFFSET = 156;
+    private static final int MAGIC_OFFSET = 257;
+    private static final int PREFIX_OFFSET = 345;
+    private static final int PREFIX_LENGTH = 155;
+
+    /// Largest GNU long-name or pax header accepted; larger ones indicate a corrupt archive.
+    private static final int MAX_EXTENDED_HEADER_SIZE = 1024 * 1024;
+
+    /// A tar entry header.
+    /// @param name Entry path as stored in the archive
+    /// @param size Content size in bytes
+    /// @param regularFile Whether the entry is a regular file (not a directory, link or device)
+    record Entry(String name, long size, boolean regularFile) {}
+
+    private final InputStream in;
+    private final byte[] header = new byte[BLOCK_SIZE];
+    private long remaining;
+    private long padding;
+
+    TarEntryReader(InputStream in) {
+        this.in = in;
+    }
+
+    /// Advances to the next entry, skipping the rest of the current one.
+    /// @return The next entry, or null at the end of the archive
+    @Nullable Entry next() throws IOException {
+        skipCurrent();
+        String longName = null;
+        long paxSize = -1;
+        while (true) {
+            if (!readHeader()) {
+                return null;
+            }
+            long size = parseSize();
+            char type = (char) header[TYPE_OFFSET];
+            switch (type) {
+                case 'L' -> {
+                    longName = trimNul(readExtendedHeader(size));
+                    continue;
+                }
+                case 'x' -> {
+                    String records = readExtendedHeader(size);
+                    String paxPath = paxValue(records, "path");
+                    if (paxPath != null) {
+                        longName = paxPath;
+                    }
+                    String paxSizeValue = paxValue(records, "size");
+                    if (paxSizeValue != null) {
+                        paxSize = Long.parseLong(paxSizeValue);
+                    }
+                    continue;
+                }
+                case 'g' -> {
+                    startEntry(size);
+                    skipCurrent();
+                    continue;
+                }
+                default -> {
+                }
+            }
+            long entrySize = paxSize >= 0 ? paxSize : size;
+            startEntry(entrySize);
+            String name = longName != null ? longName : headerName();
+            return new Entry(name, entrySize, type == '0' || type == '\0' || type == '7');
+        }
+    }
+
+    /// Returns the content of the current entry; reading stops at the end of the entry.
+    InputStream content() {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int value = in.read();
+                if (value < 0) {
+                    throw new EOFException("Truncated tar entry");
+                }
+                remaining--;
+                return value;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+                if (read < 0) {
+                    throw new EOFException("Truncated tar entry");
+                }
+                remaining -= read;
+                return read;
+            }
+        };
+    }
+
+    private void startEntry(long size) {
+        remaining = size;
+        padding = (BLOCK_SIZE - size % BLOCK_SIZE) % BLOCK_SIZE;
+    }
+
+    private void skipCurrent() throws IOException {
+        in.skipNBytes(remaining + padding);
+        remaining = 0;
+        padding = 0;
+    }
+
+    /// Reads the next header block; an all-zero block (or the end of the stream) ends the archive.
+    private boolean readHeader() throws IOException {
+        int read = in.readNBytes(header, 0, BLOCK_SIZE);
+        if (read == 0) {
+            return false;
+        }
+        if (read < BLOCK_SIZE) {
+            throw new EOFException("Truncated tar header");
+        }
+        for (byte b : header) {
+            if (b != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String readExtendedHeader(long size) throws IOException {
+        if (size < 0 || size > MAX_EXTENDED_HEADER_SIZE) {
+            throw new IOException("Unsupported tar extended header size: " + size);
+        }
+        startEntry(size);
+        byte[] data = content().readNBytes((int) size);
+        skipCurrent();
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    private String headerName() {
+        String name = field(NAME_OFFSET, NAME_LENGTH);
+        if (field(MAGIC_OFFSET, 5).equals("ustar")) {
+            String prefix = field(PREFIX_OFFSET, PREFIX_LENGTH);
+            if (!prefix.isEmpty()) {
+                return prefix + "/" + name;
+            }
+        }
+        return name;
+    }
+
+    /// Parses the octal size field, or the base-256 form GNU tar uses for entries over 8 GiB.
+    private long parseSize() throws IOException {
+        if ((header[SIZE_OFFSET] & 0x80) != 0) {
+            long size = 0;
+            for (int i = SIZE_OFFSET + 1; i < SIZE_OFFSET + SIZE_LENGTH; i++) {
+                size = (size << 8) | (header[i] & 0xff);
+            }
+            return size;
+        }
+        String octal = field(SIZE_OFFSET, SIZE_LENGTH).trim();
+        if (octal.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(octal, 8);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid tar entry size: " + octal, e);
+        }
+    }
+
+    private String field(int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static String trimNul(String value) {
+        int nul = value.indexOf('\0');
+        return nul >= 0 ? value.substring(0, nul) : value;
+    }
+
+    /// Returns the value of `key` among pax records of the form `<length> <key>=<value>\n`.
+    private static @Nullable String paxValue(String records, String key) {
+        String marker = " " + key + "=";
+        for (String line : records.split("\n")) {
+            int start = line.indexOf(marker);
+            if (start >= 0) {
+                return line.substring(start + marker.length());
+            }
+        }
+        return null;
+    }
+}
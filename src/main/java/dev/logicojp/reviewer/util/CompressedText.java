@@ -0,0 +1,117 @@
+package dev.logicojp.reviewer.util;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/// A large, long-lived text kept deflate-compressed in off-heap memory.
+///
+/// Precomputed local sources live for the whole run but are only needed while an agent builds
+/// its prompt. Storing them compressed outside the Java heap keeps them out of the old
+/// generation; {@link #decompress()} recreates the `String` on demand. While any caller still
+/// holds a decompressed copy, concurrent callers share it instead of inflating their own.
+///
+/// The native memory belongs to an automatic arena and is released once the instance becomes
+/// unreachable. Length and token estimate are recorded at compression time, so they are
+/// available without decompressing.
+public final class CompressedText {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MemorySegment compressed;
+    private final int utf8Length;
+    private final int length;
+    private final int estimatedTokens;
+    private WeakReference<String> decompressed = new WeakReference<>(null);
+
+    private CompressedText(MemorySegment compressed, int utf8Length, int length, int estimatedTokens) {
+        this.compressed = compressed;
+        this.utf8Length = utf8Length;
+        this.length = length;
+        this.estimatedTokens = estimatedTokens;
+    }
+
+    public static CompressedText compress(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        var deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+            var output = new ByteArrayOutputStream(Math.max(utf8.length / 4, 64));
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(buffer);
+                output.write(buffer, 0, written);
+            }
+            byte[] bytes = output.toByteArray();
+            MemorySegment segment = Arena.ofAuto().allocate(Math.max(bytes.length, 1));
+            MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, 0, bytes.length);
+            return new CompressedText(segment.asSlice(0, bytes.length), utf8.length, text.length(),
+                TokenEstimator.estimate(text));
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /// Returns the original text, sharing a copy that another caller still holds if there is one.
+    public synchronized String decompress() {
+        String text = decompressed.get();
+        if (text == null) {
+            text = inflate();
+            decompressed = new WeakReference<>(text);
+        }
+        return text;
+    }
+
+    /// Length of the original text in chars.
+    public int length() {
+        return length;
+    }
+
+    /// Size of the compressed form in bytes.
+    public long compressedSize() {
+        return compressed.byteSize();
+    }
+
+    /// Token estimate of the original text, computed once at compression time.
+    public int estimatedTokens() {
+        return estimatedTokens;
+    }
+
+    private String inflate() {
+        var inflater = new Inflater();
+        try {
+            inflater.setInput(compressed.asByteBuffer());
+            byte[] utf8 = new byte[utf8Length];
+            int offset = 0;
+            while (offset < utf8Length && !inflater.finished()) {
+                int read = inflater.inflate(ByteBuffer.wrap(utf8, offset, utf8Length - offset));
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += read;
+            }
+            if (offset != utf8Length) {
+                throw new IllegalStateException(
+                    "Compressed text is truncated: " + offset + " of " + utf8Length + " bytes");
+            }
+            return new String(utf8, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed text is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedText[" + length + " chars, " + compressedSize() + " bytes compressed]";
+    }
+}
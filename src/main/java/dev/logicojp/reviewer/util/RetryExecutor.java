@@ -99,6 +99,10 @@ public final class RetryExecutor<T> {
 
                 observer.onFinalResultFailure(attempt, totalAttempts, result, retryable);
                 return result;
+            } catch (InterruptedException e) {
+                // Cancelled, not failed: stop without retrying or tripping the breaker.
+                Thread.currentThread().interrupt();
+                return exceptionMapper.map(e);
             } catch (Exception e) {
                 T mapped = exceptionMapper.map(e);
                 circuitBreaker.onFailure();
@@ -5,10 +5,19 @@ import java.util.Locale;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
 
 /// Shared retry policy helpers (transient-fault detection and backoff calculation).
 public final class RetryPolicyUtils {
 
+    private static final String[] CONTEXT_OVERFLOW_MARKERS = {
+        "context window", "context length", "context_length_exceeded", "maximum context",
+        "prompt is too long", "too many tokens"
+    };
+
+    /// HTTP status codes of an overloaded service, as whole numbers so token counts do not match.
+    private static final Pattern OVERLOAD_STATUS_PATTERN = Pattern.compile("\\b(?:429|503)\\b");
+
     private RetryPolicyUtils() {
     }
 
@@ -58,10 +67,34 @@ public final class RetryPolicyUtils {
             "invalid model", "bad request", "400", "401", "403", "404")) {
             return false;
         }
+        // A prompt that overflows the context window fails identically on every attempt.
+        if (containsAny(lower, CONTEXT_OVERFLOW_MARKERS)) {
+            return false;
+        }
 
         return !containsAny(lower, additionalNonRetryableMarkers);
     }
 
+    /// Whether a failure message signals an overloaded service (rate limiting, unavailability or a
+    /// timeout) rather than a problem with the request itself. A prompt that overflows the context
+    /// window is a problem with the request, whatever numbers its message contains.
+    public static boolean isOverloadMessage(String message) {
+        if (message == null || message.isBlank()) {
+            return false;
+        }
+        String lower = message.toLowerCase(Locale.ROOT);
+        if (containsAny(lower, CONTEXT_OVERFLOW_MARKERS)) {
+            return false;
+        }
+        return containsAny(lower,
+            "rate limit",
+            "too many requests",
+            "overloaded",
+            "timeout",
+            "timed out"
+        ) || OVERLOAD_STATUS_PATTERN.matcher(lower).find();
+    }
+
     private static Throwable unwrap(Throwable throwable) {
         if (throwable instanceof ExecutionException executionException && executionException.getCause() != null) {
             return executionException.getCause();
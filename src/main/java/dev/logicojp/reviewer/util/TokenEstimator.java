@@ -0,0 +1,160 @@
+package dev.logicojp.reviewer.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/// Offline estimate of how many model tokens a text occupies.
+///
+/// Mirrors the pre-tokenization step of BPE tokenizers instead of dividing a byte count:
+/// the text is split into letter, digit, whitespace, punctuation and CJK pieces, and each
+/// piece is charged the typical number of tokens such a piece merges into. As in BPE
+/// vocabularies, a single space is merged into the word that follows it. ASCII Java
+/// averages about four characters per token, while Japanese comments cost roughly one
+/// token per character, so the estimate tracks both far better than a bytes/4 rule.
+///
+/// Estimates for large texts are cached by the SHA-256 digest of their content, because the
+/// same shared source prompt is measured once per agent.
+public final class TokenEstimator {
+
+    private static final int LETTERS_PER_TOKEN = 4;
+    private static final int NON_ASCII_LETTERS_PER_TOKEN = 2;
+    private static final int DIGITS_PER_TOKEN = 3;
+    private static final int WHITESPACE_PER_TOKEN = 8;
+
+    private static final int CACHE_MIN_LENGTH = 4096;
+    private static final int MAX_CACHE_SIZE = 256;
+
+    private static final Cache<String, Integer> ESTIMATE_CACHE = Caffeine.newBuilder()
+        .maximumSize(MAX_CACHE_SIZE)
+        .build();
+
+    private TokenEstimator() {
+    }
+
+    /// Returns the estimated token count of `text` (0 for null or empty text).
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        if (text.length() < CACHE_MIN_LENGTH) {
+            return estimateUncached(text);
+        }
+        return ESTIMATE_CACHE.get(TokenHashUtils.sha256Hex(text), _ -> estimateUncached(text));
+    }
+
+    /// Returns the longest prefix of `text` whose estimate does not exceed `maxTokens`.
+    /// The cut is made on a piece boundary, so words and surrogate pairs are never split.
+    public static String truncateToTokens(String text, int maxTokens) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        int tokens = 0;
+        int index = 0;
+        while (index < text.length()) {
+            int end = pieceEnd(text, index);
+            tokens += pieceTokens(text, index, end);
+            if (tokens > maxTokens) {
+                return text.substring(0, index);
+            }
+            index = end;
+        }
+        return text;
+    }
+
+    static int estimateUncached(CharSequence text) {
+        int tokens = 0;
+        int index = 0;
+        while (index < text.length()) {
+            int end = pieceEnd(text, index);
+            tokens += pieceTokens(text, index, end);
+            index = end;
+        }
+        return tokens;
+    }
+
+    private static int pieceEnd(CharSequence text, int start) {
+        if (isSpaceBeforeWord(text, start)) {
+            return pieceEnd(text, start + 1);
+        }
+        PieceKind kind = kindAt(text, start);
+        int end = start + Character.charCount(Character.codePointAt(text, start));
+        if (!kind.mergesRuns()) {
+            return end;
+        }
+        while (end < text.length() && kindAt(text, end) == kind) {
+            end += Character.charCount(Character.codePointAt(text, end));
+        }
+        return end;
+    }
+
+    private static int pieceTokens(CharSequence text, int start, int end) {
+        if (isSpaceBeforeWord(text, start)) {
+            return pieceTokens(text, start + 1, end);
+        }
+        int length = end - start;
+        return switch (kindAt(text, start)) {
+            case ASCII_LETTERS -> ceilDiv(length, LETTERS_PER_TOKEN);
+            case DIGITS -> ceilDiv(length, DIGITS_PER_TOKEN);
+            case WHITESPACE -> ceilDiv(length, WHITESPACE_PER_TOKEN);
+            case NON_ASCII_LETTERS -> ceilDiv(length, NON_ASCII_LETTERS_PER_TOKEN);
+            case CJK, SYMBOL -> 1;
+        };
+    }
+
+    private static boolean isSpaceBeforeWord(CharSequence text, int index) {
+        return text.charAt(index) == ' '
+            && index + 1 < text.length()
+            && kindAt(text, index + 1) == PieceKind.ASCII_LETTERS;
+    }
+
+    private static PieceKind kindAt(CharSequence text, int index) {
+        int codePoint = Character.codePointAt(text, index);
+        if (codePoint < 0x80) {
+            if ((codePoint >= 'a' && codePoint <= 'z') || (codePoint >= 'A' && codePoint <= 'Z')) {
+                return PieceKind.ASCII_LETTERS;
+            }
+            if (codePoint >= '0' && codePoint <= '9') {
+                return PieceKind.DIGITS;
+            }
+            return Character.isWhitespace(codePoint) ? PieceKind.WHITESPACE : PieceKind.SYMBOL;
+        }
+        if (Character.isIdeographic(codePoint) || isKanaOrHangul(codePoint)) {
+            return PieceKind.CJK;
+        }
+        if (Character.isWhitespace(codePoint)) {
+            return PieceKind.WHITESPACE;
+        }
+        return Character.isLetter(codePoint) ? PieceKind.NON_ASCII_LETTERS : PieceKind.SYMBOL;
+    }
+
+    private static boolean isKanaOrHangul(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HIRAGANA
+            || script == Character.UnicodeScript.KATAKANA
+            || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
+    private enum PieceKind {
+        ASCII_LETTERS(true),
+        DIGITS(true),
+        WHITESPACE(true),
+        NON_ASCII_LETTERS(true),
+        /// CJK characters rarely merge across characters, so each one is its own piece.
+        CJK(false),
+        SYMBOL(false);
+
+        private final boolean mergesRuns;
+
+        PieceKind(boolean mergesRuns) {
+            this.mergesRuns = mergesRuns;
+        }
+
+        boolean mergesRuns() {
+            return mergesRuns;
+        }
+    }
+}
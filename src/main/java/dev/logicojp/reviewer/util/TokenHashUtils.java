@@ -27,7 +27,8 @@ public final class TokenHashUtils {
         return sha256Hex(value);
     }
 
-    private static String sha256Hex(String value) {
+    /// Returns the SHA-256 digest of the UTF-8 bytes of `value` as lower-case hex.
+    public static String sha256Hex(String value) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
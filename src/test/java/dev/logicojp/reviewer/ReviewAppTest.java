@@ -5,6 +5,7 @@ import dev.logicojp.reviewer.cli.ExitCodes;
 import dev.logicojp.reviewer.cli.ListAgentsCommand;
 import dev.logicojp.reviewer.cli.ReviewCommand;
 import dev.logicojp.reviewer.cli.SkillCommand;
+import dev.logicojp.reviewer.cli.WatchCommand;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -48,13 +49,32 @@ class ReviewAppTest {
             }
         };
 
-        ReviewApp app = new ReviewApp(reviewCommand, listCommand, skillCommand, NULL_OUTPUT);
+        ReviewApp app = new ReviewApp(reviewCommand, listCommand, skillCommand, noopWatchCommand(), NULL_OUTPUT);
         int exit = app.execute(new String[]{"run"});
 
         assertThat(exit).isEqualTo(42);
         assertThat(runCalled.get()).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("watchサブコマンドをWatchCommandに委譲する")
+    void delegatesWatchCommand() {
+        AtomicInteger watchCalled = new AtomicInteger();
+        WatchCommand watchCommand = new WatchCommand(null, null, null, null, null, null, null, null, null, null, NULL_OUTPUT) {
+            @Override
+            public int execute(String[] args) {
+                watchCalled.incrementAndGet();
+                return 7;
+            }
+        };
+
+        ReviewApp app = new ReviewApp(null, null, null, watchCommand, NULL_OUTPUT);
+        int exit = app.execute(new String[]{"review", "watch", "--local", "."});
+
+        assertThat(exit).isEqualTo(7);
+        assertThat(watchCalled.get()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("未知コマンドではUSAGEを返す")
     void returnsUsageForUnknownCommand() {
@@ -77,7 +97,7 @@ class ReviewAppTest {
             }
         };
 
-        ReviewApp app = new ReviewApp(reviewCommand, listCommand, skillCommand, NULL_OUTPUT);
+        ReviewApp app = new ReviewApp(reviewCommand, listCommand, skillCommand, noopWatchCommand(), NULL_OUTPUT);
         int exit = app.execute(new String[]{"unknown"});
 
         assertThat(exit).isEqualTo(ExitCodes.USAGE);
@@ -101,4 +121,13 @@ class ReviewAppTest {
 
         assertThat(detected).doesNotContain("HeapDumpOnOutOfMemoryError");
     }
+
+    private static WatchCommand noopWatchCommand() {
+        return new WatchCommand(null, null, null, null, null, null, null, null, null, null, NULL_OUTPUT) {
+            @Override
+            public int execute(String[] args) {
+                return 0;
+            }
+        };
+    }
 }
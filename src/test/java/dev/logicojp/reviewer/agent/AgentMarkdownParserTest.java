@@ -108,6 +108,46 @@ class AgentMarkdownParserTest {
 
             assertThat(config.model()).isEqualTo(ModelConfig.DEFAULT_MODEL);
         }
+
+        @Test
+        @DisplayName("includeとexcludeからファイルルーティングルールを作る")
+        void parsesFileRoutingRules() {
+            String content = """
+                ---
+                name: sql
+                include: "**/*.sql, **/*Repository.java"
+                exclude: "**/test/**"
+                ---
+
+                ## Role
+
+                テスト用。
+                """;
+
+            AgentConfig config = parser.parseContent(content.stripIndent(), "sql.agent.md");
+
+            assertThat(config.fileRoutingRules().includePatterns())
+                .containsExactly("**/*.sql", "**/*Repository.java");
+            assertThat(config.fileRoutingRules().excludePatterns()).containsExactly("**/test/**");
+        }
+
+        @Test
+        @DisplayName("includeとexcludeがない場合はすべてのファイルを受け取る")
+        void routesAllFilesWithoutRules() {
+            String content = """
+                ---
+                name: test
+                ---
+
+                ## Role
+
+                テスト用。
+                """;
+
+            AgentConfig config = parser.parseContent(content.stripIndent(), "test.agent.md");
+
+            assertThat(config.fileRoutingRules().isUnrestricted()).isTrue();
+        }
     }
 
     @Nested
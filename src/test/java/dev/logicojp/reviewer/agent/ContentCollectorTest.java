@@ -85,4 +85,21 @@ class ContentCollectorTest {
         clock.advance(50L);
         assertThat(collector.getElapsedSinceLastActivity()).isEqualTo(50L);
     }
+
+    @Test
+    @DisplayName("イベント間の最長の間隔を記録する")
+    void tracksLongestGapBetweenEvents() {
+        MutableClock clock = new MutableClock(1_000L);
+        ContentCollector collector = new ContentCollector("agent", clock::now);
+        assertThat(collector.getLongestActivityGap()).isEqualTo(-1L);
+
+        clock.advance(100L);
+        collector.onActivity();
+        clock.advance(700L);
+        collector.onActivity();
+        clock.advance(200L);
+        collector.onActivity();
+
+        assertThat(collector.getLongestActivityGap()).isEqualTo(700L);
+    }
 }
@@ -0,0 +1,101 @@
+package dev.logicojp.reviewer.agent;
+
+import dev.logicojp.reviewer.config.RateLimitConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CopilotRateLimiter")
+class CopilotRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Long> sleeps = new ArrayList<>();
+
+    private CopilotRateLimiter limiter(RateLimitConfig config) {
+        return new CopilotRateLimiter(config, clock::get, millis -> {
+            sleeps.add(millis);
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        });
+    }
+
+    @Test
+    @DisplayName("バースト分は待たずに通し、超過分は補充間隔だけ待機する")
+    void waitsBeyondBurst() throws InterruptedException {
+        var limiter = limiter(new RateLimitConfig(true, 1.0, 2, 2.0, 3));
+
+        limiter.acquireSession("gpt-5");
+        limiter.acquireSession("gpt-5");
+        assertThat(sleeps).isEmpty();
+
+        limiter.acquireSession("gpt-5");
+        assertThat(sleeps).containsExactly(1_000L);
+
+        for (int i = 0; i < 4; i++) {
+            limiter.acquireMessage("gpt-5");
+        }
+        assertThat(sleeps).containsExactly(1_000L, 500L);
+    }
+
+    @Test
+    @DisplayName("経過時間に応じてトークンが補充される")
+    void refillsOverTime() throws InterruptedException {
+        var limiter = limiter(new RateLimitConfig(true, 1.0, 1, 2.0, 8));
+
+        limiter.acquireSession("gpt-5");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.acquireSession("gpt-5");
+
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    @DisplayName("モデルごとに独立したバケットを使う")
+    void separatesModels() throws InterruptedException {
+        var limiter = limiter(new RateLimitConfig(true, 1.0, 1, 2.0, 8));
+
+        limiter.acquireSession("gpt-5");
+        limiter.acquireSession("claude-sonnet-4");
+        limiter.acquireSession(null);
+
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    @DisplayName("無効化されている場合は待機しない")
+    void disabledNeverWaits() throws InterruptedException {
+        var limiter = limiter(new RateLimitConfig(false, 1.0, 1, 1.0, 1));
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquireSession("gpt-5");
+            limiter.acquireMessage("gpt-5");
+        }
+
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    @DisplayName("待機中に割り込まれると予約したトークンを返して例外を投げる")
+    void returnsTokenWhenInterrupted() throws InterruptedException {
+        var interrupt = new AtomicBoolean(true);
+        var limiter = new CopilotRateLimiter(new RateLimitConfig(true, 1.0, 1, 2.0, 8), clock::get, millis -> {
+            if (interrupt.getAndSet(false)) {
+                throw new InterruptedException();
+            }
+            sleeps.add(millis);
+        });
+
+        limiter.acquireSession("gpt-5");
+        assertThatThrownBy(() -> limiter.acquireSession("gpt-5")).isInstanceOf(InterruptedException.class);
+        limiter.acquireSession("gpt-5");
+
+        assertThat(sleeps).containsExactly(1_000L);
+    }
+}
@@ -0,0 +1,52 @@
+package dev.logicojp.reviewer.agent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PromptSegments")
+class PromptSegmentsTest {
+
+    @Test
+    @DisplayName("セグメントを順に連結して1つの文字列にする")
+    void materializesSegmentsInOrder() {
+        var prompt = PromptSegments.of("指示", "\n\n", "SOURCE");
+
+        assertThat(prompt.materialize()).isEqualTo("指示\n\nSOURCE");
+        assertThat(prompt.length()).isEqualTo("指示\n\nSOURCE".length());
+    }
+
+    @Test
+    @DisplayName("単一セグメントはコピーせずにそのまま返す")
+    void singleSegmentIsNotCopied() {
+        String source = "class Main {}";
+
+        assertThat(PromptSegments.of(source).materialize()).isSameAs(source);
+    }
+
+    @Test
+    @DisplayName("トークン数はセグメントごとの推定値の合計になる")
+    void estimatesTokensPerSegment() {
+        var prompt = PromptSegments.of("alpha beta", "gamma");
+
+        assertThat(prompt.estimateTokens()).isPositive();
+        assertThat(PromptSegments.of().estimateTokens()).isZero();
+    }
+
+    @Test
+    @DisplayName("文字列表現は内容を含まない")
+    void toStringDoesNotMaterialize() {
+        assertThat(PromptSegments.of("SECRET", "SOURCE").toString())
+            .doesNotContain("SECRET")
+            .contains("2 segments");
+    }
+
+    @Test
+    @DisplayName("nullのセグメントは拒否する")
+    void rejectsNullSegments() {
+        assertThatThrownBy(() -> PromptSegments.of("a", null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
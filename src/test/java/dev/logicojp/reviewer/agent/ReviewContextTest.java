@@ -36,6 +36,8 @@ class ReviewContextTest {
                     new LocalFileConfig(),
                     scheduler,
                     null,
+                    null,
+                    null,
                     null);
 
                 String result = context.toString();
@@ -70,10 +72,14 @@ class ReviewContextTest {
                     new LocalFileConfig(),
                     scheduler,
                     null,
+                    null,
+                    null,
                     null);
 
                 assertThat(context.timeoutConfig()).isNotNull();
                 assertThat(context.cachedResources()).isNotNull();
+                assertThat(context.tokenBudgetConfig()).isNotNull();
+                assertThat(context.rateLimiter()).isSameAs(CopilotRateLimiter.unlimited());
             } finally {
                 scheduler.shutdownNow();
                 client.close();
@@ -9,6 +9,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DisplayName("ReviewMessageFlow")
 class ReviewMessageFlowTest {
@@ -19,7 +20,8 @@ class ReviewMessageFlowTest {
             "FOLLOWUP",
             "LOCAL_HEADER",
             "LOCAL_RESULT",
-            32
+            0,
+            0
         );
     }
 
@@ -30,7 +32,7 @@ class ReviewMessageFlowTest {
         List<String> prompts = new ArrayList<>();
 
         String result = flow.execute("INSTRUCTION", null, prompt -> {
-            prompts.add(prompt);
+            prompts.add(prompt.materialize());
             return "REMOTE_OK";
         });
 
@@ -46,7 +48,7 @@ class ReviewMessageFlowTest {
         AtomicInteger count = new AtomicInteger();
 
         String result = flow.execute("INSTRUCTION", null, prompt -> {
-            prompts.add(prompt);
+            prompts.add(prompt.materialize());
             return count.getAndIncrement() == 0 ? "" : "FOLLOWUP_OK";
         });
 
@@ -61,7 +63,7 @@ class ReviewMessageFlowTest {
         List<String> prompts = new ArrayList<>();
 
         String result = flow.execute("INSTRUCTION", "SOURCE", prompt -> {
-            prompts.add(prompt);
+            prompts.add(prompt.materialize());
             return "LOCAL_OK";
         });
 
@@ -70,7 +72,7 @@ class ReviewMessageFlowTest {
         assertThat(prompts.getFirst()).contains("INSTRUCTION");
         assertThat(prompts.getFirst()).contains("LOCAL_HEADER");
         assertThat(prompts.getFirst()).contains("SOURCE");
-        assertThat(prompts.getFirst()).contains("LOCAL_RESULT");
+        assertThat(prompts.getFirst()).isEqualTo("INSTRUCTION\n\nLOCAL_HEADER\n\nSOURCE\n\nLOCAL_RESULT");
     }
 
     @Test
@@ -81,7 +83,7 @@ class ReviewMessageFlowTest {
         AtomicInteger count = new AtomicInteger();
 
         String result = flow.execute("INSTRUCTION", "SOURCE", prompt -> {
-            prompts.add(prompt);
+            prompts.add(prompt.materialize());
             return count.getAndIncrement() == 0 ? "" : "FOLLOWUP_OK";
         });
 
@@ -99,7 +101,7 @@ class ReviewMessageFlowTest {
         List<String> prompts = new ArrayList<>();
 
         String result = flow.execute("INSTRUCTION", "SOURCE", prompt -> {
-            prompts.add(prompt);
+            prompts.add(prompt.materialize());
             return " ";
         });
 
@@ -129,4 +131,29 @@ class ReviewMessageFlowTest {
         assertThat(evaluatorCalled).isTrue();
         assertThat(result).isEqualTo("   ");
     }
+
+    @Test
+    @DisplayName("ローカルの結合プロンプトがコンテキストウィンドウを超える場合は送信せずに失敗する")
+    void localFailsFastWhenPromptExceedsContextWindow() {
+        var flow = new ReviewMessageFlow("security", "FOLLOWUP", "LOCAL_HEADER", "LOCAL_RESULT", 100, 80);
+        List<String> prompts = new ArrayList<>();
+
+        assertThatThrownBy(() -> flow.execute("INSTRUCTION", "word ".repeat(200), prompt -> {
+            prompts.add(prompt.materialize());
+            return "LOCAL_OK";
+        }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("context window");
+        assertThat(prompts).isEmpty();
+    }
+
+    @Test
+    @DisplayName("コンテキストウィンドウ内のローカルプロンプトはそのまま送信する")
+    void localSendsPromptWithinContextWindow() throws Exception {
+        var flow = new ReviewMessageFlow("security", "FOLLOWUP", "LOCAL_HEADER", "LOCAL_RESULT", 1_000, 800);
+
+        String result = flow.execute("INSTRUCTION", "SOURCE", _ -> "LOCAL_OK");
+
+        assertThat(result).isEqualTo("LOCAL_OK");
+    }
 }
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,7 +22,7 @@ class ReviewSessionMessageSenderTest {
         var collectorRef = new AtomicReference<ContentCollector>();
 
         String result = sender.sendWithActivityTimeout(
-            "PROMPT",
+            PromptSegments.of("PROMPT"),
             300,
             _ -> {
                 collectorRef.get().onMessage("OK", 0);
@@ -45,7 +46,7 @@ class ReviewSessionMessageSenderTest {
         var collectorRef = new AtomicReference<ContentCollector>();
 
         String result = sender.sendWithActivityTimeout(
-            "PROMPT",
+            PromptSegments.of("PROMPT"),
             50,
             _ -> collectorRef.get().onMessage("PARTIAL", 0),
             collector -> {
@@ -66,7 +67,7 @@ class ReviewSessionMessageSenderTest {
         var collectorRef = new AtomicReference<ContentCollector>();
 
         assertThatThrownBy(() -> sender.sendWithActivityTimeout(
-            "PROMPT",
+            PromptSegments.of("PROMPT"),
             50,
             _ -> {
             },
@@ -87,7 +88,7 @@ class ReviewSessionMessageSenderTest {
         AtomicInteger closedCount = new AtomicInteger(0);
 
         assertThatThrownBy(() -> sender.sendWithActivityTimeout(
-            "PROMPT",
+            PromptSegments.of("PROMPT"),
             100,
             _ -> {
                 throw new IllegalStateException("send failed");
@@ -100,6 +101,59 @@ class ReviewSessionMessageSenderTest {
         assertThat(closedCount.get()).isEqualTo(4);
     }
 
+    @Test
+    @DisplayName("イベントのない最長の時間を通知する")
+    void reportsLongestEventGap() throws Exception {
+        var clock = new AtomicLong();
+        var longestGapMillis = new AtomicLong(-1);
+        var sender = new ReviewSessionMessageSender("security", 4 * 1024 * 1024, 4096,
+            longestGapMillis::set, () -> clock.getAndAdd(1_000));
+        var collectorRef = new AtomicReference<ContentCollector>();
+
+        String result = sender.sendWithActivityTimeout(
+            PromptSegments.of("PROMPT"),
+            5_000,
+            _ -> Thread.ofVirtual().start(() -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                collectorRef.get().onActivity();
+                collectorRef.get().onMessage("OK", 0);
+                collectorRef.get().onIdle();
+            }),
+            collector -> {
+                collectorRef.set(collector);
+                return noOpSubscriptions();
+            },
+            _ -> () -> {
+            }
+        );
+
+        assertThat(result).isEqualTo("OK");
+        assertThat(longestGapMillis.get()).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("イベントがなければ時間を通知しない")
+    void doesNotReportWithoutEvents() {
+        var longestGapMillis = new AtomicLong(-1);
+        var sender = new ReviewSessionMessageSender("security", 4 * 1024 * 1024, 4096,
+            longestGapMillis::set, System::currentTimeMillis);
+
+        assertThatThrownBy(() -> sender.sendWithActivityTimeout(
+            PromptSegments.of("PROMPT"),
+            50,
+            _ -> {
+            },
+            _ -> noOpSubscriptions(),
+            _ -> () -> {
+            }
+        )).isInstanceOf(TimeoutException.class);
+        assertThat(longestGapMillis.get()).isEqualTo(-1);
+    }
+
     private EventSubscriptions noOpSubscriptions() {
         return new EventSubscriptions(() -> {
         }, () -> {
@@ -96,11 +96,28 @@ class CliUsageTest {
             assertThat(text).contains("review run");
             assertThat(text).contains("--repo");
             assertThat(text).contains("--local");
+            assertThat(text).contains("--archive");
             assertThat(text).contains("--all");
             assertThat(text).contains("--agents");
         }
     }
 
+    @Nested
+    @DisplayName("printWatch")
+    class PrintWatch {
+
+        @Test
+        @DisplayName("watchコマンドの使用法を出力する")
+        void printsWatchUsage() {
+            var out = new ByteArrayOutputStream();
+            CliOutput output = createOutput(out, new ByteArrayOutputStream());
+
+            CliUsage.printWatch(output);
+
+            assertThat(out.toString()).contains("review watch --local").contains("--debounce-ms");
+        }
+    }
+
     @Nested
     @DisplayName("printList")
     class PrintList {
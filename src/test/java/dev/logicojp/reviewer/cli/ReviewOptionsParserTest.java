@@ -1,6 +1,7 @@
 package dev.logicojp.reviewer.cli;
 
 import dev.logicojp.reviewer.config.ExecutionConfig;
+import dev.logicojp.reviewer.target.LocalChangeScope;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -71,6 +72,54 @@ class ReviewOptionsParserTest {
             .hasMessageContaining("Specify either --repo or --local");
     }
 
+    @Test
+    @DisplayName("--archiveをアーカイブターゲットとして解釈する")
+    void parsesArchiveTarget() {
+        ReviewCommand.ParsedOptions options = newParser().parse(new String[]{
+            "--archive", "build/bundle.tar.gz", "--all"
+        }).orElseThrow();
+
+        assertThat(options.target())
+            .isEqualTo(new ReviewCommand.TargetSelection.Archive(Path.of("build/bundle.tar.gz")));
+    }
+
+    @Test
+    @DisplayName("--archiveは--localや--sinceと併用できない")
+    void throwsWhenArchiveCombinedWithOtherTargets() {
+        var parser = newParser();
+
+        assertThatThrownBy(() -> parser.parse(new String[]{"--archive", "a.zip", "--local", ".", "--all"}))
+            .isInstanceOf(CliValidationException.class)
+            .hasMessageContaining("--archive cannot be combined");
+        assertThatThrownBy(() -> parser.parse(new String[]{"--archive", "a.zip", "--since", "main", "--all"}))
+            .isInstanceOf(CliValidationException.class)
+            .hasMessageContaining("--since requires --local");
+    }
+
+    @Test
+    @DisplayName("--local と --commit をコミットターゲットとして解釈する")
+    void parsesCommitTarget() {
+        ReviewCommand.ParsedOptions options = newParser().parse(new String[]{
+            "--local", ".", "--commit", "release/1.2", "--all"
+        }).orElseThrow();
+
+        assertThat(options.target())
+            .isEqualTo(new ReviewCommand.TargetSelection.Commit(Path.of("."), "release/1.2"));
+    }
+
+    @Test
+    @DisplayName("--commitは--localが必要で--sinceとは併用できない")
+    void throwsWhenCommitMisused() {
+        var parser = newParser();
+
+        assertThatThrownBy(() -> parser.parse(new String[]{"--repo", "owner/repo", "--commit", "main", "--all"}))
+            .isInstanceOf(CliValidationException.class)
+            .hasMessageContaining("--commit requires --local");
+        assertThatThrownBy(() -> parser.parse(new String[]{"--local", ".", "--commit", "main", "--since", "v1", "--all"}))
+            .isInstanceOf(CliValidationException.class)
+            .hasMessageContaining("--commit cannot be combined");
+    }
+
     @Test
     @DisplayName("agent指定が無い場合はエラー")
     void throwsWhenNoAgentSelectionProvided() {
@@ -81,6 +130,60 @@ class ReviewOptionsParserTest {
             .hasMessageContaining("Either --all or --agents must be specified");
     }
 
+    @Test
+    @DisplayName("--sinceと--context-linesをローカル変更スコープとして解釈する")
+    void parsesSinceAndContextLinesForLocalTarget() {
+        var parser = newParser();
+
+        ReviewCommand.ParsedOptions options = parser.parse(new String[]{
+            "--local", ".", "--since", "origin/main", "--context-lines", "5", "--all"
+        }).orElseThrow();
+
+        assertThat(options.target()).isInstanceOf(ReviewCommand.TargetSelection.LocalDirectory.class);
+        var local = (ReviewCommand.TargetSelection.LocalDirectory) options.target();
+        assertThat(local.changeScope()).isEqualTo(new LocalChangeScope("origin/main", 5));
+    }
+
+    @Test
+    @DisplayName("--since無しの--localは変更スコープを持たない")
+    void localWithoutSinceHasNoChangeScope() {
+        var parser = newParser();
+
+        ReviewCommand.ParsedOptions options = parser.parse(new String[]{"--local", ".", "--all"}).orElseThrow();
+
+        assertThat(((ReviewCommand.TargetSelection.LocalDirectory) options.target()).changeScope()).isNull();
+    }
+
+    @Test
+    @DisplayName("repoと--since同時指定はエラー")
+    void throwsWhenSinceUsedWithRepository() {
+        var parser = newParser();
+
+        assertThatThrownBy(() -> parser.parse(new String[]{"--repo", "owner/repo", "--since", "main", "--all"}))
+            .isInstanceOf(CliValidationException.class)
+            .hasMessageContaining("--since requires --local");
+    }
+
+    @Test
+    @DisplayName("--since無しの--context-linesはエラー")
+    void throwsWhenContextLinesWithoutSince() {
+        var parser = newParser();
+
+        assertThatThrownBy(() -> parser.parse(new String[]{"--local", ".", "--context-lines", "3", "--all"}))
+            .isInstanceOf(CliValidationException.class)
+            .hasMessageContaining("--context-lines requires --since");
+    }
+
+    @Test
+    @DisplayName("不正な文字を含むリビジョンはエラー")
+    void throwsWhenSinceContainsInvalidCharacters() {
+        var parser = newParser();
+
+        assertThatThrownBy(() -> parser.parse(new String[]{"--local", ".", "--since", "main;rm", "--all"}))
+            .isInstanceOf(CliValidationException.class)
+            .hasMessageContaining("Invalid git revision");
+    }
+
     private static ReviewOptionsParser newParser() {
         return new ReviewOptionsParser(EXECUTION_CONFIG);
     }
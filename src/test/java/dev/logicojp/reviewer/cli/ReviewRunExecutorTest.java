@@ -2,6 +2,7 @@ package dev.logicojp.reviewer.cli;
 
 import dev.logicojp.reviewer.agent.AgentConfig;
 import dev.logicojp.reviewer.config.ExecutionConfig;
+import dev.logicojp.reviewer.orchestrator.AgentCompletionListener;
 import dev.logicojp.reviewer.report.core.ReviewResult;
 import dev.logicojp.reviewer.target.ReviewTarget;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +14,8 @@ import java.io.OutputStream;
 import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -116,6 +119,78 @@ class ReviewRunExecutorTest {
         assertThat(outputDirectory.resolve(".checkpoints")).doesNotExist();
     }
 
+    @Test
+    @DisplayName("完了したエージェントのレポートは実行中に書き出し、実行後に再生成しない")
+    void writesReportsOfEachAgentWhenItFinishes() {
+        CliOutput cliOutput = new CliOutput(
+            new PrintStream(OutputStream.nullOutputStream()),
+            new PrintStream(OutputStream.nullOutputStream())
+        );
+        ReviewOutputFormatter formatter = new ReviewOutputFormatter(
+            cliOutput,
+            dev.logicojp.reviewer.testutil.ExecutionConfigFixtures.config(1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0)
+        );
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        AgentConfig agentA = new AgentConfig("agent-a", "agent-a", "model", "system", "instruction", null, List.of(), List.of());
+
+        ReviewRunExecutor.ReviewRunner streamingRunner = new ReviewRunExecutor.ReviewRunner() {
+            @Override
+            public List<ReviewResult> run(String resolvedToken, ReviewRunExecutor.ReviewRunRequest context) {
+                throw new AssertionError("streaming run expected");
+            }
+
+            @Override
+            public List<ReviewResult> run(String resolvedToken,
+                                          ReviewRunExecutor.ReviewRunRequest context,
+                                          AgentCompletionListener completionListener) {
+                ReviewResult a = successResult("agent-a", context.target().displayName());
+                completionListener.agentCompleted(agentA, List.of(a));
+                events.add("agent-b finished");
+                return List.of(a, successResult("agent-b", context.target().displayName()));
+            }
+        };
+
+        ReviewRunExecutor executor = new ReviewRunExecutor(
+            null,
+            null,
+            formatter,
+            cliOutput,
+            streamingRunner,
+            (results, outputDirectory) -> {
+                results.forEach(result -> events.add(outputDirectory.getFileName() + ":" + result.agentConfig().name()));
+                return List.of();
+            },
+            (results, context) -> {
+                events.add("summary:" + results.size());
+                return context.outputDirectory().resolve("executive-summary.md");
+            }
+        );
+
+        ReviewRunExecutor.ReviewRunRequest request = new ReviewRunExecutor.ReviewRunRequest(
+            ReviewTarget.gitHub("owner/repo"),
+            "model",
+            "high",
+            "2026-03-05-12-34-56",
+            Map.of("agent-a", agentA),
+            1,
+            false,
+            false,
+            tempDir.resolve("reports")
+        );
+
+        int exitCode = executor.execute("token", request);
+
+        assertThat(exitCode).isEqualTo(ExitCodes.OK);
+        assertThat(events).containsExactly(
+            "passes:agent-a",
+            "reports:agent-a",
+            "agent-b finished",
+            "passes:agent-b",
+            "reports:agent-b",
+            "summary:2"
+        );
+    }
+
     private static ReviewResult successResult(String agentName, String repository) {
         AgentConfig config = new AgentConfig(agentName, agentName, "model", "system", "instruction", null, List.of(), List.of());
         return ReviewResult.builder()
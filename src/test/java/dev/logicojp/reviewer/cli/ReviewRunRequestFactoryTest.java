@@ -56,5 +56,6 @@ class ReviewRunRequestFactoryTest {
         assertThat(request.noSummary()).isTrue();
         assertThat(request.noSharedSession()).isFalse();
         assertThat(request.outputDirectory()).isEqualTo(outputDirectory);
+        assertThat(request.runHistoryFile()).isEqualTo(Path.of("./reports/.history/run-history.tsv"));
     }
 }
@@ -75,6 +75,54 @@ class ReviewTargetResolverTest {
             .hasMessageContaining("Path is not a directory");
     }
 
+    @Test
+    @DisplayName("archive target は絶対パスで解決しトークンは不要")
+    void resolvesArchiveTarget() throws Exception {
+        var resolver = new ReviewTargetResolver(new GitHubTokenResolver(dev.logicojp.reviewer.testutil.ExecutionConfigFixtures.config(0, 0, 0, 0, 0, 0, 0, 0, 10, 0, 0, 0)));
+        Path archive = Files.write(tempDir.resolve("bundle.tar.gz"), new byte[0]);
+
+        ReviewTargetResolver.TargetAndToken result = resolver.resolve(
+            new ReviewCommand.TargetSelection.Archive(archive),
+            "ghp_token"
+        );
+
+        assertThat(result.target()).isEqualTo(dev.logicojp.reviewer.target.ReviewTarget.archive(archive.toAbsolutePath()));
+        assertThat(result.resolvedToken()).isNull();
+    }
+
+    @Test
+    @DisplayName("存在しないアーカイブや未対応の拡張子はエラー")
+    void throwsForMissingOrUnsupportedArchive() throws Exception {
+        var resolver = new ReviewTargetResolver(new GitHubTokenResolver(dev.logicojp.reviewer.testutil.ExecutionConfigFixtures.config(0, 0, 0, 0, 0, 0, 0, 0, 10, 0, 0, 0)));
+        Path unsupported = Files.writeString(tempDir.resolve("bundle.rar"), "x");
+
+        assertThatThrownBy(() -> resolver.resolve(
+            new ReviewCommand.TargetSelection.Archive(tempDir.resolve("missing.zip")),
+            null
+        ))
+            .isInstanceOf(CliValidationException.class)
+            .hasMessageContaining("Archive does not exist");
+        assertThatThrownBy(() -> resolver.resolve(
+            new ReviewCommand.TargetSelection.Archive(unsupported),
+            null
+        ))
+            .isInstanceOf(CliValidationException.class)
+            .hasMessageContaining("Unsupported archive type");
+    }
+
+    @Test
+    @DisplayName("不正なリビジョンのcommit targetはエラー")
+    void throwsForInvalidCommitRevision() {
+        var resolver = new ReviewTargetResolver(new GitHubTokenResolver(dev.logicojp.reviewer.testutil.ExecutionConfigFixtures.config(0, 0, 0, 0, 0, 0, 0, 0, 10, 0, 0, 0)));
+
+        assertThatThrownBy(() -> resolver.resolve(
+            new ReviewCommand.TargetSelection.Commit(tempDir, "main; rm -rf /"),
+            null
+        ))
+            .isInstanceOf(CliValidationException.class)
+            .hasMessageContaining("Invalid git revision");
+    }
+
     @Test
     @DisplayName("local target は指定トークンがあっても resolvedToken は null")
     void localTargetAlwaysResolvesNullToken() {
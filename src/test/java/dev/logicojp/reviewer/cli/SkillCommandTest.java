@@ -13,6 +13,7 @@ import dev.logicojp.reviewer.service.CopilotTimeoutResolver;
 import dev.logicojp.reviewer.service.SkillService;
 import dev.logicojp.reviewer.skill.SkillRegistry;
 import dev.logicojp.reviewer.agent.CircuitBreakerFactory;
+import dev.logicojp.reviewer.agent.CopilotRateLimiter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -98,7 +99,8 @@ class SkillCommandTest {
             new GithubMcpConfig(null, null, null, null, null, null),
             EXECUTION_CONFIG,
             SkillConfig.defaults(),
-            new CircuitBreakerFactory(new CircuitBreakerConfig(8, 30_000L))
+            new CircuitBreakerFactory(new CircuitBreakerConfig(8, 30_000L)),
+            CopilotRateLimiter.unlimited()
         );
 
         SkillExecutionPreparation preparation = new SkillExecutionPreparation(
@@ -0,0 +1,76 @@
+package dev.logicojp.reviewer.cli;
+
+import dev.logicojp.reviewer.agent.AgentConfig;
+import dev.logicojp.reviewer.target.FileRoutingRules;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("WatchCommand")
+class WatchCommandTest {
+
+    @Test
+    @DisplayName("変更ファイルにルーティングルールが一致するエージェントだけを選ぶ")
+    void selectsAgentsRoutingChangedFiles() {
+        Map<String, AgentConfig> agents = new LinkedHashMap<>();
+        agents.put("general", AgentConfig.builder().name("general").build());
+        agents.put("sql", AgentConfig.builder().name("sql")
+            .fileRoutingRules(FileRoutingRules.parse("**/*.sql", null)).build());
+        agents.put("frontend", AgentConfig.builder().name("frontend")
+            .fileRoutingRules(FileRoutingRules.parse("**/*.ts", null)).build());
+
+        Map<String, AgentConfig> affected = WatchCommand.selectAffectedAgents(
+            agents, List.of("src/App.java", "db/schema.sql"));
+
+        assertThat(affected.keySet()).containsExactly("general", "sql");
+    }
+
+    @Test
+    @DisplayName("監視ディレクトリ内の出力ディレクトリの変更を除外する")
+    void excludesFilesUnderOutputDirectoryInsideWatchedTree() {
+        Path directory = Path.of("/work/project");
+
+        Set<String> remaining = WatchCommand.excludeOutputFiles(
+            new LinkedHashSet<>(List.of("src/App.java", "reports/project/20260101/agent.md",
+                "reports/.history/run-history.tsv", "reports.md")),
+            directory, directory.resolve("reports"));
+
+        assertThat(remaining).containsExactly("src/App.java", "reports.md");
+    }
+
+    @Test
+    @DisplayName("監視ディレクトリ外の出力ディレクトリでは変更をそのまま返す")
+    void keepsChangesWhenOutputDirectoryIsOutsideWatchedTree() {
+        Set<String> changed = Set.of("src/App.java", "reports/agent.md");
+
+        Set<String> remaining = WatchCommand.excludeOutputFiles(
+            changed, Path.of("/work/project"), Path.of("/work/reports"));
+
+        assertThat(remaining).isEqualTo(changed);
+    }
+
+    @Test
+    @DisplayName("--localなしではUSAGEを返す")
+    void returnsUsageWithoutLocalDirectory() {
+        var err = new ByteArrayOutputStream();
+        var output = new CliOutput(new PrintStream(new ByteArrayOutputStream()), new PrintStream(err));
+        var parser = new WatchOptionsParser(new ReviewOptionsParser(
+            dev.logicojp.reviewer.testutil.ExecutionConfigFixtures.config(1, 1, 10, 5, 5, 5, 5, 10, 2, 0, 0, 0)));
+        var command = new WatchCommand(null, null, parser, null, null, null, null, null, null, null, output);
+
+        int exit = command.execute(new String[]{"--repo", "owner/repo", "--all"});
+
+        assertThat(exit).isEqualTo(ExitCodes.USAGE);
+        assertThat(err.toString()).contains("watch requires --local.");
+    }
+}
@@ -0,0 +1,74 @@
+package dev.logicojp.reviewer.cli;
+
+import dev.logicojp.reviewer.config.ExecutionConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("WatchOptionsParser")
+class WatchOptionsParserTest {
+
+    private static final ExecutionConfig EXECUTION_CONFIG =
+        dev.logicojp.reviewer.testutil.ExecutionConfigFixtures.config(7, 1, 10, 5, 5, 5, 5, 10, 2, 0, 0, 0);
+
+    @Test
+    @DisplayName("runのオプションと--debounce-msを解釈する")
+    void parsesRunOptionsAndDebounce() {
+        Optional<WatchCommand.WatchOptions> parsed = newParser().parse(
+            new String[]{"--local", "/tmp/project", "--debounce-ms", "250", "--agents", "security", "--no-summary"});
+
+        assertThat(parsed).isPresent();
+        WatchCommand.WatchOptions options = parsed.orElseThrow();
+        assertThat(options.debounce()).isEqualTo(Duration.ofMillis(250));
+        assertThat(options.review().target())
+            .isEqualTo(new ReviewCommand.TargetSelection.LocalDirectory(Path.of("/tmp/project")));
+        assertThat(options.review().noSummary()).isTrue();
+    }
+
+    @Test
+    @DisplayName("--debounce-ms未指定時はデフォルト値を使う")
+    void usesDefaultDebounce() {
+        var options = newParser().parse(new String[]{"--local", "/tmp/project", "--all"}).orElseThrow();
+
+        assertThat(options.debounce()).isEqualTo(WatchOptionsParser.DEFAULT_DEBOUNCE);
+    }
+
+    @Test
+    @DisplayName("--help指定時はemptyを返す")
+    void returnsEmptyWhenHelpRequested() {
+        assertThat(newParser().parse(new String[]{"--help"})).isEmpty();
+    }
+
+    @Test
+    @DisplayName("--repoや--archive、--sinceはwatchでは使えない")
+    void rejectsRepositoryAndSince() {
+        assertThatThrownBy(() -> newParser().parse(new String[]{"--repo", "owner/repo", "--all"}))
+            .isInstanceOf(CliValidationException.class)
+            .hasMessageContaining("--local");
+        assertThatThrownBy(() -> newParser().parse(new String[]{"--archive", "/tmp/bundle.zip", "--all"}))
+            .isInstanceOf(CliValidationException.class)
+            .hasMessageContaining("--local");
+        assertThatThrownBy(() -> newParser().parse(new String[]{"--local", "/tmp/project", "--since", "main", "--all"}))
+            .isInstanceOf(CliValidationException.class)
+            .hasMessageContaining("--since");
+    }
+
+    @Test
+    @DisplayName("不正な--debounce-msはCliValidationExceptionになる")
+    void rejectsInvalidDebounce() {
+        assertThatThrownBy(() -> newParser().parse(new String[]{"--local", "/tmp/project", "--all", "--debounce-ms", "-5"}))
+            .isInstanceOf(CliValidationException.class);
+        assertThatThrownBy(() -> newParser().parse(new String[]{"--local", "/tmp/project", "--all", "--debounce-ms", "soon"}))
+            .isInstanceOf(CliValidationException.class);
+    }
+
+    private static WatchOptionsParser newParser() {
+        return new WatchOptionsParser(new ReviewOptionsParser(EXECUTION_CONFIG));
+    }
+}
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Path;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DisplayName("ExecutionConfig")
@@ -321,5 +323,107 @@ class ExecutionConfigTest {
 
             assertThat(config.isSharedSessionEnabled()).isFalse();
         }
+
+        @Test
+        @DisplayName("適応的な並列数はデフォルトで有効で、上限は未指定ならparallelismの2倍に追従する")
+        void adaptiveConcurrencyDefaults() {
+            ExecutionConfig config = ExecutionConfig.of(
+                new ExecutionConfig.ConcurrencySettings(3, 2),
+                new ExecutionConfig.TimeoutSettings(20, 10, 6, 8, 9, 30),
+                new ExecutionConfig.RetrySettings(4),
+                new ExecutionConfig.BufferSettings(8192, 1024, 64)
+            );
+
+            assertThat(config.isAdaptiveConcurrencyEnabled()).isTrue();
+            assertThat(config.maxParallelism()).isEqualTo(6);
+            assertThat(config.withParallelism(5).maxParallelism()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("並列数の上限と適応の無効化はparallelism変更後も維持される")
+        void adaptiveConcurrencySettingsSurviveParallelismOverride() {
+            ExecutionConfig config = ExecutionConfig.of(
+                new ExecutionConfig.ConcurrencySettings(2, 1, 8, false),
+                new ExecutionConfig.TimeoutSettings(20, 10, 6, 8, 9, 30),
+                new ExecutionConfig.RetrySettings(4),
+                new ExecutionConfig.BufferSettings(8192, 1024, 64)
+            );
+
+            ExecutionConfig updated = config.withParallelism(4);
+
+            assertThat(updated.maxParallelism()).isEqualTo(8);
+            assertThat(updated.isAdaptiveConcurrencyEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("ヘッジはデフォルトで無効で、不正な値はデフォルトに補正される")
+        void hedgingDefaults() {
+            ExecutionConfig defaults = ExecutionConfig.defaults();
+            ExecutionConfig invalid = ExecutionConfig.Builder.from(defaults)
+                .hedging(new ExecutionConfig.HedgingSettings(true, 1.5, 0, -1, -1))
+                .build();
+
+            assertThat(defaults.isHedgingEnabled()).isFalse();
+            assertThat(invalid.isHedgingEnabled()).isTrue();
+            assertThat(invalid.hedging().latencyPercentile()).isEqualTo(0.9);
+            assertThat(invalid.hedging().minSamples()).isEqualTo(3);
+            assertThat(invalid.hedging().minDelaySeconds()).isEqualTo(120);
+            assertThat(invalid.hedging().maxHedges()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("ヘッジ設定はparallelism変更後も維持され、上限0では無効になる")
+        void hedgingSettingsSurviveParallelismOverride() {
+            ExecutionConfig config = ExecutionConfig.Builder.from(ExecutionConfig.defaults())
+                .hedging(new ExecutionConfig.HedgingSettings(true, 0.95, 5, 60, 0))
+                .build();
+
+            ExecutionConfig updated = config.withParallelism(6);
+
+            assertThat(updated.hedging().latencyPercentile()).isEqualTo(0.95);
+            assertThat(updated.hedging().minSamples()).isEqualTo(5);
+            assertThat(updated.isHedgingEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("適応タイムアウトはデフォルトで無効で、不正な値はデフォルトに補正される")
+        void adaptiveTimeoutDefaults() {
+            ExecutionConfig defaults = ExecutionConfig.defaults();
+            ExecutionConfig invalid = ExecutionConfig.Builder.from(defaults)
+                .adaptiveTimeouts(new ExecutionConfig.AdaptiveTimeoutSettings(null, " ", 0, 0.5, 0, 0, -1, 0, -1))
+                .build();
+
+            assertThat(defaults.isAdaptiveTimeoutsEnabled()).isFalse();
+            assertThat(defaults.withDefaultRunHistoryFile(Path.of("history.tsv")).isAdaptiveTimeoutsEnabled()).isFalse();
+            assertThat(invalid.adaptiveTimeouts().enabled()).isFalse();
+            assertThat(invalid.adaptiveTimeouts().historyFile()).isNull();
+            assertThat(invalid.adaptiveTimeouts().percentile()).isEqualTo(0.95);
+            assertThat(invalid.adaptiveTimeouts().margin()).isEqualTo(1.5);
+            assertThat(invalid.adaptiveTimeouts().minSamples()).isEqualTo(5);
+            assertThat(invalid.adaptiveTimeouts().minAgentTimeoutMinutes()).isEqualTo(3);
+            assertThat(invalid.adaptiveTimeouts().minIdleTimeoutMinutes()).isEqualTo(1);
+            assertThat(invalid.adaptiveTimeouts().maxAgentTimeoutMinutes()).isEqualTo(60);
+            assertThat(invalid.adaptiveTimeouts().maxIdleTimeoutMinutes()).isEqualTo(15);
+        }
+
+        @Test
+        @DisplayName("出力先の履歴ファイルは設定済みの履歴ファイルを上書きしない")
+        void defaultRunHistoryFileKeepsConfiguredFile() {
+            ExecutionConfig enabled = ExecutionConfig.Builder.from(ExecutionConfig.defaults())
+                .adaptiveTimeouts(new ExecutionConfig.AdaptiveTimeoutSettings(true, null, 0.95, 1.5, 5, 3, 1, 60, 15))
+                .build();
+            ExecutionConfig configured = ExecutionConfig.Builder.from(enabled)
+                .adaptiveTimeouts(new ExecutionConfig.AdaptiveTimeoutSettings(true, "/var/history.tsv", 0.99, 2.0, 3, 2, 1, 30, 10))
+                .build();
+
+            ExecutionConfig fromOutput = enabled.withDefaultRunHistoryFile(Path.of("reports", "history.tsv"));
+            ExecutionConfig kept = configured.withDefaultRunHistoryFile(Path.of("reports", "history.tsv"));
+
+            assertThat(fromOutput.isAdaptiveTimeoutsEnabled()).isTrue();
+            assertThat(fromOutput.adaptiveTimeouts().historyFile()).isEqualTo(Path.of("reports", "history.tsv").toString());
+            assertThat(kept.adaptiveTimeouts().historyFile()).isEqualTo("/var/history.tsv");
+            assertThat(kept.withParallelism(2).adaptiveTimeouts().percentile()).isEqualTo(0.99);
+            assertThat(fromOutput.adaptiveTimeouts().maxAgentTimeoutMinutes()).isEqualTo(60);
+        }
     }
 }
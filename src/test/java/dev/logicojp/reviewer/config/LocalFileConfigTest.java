@@ -22,6 +22,11 @@ class LocalFileConfigTest {
         assertThat(config.maxTotalSize()).isEqualTo(LocalFileConfig.DEFAULT_MAX_TOTAL_SIZE);
         assertThat(config.ignoredDirectories()).isNotEmpty();
         assertThat(config.sourceExtensions()).contains("java");
+        assertThat(config.ioParallelism()).isEqualTo(LocalFileConfig.DEFAULT_IO_PARALLELISM);
+        assertThat(config.maxShards()).isEqualTo(LocalFileConfig.DEFAULT_MAX_SHARDS);
+        assertThat(config.maxTotalTokens()).isEqualTo(LocalFileConfig.DEFAULT_MAX_TOTAL_TOKENS);
+        assertThat(config.isRelevanceRankingEnabled()).isTrue();
+        assertThat(config.relevanceQueryExpansions()).isNotEmpty();
     }
 
     @Test
@@ -68,4 +73,105 @@ class LocalFileConfigTest {
 
         assertThat(fallbackPatterns).containsAll(resourcePatterns);
     }
+
+    @Test
+    @DisplayName("モデル由来のトークン予算は設定済みの小さい予算を上書きしない")
+    void modelTokenBudgetKeepsSmallerConfiguredBudget() {
+        LocalFileConfig unset = new LocalFileConfig();
+        LocalFileConfig configured = new LocalFileConfig(1024, 4096, null, null, null, null, 1, null, 1, 50_000);
+
+        assertThat(unset.withModelTokenBudget(100_000).maxTotalTokens()).isEqualTo(100_000);
+        assertThat(configured.withModelTokenBudget(100_000).maxTotalTokens()).isEqualTo(50_000);
+        assertThat(configured.withModelTokenBudget(20_000).maxTotalTokens()).isEqualTo(20_000);
+        assertThat(configured.withModelTokenBudget(20_000).maxTotalSize()).isEqualTo(4096);
+    }
+
+    @Test
+    @DisplayName("関連度ランキングは明示的に無効化でき、トークン予算を適用しても維持される")
+    void relevanceRankingCanBeDisabled() {
+        LocalFileConfig config = new LocalFileConfig(1024, 4096, null, null, null, null, 1, null, 1, 0,
+            false, List.of("auth=login"));
+
+        LocalFileConfig budgeted = config.withModelTokenBudget(10_000);
+
+        assertThat(budgeted.isRelevanceRankingEnabled()).isFalse();
+        assertThat(budgeted.relevanceQueryExpansions()).containsExactly("auth=login");
+    }
+
+    @Test
+    @DisplayName("生成ファイルの除外はデフォルトで有効で、無効化してもトークン予算適用後に維持される")
+    void skipGeneratedFilesDefaultsAndCanBeDisabled() {
+        LocalFileConfig defaults = new LocalFileConfig();
+        LocalFileConfig disabled = new LocalFileConfig(1024, 4096, null, null, null, null, 1, null, 1, 0,
+            null, null, false, List.of(".gen.java"), List.of("GENERATED"));
+
+        LocalFileConfig budgeted = disabled.withModelTokenBudget(10_000);
+
+        assertThat(defaults.isSkipGeneratedFilesEnabled()).isTrue();
+        assertThat(defaults.generatedFilePatterns()).contains(".min.js", "third_party/");
+        assertThat(defaults.generatedCodeMarkers()).contains("Code generated by", "@generated");
+        assertThat(budgeted.isSkipGeneratedFilesEnabled()).isFalse();
+        assertThat(budgeted.generatedFilePatterns()).containsExactly(".gen.java");
+        assertThat(budgeted.generatedCodeMarkers()).containsExactly("GENERATED");
+    }
+
+    @Test
+    @DisplayName(".gitignoreの適用はデフォルトで有効で、無効化してもトークン予算適用後に維持される")
+    void respectGitignoreDefaultsAndCanBeDisabled() {
+        LocalFileConfig disabled = new LocalFileConfig(1024, 4096, null, null, null, null, 1, null, 1, 0,
+            null, null, null, null, null, false);
+
+        assertThat(new LocalFileConfig().isRespectGitignoreEnabled()).isTrue();
+        assertThat(disabled.withModelTokenBudget(10_000).isRespectGitignoreEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("ソース圧縮はデフォルトで無効で、有効にするとトークン予算適用後も維持される")
+    void compactSourcesDefaultsToDisabled() {
+        LocalFileConfig enabled = new LocalFileConfig(1024, 4096, null, null, null, null, 1, null, 1, 0,
+            null, null, null, null, null, null, true);
+
+        assertThat(new LocalFileConfig().isCompactSourcesEnabled()).isFalse();
+        assertThat(enabled.withModelTokenBudget(10_000).isCompactSourcesEnabled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("オフヒープのソース保持はデフォルトで無効で、有効にするとトークン予算適用後も維持される")
+    void offHeapSourceStoreDefaultsToDisabled() {
+        LocalFileConfig enabled = new LocalFileConfig(1024, 4096, null, null, null, null, 1, null, 1, 0,
+            null, null, null, null, null, null, null, true);
+
+        assertThat(new LocalFileConfig().isOffHeapSourceStoreEnabled()).isFalse();
+        assertThat(enabled.withModelTokenBudget(10_000).isOffHeapSourceStoreEnabled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("大きなファイルの抜粋はデフォルトで無効で、設定値はトークン予算適用後も維持される")
+    void largeFileExcerptSizeDefaultsToDisabled() {
+        LocalFileConfig enabled = new LocalFileConfig(1024, 4096, null, null, null, null, 1, null, 1, 0,
+            null, null, null, null, null, null, null, null, 512);
+
+        assertThat(new LocalFileConfig().largeFileExcerptSize()).isZero();
+        assertThat(enabled.withModelTokenBudget(10_000).largeFileExcerptSize()).isEqualTo(512);
+    }
+
+    @Test
+    @DisplayName("ストリーミング走査はデフォルトで無効で、設定値はトークン予算適用後も維持される")
+    void streamingWalkDefaultsToDisabled() {
+        LocalFileConfig enabled = new LocalFileConfig(1024, 4096, null, null, null, null, 1, null, 1, 0,
+            null, null, null, null, null, null, null, null, 0, true);
+
+        assertThat(new LocalFileConfig().isStreamingWalkEnabled()).isFalse();
+        assertThat(enabled.withModelTokenBudget(10_000).isStreamingWalkEnabled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("形式別の内容抽出はデフォルトで有効で、設定値はトークン予算適用後も維持される")
+    void extractContentDefaultsToEnabled() {
+        LocalFileConfig disabled = new LocalFileConfig(1024, 4096, null, null, null, null, 1, null, 1, 0,
+            null, null, null, null, null, null, null, null, 0, null, false);
+
+        assertThat(new LocalFileConfig().isExtractContentEnabled()).isTrue();
+        assertThat(disabled.withModelTokenBudget(10_000).isExtractContentEnabled()).isFalse();
+    }
 }
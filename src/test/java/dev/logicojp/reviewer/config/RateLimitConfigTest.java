@@ -0,0 +1,34 @@
+package dev.logicojp.reviewer.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimitConfig")
+class RateLimitConfigTest {
+
+    @Test
+    @DisplayName("未設定や0以下の値はデフォルトに補正される")
+    void defaultsForMissingValues() {
+        RateLimitConfig config = new RateLimitConfig(null, 0, -1, 0, 0);
+
+        assertThat(config.isEnabled()).isTrue();
+        assertThat(config.sessionsPerSecond()).isEqualTo(1.0);
+        assertThat(config.sessionBurst()).isEqualTo(4);
+        assertThat(config.messagesPerSecond()).isEqualTo(2.0);
+        assertThat(config.messageBurst()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("指定した値はそのまま保持される")
+    void keepsGivenValues() {
+        RateLimitConfig config = new RateLimitConfig(false, 0.5, 2, 5.0, 20);
+
+        assertThat(config.isEnabled()).isFalse();
+        assertThat(config.sessionsPerSecond()).isEqualTo(0.5);
+        assertThat(config.sessionBurst()).isEqualTo(2);
+        assertThat(config.messagesPerSecond()).isEqualTo(5.0);
+        assertThat(config.messageBurst()).isEqualTo(20);
+    }
+}
@@ -27,4 +27,15 @@ class SummaryConfigTest {
         assertThat(config.maxTotalPromptContent()).isEqualTo(50_000);
         assertThat(config.fallbackExcerptLength()).isEqualTo(100);
     }
+
+    @Test
+    @DisplayName("モデル由来のトークン予算は設定済みの小さい予算を上書きしない")
+    void modelTokenBudgetKeepsSmallerConfiguredBudget() {
+        SummaryConfig unset = new SummaryConfig(0, 0, 0, 0, 0, 0);
+        SummaryConfig configured = new SummaryConfig(0, 0, 0, 0, 0, 0, 30_000);
+
+        assertThat(unset.maxTotalPromptTokens()).isEqualTo(SummaryConfig.DEFAULT_MAX_TOTAL_PROMPT_TOKENS);
+        assertThat(unset.withModelTokenBudget(100_000).maxTotalPromptTokens()).isEqualTo(100_000);
+        assertThat(configured.withModelTokenBudget(100_000).maxTotalPromptTokens()).isEqualTo(30_000);
+    }
 }
@@ -0,0 +1,47 @@
+package dev.logicojp.reviewer.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenBudgetConfig")
+class TokenBudgetConfigTest {
+
+    @Test
+    @DisplayName("未設定の値はデフォルト値に正規化される")
+    void defaultsAreApplied() {
+        var config = new TokenBudgetConfig(null, 0, -1, -1);
+
+        assertThat(config.contextWindows()).isEmpty();
+        assertThat(config.defaultContextWindow()).isEqualTo(TokenBudgetConfig.DEFAULT_CONTEXT_WINDOW);
+        assertThat(config.responseReserveTokens()).isEqualTo(TokenBudgetConfig.DEFAULT_RESPONSE_RESERVE_TOKENS);
+        assertThat(config.promptOverheadTokens()).isEqualTo(TokenBudgetConfig.DEFAULT_PROMPT_OVERHEAD_TOKENS);
+        assertThat(config.isCollectedSourceLimitEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("モデル名に最長一致するプレフィックスのコンテキストウィンドウを使う")
+    void longestMatchingPrefixWins() {
+        var config = new TokenBudgetConfig(
+            List.of("claude=200000", "claude-opus=180_000", "gpt-5=400000", "broken", "o3=abc"),
+            100_000, 10_000, 5_000);
+
+        assertThat(config.contextWindowFor("Claude-Opus-4.6")).isEqualTo(180_000);
+        assertThat(config.contextWindowFor("claude-sonnet-4.5")).isEqualTo(200_000);
+        assertThat(config.contextWindowFor("o3")).isEqualTo(100_000);
+        assertThat(config.contextWindowFor(null)).isEqualTo(100_000);
+    }
+
+    @Test
+    @DisplayName("プロンプト予算は応答分を、コンテンツ予算はさらにオーバーヘッド分を差し引く")
+    void budgetsSubtractReserves() {
+        var config = new TokenBudgetConfig(List.of("gpt-5=400000"), 100_000, 10_000, 5_000);
+
+        assertThat(config.promptBudgetFor("gpt-5")).isEqualTo(390_000);
+        assertThat(config.contentBudgetFor("gpt-5")).isEqualTo(385_000);
+        assertThat(config.contentBudgetFor("unknown")).isEqualTo(85_000);
+    }
+}
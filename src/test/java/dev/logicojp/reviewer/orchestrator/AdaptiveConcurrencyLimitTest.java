@@ -0,0 +1,122 @@
+package dev.logicojp.reviewer.orchestrator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AdaptiveConcurrencyLimit")
+class AdaptiveConcurrencyLimitTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private void runSession(AdaptiveConcurrencyLimit limit, AdaptiveConcurrencyLimit.Outcome outcome, long millis)
+            throws InterruptedException {
+        AdaptiveConcurrencyLimit.Permit permit = limit.acquire();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        limit.release(permit, outcome, 1);
+    }
+
+    @Test
+    @DisplayName("成功したセッションごとに上限まで1ずつ増やす")
+    void increasesAdditivelyUpToMax() throws InterruptedException {
+        var limit = new AdaptiveConcurrencyLimit(2, 4, true, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            runSession(limit, AdaptiveConcurrencyLimit.Outcome.SUCCESS, 100);
+        }
+
+        assertThat(limit.currentLimit()).isEqualTo(4);
+        assertThat(limit.snapshot().increases()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("レイテンシが平滑値の許容倍率を超えたセッションでは増やさない")
+    void holdsWhenLatencySpikes() throws InterruptedException {
+        var limit = new AdaptiveConcurrencyLimit(1, 4, true, clock::get);
+
+        runSession(limit, AdaptiveConcurrencyLimit.Outcome.SUCCESS, 100);
+        runSession(limit, AdaptiveConcurrencyLimit.Outcome.SUCCESS, 1_000);
+
+        assertThat(limit.currentLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("レート制限やタイムアウトで半減し、同じ窓の失敗では一度だけ減らす")
+    void decreasesMultiplicativelyOncePerWindow() throws InterruptedException {
+        var limit = new AdaptiveConcurrencyLimit(8, 8, true, clock::get);
+        AdaptiveConcurrencyLimit.Permit first = limit.acquire();
+        AdaptiveConcurrencyLimit.Permit second = limit.acquire();
+
+        limit.release(first, AdaptiveConcurrencyLimit.Outcome.OVERLOAD, 1);
+        limit.release(second, AdaptiveConcurrencyLimit.Outcome.OVERLOAD, 1);
+        assertThat(limit.currentLimit()).isEqualTo(4);
+
+        runSession(limit, AdaptiveConcurrencyLimit.Outcome.OVERLOAD, 10);
+        runSession(limit, AdaptiveConcurrencyLimit.Outcome.OVERLOAD, 10);
+        runSession(limit, AdaptiveConcurrencyLimit.Outcome.OVERLOAD, 10);
+
+        AdaptiveConcurrencyLimit.Snapshot snapshot = limit.snapshot();
+        assertThat(snapshot.limit()).isEqualTo(1);
+        assertThat(snapshot.lowestLimit()).isEqualTo(1);
+        assertThat(snapshot.highestLimit()).isEqualTo(8);
+        assertThat(snapshot.decreases()).isEqualTo(3);
+        assertThat(snapshot.history()).extracting(AdaptiveConcurrencyLimit.Adjustment::to).containsExactly(4, 2, 1);
+    }
+
+    @Test
+    @DisplayName("その他の失敗や固定上限では変化しない")
+    void ignoresOtherFailuresAndFixedLimits() throws InterruptedException {
+        var adaptive = new AdaptiveConcurrencyLimit(2, 4, true, clock::get);
+        var fixed = AdaptiveConcurrencyLimit.fixed(2);
+
+        runSession(adaptive, AdaptiveConcurrencyLimit.Outcome.FAILURE, 10);
+        runSession(fixed, AdaptiveConcurrencyLimit.Outcome.OVERLOAD, 10);
+        runSession(fixed, AdaptiveConcurrencyLimit.Outcome.SUCCESS, 10);
+
+        assertThat(adaptive.currentLimit()).isEqualTo(2);
+        assertThat(fixed.currentLimit()).isEqualTo(2);
+        assertThat(fixed.snapshot().history()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("tryAcquireは空きがなければ待たずにnullを返す")
+    void tryAcquireDoesNotWait() throws InterruptedException {
+        var limit = AdaptiveConcurrencyLimit.fixed(1);
+        AdaptiveConcurrencyLimit.Permit held = limit.acquire();
+
+        assertThat(limit.tryAcquire()).isNull();
+        limit.release(held, AdaptiveConcurrencyLimit.Outcome.SUCCESS, 1);
+        assertThat(limit.tryAcquire()).isNotNull();
+        assertThat(limit.snapshot().inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("上限に達すると解放されるまで待機する")
+    void blocksAtLimitUntilReleased() throws Exception {
+        var limit = AdaptiveConcurrencyLimit.fixed(1);
+        AdaptiveConcurrencyLimit.Permit held = limit.acquire();
+        var acquired = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> waiter = executor.submit(() -> {
+                AdaptiveConcurrencyLimit.Permit permit = limit.acquire();
+                acquired.countDown();
+                limit.release(permit, AdaptiveConcurrencyLimit.Outcome.SUCCESS, 1);
+                return null;
+            });
+
+            assertThatThrownBy(() -> waiter.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            limit.release(held, AdaptiveConcurrencyLimit.Outcome.SUCCESS, 1);
+            assertThat(acquired.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package dev.logicojp.reviewer.orchestrator;
+
+import dev.logicojp.reviewer.agent.AgentConfig;
+import dev.logicojp.reviewer.config.ExecutionConfig;
+import dev.logicojp.reviewer.report.core.ReviewResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AdaptiveTimeouts")
+class AdaptiveTimeoutsTest {
+
+    private static final AdaptiveTimeouts.Limits STATIC_LIMITS = new AdaptiveTimeouts.Limits(60, 5);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-05T12:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path tempDir;
+
+    private final AgentConfig agent =
+        new AgentConfig("security", "Security", "model", "system", "instruction", null, List.of(), List.of());
+
+    private RunHistoryStore history(RunHistoryStore.Entry... entries) {
+        Path file = tempDir.resolve("run-history.tsv");
+        RunHistoryStore store = RunHistoryStore.open(file);
+        for (RunHistoryStore.Entry entry : entries) {
+            store.append(entry);
+        }
+        return RunHistoryStore.open(file);
+    }
+
+    private static RunHistoryStore.Entry run(String sizeBucket, long passSeconds, long gapSeconds,
+                                             RunHistoryStore.Outcome outcome) {
+        return new RunHistoryStore.Entry(CLOCK.instant(), "security", "model", sizeBucket, 1,
+            TimeUnit.SECONDS.toMillis(passSeconds), gapSeconds < 0 ? -1 : TimeUnit.SECONDS.toMillis(gapSeconds),
+            outcome);
+    }
+
+    private AdaptiveTimeouts timeouts(RunHistoryStore store) {
+        return new AdaptiveTimeouts(store, 0.95, 1.5, 3, new AdaptiveTimeouts.Limits(2, 1),
+            new AdaptiveTimeouts.Limits(90, 10), CLOCK);
+    }
+
+    @Test
+    @DisplayName("成功した実行のパーセンタイルに余裕を掛けて分単位に切り上げる")
+    void derivesFromPercentileWithMargin() {
+        var store = history(
+            run("small", 120, 20, RunHistoryStore.Outcome.SUCCESS),
+            run("small", 180, 30, RunHistoryStore.Outcome.SUCCESS),
+            run("small", 240, 100, RunHistoryStore.Outcome.SUCCESS),
+            run("small", 3_000, 3_000, RunHistoryStore.Outcome.TIMEOUT));
+
+        AdaptiveTimeouts.Limits limits = timeouts(store).limitsFor(agent, "small", STATIC_LIMITS);
+
+        assertThat(limits).isEqualTo(new AdaptiveTimeouts.Limits(6, 3));
+    }
+
+    @Test
+    @DisplayName("導いた値は下限と上限の間に収め、静的なタイムアウトを超えてもよい")
+    void clampsBetweenFloorAndCeiling() {
+        var fast = history(
+            run("small", 5, 1, RunHistoryStore.Outcome.SUCCESS),
+            run("small", 5, 1, RunHistoryStore.Outcome.SUCCESS),
+            run("small", 5, 1, RunHistoryStore.Outcome.SUCCESS));
+        var slow = history(
+            run("large", 3_000, 480, RunHistoryStore.Outcome.SUCCESS),
+            run("large", 3_000, 480, RunHistoryStore.Outcome.SUCCESS),
+            run("large", 6_000, 480, RunHistoryStore.Outcome.SUCCESS));
+
+        assertThat(timeouts(fast).limitsFor(agent, "small", STATIC_LIMITS))
+            .isEqualTo(new AdaptiveTimeouts.Limits(2, 1));
+        assertThat(timeouts(slow).limitsFor(agent, "large", STATIC_LIMITS))
+            .isEqualTo(new AdaptiveTimeouts.Limits(90, 10));
+        assertThat(timeouts(history(
+            run("medium", 3_000, 200, RunHistoryStore.Outcome.SUCCESS),
+            run("medium", 3_000, 200, RunHistoryStore.Outcome.SUCCESS),
+            run("medium", 3_000, 200, RunHistoryStore.Outcome.SUCCESS)))
+            .limitsFor(agent, "medium", STATIC_LIMITS))
+            .isEqualTo(new AdaptiveTimeouts.Limits(75, 5));
+    }
+
+    @Test
+    @DisplayName("同じ大きさの実行が足りなければエージェントとモデルの全実行を使い、それも足りなければ静的な値を使う")
+    void fallsBackToAllSizesThenStaticTimeouts() {
+        var store = history(
+            run("large", 600, 60, RunHistoryStore.Outcome.SUCCESS),
+            run("small", 60, 10, RunHistoryStore.Outcome.SUCCESS),
+            run("small", 60, -1, RunHistoryStore.Outcome.SUCCESS));
+
+        assertThat(timeouts(store).limitsFor(agent, "large", STATIC_LIMITS))
+            .isEqualTo(new AdaptiveTimeouts.Limits(15, 5));
+        var otherModel = new AgentConfig("security", "Security", "other", "system", "instruction", null,
+            List.of(), List.of());
+        assertThat(timeouts(store).limitsFor(otherModel, "large", STATIC_LIMITS)).isEqualTo(STATIC_LIMITS);
+    }
+
+    @Test
+    @DisplayName("実行を履歴に記録し、無効なら静的な値を返して何も記録しない")
+    void recordsRunsOnlyWhenEnabled() {
+        var store = history();
+        var results = List.of(ReviewResult.builder().agentConfig(agent).repository("r").content("ok").success(true).build());
+
+        timeouts(store).record(agent, "medium", 2, TimeUnit.SECONDS.toNanos(90), 4_000, results);
+        AdaptiveTimeouts.disabled().record(agent, "medium", 2, TimeUnit.SECONDS.toNanos(90), 4_000, results);
+
+        assertThat(RunHistoryStore.open(tempDir.resolve("run-history.tsv")).loadedEntries()).containsExactly(
+            new RunHistoryStore.Entry(CLOCK.instant(), "security", "model", "medium", 2, 90_000, 4_000,
+                RunHistoryStore.Outcome.SUCCESS));
+        assertThat(AdaptiveTimeouts.disabled().limitsFor(agent, "medium", STATIC_LIMITS)).isEqualTo(STATIC_LIMITS);
+        assertThat(AdaptiveTimeouts.from(ExecutionConfig.defaults()).isEnabled()).isFalse();
+    }
+}
@@ -7,13 +7,18 @@ import dev.logicojp.reviewer.report.core.ReviewResult;
 import dev.logicojp.reviewer.target.ReviewTarget;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Semaphore;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -42,7 +47,7 @@ class AgentReviewExecutorTest {
         var ctx = context();
         try {
             var executor = new AgentReviewExecutor(
-                new Semaphore(1),
+                AdaptiveConcurrencyLimit.fixed(1),
                 executorService,
                 (config, context) -> new AgentReviewer() {
                     @Override
@@ -64,7 +69,8 @@ class AgentReviewExecutorTest {
                         }
                         return results;
                     }
-                }
+                },
+                AgentReviewExecutor.RunPolicies.disabled()
             );
 
             var results = executor.executeAgentPassesSafely(
@@ -94,14 +100,15 @@ class AgentReviewExecutorTest {
         var ctx = context();
         try {
             var executor = new AgentReviewExecutor(
-                new Semaphore(1),
+                AdaptiveConcurrencyLimit.fixed(1),
                 executorService,
                 (config, context) -> new AgentReviewer() {
                     @Override
                     public ReviewResult review(ReviewTarget target) {
                         throw new IllegalStateException("boom");
                     }
-                }
+                },
+                AgentReviewExecutor.RunPolicies.disabled()
             );
 
             var results = executor.executeAgentPassesSafely(
@@ -133,7 +140,7 @@ class AgentReviewExecutorTest {
         var reviewPassesCalls = new AtomicInteger();
         try {
             var executor = new AgentReviewExecutor(
-                new Semaphore(1),
+                AdaptiveConcurrencyLimit.fixed(1),
                 executorService,
                 (config, context) -> {
                     createdReviewers.incrementAndGet();
@@ -159,7 +166,8 @@ class AgentReviewExecutorTest {
                             return results;
                         }
                     };
-                }
+                },
+                AgentReviewExecutor.RunPolicies.disabled()
             );
 
             var results = executor.executeAgentPassesSafely(
@@ -179,4 +187,287 @@ class AgentReviewExecutorTest {
             ctx.sharedScheduler().close();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("レート制限で失敗したセッションは適応的な並列数の上限を下げる")
+    void rateLimitedSessionLowersAdaptiveLimit() {
+        var executorService = Executors.newVirtualThreadPerTaskExecutor();
+        var ctx = context();
+        var concurrencyLimit = AdaptiveConcurrencyLimit.adaptive(4, 4);
+        try {
+            var executor = new AgentReviewExecutor(
+                concurrencyLimit,
+                executorService,
+                (config, context) -> new AgentReviewer() {
+                    @Override
+                    public ReviewResult review(ReviewTarget target) {
+                        return ReviewResult.builder()
+                            .agentConfig(config)
+                            .repository(target.displayName())
+                            .success(false)
+                            .errorMessage("429 Too Many Requests")
+                            .timestamp(Instant.now())
+                            .build();
+                    }
+                },
+                AgentReviewExecutor.RunPolicies.disabled()
+            );
+
+            var results = executor.executeAgentPassesSafely(
+                agentConfig(),
+                ReviewTarget.gitHub("owner/repo"),
+                ctx,
+                1,
+                1
+            );
+
+            assertThat(results).singleElement().satisfies(result -> assertThat(result.success()).isFalse());
+            assertThat(concurrencyLimit.currentLimit()).isEqualTo(2);
+        } finally {
+            executorService.close();
+            ctx.client().close();
+            ctx.sharedScheduler().close();
+        }
+    }
+
+    @Test
+    @DisplayName("遅いセッションにはヘッジを起動し、先に成功した結果を採用して遅い方をキャンセルする")
+    void hedgesStragglerAndCancelsLoser() throws InterruptedException {
+        var executorService = Executors.newVirtualThreadPerTaskExecutor();
+        var ctx = context();
+        var hedgingPolicy = new HedgingPolicy(true, 0.9, 1, 0, 1);
+        hedgingPolicy.recordSuccess(TimeUnit.MILLISECONDS.toNanos(50), 1);
+        var createdReviewers = new AtomicInteger();
+        var primaryCancelled = new CountDownLatch(1);
+        try {
+            var executor = new AgentReviewExecutor(
+                AdaptiveConcurrencyLimit.fixed(2),
+                executorService,
+                (config, context) -> {
+                    boolean primary = createdReviewers.incrementAndGet() == 1;
+                    return target -> {
+                        if (primary) {
+                            try {
+                                Thread.sleep(60_000);
+                            } catch (InterruptedException e) {
+                                primaryCancelled.countDown();
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                        return ReviewResult.builder()
+                            .agentConfig(config)
+                            .repository(target.displayName())
+                            .content(primary ? "primary" : "hedge")
+                            .success(true)
+                            .timestamp(Instant.now())
+                            .build();
+                    };
+                },
+                new AgentReviewExecutor.RunPolicies(hedgingPolicy, AdaptiveTimeouts.disabled())
+            );
+
+            var results = executor.executeAgentPassesSafely(
+                agentConfig(),
+                ReviewTarget.gitHub("owner/repo"),
+                ctx,
+                1,
+                1
+            );
+
+            assertThat(results).singleElement().satisfies(result -> assertThat(result.content()).isEqualTo("hedge"));
+            assertThat(createdReviewers.get()).isEqualTo(2);
+            assertThat(hedgingPolicy.hedgesWon()).isEqualTo(1);
+            assertThat(primaryCancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executorService.close();
+            ctx.client().close();
+            ctx.sharedScheduler().close();
+        }
+    }
+
+    @Test
+    @DisplayName("ヘッジ起動後に元のセッションが勝った場合も開始からのレイテンシを記録する")
+    void recordsPrimaryLatencyAfterHedgeStarted() {
+        var executorService = Executors.newVirtualThreadPerTaskExecutor();
+        var ctx = context();
+        var hedgingPolicy = new HedgingPolicy(true, 0.9, 1, 0, 2);
+        hedgingPolicy.recordSuccess(TimeUnit.MILLISECONDS.toNanos(50), 1);
+        var createdReviewers = new AtomicInteger();
+        try {
+            var executor = new AgentReviewExecutor(
+                AdaptiveConcurrencyLimit.fixed(2),
+                executorService,
+                (config, context) -> {
+                    boolean primary = createdReviewers.incrementAndGet() == 1;
+                    return target -> {
+                        try {
+                            Thread.sleep(primary ? 300 : 60_000);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return ReviewResult.builder()
+                            .agentConfig(config)
+                            .repository(target.displayName())
+                            .content(primary ? "primary" : "hedge")
+                            .success(true)
+                            .timestamp(Instant.now())
+                            .build();
+                    };
+                },
+                new AgentReviewExecutor.RunPolicies(hedgingPolicy, AdaptiveTimeouts.disabled())
+            );
+
+            var results = executor.executeAgentPassesSafely(
+                agentConfig(),
+                ReviewTarget.gitHub("owner/repo"),
+                ctx,
+                1,
+                1
+            );
+
+            assertThat(results).singleElement().satisfies(result -> assertThat(result.content()).isEqualTo("primary"));
+            assertThat(hedgingPolicy.hedgesStarted()).isEqualTo(1);
+            assertThat(hedgingPolicy.hedgesWon()).isZero();
+            assertThat(hedgingPolicy.hedgeDelayNanos(1)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(300));
+        } finally {
+            executorService.close();
+            ctx.client().close();
+            ctx.sharedScheduler().close();
+        }
+    }
+
+    @Test
+    @DisplayName("並列数の上限に空きがなければヘッジしない")
+    void skipsHedgeWithoutCapacity() {
+        var executorService = Executors.newVirtualThreadPerTaskExecutor();
+        var ctx = context();
+        var hedgingPolicy = new HedgingPolicy(true, 0.9, 1, 0, 1);
+        hedgingPolicy.recordSuccess(TimeUnit.MILLISECONDS.toNanos(10), 1);
+        var createdReviewers = new AtomicInteger();
+        try {
+            var executor = new AgentReviewExecutor(
+                AdaptiveConcurrencyLimit.fixed(1),
+                executorService,
+                (config, context) -> {
+                    createdReviewers.incrementAndGet();
+                    return target -> {
+                        try {
+                            Thread.sleep(200);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return ReviewResult.builder()
+                            .agentConfig(config)
+                            .repository(target.displayName())
+                            .content("ok")
+                            .success(true)
+                            .timestamp(Instant.now())
+                            .build();
+                    };
+                },
+                new AgentReviewExecutor.RunPolicies(hedgingPolicy, AdaptiveTimeouts.disabled())
+            );
+
+            var results = executor.executeAgentPassesSafely(
+                agentConfig(),
+                ReviewTarget.gitHub("owner/repo"),
+                ctx,
+                1,
+                1
+            );
+
+            assertThat(results).singleElement().satisfies(result -> assertThat(result.success()).isTrue());
+            assertThat(createdReviewers.get()).isEqualTo(1);
+            assertThat(hedgingPolicy.hedgesStarted()).isZero();
+        } finally {
+            executorService.close();
+            ctx.client().close();
+            ctx.sharedScheduler().close();
+        }
+    }
+
+    @Test
+    @DisplayName("適応タイムアウトでは履歴から導いたタイムアウトで実行し、実行結果を履歴に追記する")
+    void runsWithAdaptiveTimeoutsAndRecordsRun(@TempDir Path tempDir) {
+        Path historyFile = tempDir.resolve("run-history.tsv");
+        RunHistoryStore seed = RunHistoryStore.open(historyFile);
+        for (int i = 0; i < 5; i++) {
+            seed.append(new RunHistoryStore.Entry(Instant.now(), "security", "model", "none", 1,
+                TimeUnit.SECONDS.toMillis(100), TimeUnit.SECONDS.toMillis(30), RunHistoryStore.Outcome.SUCCESS));
+        }
+        var adaptiveTimeouts = new AdaptiveTimeouts(RunHistoryStore.open(historyFile), 0.95, 1.5, 5,
+            new AdaptiveTimeouts.Limits(1, 1), new AdaptiveTimeouts.Limits(60, 15),
+            Clock.systemUTC());
+        var executorService = Executors.newVirtualThreadPerTaskExecutor();
+        var ctx = ReviewContext.builder()
+            .client(new com.github.copilot.sdk.CopilotClient(new com.github.copilot.sdk.json.CopilotClientOptions()))
+            .timeoutMinutes(20)
+            .idleTimeoutMinutes(5)
+            .maxRetries(0)
+            .localFileConfig(new LocalFileConfig())
+            .sharedScheduler(Executors.newSingleThreadScheduledExecutor())
+            .build();
+        var agentTimeouts = new AtomicReference<ReviewContext.TimeoutConfig>();
+        try {
+            var executor = new AgentReviewExecutor(
+                AdaptiveConcurrencyLimit.fixed(1),
+                executorService,
+                (config, context) -> {
+                    agentTimeouts.set(context.timeoutConfig());
+                    return target -> {
+                        context.sessionTimingListener().longestEventGap(1_500);
+                        context.sessionTimingListener().longestEventGap(500);
+                        return ReviewResult.builder()
+                            .agentConfig(config)
+                            .repository(target.displayName())
+                            .content("ok")
+                            .success(true)
+                            .timestamp(Instant.now())
+                            .build();
+                    };
+                },
+                new AgentReviewExecutor.RunPolicies(HedgingPolicy.disabled(), adaptiveTimeouts)
+            );
+
+            var results = executor.executeAgentPassesSafely(
+                agentConfig(),
+                ReviewTarget.gitHub("owner/repo"),
+                ctx,
+                1,
+                60
+            );
+
+            assertThat(results).singleElement().satisfies(result -> assertThat(result.success()).isTrue());
+            assertThat(agentTimeouts.get().timeoutMinutes()).isEqualTo(3);
+            assertThat(agentTimeouts.get().idleTimeoutMinutes()).isEqualTo(1);
+            assertThat(RunHistoryStore.open(historyFile).loadedEntries()).hasSize(6).last().satisfies(entry -> {
+                assertThat(entry.agent()).isEqualTo("security");
+                assertThat(entry.sizeBucket()).isEqualTo("none");
+                assertThat(entry.longestGapMillis()).isEqualTo(1_500);
+                assertThat(entry.outcome()).isEqualTo(RunHistoryStore.Outcome.SUCCESS);
+            });
+        } finally {
+            executorService.close();
+            ctx.client().close();
+            ctx.sharedScheduler().close();
+        }
+    }
+
+    @Test
+    @DisplayName("結果からセッションの成否と過負荷を判定する")
+    void classifiesSessionOutcome() {
+        ReviewResult ok = ReviewResult.builder().agentConfig(agentConfig()).repository("r")
+            .content("ok").success(true).timestamp(Instant.now()).build();
+        ReviewResult invalid = ReviewResult.builder().agentConfig(agentConfig()).repository("r")
+            .success(false).errorMessage("Agent returned empty review content").timestamp(Instant.now()).build();
+        ReviewResult timedOut = ReviewResult.builder().agentConfig(agentConfig()).repository("r")
+            .success(false).errorMessage("Review timed out after 20 minutes").timestamp(Instant.now()).build();
+
+        assertThat(AgentReviewExecutor.outcomeOf(List.of(ok, ok))).isEqualTo(AdaptiveConcurrencyLimit.Outcome.SUCCESS);
+        assertThat(AgentReviewExecutor.outcomeOf(List.of(ok, invalid)))
+            .isEqualTo(AdaptiveConcurrencyLimit.Outcome.FAILURE);
+        assertThat(AgentReviewExecutor.outcomeOf(List.of(invalid, timedOut)))
+            .isEqualTo(AdaptiveConcurrencyLimit.Outcome.OVERLOAD);
+        assertThat(AgentReviewExecutor.outcomeOf(null)).isEqualTo(AdaptiveConcurrencyLimit.Outcome.FAILURE);
+    }
+}
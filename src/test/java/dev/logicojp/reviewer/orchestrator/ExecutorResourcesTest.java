@@ -4,7 +4,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.concurrent.Executors;
-import java.util.concurrent.Semaphore;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -25,7 +24,7 @@ class ExecutorResourcesTest {
         var agentExecutor = Executors.newVirtualThreadPerTaskExecutor();
         var scheduler = Executors.newSingleThreadScheduledExecutor();
 
-        var resources = new ExecutorResources(agentExecutor, scheduler, new Semaphore(1));
+        var resources = new ExecutorResources(agentExecutor, scheduler, AdaptiveConcurrencyLimit.fixed(1));
         resources.shutdownGracefully();
 
         assertThat(agentExecutor.isShutdown()).isTrue();
@@ -0,0 +1,69 @@
+package dev.logicojp.reviewer.orchestrator;
+
+import dev.logicojp.reviewer.config.ExecutionConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HedgingPolicy")
+class HedgingPolicyTest {
+
+    private static long seconds(long seconds) {
+        return TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    @Test
+    @DisplayName("サンプル数が足りないうちはヘッジしない")
+    void waitsForMinSamples() {
+        var policy = new HedgingPolicy(true, 0.9, 3, 0, 2);
+
+        policy.recordSuccess(seconds(60), 1);
+        policy.recordSuccess(seconds(60), 1);
+        assertThat(policy.hedgeDelayNanos(1)).isEqualTo(-1);
+
+        policy.recordSuccess(seconds(60), 1);
+        assertThat(policy.hedgeDelayNanos(1)).isEqualTo(seconds(60));
+    }
+
+    @Test
+    @DisplayName("パスあたりのレイテンシのパーセンタイルをパス数倍し、最短待ち時間を下回らない")
+    void usesPercentileScaledByPasses() {
+        var policy = new HedgingPolicy(true, 0.5, 1, seconds(100), 2);
+        for (long latency : new long[] {240, 60, 180, 120}) {
+            policy.recordSuccess(seconds(latency), 2);
+        }
+
+        // Per-pass samples: 30, 60, 90, 120 s; the median is 60 s.
+        assertThat(policy.hedgeDelayNanos(3)).isEqualTo(seconds(180));
+        assertThat(policy.hedgeDelayNanos(1)).isEqualTo(seconds(100));
+    }
+
+    @Test
+    @DisplayName("実行ごとのヘッジ数の上限を超えない")
+    void limitsHedgesPerRun() {
+        var policy = new HedgingPolicy(true, 0.9, 1, 0, 1);
+        policy.recordSuccess(seconds(10), 1);
+
+        assertThat(policy.tryStartHedge()).isTrue();
+        assertThat(policy.tryStartHedge()).isFalse();
+        assertThat(policy.hedgeDelayNanos(1)).isEqualTo(-1);
+
+        policy.cancelHedge();
+        assertThat(policy.tryStartHedge()).isTrue();
+        assertThat(policy.hedgesStarted()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("設定で無効な場合はヘッジしない")
+    void disabledByDefault() {
+        var policy = HedgingPolicy.from(ExecutionConfig.defaults());
+        policy.recordSuccess(seconds(10), 1);
+
+        assertThat(policy.isEnabled()).isFalse();
+        assertThat(policy.hedgeDelayNanos(1)).isEqualTo(-1);
+        assertThat(policy.tryStartHedge()).isFalse();
+    }
+}
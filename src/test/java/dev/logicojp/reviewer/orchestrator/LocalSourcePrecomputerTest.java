@@ -1,12 +1,21 @@
 package dev.logicojp.reviewer.orchestrator;
 
+import dev.logicojp.reviewer.agent.AgentConfig;
 import dev.logicojp.reviewer.config.LocalFileConfig;
+import dev.logicojp.reviewer.config.TokenBudgetConfig;
+import dev.logicojp.reviewer.target.FileRoutingRules;
+import dev.logicojp.reviewer.target.LocalFileProvider;
+import dev.logicojp.reviewer.target.RelevanceQuery;
 import dev.logicojp.reviewer.target.ReviewTarget;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -14,35 +23,181 @@ import static org.assertj.core.api.Assertions.assertThat;
 class LocalSourcePrecomputerTest {
 
     @Test
-    @DisplayName("GitHubターゲットでは事前収集を行わずOptional.emptyを返す")
-    void returnsEmptyForGithubTarget() {
+    @DisplayName("ローカルターゲットでは収集結果のreviewContentを返す")
+    void returnsReviewContentForLocalTarget() {
         var precomputer = new LocalSourcePrecomputer(
-            (directory, config) -> () -> {
-                throw new IllegalStateException("should not be called");
+            (directory, config) -> () -> new dev.logicojp.reviewer.target.LocalFileProvider.CollectionResult(
+                "SOURCE_CONTENT",
+                "summary",
+                2,
+                100
+            ),
+            new LocalFileConfig()
+        );
+
+        var result = precomputer.preComputeAgentSources(
+            ReviewTarget.local(Path.of("/tmp/repo")), List.of(AgentConfig.builder().name("a").build()));
+
+        assertThat(result.get("a")).containsExactly("SOURCE_CONTENT");
+    }
+
+    @Test
+    @DisplayName("収集ソースの上限を有効にするとエージェントのモデルのうち最小のトークン予算で収集する")
+    void collectsWithSmallestAgentModelBudget() {
+        var captured = new AtomicReference<LocalFileConfig>();
+        var precomputer = new LocalSourcePrecomputer(
+            (target, config) -> {
+                captured.set(config);
+                return () -> new LocalFileProvider.CollectionResult("SOURCE_CONTENT", "summary", 1, 10);
+            },
+            new LocalFileConfig(),
+            new TokenBudgetConfig(List.of("large=400000", "small=64000"), 128_000, 16_000, 8_000, true)
+        );
+        var agents = List.of(
+            AgentConfig.builder().name("a").model("large-1").build(),
+            AgentConfig.builder().name("b").model("small-1").build()
+        );
+
+        var result = precomputer.preComputeAgentSources(ReviewTarget.local(Path.of("/tmp/repo")), agents);
+
+        assertThat(result).containsOnlyKeys("a", "b");
+        assertThat(result.get("a")).containsExactly("SOURCE_CONTENT");
+        assertThat(captured.get().maxTotalTokens()).isEqualTo(40_000);
+    }
+
+    @Test
+    @DisplayName("収集ソースの上限はデフォルトで無効で、設定したトークン予算だけを使う")
+    void keepsConfiguredTokenBudgetByDefault() {
+        var captured = new AtomicReference<LocalFileConfig>();
+        var precomputer = new LocalSourcePrecomputer(
+            (target, config) -> {
+                captured.set(config);
+                return () -> new LocalFileProvider.CollectionResult("SOURCE_CONTENT", "summary", 1, 10);
+            },
+            new LocalFileConfig(),
+            new TokenBudgetConfig(List.of("small=64000"), 128_000, 16_000, 8_000)
+        );
+        var agents = List.of(AgentConfig.builder().name("a").model("small-1").build());
+
+        precomputer.preComputeAgentSources(ReviewTarget.local(Path.of("/tmp/repo")), agents);
+
+        assertThat(captured.get().maxTotalTokens()).isZero();
+    }
+
+    @Test
+    @DisplayName("エージェントごとの関連度ランキング結果を割り当て、同じ選択は同じリストを共有する")
+    void assignsRankedSourcesPerAgent() {
+        var captured = new AtomicReference<List<RelevanceQuery>>();
+        var precomputer = new LocalSourcePrecomputer(
+            (target, config) -> new LocalSourceCollector() {
+                @Override
+                public LocalFileProvider.CollectionResult collectAndGenerate() {
+                    throw new IllegalStateException("should not be called");
+                }
+
+                @Override
+                public Map<String, LocalFileProvider.CollectionResult> collectAndGenerateRanked(
+                        List<RelevanceQuery> queries) {
+                    captured.set(queries);
+                    var auth = new LocalFileProvider.CollectionResult("AUTH", "summary", 1, 10);
+                    var other = new LocalFileProvider.CollectionResult("OTHER", "summary", 1, 10);
+                    return Map.of("security", auth, "quality", other, "performance", other);
+                }
             },
             new LocalFileConfig()
         );
+        var agents = List.of(
+            AgentConfig.builder().name("security").focusAreas(List.of("認証")).build(),
+            AgentConfig.builder().name("quality").build(),
+            AgentConfig.builder().name("performance").build()
+        );
 
-        var result = precomputer.preComputeSourceContent(ReviewTarget.gitHub("owner/repo"));
+        var result = precomputer.preComputeAgentSources(ReviewTarget.local(Path.of("/tmp/repo")), agents);
 
-        assertThat(result).isEmpty();
+        assertThat(captured.get()).extracting(RelevanceQuery::key)
+            .containsExactly("security", "quality", "performance");
+        assertThat(captured.get().getFirst().focusAreas()).containsExactly("認証");
+        assertThat(result.get("security")).containsExactly("AUTH");
+        assertThat(result.get("quality")).containsExactly("OTHER").isSameAs(result.get("performance"));
     }
 
     @Test
-    @DisplayName("ローカルターゲットでは収集結果のreviewContentを返す")
-    void returnsReviewContentForLocalTarget() {
+    @DisplayName("シャード分割が有効な場合は全エージェントに同じシャードを割り当てる")
+    void sharesShardsWhenShardingEnabled() {
         var precomputer = new LocalSourcePrecomputer(
-            (directory, config) -> () -> new dev.logicojp.reviewer.target.LocalFileProvider.CollectionResult(
-                "SOURCE_CONTENT",
-                "summary",
-                2,
-                100
-            ),
+            (target, config) -> new LocalSourceCollector() {
+                @Override
+                public LocalFileProvider.CollectionResult collectAndGenerate() {
+                    throw new IllegalStateException("should not be called");
+                }
+
+                @Override
+                public List<LocalFileProvider.CollectionResult> collectAndGenerateShards() {
+                    return List.of(
+                        new LocalFileProvider.CollectionResult("SHARD_1", "summary", 1, 10),
+                        new LocalFileProvider.CollectionResult("SHARD_2", "summary", 1, 10)
+                    );
+                }
+            },
+            new LocalFileConfig(1024, 4096, null, null, null, null, 1, null, 2)
+        );
+        var agents = List.of(
+            AgentConfig.builder().name("a").build(),
+            AgentConfig.builder().name("b").build()
+        );
+
+        var result = precomputer.preComputeAgentSources(ReviewTarget.local(Path.of("/tmp/repo")), agents);
+
+        assertThat(result.get("a")).containsExactly("SHARD_1", "SHARD_2").isSameAs(result.get("b"));
+    }
+
+    @Test
+    @DisplayName("シャード分割時はファイルルーティングルールごとに一度だけ収集し、同じルールのエージェントで共有する")
+    void collectsShardsOncePerRoutingRules() {
+        var requestedRules = new ArrayList<FileRoutingRules>();
+        var precomputer = new LocalSourcePrecomputer(
+            (target, config) -> new LocalSourceCollector() {
+                @Override
+                public LocalFileProvider.CollectionResult collectAndGenerate() {
+                    throw new IllegalStateException("should not be called");
+                }
+
+                @Override
+                public List<LocalFileProvider.CollectionResult> collectAndGenerateShards(FileRoutingRules rules) {
+                    requestedRules.add(rules);
+                    String content = rules.isUnrestricted() ? "ALL" : "SQL";
+                    return List.of(new LocalFileProvider.CollectionResult(content, "summary", 1, 10));
+                }
+            },
+            new LocalFileConfig(1024, 4096, null, null, null, null, 1, null, 2)
+        );
+        var sqlRules = FileRoutingRules.parse("**/*.sql", null);
+        var agents = List.of(
+            AgentConfig.builder().name("sql").fileRoutingRules(sqlRules).build(),
+            AgentConfig.builder().name("quality").build(),
+            AgentConfig.builder().name("migration").fileRoutingRules(FileRoutingRules.parse("**/*.sql", "")).build()
+        );
+
+        var result = precomputer.preComputeAgentSources(ReviewTarget.local(Path.of("/tmp/repo")), agents);
+
+        assertThat(requestedRules).containsExactly(sqlRules, FileRoutingRules.all());
+        assertThat(result.get("sql")).containsExactly("SQL").isSameAs(result.get("migration"));
+        assertThat(result.get("quality")).containsExactly("ALL");
+    }
+
+    @Test
+    @DisplayName("GitHubターゲットではエージェントごとのソースを返さない")
+    void returnsNoAgentSourcesForGithubTarget() {
+        var precomputer = new LocalSourcePrecomputer(
+            (directory, config) -> () -> {
+                throw new IllegalStateException("should not be called");
+            },
             new LocalFileConfig()
         );
 
-        var result = precomputer.preComputeSourceContent(ReviewTarget.local(Path.of("/tmp/repo")));
+        var result = precomputer.preComputeAgentSources(
+            ReviewTarget.gitHub("owner/repo"), List.of(AgentConfig.builder().name("a").build()));
 
-        assertThat(result).hasValue("SOURCE_CONTENT");
+        assertThat(result).isEmpty();
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import com.github.copilot.sdk.json.CopilotClientOptions;
 import dev.logicojp.reviewer.agent.SharedCircuitBreaker;
 import dev.logicojp.reviewer.config.ExecutionConfig;
 import dev.logicojp.reviewer.config.LocalFileConfig;
+import dev.logicojp.reviewer.config.TokenBudgetConfig;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -26,6 +27,7 @@ class ReviewContextFactoryTest {
             var executionConfig = dev.logicojp.reviewer.testutil.ExecutionConfigFixtures.config(2, 1, 10, 5, 3, 5, 5, 10, 2, 0, 0, 0);
             Map<String, Object> cachedMcp = Map.of("github", Map.of("type", "http"));
             var localFileConfig = new LocalFileConfig();
+            var tokenBudgetConfig = new TokenBudgetConfig();
 
             var factory = new ReviewContextFactory(
                 client,
@@ -36,7 +38,8 @@ class ReviewContextFactoryTest {
                 cachedMcp,
                 localFileConfig,
                 scheduler,
-                SharedCircuitBreaker.withDefaultConfig()
+                SharedCircuitBreaker.withDefaultConfig(),
+                tokenBudgetConfig
             );
 
             var context = factory.create(Optional.of("SOURCE_CONTENT"));
@@ -52,9 +55,45 @@ class ReviewContextFactoryTest {
             assertThat(context.cachedResources().mcpServers()).isEqualTo(cachedMcp);
             assertThat(context.cachedResources().sourceContent()).isEqualTo("SOURCE_CONTENT");
             assertThat(context.sharedScheduler()).isSameAs(scheduler);
+            assertThat(context.tokenBudgetConfig()).isSameAs(tokenBudgetConfig);
         } finally {
             scheduler.close();
             client.close();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("オフヒープのソース保持が有効な場合はソースを圧縮して保持する")
+    void compressesSourceWhenOffHeapStoreEnabled() {
+        CopilotClient client = new CopilotClient(new CopilotClientOptions());
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            var executionConfig = dev.logicojp.reviewer.testutil.ExecutionConfigFixtures.config(2, 1, 10, 5, 3, 5, 5, 10, 2, 0, 0, 0);
+            var localFileConfig = new LocalFileConfig(1024, 4096, null, null, null, null, 1, null, 1, 0,
+                null, null, null, null, null, null, null, true);
+
+            var factory = new ReviewContextFactory(
+                client,
+                executionConfig,
+                null,
+                null,
+                "2026-03-05-12-34-56",
+                Map.of(),
+                localFileConfig,
+                scheduler,
+                SharedCircuitBreaker.withDefaultConfig(),
+                new TokenBudgetConfig()
+            );
+
+            var context = factory.create(Optional.of("SOURCE_CONTENT"));
+
+            assertThat(context.cachedResources().sourceContent()).isNull();
+            assertThat(context.cachedResources().compressedSourceContent()).isNotNull();
+            assertThat(context.cachedResources().resolveSourceContent()).isEqualTo("SOURCE_CONTENT");
+            assertThat(factory.create(Optional.empty()).cachedResources().resolveSourceContent()).isNull();
+        } finally {
+            scheduler.close();
+            client.close();
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package dev.logicojp.reviewer.orchestrator;
 
+import com.github.copilot.sdk.CopilotClient;
+import com.github.copilot.sdk.json.CopilotClientOptions;
 import dev.logicojp.reviewer.agent.AgentConfig;
+import dev.logicojp.reviewer.agent.ReviewContext;
 import dev.logicojp.reviewer.config.ExecutionConfig;
+import dev.logicojp.reviewer.config.LocalFileConfig;
 import dev.logicojp.reviewer.report.core.ReviewResult;
 import dev.logicojp.reviewer.target.ReviewTarget;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -87,4 +96,147 @@ class ReviewExecutionModeRunnerTest {
         assertThat(results).hasSize(1);
         assertThat(results).allMatch(ReviewResult::success);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("シャードごとに各エージェントを独立に実行し結果を収集する")
+    void executesEveryAgentForEveryShard() {
+        ExecutionConfig config = dev.logicojp.reviewer.testutil.ExecutionConfigFixtures.config(2, 1, 2, 1, 1, 1, 1, 1, 0, 0, 0, 0);
+        var runner = new ReviewExecutionModeRunner(config, new ReviewResultPipeline());
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+        var client = new CopilotClient(new CopilotClientOptions());
+        List<ReviewContext> shardContexts = List.of(
+            shardContext(client, scheduler, "SHARD_1"),
+            shardContext(client, scheduler, "SHARD_2")
+        );
+
+        List<ReviewResult> results;
+        try {
+            results = runner.executeStructuredShards(
+            Map.of("security", agent("security"), "quality", agent("quality")),
+                ReviewTarget.local(Path.of("/tmp/repo")),
+                shardContexts,
+                (agentConfig, target, context, reviewPasses, perAgentTimeoutMinutes) -> List.of(ReviewResult.builder()
+                    .agentConfig(agentConfig)
+                    .repository(target.displayName())
+                    .content(context.cachedResources().sourceContent())
+                    .success(true)
+                    .timestamp(Instant.now())
+                    .build())
+            );
+        } finally {
+            scheduler.shutdownNow();
+            client.close();
+        }
+
+        assertThat(results).hasSize(4);
+        assertThat(results).extracting(ReviewResult::content)
+            .containsExactlyInAnyOrder("SHARD_1", "SHARD_2", "SHARD_1", "SHARD_2");
+    }
+
+    @Test
+    @DisplayName("エージェントごとに異なるコンテキストで実行できる")
+    void executesEachAgentWithItsOwnContexts() {
+        ExecutionConfig config = dev.logicojp.reviewer.testutil.ExecutionConfigFixtures.config(2, 1, 2, 1, 1, 1, 1, 1, 0, 0, 0, 0);
+        var runner = new ReviewExecutionModeRunner(config, new ReviewResultPipeline());
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+        var client = new CopilotClient(new CopilotClientOptions());
+        Map<String, List<ReviewContext>> contexts = Map.of(
+            "security", List.of(shardContext(client, scheduler, "AUTH")),
+            "quality", List.of(shardContext(client, scheduler, "OTHER_1"), shardContext(client, scheduler, "OTHER_2"))
+        );
+
+        List<ReviewResult> results;
+        try {
+            results = runner.executeStructuredPerAgent(
+                Map.of("security", agent("security"), "quality", agent("quality")),
+                ReviewTarget.local(Path.of("/tmp/repo")),
+                agentConfig -> contexts.get(agentConfig.name()),
+                (agentConfig, target, context, reviewPasses, perAgentTimeoutMinutes) -> List.of(ReviewResult.builder()
+                    .agentConfig(agentConfig)
+                    .repository(target.displayName())
+                    .content(agentConfig.name() + ":" + context.cachedResources().sourceContent())
+                    .success(true)
+                    .timestamp(Instant.now())
+                    .build())
+            );
+        } finally {
+            scheduler.shutdownNow();
+            client.close();
+        }
+
+        assertThat(results).extracting(ReviewResult::content)
+            .containsExactlyInAnyOrder("security:AUTH", "quality:OTHER_1", "quality:OTHER_2");
+    }
+
+    @Test
+    @DisplayName("エージェントごとに全タスク完了時点で一度だけ完了通知する")
+    void reportsEachAgentOnceWhenItsTasksFinish() {
+        ExecutionConfig config = dev.logicojp.reviewer.testutil.ExecutionConfigFixtures.config(2, 1, 2, 1, 1, 1, 1, 1, 0, 0, 0, 0);
+        var runner = new ReviewExecutionModeRunner(config, new ReviewResultPipeline());
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+        var client = new CopilotClient(new CopilotClientOptions());
+        Map<String, List<ReviewContext>> contexts = Map.of(
+            "fast", List.of(shardContext(client, scheduler, "A"), shardContext(client, scheduler, "B")),
+            "slow", List.of(shardContext(client, scheduler, "C")),
+            "failing", List.of(shardContext(client, scheduler, "D"))
+        );
+        var slowMayFinish = new CountDownLatch(1);
+        Map<String, List<ReviewResult>> completed = new ConcurrentHashMap<>();
+
+        List<ReviewResult> results;
+        try {
+            results = runner.executeStructuredPerAgent(
+                Map.of("fast", agent("fast"), "slow", agent("slow"), "failing", agent("failing")),
+                ReviewTarget.local(Path.of("/tmp/repo")),
+                agentConfig -> contexts.get(agentConfig.name()),
+                (agentConfig, target, context, reviewPasses, perAgentTimeoutMinutes) -> {
+                    if (agentConfig.name().equals("slow")) {
+                        awaitUninterruptibly(slowMayFinish);
+                    }
+                    return List.of(ReviewResult.builder()
+                        .agentConfig(agentConfig)
+                        .repository(target.displayName())
+                        .content(context.cachedResources().sourceContent())
+                        .success(!agentConfig.name().equals("failing"))
+                        .timestamp(Instant.now())
+                        .build());
+                },
+                (agentConfig, passResults) -> {
+                    completed.put(agentConfig.name(), passResults);
+                    if (agentConfig.name().equals("fast")) {
+                        slowMayFinish.countDown();
+                    }
+                }
+            );
+        } finally {
+            scheduler.shutdownNow();
+            client.close();
+        }
+
+        assertThat(results).hasSize(4);
+        assertThat(completed.get("fast")).extracting(ReviewResult::content).containsExactly("A", "B");
+        assertThat(completed.get("slow")).extracting(ReviewResult::content).containsExactly("C");
+        assertThat(completed.get("failing")).singleElement()
+            .satisfies(result -> assertThat(result.success()).isFalse());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ReviewContext shardContext(CopilotClient client, ScheduledExecutorService scheduler, String source) {
+        return ReviewContext.builder()
+            .client(client)
+            .timeoutMinutes(1)
+            .idleTimeoutMinutes(1)
+            .maxRetries(0)
+            .cachedSourceContent(source)
+            .localFileConfig(new LocalFileConfig())
+            .sharedScheduler(scheduler)
+            .build();
+    }
+}
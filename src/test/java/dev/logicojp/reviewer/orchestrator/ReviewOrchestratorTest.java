@@ -7,11 +7,19 @@ import dev.logicojp.reviewer.config.ExecutionConfig;
 import dev.logicojp.reviewer.config.GithubMcpConfig;
 import dev.logicojp.reviewer.config.LocalFileConfig;
 import dev.logicojp.reviewer.report.core.ReviewResult;
+import dev.logicojp.reviewer.target.FileRoutingRules;
+import dev.logicojp.reviewer.target.GitRevisionSourceProvider;
 import dev.logicojp.reviewer.target.ReviewTarget;
+import dev.logicojp.reviewer.testutil.TarArchiveFixtures;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -20,6 +28,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DisplayName("ReviewOrchestrator")
 class ReviewOrchestratorTest {
 
+    @TempDir
+    Path tempDir;
+
     @Test
     @DisplayName("注入ファクトリ経由でエージェントレビューを実行できる")
     void executesReviewsUsingInjectedFactories() {
@@ -72,4 +83,61 @@ class ReviewOrchestratorTest {
             client.close();
         }
     }
+
+    @Test
+    @DisplayName("既定設定のアーカイブレビューでもエージェントごとのファイルルーティングを適用する")
+    void routesArchiveSourcesPerAgentWithDefaultConfig() throws IOException {
+        Path archive = Files.write(tempDir.resolve("bundle.tar"), TarArchiveFixtures.tar(Map.of(
+            "src/App.java", "class App {}",
+            "db/schema.sql", "create table t (id int);")));
+        var precomputer = new LocalSourcePrecomputer(
+            ReviewOrchestrator.defaultLocalSourceCollectorFactory(), new LocalFileConfig());
+        var agents = List.of(
+            AgentConfig.builder().name("java").fileRoutingRules(FileRoutingRules.parse("**/*.java", null)).build(),
+            AgentConfig.builder().name("sql").fileRoutingRules(FileRoutingRules.parse("**/*.sql", null)).build()
+        );
+
+        var result = precomputer.preComputeAgentSources(ReviewTarget.archive(archive), agents);
+
+        assertThat(String.join("", result.get("java"))).contains("src/App.java").doesNotContain("db/schema.sql");
+        assertThat(String.join("", result.get("sql"))).contains("db/schema.sql").doesNotContain("src/App.java");
+    }
+
+    @Test
+    @DisplayName("既定設定のコミットレビューでもエージェントごとのファイルルーティングを適用する")
+    void routesCommitSourcesPerAgentWithDefaultConfig() throws IOException, InterruptedException {
+        Path repository = Files.createDirectories(tempDir.resolve("repo"));
+        Files.createDirectories(repository.resolve("src"));
+        Files.createDirectories(repository.resolve("db"));
+        Files.writeString(repository.resolve("src/App.java"), "class App {}");
+        Files.writeString(repository.resolve("db/schema.sql"), "create table t (id int);");
+        git(repository, "init", "-q");
+        git(repository, "add", ".");
+        git(repository, "-c", "user.name=test", "-c", "user.email=test@example.com", "-c", "commit.gpgsign=false",
+            "commit", "-q", "-m", "initial");
+        String commit = GitRevisionSourceProvider.resolveCommit(repository, "HEAD");
+        var precomputer = new LocalSourcePrecomputer(
+            ReviewOrchestrator.defaultLocalSourceCollectorFactory(), new LocalFileConfig());
+        var agents = List.of(
+            AgentConfig.builder().name("java").fileRoutingRules(FileRoutingRules.parse("**/*.java", null)).build(),
+            AgentConfig.builder().name("sql").fileRoutingRules(FileRoutingRules.parse("**/*.sql", null)).build()
+        );
+
+        var result = precomputer.preComputeAgentSources(ReviewTarget.commit(repository, commit), agents);
+
+        assertThat(String.join("", result.get("java"))).contains("src/App.java").doesNotContain("db/schema.sql");
+        assertThat(String.join("", result.get("sql"))).contains("db/schema.sql").doesNotContain("src/App.java");
+    }
+
+    private static void git(Path directory, String... args) throws IOException, InterruptedException {
+        var command = new ArrayList<String>();
+        command.add("git");
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command)
+            .directory(directory.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        assertThat(process.waitFor()).as("git %s", String.join(" ", args)).isZero();
+    }
 }
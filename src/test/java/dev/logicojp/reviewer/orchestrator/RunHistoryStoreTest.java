@@ -0,0 +1,112 @@
+package dev.logicojp.reviewer.orchestrator;
+
+import dev.logicojp.reviewer.agent.AgentConfig;
+import dev.logicojp.reviewer.report.core.ReviewResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RunHistoryStore")
+class RunHistoryStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static RunHistoryStore.Entry entry(String agent, long durationMillis, RunHistoryStore.Outcome outcome) {
+        return new RunHistoryStore.Entry(Instant.parse("2026-03-05T12:00:00Z"), agent, "gpt 5", "small", 2,
+            durationMillis, 1_000, outcome);
+    }
+
+    private static ReviewResult result(boolean success, String errorMessage) {
+        var agent = new AgentConfig("security", "Security", "model", "system", "instruction", null, List.of(), List.of());
+        return ReviewResult.builder().agentConfig(agent).repository("r").content(success ? "ok" : null)
+            .success(success).errorMessage(errorMessage).build();
+    }
+
+    @Test
+    @DisplayName("追記した実行を次に開いたときに読み込む")
+    void appendsAndLoadsEntries() {
+        Path file = tempDir.resolve(".history").resolve("run-history.tsv");
+        RunHistoryStore store = RunHistoryStore.open(file);
+
+        store.append(entry("security", 120_000, RunHistoryStore.Outcome.SUCCESS));
+        store.append(entry("performance", 30_000, RunHistoryStore.Outcome.IDLE_TIMEOUT));
+
+        assertThat(store.loadedEntries()).isEmpty();
+        List<RunHistoryStore.Entry> loaded = RunHistoryStore.open(file).loadedEntries();
+        assertThat(loaded).containsExactly(
+            entry("security", 120_000, RunHistoryStore.Outcome.SUCCESS),
+            entry("performance", 30_000, RunHistoryStore.Outcome.IDLE_TIMEOUT));
+        assertThat(loaded.getFirst().model()).isEqualTo("gpt_5");
+        assertThat(loaded.getFirst().isFor("security", "gpt 5")).isTrue();
+        assertThat(loaded.getFirst().passDurationMillis()).isEqualTo(60_000);
+    }
+
+    @Test
+    @DisplayName("不正な行は読み飛ばし、最新の上限件数だけを読み込む")
+    void skipsMalformedLinesAndKeepsLatestEntries() throws IOException {
+        Path file = tempDir.resolve("run-history.tsv");
+        RunHistoryStore store = RunHistoryStore.open(file);
+        for (int i = 0; i <= RunHistoryStore.MAX_LOADED_ENTRIES; i++) {
+            store.append(entry("agent-" + i, 1_000, RunHistoryStore.Outcome.SUCCESS));
+        }
+        Files.writeString(file, "not\ta\tvalid line\n", StandardOpenOption.APPEND);
+
+        List<RunHistoryStore.Entry> loaded = RunHistoryStore.open(file).loadedEntries();
+
+        assertThat(loaded).hasSize(RunHistoryStore.MAX_LOADED_ENTRIES);
+        assertThat(loaded.getFirst().agent()).isEqualTo("agent-1");
+        assertThat(loaded.getLast().agent()).isEqualTo("agent-" + RunHistoryStore.MAX_LOADED_ENTRIES);
+    }
+
+    @Test
+    @DisplayName("ファイルがなければ空の履歴になり、無効なストアは何も書かない")
+    void missingFileAndDisabledStore() {
+        assertThat(RunHistoryStore.open(tempDir.resolve("missing.tsv")).loadedEntries()).isEmpty();
+
+        RunHistoryStore.disabled().append(entry("security", 1_000, RunHistoryStore.Outcome.SUCCESS));
+
+        assertThat(RunHistoryStore.disabled().isEnabled()).isFalse();
+        assertThat(tempDir).isEmptyDirectory();
+    }
+
+    @Test
+    @DisplayName("ソースの文字数を大きさの区分に分ける")
+    void bucketsSourceSize() {
+        assertThat(RunHistoryStore.sizeBucket(0)).isEqualTo("none");
+        assertThat(RunHistoryStore.sizeBucket(1_000)).isEqualTo("small");
+        assertThat(RunHistoryStore.sizeBucket(RunHistoryStore.SMALL_SOURCE_CHARS)).isEqualTo("medium");
+        assertThat(RunHistoryStore.sizeBucket(RunHistoryStore.MEDIUM_SOURCE_CHARS)).isEqualTo("large");
+    }
+
+    @Test
+    @DisplayName("失敗したパスのエラーから実行の終わり方を判定する")
+    void classifiesOutcome() {
+        ReviewResult ok = result(true, null);
+        ReviewResult idle = result(false, "Review failed: No activity for 300000ms (idle timeout: 300000ms)");
+        ReviewResult timedOut = result(false, "Review timed out after 20 minutes");
+        ReviewResult rateLimited = result(false, "429 Too Many Requests");
+        ReviewResult failed = result(false, "Agent returned empty review content");
+        ReviewResult overflow = result(false,
+            "Local review prompt (~142950 estimated tokens) exceeds the model context window (128000 tokens)");
+
+        assertThat(RunHistoryStore.outcomeOf(List.of(ok, ok))).isEqualTo(RunHistoryStore.Outcome.SUCCESS);
+        assertThat(RunHistoryStore.outcomeOf(List.of(failed, timedOut, idle)))
+            .isEqualTo(RunHistoryStore.Outcome.IDLE_TIMEOUT);
+        assertThat(RunHistoryStore.outcomeOf(List.of(ok, timedOut))).isEqualTo(RunHistoryStore.Outcome.TIMEOUT);
+        assertThat(RunHistoryStore.outcomeOf(List.of(failed, rateLimited)))
+            .isEqualTo(RunHistoryStore.Outcome.RATE_LIMITED);
+        assertThat(RunHistoryStore.outcomeOf(List.of(failed))).isEqualTo(RunHistoryStore.Outcome.FAILED);
+        assertThat(RunHistoryStore.outcomeOf(List.of(overflow))).isEqualTo(RunHistoryStore.Outcome.FAILED);
+        assertThat(RunHistoryStore.outcomeOf(null)).isEqualTo(RunHistoryStore.Outcome.FAILED);
+    }
+}
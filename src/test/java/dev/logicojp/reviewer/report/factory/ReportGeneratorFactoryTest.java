@@ -7,13 +7,16 @@ import dev.logicojp.reviewer.agent.SharedCircuitBreaker;
 import com.github.copilot.sdk.CopilotClient;
 import dev.logicojp.reviewer.config.SummaryConfig;
 import dev.logicojp.reviewer.config.TemplateConfig;
+import dev.logicojp.reviewer.config.TokenBudgetConfig;
 import dev.logicojp.reviewer.service.TemplateService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.file.Path;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -104,4 +107,31 @@ class ReportGeneratorFactoryTest {
         assertThat(summaryCreatorCalled).isTrue();
         assertThat(reportCreatorCalled).isFalse();
     }
+
+    @Test
+    @DisplayName("サマリーモデルのトークン予算をSummaryConfigに反映して渡す")
+    void passesSummaryModelTokenBudget() {
+        var config = new TemplateConfig(tempDir.toString(),
+            null, null, null, null, null, null, null);
+        var templateService = new TemplateService(config);
+        var captured = new AtomicReference<SummaryConfig>();
+
+        var factory = new ReportGeneratorFactory(
+            templateService,
+            new SummaryConfig(0, 0, 0, 0, 0, 0),
+            ReportGenerator::new,
+            (outputDirectory, client, summaryModel, reasoningEffort, timeoutMinutes, ts, summaryConfig, breaker) -> {
+                captured.set(summaryConfig);
+                return SummaryGenerator.builder(outputDirectory, client, summaryModel, ts)
+                    .summaryConfig(summaryConfig)
+                    .build();
+            },
+            new SharedCircuitBreaker(8, 30_000L),
+            new TokenBudgetConfig(List.of("big-model=400000"), 100_000, 10_000, 5_000)
+        );
+
+        factory.createSummaryGenerator(Path.of("/tmp/reports"), null, "big-model", null, 3L);
+
+        assertThat(captured.get().maxTotalPromptTokens()).isEqualTo(385_000);
+    }
 }
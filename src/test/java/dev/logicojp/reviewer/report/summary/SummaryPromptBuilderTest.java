@@ -107,4 +107,21 @@ class SummaryPromptBuilderTest {
             .displayName(displayName)
             .build();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("トークン予算を超える結果は予算内に切り詰められる")
+    void truncatesContentToTokenBudget() throws IOException {
+        TemplateService templateService = createTemplateService();
+        var builder = new SummaryPromptBuilder(templateService, 10_000, 10_000, 8192, 4096, 20);
+
+        var result1 = successResult("A", "alpha beta gamma delta epsilon zeta eta theta iota kappa");
+        var result2 = successResult("B", "lambda");
+
+        String prompt = builder.buildSummaryPrompt(List.of(result1, result2), "owner/repo");
+
+        assertThat(prompt).contains("A:alpha beta gamma delta\n");
+        assertThat(prompt).contains("... (truncated for summary)");
+        assertThat(prompt).doesNotContain("kappa");
+        assertThat(prompt).doesNotContain("B:lambda");
+    }
+}
@@ -3,6 +3,7 @@ package dev.logicojp.reviewer.service;
 import dev.logicojp.reviewer.agent.AgentConfig;
 import dev.logicojp.reviewer.config.ExecutionConfig;
 import dev.logicojp.reviewer.config.TemplateConfig;
+import dev.logicojp.reviewer.orchestrator.AgentCompletionListener;
 import dev.logicojp.reviewer.report.core.ReviewResult;
 import dev.logicojp.reviewer.target.ReviewTarget;
 import org.junit.jupiter.api.DisplayName;
@@ -61,4 +62,41 @@ class ReviewServiceTest {
         assertThat(capturedExecution.get().parallelism()).isEqualTo(2);
         assertThat(capturedOutputConstraints.get()).isEqualTo("constraint-text");
     }
+
+    @Test
+    @DisplayName("出力先の実行履歴ファイルを実行設定に渡す")
+    void passesRunHistoryFileToExecutionConfig() {
+        TemplateService templateService = new TemplateService(new TemplateConfig(tempDir.toString(),
+            null, null, null, null, null, null, null));
+        AtomicReference<ExecutionConfig> capturedExecution = new AtomicReference<>();
+        ExecutionConfig adaptiveConfig = ExecutionConfig.Builder.from(ExecutionConfig.defaults())
+            .adaptiveTimeouts(new ExecutionConfig.AdaptiveTimeoutSettings(true, null, 0.95, 1.5, 5, 3, 1, 60, 15))
+            .build();
+        ReviewService service = new ReviewService(
+            null,
+            adaptiveConfig,
+            templateService,
+            (agentConfigs, target, githubToken, overriddenConfig, reasoningEffort, outputConstraints,
+             invocationTimestamp) -> {
+                capturedExecution.set(overriddenConfig);
+                return List.of();
+            }
+        );
+        Path historyFile = tempDir.resolve(".history").resolve("run-history.tsv");
+
+        service.executeReviews(
+            Map.of("a", new AgentConfig("a", "A", "m", "s", "i", null, List.of(), List.of())),
+            ReviewTarget.local(tempDir),
+            null,
+            2,
+            null,
+            false,
+            "2026-03-05-12-34-56",
+            AgentCompletionListener.NONE,
+            historyFile
+        );
+
+        assertThat(capturedExecution.get().isAdaptiveTimeoutsEnabled()).isTrue();
+        assertThat(capturedExecution.get().adaptiveTimeouts().historyFile()).isEqualTo(historyFile.toString());
+    }
 }
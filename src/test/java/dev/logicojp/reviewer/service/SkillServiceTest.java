@@ -1,6 +1,7 @@
 package dev.logicojp.reviewer.service;
 
 import dev.logicojp.reviewer.agent.AgentConfig;
+import dev.logicojp.reviewer.agent.CopilotRateLimiter;
 import dev.logicojp.reviewer.agent.SharedCircuitBreaker;
 import dev.logicojp.reviewer.config.ExecutionConfig;
 import dev.logicojp.reviewer.config.GithubMcpConfig;
@@ -37,7 +38,8 @@ class SkillServiceTest {
             new GithubMcpConfig(null, null, null, null, null, null),
             dev.logicojp.reviewer.testutil.ExecutionConfigFixtures.config(1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0),
             SkillConfig.defaults(),
-            SharedCircuitBreaker.withDefaultConfig()
+            SharedCircuitBreaker.withDefaultConfig(),
+            CopilotRateLimiter.unlimited()
         );
 
         var result = service.executeSkill("missing", Map.of(), null, "model");
@@ -55,7 +57,8 @@ class SkillServiceTest {
             new GithubMcpConfig(null, null, null, null, null, null),
             dev.logicojp.reviewer.testutil.ExecutionConfigFixtures.config(1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0),
             SkillConfig.defaults(),
-            SharedCircuitBreaker.withDefaultConfig()
+            SharedCircuitBreaker.withDefaultConfig(),
+            CopilotRateLimiter.unlimited()
         );
 
         SkillDefinition skill = SkillDefinition.of("id-1", "name", "desc", "prompt");
@@ -0,0 +1,167 @@
+package dev.logicojp.reviewer.target;
+
+import dev.logicojp.reviewer.config.LocalFileConfig;
+import dev.logicojp.reviewer.testutil.TarArchiveFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ArchiveSourceProvider")
+class ArchiveSourceProviderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("collectAndGenerate")
+    class CollectAndGenerate {
+
+        @Test
+        @DisplayName("zipのソースエントリをパス順に収集し無視ディレクトリとセンシティブファイルを除外する")
+        void collectsZipEntries() throws IOException {
+            Map<String, String> files = new LinkedHashMap<>();
+            files.put("src/Main.java", "class Main {}");
+            files.put("node_modules/lib/index.js", "module.exports = {};");
+            files.put(".env", "SECRET=abc");
+            files.put("App.java", "class App {}");
+            files.put("image.png", "png");
+            Path archive = writeZip("bundle.zip", files);
+
+            LocalFileProvider.CollectionResult result =
+                new ArchiveSourceProvider(archive, new LocalFileConfig()).collectAndGenerate();
+
+            assertThat(result.fileCount()).isEqualTo(2);
+            assertThat(result.reviewContent())
+                .contains("### App.java", "### src/Main.java", "class Main {}")
+                .doesNotContain("index.js", "SECRET");
+            assertThat(result.reviewContent().indexOf("### App.java"))
+                .isLessThan(result.reviewContent().indexOf("### src/Main.java"));
+            assertThat(result.directorySummary()).contains("bundle.zip").contains("Files: 2");
+        }
+
+        @Test
+        @DisplayName("tar.gzのエントリを展開せずに収集する")
+        void collectsTarGzEntries() throws IOException {
+            Map<String, String> files = new LinkedHashMap<>();
+            files.put("./project/src/Main.java", "class Main {}");
+            files.put("project/.git/config.java", "class X {}");
+            files.put("project/README.md", "# Project");
+            Path archive = Files.write(tempDir.resolve("bundle.tar.gz"),
+                TarArchiveFixtures.gzip(TarArchiveFixtures.tar(files)));
+
+            LocalFileProvider.CollectionResult result =
+                new ArchiveSourceProvider(archive, new LocalFileConfig()).collectAndGenerate();
+
+            assertThat(result.fileCount()).isEqualTo(2);
+            assertThat(result.reviewContent())
+                .contains("### project/src/Main.java", "### project/README.md")
+                .doesNotContain("config.java");
+        }
+
+        @Test
+        @DisplayName("maxFileSizeを超えるエントリを除外しmaxTotalSizeで収集を止める")
+        void appliesSizeLimits() throws IOException {
+            Map<String, String> files = new LinkedHashMap<>();
+            files.put("a/Large.java", "x".repeat(200));
+            files.put("b/First.java", "y".repeat(60));
+            files.put("c/Second.java", "z".repeat(60));
+            Path archive = Files.write(tempDir.resolve("bundle.tar"), TarArchiveFixtures.tar(files));
+
+            LocalFileProvider.CollectionResult result =
+                new ArchiveSourceProvider(archive, new LocalFileConfig(100, 100)).collectAndGenerate();
+
+            assertThat(result.fileCount()).isEqualTo(1);
+            assertThat(result.totalSizeBytes()).isEqualTo(60);
+            assertThat(result.reviewContent()).contains("### b/First.java").doesNotContain("Large.java", "Second.java");
+        }
+
+        @Test
+        @DisplayName("抜粋を有効にするとmaxFileSizeを超えるエントリを抜粋して収集する")
+        void excerptsLargeEntries() throws IOException {
+            String large = "class Large {\n" + "    int value() { return 1; }\n".repeat(100) + "}\n";
+            Path archive = Files.write(tempDir.resolve("bundle.tar"),
+                TarArchiveFixtures.tar(Map.of("src/Large.java", large)));
+            var config = new LocalFileConfig(1_000, 100_000, null, null, null, null, 1, null, 1, 0,
+                null, null, null, null, null, null, null, null, 400);
+
+            LocalFileProvider.CollectionResult result = new ArchiveSourceProvider(archive, config).collectAndGenerate();
+
+            assertThat(result.fileCount()).isEqualTo(1);
+            assertThat(result.totalSizeBytes()).isLessThanOrEqualTo(400);
+            assertThat(result.reviewContent()).contains("// [excerpt of 102 lines", "class Large {");
+        }
+
+        @Test
+        @DisplayName("ルーティングルールに一致するエントリだけを収集する")
+        void appliesRoutingRules() throws IOException {
+            Path archive = writeZip("bundle.jar", Map.of(
+                "db/schema.sql", "create table t (id int);",
+                "src/App.java", "class App {}"));
+
+            LocalFileProvider.CollectionResult result = new ArchiveSourceProvider(archive, new LocalFileConfig())
+                .collectAndGenerate(FileRoutingRules.parse("**/*.sql", null));
+
+            assertThat(result.fileCount()).isEqualTo(1);
+            assertThat(result.reviewContent()).contains("### db/schema.sql");
+        }
+
+        @Test
+        @DisplayName("存在しないアーカイブはソースなしの結果を返す")
+        void returnsNoSourcesForMissingArchive() {
+            LocalFileProvider.CollectionResult result =
+                new ArchiveSourceProvider(tempDir.resolve("missing.zip"), new LocalFileConfig()).collectAndGenerate();
+
+            assertThat(result.fileCount()).isZero();
+            assertThat(result.reviewContent()).isEqualTo("(no source files found)");
+        }
+    }
+
+    @Nested
+    @DisplayName("エントリ名")
+    class EntryNames {
+
+        @Test
+        @DisplayName("先頭の./を取り除き絶対パスや..を含む名前は拒否する")
+        void normalizesEntryNames() {
+            assertThat(ArchiveSourceProvider.normalizeEntryName("./src/App.java")).contains("src/App.java");
+            assertThat(ArchiveSourceProvider.normalizeEntryName("/etc/passwd")).isEmpty();
+            assertThat(ArchiveSourceProvider.normalizeEntryName("src/../../evil.java")).isEmpty();
+            assertThat(ArchiveSourceProvider.normalizeEntryName("src/")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("対応するアーカイブ拡張子を判定しベース名を返す")
+        void detectsSupportedArchives() {
+            assertThat(ArchiveSourceProvider.isSupportedArchive(Path.of("app.TGZ"))).isTrue();
+            assertThat(ArchiveSourceProvider.isSupportedArchive(Path.of("app.rar"))).isFalse();
+            assertThat(ArchiveSourceProvider.baseName("app-1.0.tar.gz")).isEqualTo("app-1.0");
+            assertThat(ArchiveSourceProvider.baseName(".zip")).isEqualTo(".zip");
+        }
+    }
+
+    private Path writeZip(String name, Map<String, String> files) throws IOException {
+        Path archive = tempDir.resolve(name);
+        try (OutputStream out = Files.newOutputStream(archive);
+             var zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                zip.putNextEntry(new ZipEntry(file.getKey()));
+                zip.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return archive;
+    }
+}
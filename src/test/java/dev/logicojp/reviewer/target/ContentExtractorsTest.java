@@ -0,0 +1,69 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ContentExtractors")
+class ContentExtractorsTest {
+
+    private record FixedExtractor(Set<String> extensions, String result) implements ContentExtractor {
+        @Override
+        public String extract(String relativePath, String content) {
+            return result;
+        }
+    }
+
+    @Test
+    @DisplayName("デフォルトはノートブック・SQL・SVGを拡張子の大文字小文字を問わず扱う")
+    void defaultsCoverBuiltInFormats() {
+        ContentExtractors extractors = ContentExtractors.defaults();
+
+        assertThat(extractors.supports("notebooks/Analysis.IPYNB")).isTrue();
+        assertThat(extractors.supports("db/dump.sql")).isTrue();
+        assertThat(extractors.supports("assets/logo.svg")).isTrue();
+        assertThat(extractors.supports("src/App.java")).isFalse();
+        assertThat(extractors.supports("Makefile")).isFalse();
+    }
+
+    @Test
+    @DisplayName("後に指定した抽出器が同じ拡張子の抽出器より優先される")
+    void laterExtractorsTakePrecedence() {
+        ContentExtractors extractors = ContentExtractors.of(List.of(
+            new FixedExtractor(Set.of("sql"), "first"),
+            new FixedExtractor(Set.of("SQL"), "second")));
+
+        assertThat(extractors.extract("dump.sql", "content")).contains("second");
+        assertThat(extractors.extract("notes.txt", "content")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("失敗した抽出器の結果は空になり、ファイルはそのまま使われる")
+    void failingExtractorYieldsEmpty() {
+        ContentExtractors extractors = ContentExtractors.of(List.of(new ContentExtractor() {
+            @Override
+            public Set<String> extensions() {
+                return Set.of("ipynb");
+            }
+
+            @Override
+            public String extract(String relativePath, String content) {
+                throw new IllegalStateException("boom");
+            }
+        }));
+
+        assertThat(extractors.extract("a.ipynb", "{}")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("無効なときはどのファイルも抽出しない")
+    void disabledExtractsNothing() {
+        assertThat(ContentExtractors.disabled().isEnabled()).isFalse();
+        assertThat(ContentExtractors.disabled().supports("a.ipynb")).isFalse();
+        assertThat(ContentExtractors.disabled().extract("a.ipynb", "{}")).isEmpty();
+    }
+}
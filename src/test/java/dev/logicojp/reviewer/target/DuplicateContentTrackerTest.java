@@ -0,0 +1,57 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DuplicateContentTracker")
+class DuplicateContentTrackerTest {
+
+    @Test
+    @DisplayName("同じ内容の2件目以降は最初のファイルのパスを返す")
+    void returnsFirstPathForIdenticalContent() {
+        var tracker = DuplicateContentTracker.forCandidates(List.of(
+            new LocalFileCandidate(Path.of("a.java"), 4),
+            new LocalFileCandidate(Path.of("b.java"), 4),
+            new LocalFileCandidate(Path.of("c.java"), 4)));
+
+        assertThat(tracker.findOriginal("a.java", "same", 4)).isEmpty();
+        assertThat(tracker.findOriginal("b.java", "diff", 4)).isEmpty();
+        assertThat(tracker.findOriginal("c.java", "same", 4)).contains("a.java");
+    }
+
+    @Test
+    @DisplayName("他の候補とサイズが重ならないファイルはハッシュせず一意とみなす")
+    void treatsFilesWithUniqueSizesAsUnique() {
+        var tracker = DuplicateContentTracker.forCandidates(List.of(
+            new LocalFileCandidate(Path.of("a.java"), 4),
+            new LocalFileCandidate(Path.of("b.java"), 5)));
+
+        assertThat(tracker.mayBeDuplicate(4)).isFalse();
+        assertThat(tracker.findOriginal("a.java", "same", 4)).isEmpty();
+        assertThat(tracker.findOriginal("b.java", "same", 4)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("候補が事前に分からないトラッカーはすべてのファイルを重複候補として比較する")
+    void unknownCandidatesTrackerComparesEveryFile() {
+        var tracker = DuplicateContentTracker.forUnknownCandidates();
+
+        assertThat(tracker.mayBeDuplicate(4)).isTrue();
+        assertThat(tracker.findOriginal("a.java", "same", 4)).isEmpty();
+        assertThat(tracker.findOriginal("b.java", "same", 4)).contains("a.java");
+    }
+
+    @Test
+    @DisplayName("無効化されたトラッカーはすべてを一意とみなす")
+    void disabledTrackerFindsNothing() {
+        var tracker = DuplicateContentTracker.disabled();
+
+        assertThat(tracker.findOriginal("a.java", "same", 4)).isEmpty();
+        assertThat(tracker.findOriginal("b.java", "same", 4)).isEmpty();
+    }
+}
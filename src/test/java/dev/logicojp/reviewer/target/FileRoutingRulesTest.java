@@ -0,0 +1,80 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FileRoutingRules")
+class FileRoutingRulesTest {
+
+    @Test
+    @DisplayName("カンマ区切りと角括弧のリストをパースし、波括弧内のカンマでは分割しない")
+    void parsesCommaSeparatedPatterns() {
+        var rules = FileRoutingRules.parse("[\"**/*.{sql,ddl}\", db/**]", "'**/test/**'");
+
+        assertThat(rules.includePatterns()).containsExactly("**/*.{sql,ddl}", "db/**");
+        assertThat(rules.excludePatterns()).containsExactly("**/test/**");
+    }
+
+    @Test
+    @DisplayName("スラッシュを含まないパターンは任意のディレクトリのファイル名に一致する")
+    void matchesFileNamesInAnyDirectory() {
+        Predicate<String> matcher = FileRoutingRules.parse("*.sql", null).toMatcher();
+
+        assertThat(matcher.test("schema.sql")).isTrue();
+        assertThat(matcher.test("db/migration/V1.sql")).isTrue();
+        assertThat(matcher.test("src/Main.java")).isFalse();
+    }
+
+    @Test
+    @DisplayName("先頭の**/はトップレベルのファイルにも一致し、除外パターンが優先される")
+    void excludesTakePrecedence() {
+        Predicate<String> matcher = FileRoutingRules.parse("**/*.java", "**/test/**").toMatcher();
+
+        assertThat(matcher.test("Main.java")).isTrue();
+        assertThat(matcher.test("src/main/App.java")).isTrue();
+        assertThat(matcher.test("src/test/AppTest.java")).isFalse();
+    }
+
+    @Test
+    @DisplayName("ルールがない場合はすべてのファイルに一致する")
+    void unrestrictedRulesMatchEverything() {
+        var rules = FileRoutingRules.parse(" ", null);
+
+        assertThat(rules).isEqualTo(FileRoutingRules.all());
+        assertThat(rules.isUnrestricted()).isTrue();
+        assertThat(rules.toMatcher().test("any/File.txt")).isTrue();
+    }
+
+    @Test
+    @DisplayName("順序と重複の違いだけのルールは等しい")
+    void normalizesPatternOrder() {
+        var first = new FileRoutingRules(List.of("b/**", "a/**", "b/**"), List.of());
+        var second = FileRoutingRules.parse("a/**, b/**", "");
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+    }
+
+    @Test
+    @DisplayName("不正なglobはIllegalArgumentExceptionになる")
+    void rejectsInvalidGlob() {
+        assertThatThrownBy(() -> FileRoutingRules.parse("src/[a", null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("src/[a");
+    }
+
+    @Test
+    @DisplayName("いずれかのパスがルールに一致するかを判定する")
+    void routesAnyOfPaths() {
+        var rules = FileRoutingRules.parse("**/*.sql", null);
+
+        assertThat(rules.routesAny(List.of("App.java", "db/schema.sql"))).isTrue();
+        assertThat(rules.routesAny(List.of("App.java"))).isFalse();
+        assertThat(FileRoutingRules.all().routesAny(List.of("App.java"))).isTrue();
+    }
+}
@@ -0,0 +1,68 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GeneratedSourceDetector")
+class GeneratedSourceDetectorTest {
+
+    private final GeneratedSourceDetector detector = new GeneratedSourceDetector(
+        List.of(".min.js", "_pb2.py", "third_party/"),
+        List.of("Code generated by", "@generated"));
+
+    @Test
+    @DisplayName("ファイル名の接尾辞と/で終わるディレクトリパターンでパスを判定する")
+    void detectsGeneratedPaths() {
+        assertThat(detector.isGeneratedPath("web/app.min.js")).isTrue();
+        assertThat(detector.isGeneratedPath("api/service_pb2.py")).isTrue();
+        assertThat(detector.isGeneratedPath("third_party/zlib/inflate.c")).isTrue();
+        assertThat(detector.isGeneratedPath("src/third_party/lib.c")).isTrue();
+        assertThat(detector.isGeneratedPath("src/my_third_party/lib.c")).isFalse();
+        assertThat(detector.isGeneratedPath("web/app.js")).isFalse();
+    }
+
+    @Test
+    @DisplayName("NUL文字を含む内容はバイナリと判定する")
+    void detectsBinaryContent() {
+        assertThat(detector.sniff("PK\u0003\u0004\u0000\u0000data"))
+            .contains(GeneratedSourceDetector.Kind.BINARY);
+    }
+
+    @Test
+    @DisplayName("平均行長が長い内容はミニファイ済みと判定する")
+    void detectsMinifiedContent() {
+        String minified = "var a=1;".repeat(500);
+
+        assertThat(detector.sniff(minified)).contains(GeneratedSourceDetector.Kind.MINIFIED);
+    }
+
+    @Test
+    @DisplayName("生成マーカーは大文字小文字を区別して検出する")
+    void detectsGeneratedMarkersCaseSensitively() {
+        assertThat(detector.sniff("// Code generated by protoc-gen-go. DO NOT EDIT.\npackage api\n"))
+            .contains(GeneratedSourceDetector.Kind.GENERATED);
+        assertThat(detector.sniff("@Entity\nclass User {\n    @Id @GeneratedValue Long id;\n}\n")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("先頭部分より後ろのマーカーは検出しない")
+    void sniffsOnlyTheHead() {
+        String body = "int value;\n".repeat(GeneratedSourceDetector.SNIFF_LENGTH / 10);
+
+        assertThat(detector.sniff(body + "// @generated\n")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("無効化された検出器は何も検出しない")
+    void disabledDetectorAcceptsEverything() {
+        var disabled = GeneratedSourceDetector.disabled();
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.isGeneratedPath("app.min.js")).isFalse();
+        assertThat(disabled.sniff("binary\u0000")).isEmpty();
+    }
+}
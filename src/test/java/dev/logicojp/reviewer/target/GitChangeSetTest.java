@@ -0,0 +1,86 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GitChangeSet")
+class GitChangeSetTest {
+
+    private static final String DIFF = """
+        diff --git a/src/App.java b/src/App.java
+        index 1111111..2222222 100644
+        --- a/src/App.java
+        +++ b/src/App.java
+        @@ -3 +3 @@ class App {
+        -    int a = 1;
+        +    int a = 2;
+        @@ -10,0 +11,2 @@ class App {
+        +    void added() {}
+        +    void added2() {}
+        diff --git a/src/New.java b/src/New.java
+        new file mode 100644
+        index 0000000..3333333
+        --- /dev/null
+        +++ b/src/New.java
+        @@ -0,0 +1,2 @@
+        +class New {
+        +}
+        """;
+
+    @Test
+    @DisplayName("unified diffから変更ファイルと行範囲を抽出する")
+    void parsesChangedFilesAndRanges() {
+        GitChangeSet changeSet = GitChangeSet.parse(DIFF, List.of("scripts/run.sh", ""));
+
+        assertThat(changeSet.paths()).containsExactlyInAnyOrder("src/App.java", "src/New.java", "scripts/run.sh");
+        assertThat(changeSet.changedFiles().get("src/App.java")).containsExactly(
+            new GitChangeSet.LineRange(3, 3),
+            new GitChangeSet.LineRange(11, 12)
+        );
+        assertThat(changeSet.changedFiles().get("scripts/run.sh")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("追加行が+++で始まっても別ファイルとして扱わない")
+    void ignoresAddedLinesThatLookLikeHeaders() {
+        String diff = """
+            diff --git a/notes.md b/notes.md
+            --- a/notes.md
+            +++ b/notes.md
+            @@ -1 +1 @@
+            -old
+            +++ b/fake.md
+            """;
+
+        GitChangeSet changeSet = GitChangeSet.parse(diff, List.of());
+
+        assertThat(changeSet.paths()).containsExactly("notes.md");
+    }
+
+    @Test
+    @DisplayName("変更ハンクと前後のコンテキスト行のみを抜粋する")
+    void excerptsHunksWithContext() {
+        var changeSet = new GitChangeSet(java.util.Map.of("A.java", List.of(
+            new GitChangeSet.LineRange(3, 3),
+            new GitChangeSet.LineRange(9, 9))));
+        String content = "l1\nl2\nl3\nl4\nl5\nl6\nl7\nl8\nl9\nl10\n";
+
+        String excerpt = changeSet.excerpt("A.java", content, 1);
+
+        assertThat(excerpt).isEqualTo("@@ lines 2-4 @@\nl2\nl3\nl4\n@@ lines 8-10 @@\nl8\nl9\nl10\n");
+    }
+
+    @Test
+    @DisplayName("コンテキストでハンクが連結されファイル全体を覆う場合は元の内容を返す")
+    void returnsWholeContentWhenWindowsCoverFile() {
+        var changeSet = new GitChangeSet(java.util.Map.of("A.java", List.of(new GitChangeSet.LineRange(2, 2))));
+        String content = "l1\nl2\nl3\n";
+
+        assertThat(changeSet.excerpt("A.java", content, 5)).isEqualTo(content);
+        assertThat(changeSet.excerpt("A.java", content, -1)).isEqualTo(content);
+    }
+}
@@ -0,0 +1,75 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GitIgnoreMatcher")
+class GitIgnoreMatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("ネストした.gitignoreは上位の.gitignoreより優先される")
+    void nestedIgnoreFilesTakePrecedence() throws IOException {
+        Path root = tempDir.toAbsolutePath().normalize();
+        Files.writeString(root.resolve(".gitignore"), "*.log\ndist/\n");
+        Files.createDirectories(root.resolve("web"));
+        Files.writeString(root.resolve("web/.gitignore"), "!keep.log\n.next/\n");
+
+        var matcher = GitIgnoreMatcher.load(root);
+
+        assertThat(matcher.isIgnored(root.resolve("app.log"), false)).isTrue();
+        assertThat(matcher.isIgnored(root.resolve("web/dist"), true)).isTrue();
+        assertThat(matcher.isIgnored(root.resolve("web/.next"), true)).isTrue();
+        assertThat(matcher.isIgnored(root.resolve("web/keep.log"), false)).isFalse();
+        assertThat(matcher.isIgnored(root.resolve("web/other.log"), false)).isTrue();
+        assertThat(matcher.isIgnored(root.resolve(".next"), true)).isFalse();
+    }
+
+    @Test
+    @DisplayName("リポジトリルートの.gitignoreと.git/info/excludeはサブディレクトリのレビューにも適用される")
+    void appliesRepositoryRulesAboveBaseDirectory() throws IOException {
+        Path repository = tempDir.toAbsolutePath().normalize();
+        Files.createDirectories(repository.resolve(".git/info"));
+        Files.writeString(repository.resolve(".git/info/exclude"), "scratch/\n");
+        Files.writeString(repository.resolve(".gitignore"), "/service/out/\n");
+        Path base = repository.resolve("service");
+        Files.createDirectories(base);
+
+        var matcher = GitIgnoreMatcher.load(base);
+
+        assertThat(matcher.isIgnored(base.resolve("out"), true)).isTrue();
+        assertThat(matcher.isIgnored(base.resolve("scratch"), true)).isTrue();
+        assertThat(matcher.isIgnored(base.resolve("src"), true)).isFalse();
+    }
+
+    @Test
+    @DisplayName(".gitignoreの否定パターンは.git/info/excludeより優先される")
+    void ignoreFilesOverrideExcludeFile() throws IOException {
+        Path repository = tempDir.toAbsolutePath().normalize();
+        Files.createDirectories(repository.resolve(".git/info"));
+        Files.writeString(repository.resolve(".git/info/exclude"), "*.sql\n");
+        Files.writeString(repository.resolve(".gitignore"), "!schema.sql\n");
+
+        var matcher = GitIgnoreMatcher.load(repository);
+
+        assertThat(matcher.isIgnored(repository.resolve("schema.sql"), false)).isFalse();
+        assertThat(matcher.isIgnored(repository.resolve("dump.sql"), false)).isTrue();
+    }
+
+    @Test
+    @DisplayName("無効化されたマッチャーは何も無視しない")
+    void disabledMatcherIgnoresNothing() throws IOException {
+        Files.writeString(tempDir.resolve(".gitignore"), "*\n");
+
+        assertThat(GitIgnoreMatcher.disabled().isIgnored(tempDir.resolve("App.java"), false)).isFalse();
+    }
+}
@@ -0,0 +1,93 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static dev.logicojp.reviewer.target.GitIgnoreRules.Match.IGNORED;
+import static dev.logicojp.reviewer.target.GitIgnoreRules.Match.KEPT;
+import static dev.logicojp.reviewer.target.GitIgnoreRules.Match.NONE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GitIgnoreRules")
+class GitIgnoreRulesTest {
+
+    @Test
+    @DisplayName("スラッシュを含まないパターンは任意の深さの名前に一致する")
+    void unanchoredPatternsMatchNamesAtAnyDepth() {
+        var rules = GitIgnoreRules.parse(List.of("node_modules", "*.log", "debug?.txt"));
+
+        assertThat(rules.match("node_modules", true)).isEqualTo(IGNORED);
+        assertThat(rules.match("web/node_modules", true)).isEqualTo(IGNORED);
+        assertThat(rules.match("logs/app.log", false)).isEqualTo(IGNORED);
+        assertThat(rules.match("debug1.txt", false)).isEqualTo(IGNORED);
+        assertThat(rules.match("src/App.java", false)).isEqualTo(NONE);
+    }
+
+    @Test
+    @DisplayName("先頭または途中にスラッシュを含むパターンは無視ファイルのディレクトリに固定される")
+    void patternsWithSlashAreAnchored() {
+        var rules = GitIgnoreRules.parse(List.of("/build", "docs/generated", "src/*/tmp"));
+
+        assertThat(rules.match("build", true)).isEqualTo(IGNORED);
+        assertThat(rules.match("app/build", true)).isEqualTo(NONE);
+        assertThat(rules.match("docs/generated", true)).isEqualTo(IGNORED);
+        assertThat(rules.match("src/main/tmp", true)).isEqualTo(IGNORED);
+        assertThat(rules.match("src/main/java/tmp", true)).isEqualTo(NONE);
+    }
+
+    @Test
+    @DisplayName("末尾のスラッシュはディレクトリにだけ一致する")
+    void trailingSlashMatchesDirectoriesOnly() {
+        var rules = GitIgnoreRules.parse(List.of("out/"));
+
+        assertThat(rules.match("out", true)).isEqualTo(IGNORED);
+        assertThat(rules.match("out", false)).isEqualTo(NONE);
+    }
+
+    @Test
+    @DisplayName("**はディレクトリをまたいで一致する")
+    void doubleStarSpansDirectories() {
+        var rules = GitIgnoreRules.parse(List.of("**/cache", "a/**/z", "gen/**"));
+
+        assertThat(rules.match("x/y/cache", true)).isEqualTo(IGNORED);
+        assertThat(rules.match("a/z", false)).isEqualTo(IGNORED);
+        assertThat(rules.match("a/b/c/z", false)).isEqualTo(IGNORED);
+        assertThat(rules.match("gen/deep/File.java", false)).isEqualTo(IGNORED);
+        assertThat(rules.match("gen", true)).isEqualTo(NONE);
+    }
+
+    @Test
+    @DisplayName("最後に一致したルールが優先され、否定パターンで再び含められる")
+    void lastMatchingRuleWins() {
+        var rules = GitIgnoreRules.parse(List.of("*.log", "!important.log", "important.log.*", "!keep-*"));
+
+        assertThat(rules.match("debug.log", false)).isEqualTo(IGNORED);
+        assertThat(rules.match("important.log", false)).isEqualTo(KEPT);
+        assertThat(rules.match("keep-me.log", false)).isEqualTo(KEPT);
+    }
+
+    @Test
+    @DisplayName("コメント・空行・文字クラス・エスケープを扱う")
+    void handlesCommentsClassesAndEscapes() {
+        var rules = GitIgnoreRules.parse(List.of("# comment", "", "\\#notes", "*.[oa]", "tmp[!0-9]", "trailing   "));
+
+        assertThat(rules.match("# comment", false)).isEqualTo(NONE);
+        assertThat(rules.match("#notes", false)).isEqualTo(IGNORED);
+        assertThat(rules.match("lib.a", false)).isEqualTo(IGNORED);
+        assertThat(rules.match("lib.c", false)).isEqualTo(NONE);
+        assertThat(rules.match("tmpx", false)).isEqualTo(IGNORED);
+        assertThat(rules.match("tmp1", false)).isEqualTo(NONE);
+        assertThat(rules.match("trailing", false)).isEqualTo(IGNORED);
+    }
+
+    @Test
+    @DisplayName("ルールがない場合は空として扱う")
+    void emptyRules() {
+        var rules = GitIgnoreRules.parse(List.of("# only comments", "   "));
+
+        assertThat(rules.isEmpty()).isTrue();
+        assertThat(rules.match("anything", false)).isEqualTo(NONE);
+    }
+}
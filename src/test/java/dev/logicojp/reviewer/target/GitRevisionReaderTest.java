@@ -0,0 +1,50 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GitRevisionReader")
+class GitRevisionReaderTest {
+
+    @Test
+    @DisplayName("ls-treeの出力から通常ファイルのblobだけを取り出す")
+    void parsesRegularBlobsFromTreeListing() {
+        String output = "100644 blob 1111111111111111111111111111111111111111     120\tsrc/App.java\0"
+            + "100755 blob 2222222222222222222222222222222222222222      42\tbin/run.sh\0"
+            + "120000 blob 3333333333333333333333333333333333333333       7\tlink.java\0"
+            + "160000 commit 4444444444444444444444444444444444444444       -\tvendor/lib\0";
+
+        List<GitRevisionReader.TreeEntry> entries = GitRevisionReader.parseTree(output);
+
+        assertThat(entries).containsExactly(
+            new GitRevisionReader.TreeEntry("1111111111111111111111111111111111111111", 120, "src/App.java"),
+            new GitRevisionReader.TreeEntry("2222222222222222222222222222222222222222", 42, "bin/run.sh"));
+    }
+
+    @Test
+    @DisplayName("タブや空白を含むパスもそのまま保持する")
+    void keepsPathsWithWhitespace() {
+        String output = "100644 blob 1111111111111111111111111111111111111111       5\tdocs/my notes\tv2.md\0";
+
+        assertThat(GitRevisionReader.parseTree(output))
+            .extracting(GitRevisionReader.TreeEntry::path)
+            .containsExactly("docs/my notes\tv2.md");
+    }
+
+    @Test
+    @DisplayName("cat-fileのヘッダからblobのサイズを読み取り、blob以外はIOExceptionにする")
+    void parsesBatchHeader() throws IOException {
+        assertThat(GitRevisionReader.parseBatchHeader("abc", "abc blob 1234")).isEqualTo(1234);
+        assertThatThrownBy(() -> GitRevisionReader.parseBatchHeader("abc", "abc missing"))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("not a readable blob");
+        assertThatThrownBy(() -> GitRevisionReader.parseBatchHeader("abc", "abc tree 10"))
+            .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,142 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LargeFileExcerpter")
+class LargeFileExcerpterTest {
+
+    /// A class of `methods` simple methods with one deeply branching method in the middle.
+    private static String largeClass(int methods) {
+        var source = new StringBuilder("package app;\n\nimport java.util.List;\n\npublic class Large {\n");
+        for (int i = 0; i < methods; i++) {
+            if (i == methods / 2) {
+                source.append("    int branchy(int a, int b) {\n");
+                for (int j = 0; j < 10; j++) {
+                    source.append("        if (a > ").append(j).append(" && b < ").append(j).append(") {\n")
+                        .append("            for (int k = 0; k < a; k++) { if (k == b || k == a) { return k; } }\n")
+                        .append("        }\n");
+                }
+                source.append("        return 0;\n    }\n");
+            }
+            source.append("    public String value").append(i).append("() {\n")
+                .append("        return \"value-").append(i).append("\";\n    }\n\n");
+        }
+        return source.append("    // end of Large\n}\n").toString();
+    }
+
+    @Nested
+    @DisplayName("excerpt")
+    class Excerpt {
+
+        @Test
+        @DisplayName("予算内に先頭・末尾・最も複雑な領域と省略範囲の宣言一覧を残す")
+        void keepsHeadTailComplexRegionsAndOutline() {
+            String source = largeClass(400);
+            var excerpter = LargeFileExcerpter.create(4_000, 10_000);
+
+            String excerpt = excerpter.excerpt("src/Large.java", source);
+
+            assertThat(SourceCompactor.utf8Length(excerpt)).isLessThanOrEqualTo(4_000);
+            assertThat(excerpt)
+                .startsWith("// [excerpt of ")
+                .contains("package app;", "// end of Large", "if (a > 9 && b < 9) {", " omitted")
+                .containsPattern("//   \\d+: public String value\\d+\\(\\) \\{");
+        }
+
+        @Test
+        @DisplayName("省略マーカーの行範囲から続く行の元の行番号を求められる")
+        void marksOriginalLineRanges() {
+            String source = largeClass(400);
+            String[] lines = source.split("\n");
+
+            String[] excerpt = LargeFileExcerpter.create(4_000, 10_000).excerpt("src/Large.java", source).split("\n");
+
+            Pattern markerPattern = Pattern.compile("// \\[lines (\\d+)-(\\d+) omitted.*");
+            int markers = 0;
+            for (int i = 0; i < excerpt.length; i++) {
+                Matcher marker = markerPattern.matcher(excerpt[i]);
+                if (!marker.matches()) {
+                    continue;
+                }
+                markers++;
+                int next = i + 1;
+                while (excerpt[next].startsWith("//   ")) {
+                    next++;
+                }
+                int lastOmitted = Integer.parseInt(marker.group(2));
+                assertThat(excerpt[next]).isEqualTo(lines[lastOmitted]);
+            }
+            assertThat(markers).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("コメント記法が不明な拡張子では記号なしのマーカーを使う")
+        void usesBareMarkersForUnknownSyntax() {
+            String source = "line\n".repeat(2_000);
+
+            String excerpt = LargeFileExcerpter.create(500, 1_000).excerpt("notes.md", source);
+
+            assertThat(excerpt).startsWith("[excerpt of 2000 lines").contains("omitted]");
+            assertThat(SourceCompactor.utf8Length(excerpt)).isLessThanOrEqualTo(500);
+        }
+    }
+
+    @Nested
+    @DisplayName("上限")
+    class Limits {
+
+        @Test
+        @DisplayName("予算はmaxFileSizeで頭打ちになり、読み込み上限はその16倍になる")
+        void capsBudgetAndSourceSize() {
+            var excerpter = LargeFileExcerpter.create(10_000, 1_000);
+
+            assertThat(excerpter.expectedCharge(800, 1_000)).isEqualTo(800);
+            assertThat(excerpter.expectedCharge(5_000, 1_000)).isEqualTo(1_000);
+            assertThat(excerpter.expectedCharge(16_001, 1_000)).isEqualTo(-1);
+            assertThat(excerpter.maxSourceSize()).isEqualTo(16_000);
+        }
+
+        @Test
+        @DisplayName("無効なときは大きなファイルを除外する")
+        void disabledSkipsLargeFiles() {
+            var excerpter = LargeFileExcerpter.create(0, 1_000);
+
+            assertThat(excerpter.isEnabled()).isFalse();
+            assertThat(excerpter.canExcerpt(2_000)).isFalse();
+            assertThat(excerpter.expectedCharge(2_000, 1_000)).isEqualTo(-1);
+        }
+    }
+
+    @Nested
+    @DisplayName("行の判定")
+    class LineClassification {
+
+        @Test
+        @DisplayName("型・関数・メソッドの宣言を検出し、呼び出しや文は除外する")
+        void detectsDeclarations() {
+            assertThat(LargeFileExcerpter.isDeclaration("public final class OrderService {")).isTrue();
+            assertThat(LargeFileExcerpter.isDeclaration("    @Override public void run() {")).isTrue();
+            assertThat(LargeFileExcerpter.isDeclaration("    List<Order> findAll(String customerId,")).isTrue();
+            assertThat(LargeFileExcerpter.isDeclaration("def process(order):")).isTrue();
+            assertThat(LargeFileExcerpter.isDeclaration("func (s *Server) Start() error {")).isTrue();
+            assertThat(LargeFileExcerpter.isDeclaration("        return repository.find(id);")).isFalse();
+            assertThat(LargeFileExcerpter.isDeclaration("        return new Order(id,")).isFalse();
+            assertThat(LargeFileExcerpter.isDeclaration("        } else if (ready) {")).isFalse();
+        }
+
+        @Test
+        @DisplayName("分岐の数をインデントの深さで重み付けする")
+        void weightsBranchesByDepth() {
+            assertThat(LargeFileExcerpter.complexity("int x = 1;")).isZero();
+            assertThat(LargeFileExcerpter.complexity("if (a && b) {")).isEqualTo(2);
+            assertThat(LargeFileExcerpter.complexity("        if (a && b) {")).isEqualTo(6);
+        }
+    }
+}
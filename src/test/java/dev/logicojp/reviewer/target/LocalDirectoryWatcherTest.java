@@ -0,0 +1,96 @@
+package dev.logicojp.reviewer.target;
+
+import dev.logicojp.reviewer.config.LocalFileConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@DisplayName("LocalDirectoryWatcher")
+class LocalDirectoryWatcherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("変更されたファイルを相対パスでまとめて返す")
+    void reportsChangedFiles() throws IOException {
+        Files.createDirectories(tempDir.resolve("src"));
+        Files.writeString(tempDir.resolve("src/App.java"), "class App {}");
+
+        try (var watcher = new LocalDirectoryWatcher(tempDir, new LocalFileConfig(), Duration.ofMillis(200), List.of())) {
+            Files.writeString(tempDir.resolve("src/App.java"), "class App { int x; }");
+            Files.writeString(tempDir.resolve("Main.java"), "class Main {}");
+
+            Set<String> changed = assertTimeoutPreemptively(TIMEOUT, watcher::awaitChanges);
+
+            assertThat(changed).contains("src/App.java", "Main.java");
+        }
+    }
+
+    @Test
+    @DisplayName("新しく作成されたディレクトリ内のファイルも変更として扱う")
+    void reportsFilesInNewDirectories() throws IOException {
+        try (var watcher = new LocalDirectoryWatcher(tempDir, new LocalFileConfig(), Duration.ofMillis(200), List.of())) {
+            Path created = Files.createDirectories(tempDir.resolve("pkg/sub"));
+            Files.writeString(created.resolve("New.java"), "class New {}");
+
+            Set<String> changed = assertTimeoutPreemptively(TIMEOUT, watcher::awaitChanges);
+
+            assertThat(changed).contains("pkg/sub/New.java");
+        }
+    }
+
+    @Test
+    @DisplayName("無視ディレクトリ内の変更は監視しない")
+    void ignoresIgnoredDirectories() throws IOException {
+        Files.createDirectories(tempDir.resolve("node_modules/lib"));
+
+        try (var watcher = new LocalDirectoryWatcher(tempDir, new LocalFileConfig(), Duration.ofMillis(200), List.of())) {
+            Files.writeString(tempDir.resolve("node_modules/lib/index.js"), "x");
+            Files.writeString(tempDir.resolve("App.java"), "class App {}");
+
+            Set<String> changed = assertTimeoutPreemptively(TIMEOUT, watcher::awaitChanges);
+
+            assertThat(changed).contains("App.java").doesNotContain("node_modules/lib/index.js");
+        }
+    }
+
+    @Test
+    @DisplayName("除外ディレクトリ内の変更は監視しない")
+    void ignoresExcludedDirectories() throws IOException {
+        Path reports = Files.createDirectories(tempDir.resolve("reports/run"));
+
+        try (var watcher = new LocalDirectoryWatcher(
+                tempDir, new LocalFileConfig(), Duration.ofMillis(200), List.of(tempDir.resolve("reports")))) {
+            Files.writeString(reports.resolve("agent.md"), "# Report");
+            Files.createDirectories(tempDir.resolve("reports/next"));
+            Files.writeString(tempDir.resolve("reports/next/agent.md"), "# Report");
+            Files.writeString(tempDir.resolve("App.java"), "class App {}");
+
+            Set<String> changed = assertTimeoutPreemptively(TIMEOUT, watcher::awaitChanges);
+
+            assertThat(changed).contains("App.java")
+                .noneMatch(path -> path.startsWith("reports/"));
+        }
+    }
+
+    @Test
+    @DisplayName("負のデバウンス間隔はIllegalArgumentExceptionになる")
+    void rejectsNegativeDebounce() {
+        assertThatThrownBy(() -> new LocalDirectoryWatcher(tempDir, new LocalFileConfig(), Duration.ofMillis(-1), List.of()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
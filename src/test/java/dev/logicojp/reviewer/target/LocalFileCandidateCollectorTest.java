@@ -9,9 +9,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
-import java.util.Locale;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -36,10 +33,8 @@ class LocalFileCandidateCollectorTest {
         LocalFileCandidateCollector collector = new LocalFileCandidateCollector(
             tempDir.toAbsolutePath().normalize(),
             tempDir.toRealPath(),
-            toNormalizedSet(config.ignoredDirectories()),
-            toNormalizedSet(config.sourceExtensions()),
-            toNormalizedSet(config.sensitiveFilePatterns()),
-            toNormalizedSet(config.sensitiveExtensions())
+            LocalFileSelectionConfig.from(config),
+            GitIgnoreMatcher.disabled()
         );
 
         List<LocalFileCandidate> candidates = collector.collectCandidateFiles();
@@ -59,10 +54,8 @@ class LocalFileCandidateCollectorTest {
         LocalFileCandidateCollector collector = new LocalFileCandidateCollector(
             tempDir.toAbsolutePath().normalize(),
             tempDir.toRealPath(),
-            toNormalizedSet(config.ignoredDirectories()),
-            toNormalizedSet(config.sourceExtensions()),
-            toNormalizedSet(config.sensitiveFilePatterns()),
-            toNormalizedSet(config.sensitiveExtensions())
+            LocalFileSelectionConfig.from(config),
+            GitIgnoreMatcher.disabled()
         );
 
         List<LocalFileCandidate> candidates = collector.collectCandidateFiles();
@@ -72,13 +65,138 @@ class LocalFileCandidateCollectorTest {
             .containsExactly("a.java", "b.java");
     }
 
-    private static Set<String> toNormalizedSet(List<String> values) {
-        if (values == null || values.isEmpty()) {
-            return Set.of();
+    @Test
+    @DisplayName("並列ウォークでも逐次ウォークと同じ候補を同じ順序で返す")
+    void concurrentWalkMatchesSequentialOrder() throws IOException {
+        Files.writeString(tempDir.resolve("Root.java"), "class Root {}\n");
+        Path nested = tempDir.resolve("src/main/java/app");
+        Files.createDirectories(nested);
+        Files.writeString(nested.resolve("App.java"), "class App {}\n");
+        Path other = tempDir.resolve("lib/util");
+        Files.createDirectories(other);
+        Files.writeString(other.resolve("Util.java"), "class Util {}\n");
+        Files.writeString(tempDir.resolve("lib/Lib.java"), "class Lib {}\n");
+        Path ignored = tempDir.resolve("lib/node_modules/pkg");
+        Files.createDirectories(ignored);
+        Files.writeString(ignored.resolve("index.js"), "module.exports = {};\n");
+
+        List<LocalFileCandidate> sequential = newCollector(1).collectCandidateFiles();
+        List<LocalFileCandidate> concurrent = newCollector(4).collectCandidateFiles();
+
+        assertThat(concurrent).containsExactlyElementsOf(sequential);
+        assertThat(concurrent)
+            .extracting(candidate -> tempDir.relativize(candidate.path()).toString().replace('\\', '/'))
+            .containsExactly("Root.java", "lib/Lib.java", "lib/util/Util.java", "src/main/java/app/App.java");
+    }
+
+    @Test
+    @DisplayName("生成・ベンダーファイルのパスパターンに一致するファイルを除外する")
+    void excludesGeneratedPaths() throws IOException {
+        Files.writeString(tempDir.resolve("app.js"), "export const a = 1;\n");
+        Files.writeString(tempDir.resolve("app.min.js"), "export const a=1;\n");
+        Path vendored = tempDir.resolve("third_party/zlib");
+        Files.createDirectories(vendored);
+        Files.writeString(vendored.resolve("inflate.c"), "int inflate(void);\n");
+
+        LocalFileConfig config = new LocalFileConfig();
+        LocalFileCandidateCollector collector = new LocalFileCandidateCollector(
+            tempDir.toAbsolutePath().normalize(),
+            tempDir.toRealPath(),
+            LocalFileSelectionConfig.from(config),
+            GitIgnoreMatcher.disabled()
+        );
+
+        List<LocalFileCandidate> candidates = collector.collectCandidateFiles();
+
+        assertThat(candidates)
+            .extracting(candidate -> tempDir.relativize(candidate.path()).toString().replace('\\', '/'))
+            .containsExactly("app.js");
+    }
+
+    @Test
+    @DisplayName(".gitignoreで無視されたディレクトリとファイルを並列ウォークでも除外する")
+    void excludesGitIgnoredPaths() throws IOException {
+        Files.writeString(tempDir.resolve(".gitignore"), "public/\n*.gen.ts\n");
+        Files.writeString(tempDir.resolve("App.ts"), "export class App {}\n");
+        Files.writeString(tempDir.resolve("api.gen.ts"), "export const api = {};\n");
+        Path ignoredTree = tempDir.resolve("web/public/assets");
+        Files.createDirectories(ignoredTree);
+        Files.writeString(ignoredTree.resolve("app.js"), "console.log(1);\n");
+        Files.writeString(tempDir.resolve("web/index.ts"), "export {};\n");
+
+        Path base = tempDir.toAbsolutePath().normalize();
+        for (int ioParallelism : new int[] {1, 4}) {
+            LocalFileCandidateCollector collector = new LocalFileCandidateCollector(
+                base,
+                tempDir.toRealPath(),
+                selectionConfig(ioParallelism),
+                GitIgnoreMatcher.load(base)
+            );
+
+            List<LocalFileCandidate> candidates = collector.collectCandidateFiles();
+
+            assertThat(candidates)
+                .extracting(candidate -> tempDir.relativize(candidate.path()).toString().replace('\\', '/'))
+                .containsExactly("App.ts", "web/index.ts");
+        }
+    }
+
+    @Test
+    @DisplayName("ストリーミング走査はソート済みの一括収集と同じ候補を同じ順序で返す")
+    void streamingWalkMatchesSortedCollection() throws IOException {
+        Files.writeString(tempDir.resolve("a.java"), "class A {}\n");
+        Files.writeString(tempDir.resolve("a-b.java"), "class AB {}\n");
+        Path nested = tempDir.resolve("a/z");
+        Files.createDirectories(nested);
+        Files.writeString(nested.resolve("Z.java"), "class Z {}\n");
+        Files.writeString(tempDir.resolve("a/B.java"), "class B {}\n");
+        Files.writeString(tempDir.resolve("a0.java"), "class A0 {}\n");
+        Path ignored = tempDir.resolve("a/node_modules/pkg");
+        Files.createDirectories(ignored);
+        Files.writeString(ignored.resolve("index.js"), "module.exports = {};\n");
+
+        List<LocalFileCandidate> sorted = newCollector(1).collectCandidateFiles();
+        List<LocalFileCandidate> streamed;
+        try (var stream = newCollector(1).streamCandidateFiles()) {
+            streamed = stream.toList();
         }
-        return values.stream()
-            .filter(value -> value != null && !value.isBlank())
-            .map(value -> value.toLowerCase(Locale.ROOT))
-            .collect(Collectors.toUnmodifiableSet());
+
+        assertThat(streamed).containsExactlyElementsOf(sorted);
+        assertThat(streamed)
+            .extracting(candidate -> tempDir.relativize(candidate.path()).toString().replace('\\', '/'))
+            .containsExactly("a-b.java", "a.java", "a/B.java", "a/z/Z.java", "a0.java");
+    }
+
+    @Test
+    @DisplayName("ストリーミング走査は読み進めたディレクトリだけを一覧する")
+    void streamingWalkListsDirectoriesOnDemand() throws IOException {
+        Files.writeString(tempDir.resolve("A.java"), "class A {}\n");
+        Path later = Files.createDirectories(tempDir.resolve("b"));
+        Files.writeString(later.resolve("B.java"), "class B {}\n");
+
+        try (var stream = newCollector(1).streamCandidateFiles()) {
+            var candidates = stream.iterator();
+            assertThat(candidates.next().path().getFileName().toString()).isEqualTo("A.java");
+
+            // Removing the directory before the walk reaches it shows that it was not listed yet.
+            Files.delete(later.resolve("B.java"));
+            Files.delete(later);
+            assertThat(candidates.hasNext()).isFalse();
+        }
+    }
+
+    private LocalFileCandidateCollector newCollector(int ioParallelism) throws IOException {
+        return new LocalFileCandidateCollector(
+            tempDir.toAbsolutePath().normalize(),
+            tempDir.toRealPath(),
+            selectionConfig(ioParallelism),
+            GitIgnoreMatcher.disabled()
+        );
+    }
+
+    private static LocalFileSelectionConfig selectionConfig(int ioParallelism) {
+        return LocalFileSelectionConfig.from(new LocalFileConfig(
+            LocalFileConfig.DEFAULT_MAX_FILE_SIZE, LocalFileConfig.DEFAULT_MAX_TOTAL_SIZE,
+            null, null, null, null, ioParallelism, null, LocalFileConfig.DEFAULT_MAX_SHARDS));
     }
 }
@@ -8,7 +8,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -31,7 +33,8 @@ class LocalFileCandidateProcessorTest {
             new LocalFileCandidate(small, Files.size(small))
         );
 
-        var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(), 20, 10_000);
+        var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+            CandidateProcessingOptions.builder(20, 10_000).build());
         List<String> processed = new ArrayList<>();
 
         LocalFileCandidateProcessor.ProcessingResult result = processor.process(
@@ -58,7 +61,8 @@ class LocalFileCandidateProcessorTest {
             new LocalFileCandidate(second, secondSize)
         );
 
-        var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(), 10_000, firstSize);
+        var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+            CandidateProcessingOptions.builder(10_000, firstSize).build());
         List<String> processed = new ArrayList<>();
 
         LocalFileCandidateProcessor.ProcessingResult result = processor.process(
@@ -81,7 +85,8 @@ class LocalFileCandidateProcessorTest {
             new LocalFileCandidate(target, 10)
         );
 
-        var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(), 20, 10_000);
+        var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+            CandidateProcessingOptions.builder(20, 10_000).build());
         List<String> processed = new ArrayList<>();
 
         LocalFileCandidateProcessor.ProcessingResult result = processor.process(
@@ -104,7 +109,8 @@ class LocalFileCandidateProcessorTest {
         long bytes = Files.size(target);
         var candidates = List.of(new LocalFileCandidate(target, bytes));
 
-        var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(), 64, 64);
+        var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+            CandidateProcessingOptions.builder(64, 64).build());
         List<Long> processedSizes = new ArrayList<>();
 
         LocalFileCandidateProcessor.ProcessingResult result = processor.process(
@@ -116,4 +122,343 @@ class LocalFileCandidateProcessorTest {
         assertThat(result.totalSize()).isEqualTo(bytes);
         assertThat(processedSizes).containsExactly(bytes);
     }
+
+    @Test
+    @DisplayName("並列読み込みでもパス順と maxTotalSize の停止位置を維持する")
+    void concurrentReadKeepsOrderAndBudget() throws IOException {
+        List<LocalFileCandidate> candidates = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Path file = tempDir.resolve("f" + i + ".java");
+            Files.writeString(file, "123456789\n");
+            candidates.add(new LocalFileCandidate(file, Files.size(file)));
+        }
+        Path large = tempDir.resolve("f2a.java");
+        Files.writeString(large, "x".repeat(100));
+        candidates.add(3, new LocalFileCandidate(large, Files.size(large)));
+
+        var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+            CandidateProcessingOptions.builder(50, 40).ioParallelism(4).build());
+        List<String> processed = new ArrayList<>();
+
+        LocalFileCandidateProcessor.ProcessingResult result = processor.process(
+            candidates,
+            (relativePath, content, sizeBytes) -> processed.add(relativePath)
+        );
+
+        assertThat(processed).containsExactly("f0.java", "f1.java", "f2.java", "f3.java");
+        assertThat(result.fileCount()).isEqualTo(4);
+        assertThat(result.totalSize()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("収集後にシンボリックリンクへ差し替えられたディレクトリ配下のファイルを読み込まない")
+    void skipsFilesBehindDirectorySwappedForSymlink() throws IOException {
+        Path outside = Files.createDirectory(tempDir.resolve("outside"));
+        Files.writeString(outside.resolve("Secret.java"), "class Secret {}\n");
+        Path base = Files.createDirectory(tempDir.resolve("base"));
+        Path directory = Files.createDirectory(base.resolve("src"));
+        Path target = directory.resolve("Secret.java");
+        Files.writeString(target, "class Safe {}\n");
+        var candidates = List.of(new LocalFileCandidate(target, Files.size(target)));
+
+        Files.delete(target);
+        Files.delete(directory);
+        Files.createSymbolicLink(directory, outside);
+
+        for (int ioParallelism : new int[] {1, 4}) {
+            var processor = new LocalFileCandidateProcessor(base, base.toRealPath(),
+                CandidateProcessingOptions.builder(1_000, 10_000).ioParallelism(ioParallelism).build());
+            List<String> processed = new ArrayList<>();
+
+            LocalFileCandidateProcessor.ProcessingResult result = processor.process(candidates,
+                (relativePath, content, sizeBytes) -> processed.add(content));
+
+            assertThat(processed).isEmpty();
+            assertThat(result.fileCount()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("逐次供給される候補は予算到達後に取り出さない")
+    void stopsPullingStreamedCandidatesAtBudget() throws IOException {
+        List<LocalFileCandidate> candidates = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Path file = tempDir.resolve("F%02d.java".formatted(i));
+            Files.writeString(file, "class F%02d {}\n".formatted(i));
+            candidates.add(new LocalFileCandidate(file, Files.size(file)));
+        }
+        long fileSize = candidates.getFirst().size();
+
+        for (int ioParallelism : new int[] {1, 4}) {
+            var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+                CandidateProcessingOptions.builder(1_000, 3 * fileSize).ioParallelism(ioParallelism).build());
+            var pulled = new AtomicInteger();
+            Iterator<LocalFileCandidate> stream = candidates.stream().peek(_ -> pulled.incrementAndGet()).iterator();
+            List<String> accepted = new ArrayList<>();
+
+            LocalFileCandidateProcessor.ProcessingResult result = processor.processStream(stream,
+                (relativePath, content, sizeBytes) -> accepted.add(relativePath),
+                (relativePath, originalPath, sizeBytes) -> { });
+
+            assertThat(accepted).containsExactly("F00.java", "F01.java", "F02.java");
+            assertThat(result.totalSize()).isEqualTo(3 * fileSize);
+            assertThat(pulled.get()).isLessThanOrEqualTo(5);
+        }
+    }
+
+    @Test
+    @DisplayName("トークン予算を超えるファイルの手前で処理を停止する")
+    void stopsWhenTokenBudgetReached() throws IOException {
+        Path ascii = tempDir.resolve("a.java");
+        Path japanese = tempDir.resolve("b.java");
+        Path tail = tempDir.resolve("c.java");
+        Files.writeString(ascii, "class Alpha {}\n");
+        Files.writeString(japanese, "// 日本語のコメントが続くファイル\n");
+        Files.writeString(tail, "class Gamma {}\n");
+
+        var candidates = List.of(
+            new LocalFileCandidate(ascii, Files.size(ascii)),
+            new LocalFileCandidate(japanese, Files.size(japanese)),
+            new LocalFileCandidate(tail, Files.size(tail))
+        );
+
+        var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+            CandidateProcessingOptions.builder(10_000, 10_000).maxTotalTokens(10).build());
+        List<String> processed = new ArrayList<>();
+
+        LocalFileCandidateProcessor.ProcessingResult result = processor.process(
+            candidates,
+            (relativePath, content, sizeBytes) -> processed.add(relativePath)
+        );
+
+        assertThat(processed).containsExactly("a.java");
+        assertThat(result.totalTokens()).isPositive().isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("先頭部分の判定でミニファイ済み・生成ファイルをスキップする")
+    void skipsMinifiedAndGeneratedFiles() throws IOException {
+        Path generated = tempDir.resolve("Api.java");
+        Path minified = tempDir.resolve("bundle.js");
+        Path source = tempDir.resolve("Main.java");
+        Files.writeString(generated, "// Code generated by openapi-generator. DO NOT EDIT.\nclass Api {}\n");
+        Files.writeString(minified, "var a=1;".repeat(2_000));
+        Files.writeString(source, "class Main {}\n");
+
+        var candidates = List.of(
+            new LocalFileCandidate(generated, Files.size(generated)),
+            new LocalFileCandidate(minified, Files.size(minified)),
+            new LocalFileCandidate(source, Files.size(source))
+        );
+        var detector = new GeneratedSourceDetector(List.of(), List.of("Code generated by"));
+
+        for (int ioParallelism : new int[] {1, 4}) {
+            var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+                CandidateProcessingOptions.builder(100_000, 100_000)
+                    .ioParallelism(ioParallelism)
+                    .generatedSourceDetector(detector)
+                    .build());
+            List<String> processed = new ArrayList<>();
+
+            processor.process(candidates, (relativePath, content, sizeBytes) -> processed.add(relativePath));
+
+            assertThat(processed).containsExactly("Main.java");
+        }
+    }
+
+    @Test
+    @DisplayName("先頭部分より大きいファイルも判定後に全体を読み込む")
+    void readsWholeFileAfterSniffingHead() throws IOException {
+        Path source = tempDir.resolve("Large.java");
+        String content = "class Large {\n" + "    int value;\n".repeat(1_000) + "}\n";
+        Files.writeString(source, content);
+
+        var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+            CandidateProcessingOptions.builder(100_000, 100_000)
+                .generatedSourceDetector(new GeneratedSourceDetector(List.of(), List.of("@generated")))
+                .build());
+        List<String> contents = new ArrayList<>();
+
+        processor.process(List.of(new LocalFileCandidate(source, Files.size(source))),
+            (relativePath, read, sizeBytes) -> contents.add(read));
+
+        assertThat(contents).containsExactly(content);
+    }
+
+    @Test
+    @DisplayName("圧縮を有効にすると圧縮後のサイズで予算を計上し、より多くのファイルを含める")
+    void chargesCompactedSizeAgainstBudget() throws IOException {
+        String header = "/*\n" + " * Licensed under the Apache License, Version 2.0.\n".repeat(8) + " */\n";
+        String imports = "import java.util.List;\nimport java.util.Map;\nimport java.util.Optional;\n";
+        List<LocalFileCandidate> candidates = new ArrayList<>();
+        for (String name : List.of("A", "B", "C")) {
+            Path file = tempDir.resolve(name + ".java");
+            Files.writeString(file, header + imports + "\nclass " + name + " {}\n");
+            candidates.add(new LocalFileCandidate(file, Files.size(file)));
+        }
+        long maxTotalSize = 2 * candidates.getFirst().size() - 1;
+
+        for (int ioParallelism : new int[] {1, 4}) {
+            var plain = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+                CandidateProcessingOptions.builder(10_000, maxTotalSize).ioParallelism(ioParallelism).build());
+            var compacting = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+                CandidateProcessingOptions.builder(10_000, maxTotalSize)
+                    .ioParallelism(ioParallelism)
+                    .sourceCompactor(new SourceCompactor())
+                    .build());
+            List<String> plainPaths = new ArrayList<>();
+            List<String> compactedContents = new ArrayList<>();
+
+            plain.process(candidates, (relativePath, content, sizeBytes) -> plainPaths.add(relativePath));
+            LocalFileCandidateProcessor.ProcessingResult result = compacting.process(
+                candidates, (relativePath, content, sizeBytes) -> compactedContents.add(content));
+
+            assertThat(plainPaths).containsExactly("A.java");
+            assertThat(compactedContents).hasSize(3);
+            assertThat(compactedContents.get(1)).contains("same header as A.java").doesNotContain("Licensed");
+            assertThat(result.totalSize()).isLessThanOrEqualTo(maxTotalSize);
+        }
+    }
+
+    @Test
+    @DisplayName("抜粋を有効にすると maxFileSize を超えるファイルを抜粋のサイズで計上して含める")
+    void excerptsFilesExceedingMaxFileSize() throws IOException {
+        Path small = tempDir.resolve("a.java");
+        Path large = tempDir.resolve("b.java");
+        Path huge = tempDir.resolve("c.java");
+        Files.writeString(small, "class Small {}\n");
+        Files.writeString(large, "class Large {\n" + "    int value() { return 1; }\n".repeat(200) + "}\n");
+        Files.writeString(huge, "class Huge {}\n" + "// filler\n".repeat(2_000));
+        var candidates = List.of(
+            new LocalFileCandidate(small, Files.size(small)),
+            new LocalFileCandidate(large, Files.size(large)),
+            new LocalFileCandidate(huge, Files.size(huge))
+        );
+
+        for (int ioParallelism : new int[] {1, 4}) {
+            var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+                CandidateProcessingOptions.builder(1_000, 10_000)
+                    .ioParallelism(ioParallelism)
+                    .largeFileExcerpter(LargeFileExcerpter.create(600, 1_000))
+                    .build());
+            List<String> contents = new ArrayList<>();
+
+            LocalFileCandidateProcessor.ProcessingResult result = processor.process(
+                candidates, (relativePath, content, sizeBytes) -> contents.add(relativePath + "=" + content));
+
+            assertThat(contents).hasSize(2);
+            assertThat(contents.get(1)).startsWith("b.java=// [excerpt of 202 lines").contains("class Large {");
+            assertThat(result.totalSize()).isLessThanOrEqualTo(Files.size(small) + 600);
+        }
+    }
+
+    @Test
+    @DisplayName("差分抜粋を有効にすると変更ファイルを読み込み後に差分のサイズで計上し、maxFileSize を超えても含める")
+    void chargesHunkExcerptsOfChangedFiles() throws IOException {
+        Path changed = tempDir.resolve("a.java");
+        Path untracked = tempDir.resolve("b.java");
+        Path small = tempDir.resolve("c.java");
+        var lines = new StringBuilder();
+        for (int line = 1; line <= 40; line++) {
+            lines.append("    int value").append(line).append("() { return ").append(line).append("; }\n");
+        }
+        Files.writeString(changed, lines);
+        Files.writeString(untracked, lines);
+        Files.writeString(small, "class Small {}\n");
+        var candidates = List.of(
+            new LocalFileCandidate(changed, Files.size(changed)),
+            new LocalFileCandidate(untracked, Files.size(untracked)),
+            new LocalFileCandidate(small, Files.size(small))
+        );
+        GitChangeSet changeSet = GitChangeSet.parse(
+            "diff --git a/a.java b/a.java\n--- a/a.java\n+++ b/a.java\n@@ -20 +20 @@\n-old\n+new\n",
+            List.of("b.java", "c.java"));
+
+        for (int ioParallelism : new int[] {1, 4}) {
+            var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+                CandidateProcessingOptions.builder(1_000, 300)
+                    .ioParallelism(ioParallelism)
+                    .hunkExcerpter(HunkExcerpter.create(changeSet, 1, 1_000))
+                    .build());
+            List<String> contents = new ArrayList<>();
+
+            LocalFileCandidateProcessor.ProcessingResult result = processor.process(
+                candidates, (relativePath, content, sizeBytes) -> contents.add(relativePath + "=" + content));
+
+            assertThat(Files.size(changed)).isGreaterThan(1_000);
+            assertThat(contents).containsExactly(
+                "a.java=@@ lines 19-21 @@\n    int value19() { return 19; }\n"
+                    + "    int value20() { return 20; }\n    int value21() { return 21; }\n",
+                "c.java=class Small {}\n");
+            assertThat(result.totalSize()).isLessThanOrEqualTo(300);
+        }
+    }
+
+    @Test
+    @DisplayName("内容抽出を有効にするとノートブックを出力を除いた内容のサイズで計上し、縮小化と判定しない")
+    void chargesExtractedNotebookContent() throws IOException {
+        Path notebook = tempDir.resolve("analysis.ipynb");
+        Files.writeString(notebook, "{\"cells\": [{\"cell_type\": \"code\", \"source\": [\"print(1)\"], "
+            + "\"outputs\": [{\"data\": {\"image/png\": \"" + "iVBORw0KGgo".repeat(2_000) + "\"}}]}]}");
+        var candidates = List.of(new LocalFileCandidate(notebook, Files.size(notebook)));
+        var detector = new GeneratedSourceDetector(List.of(), List.of());
+
+        for (ContentExtractors extractors : List.of(ContentExtractors.disabled(), ContentExtractors.defaults())) {
+            var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+                CandidateProcessingOptions.builder(100_000, 100_000)
+                    .generatedSourceDetector(detector)
+                    .contentExtractors(extractors)
+                    .build());
+            List<String> contents = new ArrayList<>();
+            List<Long> sizes = new ArrayList<>();
+
+            LocalFileCandidateProcessor.ProcessingResult result = processor.process(candidates,
+                (relativePath, content, sizeBytes) -> {
+                    contents.add(content);
+                    sizes.add(sizeBytes);
+                });
+
+            if (!extractors.isEnabled()) {
+                assertThat(contents).isEmpty();
+                continue;
+            }
+            assertThat(contents).containsExactly("""
+                # [notebook: 1 cells, 1 outputs omitted]
+
+                # %% [cell 1]
+                print(1)
+                """);
+            assertThat(sizes).containsExactly((long) contents.getFirst().length());
+            assertThat(result.totalSize()).isEqualTo(contents.getFirst().length());
+        }
+    }
+
+    @Test
+    @DisplayName("重複の受け取り先を渡すと同一内容のファイルを別名として報告し、予算に計上しない")
+    void reportsIdenticalFilesAsDuplicates() throws IOException {
+        List<LocalFileCandidate> candidates = new ArrayList<>();
+        for (String name : List.of("a.java", "b.java", "c.java")) {
+            Path file = tempDir.resolve(name);
+            Files.writeString(file, name.equals("b.java") ? "class Diff {}\n" : "class Same {}\n");
+            candidates.add(new LocalFileCandidate(file, Files.size(file)));
+        }
+        long fileSize = candidates.getFirst().size();
+
+        for (int ioParallelism : new int[] {1, 4}) {
+            var processor = new LocalFileCandidateProcessor(tempDir, tempDir.toRealPath(),
+                CandidateProcessingOptions.builder(1_000, 2 * fileSize).ioParallelism(ioParallelism).build());
+            List<String> accepted = new ArrayList<>();
+            List<String> duplicates = new ArrayList<>();
+
+            LocalFileCandidateProcessor.ProcessingResult result = processor.process(candidates,
+                (relativePath, content, sizeBytes) -> accepted.add(relativePath),
+                (relativePath, originalPath, sizeBytes) -> duplicates.add(relativePath + "=" + originalPath));
+
+            assertThat(accepted).containsExactly("a.java", "b.java");
+            assertThat(duplicates).containsExactly("c.java=a.java");
+            assertThat(result.totalSize()).isEqualTo(2 * fileSize);
+            assertThat(result.duplicateCount()).isEqualTo(1);
+            assertThat(result.duplicateBytes()).isEqualTo(fileSize);
+        }
+    }
 }
@@ -0,0 +1,121 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LocalFileContentCache")
+class LocalFileContentCacheTest {
+
+    private static final long OLD_MTIME = 1_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("永続化したエントリをサイズとmtimeが一致すれば再利用する")
+    void reusesPersistedEntryWhenUnchanged() {
+        Path cacheDir = tempDir.resolve("cache");
+        Path baseDir = tempDir.resolve("project");
+
+        LocalFileContentCache first = LocalFileContentCache.load(cacheDir, baseDir);
+        first.store("src/A.java", 13, OLD_MTIME, "class A {}\n\tx");
+        first.persist();
+
+        LocalFileContentCache second = LocalFileContentCache.load(cacheDir, baseDir);
+
+        assertThat(second.lookup("src/A.java", 13, OLD_MTIME)).contains("class A {}\n\tx");
+        assertThat(second.hits()).isEqualTo(1);
+        assertThat(second.misses()).isZero();
+    }
+
+    @Test
+    @DisplayName("サイズまたはmtimeが変わったエントリはミスになる")
+    void missesWhenSizeOrMtimeChanged() {
+        Path cacheDir = tempDir.resolve("cache");
+        Path baseDir = tempDir.resolve("project");
+
+        LocalFileContentCache first = LocalFileContentCache.load(cacheDir, baseDir);
+        first.store("A.java", 10, OLD_MTIME, "0123456789");
+        first.persist();
+
+        LocalFileContentCache second = LocalFileContentCache.load(cacheDir, baseDir);
+
+        assertThat(second.lookup("A.java", 11, OLD_MTIME)).isEmpty();
+        assertThat(second.lookup("A.java", 10, OLD_MTIME + 1)).isEmpty();
+        assertThat(second.misses()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("前回書き込み以降のmtimeを持つエントリはracily cleanとして再読込させる")
+    void treatsRacilyCleanEntriesAsMiss() {
+        Path cacheDir = tempDir.resolve("cache");
+        Path baseDir = tempDir.resolve("project");
+        long futureMtime = System.currentTimeMillis() + 60_000;
+
+        LocalFileContentCache first = LocalFileContentCache.load(cacheDir, baseDir);
+        first.store("A.java", 3, futureMtime, "abc");
+        first.persist();
+
+        LocalFileContentCache second = LocalFileContentCache.load(cacheDir, baseDir);
+
+        assertThat(second.lookup("A.java", 3, futureMtime)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("今回使われなかったエントリは永続化されない")
+    void dropsEntriesNotUsedInCurrentRun() {
+        Path cacheDir = tempDir.resolve("cache");
+        Path baseDir = tempDir.resolve("project");
+
+        LocalFileContentCache first = LocalFileContentCache.load(cacheDir, baseDir);
+        first.store("A.java", 1, OLD_MTIME, "a");
+        first.store("B.java", 1, OLD_MTIME, "b");
+        first.persist();
+
+        LocalFileContentCache second = LocalFileContentCache.load(cacheDir, baseDir);
+        second.lookup("A.java", 1, OLD_MTIME);
+        second.persist();
+
+        LocalFileContentCache third = LocalFileContentCache.load(cacheDir, baseDir);
+
+        assertThat(third.lookup("A.java", 1, OLD_MTIME)).contains("a");
+        assertThat(third.lookup("B.java", 1, OLD_MTIME)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("破損したキャッシュファイルは無視して空から開始する")
+    void ignoresCorruptCacheFile() throws IOException {
+        Path cacheDir = tempDir.resolve("cache");
+        Path baseDir = tempDir.resolve("project");
+
+        LocalFileContentCache first = LocalFileContentCache.load(cacheDir, baseDir);
+        first.store("A.java", 1, OLD_MTIME, "a");
+        first.persist();
+        try (var files = Files.list(cacheDir)) {
+            Path cacheFile = files.findFirst().orElseThrow();
+            Files.writeString(cacheFile, "garbage");
+        }
+
+        LocalFileContentCache second = LocalFileContentCache.load(cacheDir, baseDir);
+
+        assertThat(second.isEnabled()).isTrue();
+        assertThat(second.lookup("A.java", 1, OLD_MTIME)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("無効化されたキャッシュはヒットせず書き込みもしない")
+    void disabledCacheNeverHits() {
+        LocalFileContentCache cache = LocalFileContentCache.disabled();
+        cache.store("A.java", 1, OLD_MTIME, "a");
+
+        assertThat(cache.isEnabled()).isFalse();
+        assertThat(cache.lookup("A.java", 1, OLD_MTIME)).isEmpty();
+    }
+}
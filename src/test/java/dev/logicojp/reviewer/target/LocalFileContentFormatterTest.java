@@ -6,6 +6,7 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -51,4 +52,17 @@ class LocalFileContentFormatterTest {
         assertThat(summary).contains("Total size: 13 bytes");
         assertThat(summary).contains("src/Main.java");
     }
+
+    @Test
+    @DisplayName("同一内容のファイルの別名一覧と削減量を出力する")
+    void reportsDuplicateAliasesAndSavings() {
+        var formatter = new LocalFileContentFormatter(tempDir, 4096);
+        var content = new StringBuilder();
+
+        formatter.appendDuplicateAliases(content, Map.of("a/Util.java", List.of("b/Util.java", "c/Util.java")));
+        String summary = formatter.generateDirectorySummary(1, 13, new StringBuilder(), 2, 26);
+
+        assertThat(content.toString()).contains("- a/Util.java is also at: b/Util.java, c/Util.java");
+        assertThat(summary).contains("Identical copies omitted: 2 files (26 bytes saved)");
+    }
 }
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -179,6 +180,318 @@ class LocalFileProviderTest {
         }
     }
 
+    @Nested
+    @DisplayName("collectAndGenerate")
+    class CollectAndGenerate {
+
+        @Test
+        @DisplayName("キャッシュ有効時は2回目以降も同じレビュー内容を生成しキャッシュファイルを書き出す")
+        void producesSameContentWithContentCache() throws IOException {
+            Path projectDir = Files.createDirectories(tempDir.resolve("project"));
+            Path cacheDir = tempDir.resolve("cache");
+            Path source = projectDir.resolve("Main.java");
+            Files.writeString(source, "class Main {}");
+            Files.setLastModifiedTime(source, FileTime.fromMillis(1_000L));
+
+            LocalFileConfig defaults = new LocalFileConfig();
+            LocalFileConfig config = new LocalFileConfig(
+                defaults.maxFileSize(),
+                defaults.maxTotalSize(),
+                defaults.ignoredDirectories(),
+                defaults.sourceExtensions(),
+                defaults.sensitiveFilePatterns(),
+                defaults.sensitiveExtensions(),
+                1,
+                cacheDir.toString(),
+                1
+            );
+
+            LocalFileProvider.CollectionResult first = new LocalFileProvider(projectDir, config).collectAndGenerate();
+            LocalFileProvider.CollectionResult second = new LocalFileProvider(projectDir, config).collectAndGenerate();
+
+            assertThat(second.reviewContent()).isEqualTo(first.reviewContent());
+            assertThat(second.fileCount()).isEqualTo(1);
+            try (var cacheFiles = Files.list(cacheDir)) {
+                assertThat(cacheFiles).hasSize(1);
+            }
+        }
+
+        @Test
+        @DisplayName("ストリーミング走査でも一括収集と同じレビュー内容を生成し、予算で打ち切る")
+        void streamingWalkProducesSameContent() throws IOException {
+            Files.createDirectories(tempDir.resolve("src/app"));
+            Files.writeString(tempDir.resolve("src/app/App.java"), "class App {}\n");
+            Files.writeString(tempDir.resolve("src/app-util.java"), "class AppUtil {}\n");
+            Files.writeString(tempDir.resolve("Main.java"), "class Main {}\n");
+            Files.writeString(tempDir.resolve("Zeta.java"), "class Zeta { int value = 42; }\n");
+
+            for (long maxTotalSize : new long[] {LocalFileConfig.DEFAULT_MAX_TOTAL_SIZE, 50}) {
+                LocalFileConfig sorted = new LocalFileConfig(1_000, maxTotalSize, null, null, null, null, 1, null, 1, 0,
+                    null, null, null, null, null, null, null, null, 0, false);
+                LocalFileConfig streamed = new LocalFileConfig(1_000, maxTotalSize, null, null, null, null, 1, null, 1,
+                    0, null, null, null, null, null, null, null, null, 0, true);
+
+                var expected = new LocalFileProvider(tempDir, sorted).collectAndGenerate();
+                var actual = new LocalFileProvider(tempDir, streamed).collectAndGenerate();
+
+                assertThat(actual).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("generated file detection")
+    class GeneratedFileDetection {
+
+        @Test
+        @DisplayName("デフォルト設定でミニファイ済み・生成ファイルを収集しない")
+        void skipsMinifiedAndGeneratedFilesByDefault() throws IOException {
+            Files.writeString(tempDir.resolve("Main.java"), "class Main {}\n");
+            Files.writeString(tempDir.resolve("vendor.min.js"), "var a=1;\n");
+            Files.writeString(tempDir.resolve("bundle.js"), "var a=1;".repeat(1_000));
+            Files.writeString(tempDir.resolve("Api.java"),
+                "// Code generated by openapi-generator. DO NOT EDIT.\nclass Api {}\n");
+
+            var result = new LocalFileProvider(tempDir).collectAndGenerate();
+
+            assertThat(result.fileCount()).isEqualTo(1);
+            assertThat(result.reviewContent()).contains("Main.java")
+                .doesNotContain("vendor.min.js", "bundle.js", "Api.java");
+        }
+
+        @Test
+        @DisplayName("無効化すると生成ファイルも収集する")
+        void collectsGeneratedFilesWhenDisabled() throws IOException {
+            Files.writeString(tempDir.resolve("Api.java"),
+                "// Code generated by openapi-generator. DO NOT EDIT.\nclass Api {}\n");
+            LocalFileConfig config = new LocalFileConfig(
+                LocalFileConfig.DEFAULT_MAX_FILE_SIZE, LocalFileConfig.DEFAULT_MAX_TOTAL_SIZE,
+                null, null, null, null, 1, null, 1, 0, null, null, false, null, null);
+
+            var result = new LocalFileProvider(tempDir, config).collectAndGenerate();
+
+            assertThat(result.fileCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("内容が同一のファイルは一度だけ出力し、別名の一覧と削減量を要約に含める")
+        void emitsIdenticalFilesOnce() throws IOException {
+            String shared = "class Util { int twice(int x) { return x * 2; } }\n";
+            Files.createDirectories(tempDir.resolve("lib/copy"));
+            Files.writeString(tempDir.resolve("lib/Util.java"), shared);
+            Files.writeString(tempDir.resolve("lib/copy/Util.java"), shared);
+            Files.writeString(tempDir.resolve("Main.java"), "class Main { }\n");
+
+            var result = new LocalFileProvider(tempDir).collectAndGenerate();
+
+            assertThat(result.fileCount()).isEqualTo(2);
+            assertThat(result.reviewContent().split("int twice", -1)).hasSize(2);
+            assertThat(result.reviewContent()).contains("- lib/Util.java is also at: lib/copy/Util.java");
+            assertThat(result.directorySummary())
+                .contains("Identical copies omitted: 1 files (" + shared.length() + " bytes saved)")
+                .contains("lib/copy/Util.java (" + shared.length() + " bytes, identical to lib/Util.java)");
+        }
+    }
+
+    @Nested
+    @DisplayName("collectAndGenerate with FileRoutingRules")
+    class CollectAndGenerateRouted {
+
+        @Test
+        @DisplayName("includeに一致しexcludeに一致しないファイルだけを収集する")
+        void collectsOnlyRoutedFiles() throws IOException {
+            Files.createDirectories(tempDir.resolve("src/test"));
+            Files.writeString(tempDir.resolve("Main.java"), "class Main {}");
+            Files.writeString(tempDir.resolve("src/test/MainTest.java"), "class MainTest {}");
+            Files.writeString(tempDir.resolve("build.gradle"), "plugins {}");
+
+            var result = new LocalFileProvider(tempDir)
+                .collectAndGenerate(FileRoutingRules.parse("*.java", "**/test/**"));
+
+            assertThat(result.fileCount()).isEqualTo(1);
+            assertThat(result.reviewContent())
+                .contains("Main.java")
+                .doesNotContain("MainTest.java")
+                .doesNotContain("build.gradle");
+        }
+    }
+
+    @Nested
+    @DisplayName("listed change scope")
+    class ListedChangeScope {
+
+        @Test
+        @DisplayName("明示したファイルだけをgitを使わずに収集する")
+        void collectsOnlyListedFiles() throws IOException {
+            Files.writeString(tempDir.resolve("Main.java"), "class Main {}");
+            Files.writeString(tempDir.resolve("Other.java"), "class Other {}");
+
+            var result = new LocalFileProvider(tempDir, new LocalFileConfig(),
+                LocalChangeScope.ofFiles(List.of("Main.java"))).collectAndGenerate();
+
+            assertThat(result.fileCount()).isEqualTo(1);
+            assertThat(result.reviewContent()).contains("class Main {}").doesNotContain("class Other {}");
+        }
+
+        @Test
+        @DisplayName("レビュー対象になり得るパスだけを選別する")
+        void selectsReviewablePaths() throws IOException {
+            Files.createDirectories(tempDir.resolve("node_modules/lib"));
+            Files.writeString(tempDir.resolve("node_modules/lib/index.js"), "x");
+            Files.writeString(tempDir.resolve("App.java"), "class App {}");
+            Files.writeString(tempDir.resolve("notes.bin"), "binary");
+            Files.writeString(tempDir.resolve(".gitignore"), "Ignored.java\n");
+            Files.writeString(tempDir.resolve("Ignored.java"), "class Ignored {}");
+
+            List<String> reviewable = new LocalFileProvider(tempDir).selectReviewablePaths(List.of(
+                "App.java", "Deleted.java", "notes.bin", "node_modules/lib/index.js", "Ignored.java"));
+
+            assertThat(reviewable).containsExactly("App.java");
+        }
+    }
+
+    @Nested
+    @DisplayName("collectAndGenerateShards")
+    class CollectAndGenerateShards {
+
+        @Test
+        @DisplayName("maxTotalSizeを超えるソースを複数シャードに分割し全ファイルを含める")
+        void splitsSourcesLargerThanTotalSize() throws IOException {
+            Files.writeString(tempDir.resolve("A.java"), "class A { int value = 1; }\n");
+            Files.writeString(tempDir.resolve("B.java"), "class B { int value = 2; }\n");
+            Files.writeString(tempDir.resolve("C.java"), "class C { int value = 3; }\n");
+
+            LocalFileConfig defaults = new LocalFileConfig();
+            LocalFileConfig config = new LocalFileConfig(
+                1024,
+                60,
+                defaults.ignoredDirectories(),
+                defaults.sourceExtensions(),
+                defaults.sensitiveFilePatterns(),
+                defaults.sensitiveExtensions(),
+                1,
+                null,
+                4
+            );
+
+            List<LocalFileProvider.CollectionResult> shards = new LocalFileProvider(tempDir, config)
+                .collectAndGenerateShards();
+
+            assertThat(shards).hasSize(2);
+            assertThat(shards).extracting(LocalFileProvider.CollectionResult::fileCount).containsExactly(2, 1);
+            assertThat(shards.getFirst().reviewContent()).startsWith("> Shard 1 of 2").contains("A.java", "B.java");
+            assertThat(shards.getLast().reviewContent()).startsWith("> Shard 2 of 2").contains("C.java");
+        }
+
+        @Test
+        @DisplayName("maxShardsが1の場合は従来通り単一の収集結果を返す")
+        void returnsSingleResultWhenShardingDisabled() throws IOException {
+            Files.writeString(tempDir.resolve("A.java"), "class A {}\n");
+
+            List<LocalFileProvider.CollectionResult> shards = new LocalFileProvider(tempDir)
+                .collectAndGenerateShards();
+
+            assertThat(shards).hasSize(1);
+            assertThat(shards.getFirst().reviewContent()).doesNotContain("> Shard");
+        }
+    }
+
+    @Nested
+    @DisplayName("collectAndGenerateRanked")
+    class CollectAndGenerateRanked {
+
+        @Test
+        @DisplayName("予算を超える場合はクエリごとに関連度の高いファイルを選ぶ")
+        void selectsMostRelevantFilesPerQuery() throws IOException {
+            Files.writeString(tempDir.resolve("AuthFilter.java"), "class AuthFilter { String password; void login() {} }\n");
+            Files.writeString(tempDir.resolve("CacheStore.java"), "class CacheStore { Map<String, String> cache; void evict() {} }\n");
+            Files.writeString(tempDir.resolve("Report.java"), "class Report { void render() { format(); } }\n");
+
+            LocalFileConfig defaults = new LocalFileConfig();
+            LocalFileConfig config = new LocalFileConfig(
+                1024,
+                80,
+                defaults.ignoredDirectories(),
+                defaults.sourceExtensions(),
+                defaults.sensitiveFilePatterns(),
+                defaults.sensitiveExtensions()
+            );
+            var security = new RelevanceQuery("security", List.of("認証・認可の不備"), null);
+            var performance = new RelevanceQuery("performance", List.of("適切でないキャッシング戦略"), null);
+
+            var results = new LocalFileProvider(tempDir, config)
+                .collectAndGenerateRanked(List.of(security, performance));
+
+            assertThat(results).containsOnlyKeys("security", "performance");
+            assertThat(results.get("security").reviewContent())
+                .startsWith("> Relevance-ranked selection")
+                .contains("AuthFilter.java")
+                .doesNotContain("CacheStore.java");
+            assertThat(results.get("performance").reviewContent())
+                .contains("CacheStore.java")
+                .doesNotContain("AuthFilter.java");
+        }
+
+        @Test
+        @DisplayName("関連度の索引はパス順で maxTotalSize の4倍までのファイルに限る")
+        void boundsRelevanceIndexToFewBudgets() throws IOException {
+            for (char name = 'A'; name <= 'E'; name++) {
+                Files.writeString(tempDir.resolve(name + ".java"),
+                    "class " + name + " { void run() { step(); } }\n" + "// padding\n".repeat(3));
+            }
+            Files.writeString(tempDir.resolve("ZAuthFilter.java"), "class ZAuthFilter { String password; void login() {} }\n");
+            LocalFileConfig defaults = new LocalFileConfig();
+            LocalFileConfig config = new LocalFileConfig(
+                1024,
+                80,
+                defaults.ignoredDirectories(),
+                defaults.sourceExtensions(),
+                defaults.sensitiveFilePatterns(),
+                defaults.sensitiveExtensions()
+            );
+
+            var results = new LocalFileProvider(tempDir, config).collectAndGenerateRanked(List.of(
+                new RelevanceQuery("security", List.of("認証・認可の不備"), null)));
+
+            assertThat(results.get("security").reviewContent())
+                .startsWith("> Relevance-ranked selection")
+                .doesNotContain("ZAuthFilter.java");
+        }
+
+        @Test
+        @DisplayName("予算内に収まる場合は全クエリで同じ収集結果を共有する")
+        void sharesCollectionWhenSourcesFitBudget() throws IOException {
+            Files.writeString(tempDir.resolve("A.java"), "class A {}\n");
+            Files.writeString(tempDir.resolve("B.java"), "class B {}\n");
+
+            var results = new LocalFileProvider(tempDir).collectAndGenerateRanked(List.of(
+                new RelevanceQuery("security", List.of("認証"), null),
+                new RelevanceQuery("performance", List.of("キャッシュ"), null)));
+
+            assertThat(results.get("security")).isSameAs(results.get("performance"));
+            assertThat(results.get("security").fileCount()).isEqualTo(2);
+            assertThat(results.get("security").reviewContent()).doesNotContain("> Relevance-ranked");
+        }
+
+        @Test
+        @DisplayName("ファイルルーティングルールが異なるクエリにはルールに一致するファイルだけを渡す")
+        void routesFilesPerQueryRules() throws IOException {
+            Files.createDirectories(tempDir.resolve("db"));
+            Files.writeString(tempDir.resolve("db/UserRepository.java"), "class UserRepository {}\n");
+            Files.writeString(tempDir.resolve("App.java"), "class App {}\n");
+
+            var results = new LocalFileProvider(tempDir).collectAndGenerateRanked(List.of(
+                new RelevanceQuery("sql", List.of(), null, FileRoutingRules.parse("db/**", null)),
+                new RelevanceQuery("quality", List.of(), null)));
+
+            assertThat(results.get("sql").fileCount()).isEqualTo(1);
+            assertThat(results.get("sql").reviewContent())
+                .contains("UserRepository.java")
+                .doesNotContain("App.java");
+            assertThat(results.get("quality").fileCount()).isEqualTo(2);
+        }
+    }
+
     @Nested
     @DisplayName("コンストラクタ")
     class ConstructorTests {
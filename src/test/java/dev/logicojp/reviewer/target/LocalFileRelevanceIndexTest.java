@@ -0,0 +1,55 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LocalFileRelevanceIndex")
+class LocalFileRelevanceIndexTest {
+
+    @Test
+    @DisplayName("識別子をキャメルケース・略語・数字の境界で分割し小文字化する")
+    void splitsIdentifiers() {
+        assertThat(terms("getUserName HTTPServer2 sha256_digest")).containsExactly(
+            "get", "user", "name", "http", "server", "sha", "digest");
+    }
+
+    @Test
+    @DisplayName("日本語は文字バイグラムに分割し、英語のストップワードは除外する")
+    void indexesCjkBigramsAndDropsStopWords() {
+        assertThat(terms("the 認証処理 of token")).containsExactly("認証", "証処", "処理", "token");
+    }
+
+    @Test
+    @DisplayName("クエリ語を多く含むファイルやパス名が一致するファイルを高く評価する")
+    void scoresMatchingDocumentsHigher() {
+        var index = new LocalFileRelevanceIndex();
+        index.add(candidate("AuthFilter.java"), "AuthFilter.java", "class AuthFilter { void check() {} }", 40, 0);
+        index.add(candidate("Login.java"), "Login.java", "class Login { String password; String password2; }", 50, 0);
+        index.add(candidate("Report.java"), "Report.java", "class Report { void render() {} }", 30, 0);
+
+        double[] scores = index.score(Map.of("auth", 2.0, "password", 2.0));
+
+        assertThat(scores[0]).isPositive();
+        assertThat(scores[1]).isPositive();
+        assertThat(scores[2]).isZero();
+        assertThat(index.documentCount()).isEqualTo(3);
+        assertThat(index.totalSize()).isEqualTo(120);
+    }
+
+    private static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        LocalFileRelevanceIndex.forEachTerm(text, terms::add);
+        return terms;
+    }
+
+    private static LocalFileCandidate candidate(String name) {
+        return new LocalFileCandidate(Path.of("/repo", name), 1);
+    }
+}
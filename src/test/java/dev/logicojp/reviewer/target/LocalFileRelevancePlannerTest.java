@@ -0,0 +1,63 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LocalFileRelevancePlanner")
+class LocalFileRelevancePlannerTest {
+
+    private static final LocalFileCandidate A = new LocalFileCandidate(Path.of("/repo/a/Cache.java"), 60);
+    private static final LocalFileCandidate B = new LocalFileCandidate(Path.of("/repo/b/Big.java"), 90);
+    private static final LocalFileCandidate C = new LocalFileCandidate(Path.of("/repo/c/Util.java"), 30);
+    private static final LocalFileCandidate D = new LocalFileCandidate(Path.of("/repo/d/Store.java"), 30);
+
+    @Test
+    @DisplayName("関連度順に予算内のファイルを選び、収まらないファイルは飛ばしてパス順で返す")
+    void selectsByScoreSkippingFilesThatDoNotFit() {
+        var index = index();
+
+        var selection = new LocalFileRelevancePlanner(100, 0).plan(index, Map.of("cache", 1.0));
+
+        // Cache.java and Store.java match and fit; Big.java and Util.java no longer fit.
+        assertThat(selection).containsExactly(A, D);
+    }
+
+    @Test
+    @DisplayName("クエリに一致するファイルがない場合はパス順で予算まで選ぶ")
+    void fallsBackToPathOrderWithoutMatches() {
+        var selection = new LocalFileRelevancePlanner(100, 0).plan(index(), Map.of("unknown", 1.0));
+
+        assertThat(selection).containsExactly(A, C);
+    }
+
+    @Test
+    @DisplayName("トークン予算も超えないように選ぶ")
+    void respectsTokenBudget() {
+        var selection = new LocalFileRelevancePlanner(1_000, 25).plan(index(), Map.of("store", 1.0));
+
+        assertThat(selection).containsExactly(C, D);
+    }
+
+    @Test
+    @DisplayName("対象外のファイルは関連度が高くても選ばない")
+    void skipsIneligibleFiles() {
+        var selection = new LocalFileRelevancePlanner(100, 0)
+            .plan(index(), Map.of("cache", 1.0), candidate -> candidate != A);
+
+        assertThat(selection).containsExactly(C, D);
+    }
+
+    private static LocalFileRelevanceIndex index() {
+        var index = new LocalFileRelevanceIndex();
+        index.add(A, "a/Cache.java", "class Cache { Object cache; }", A.size(), 20);
+        index.add(B, "b/Big.java", "class Big {}", B.size(), 30);
+        index.add(C, "c/Util.java", "class Util {}", C.size(), 5);
+        index.add(D, "d/Store.java", "class Store { Object cache; }", D.size(), 20);
+        return index;
+    }
+}
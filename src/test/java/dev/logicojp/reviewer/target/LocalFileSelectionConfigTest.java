@@ -43,4 +43,17 @@ class LocalFileSelectionConfigTest {
         assertThat(normalized.sensitiveFilePatterns()).isNotEmpty();
         assertThat(normalized.sensitiveExtensions()).isNotEmpty();
     }
+
+    @Test
+    @DisplayName("クエリ拡張を語句と小文字の語リストに変換し、不正な行は無視する")
+    void parsesQueryExpansions() {
+        LocalFileConfig config = new LocalFileConfig(1024, 4096, null, null, null, null, 1, null, 1, 0, true,
+            List.of("認証=Auth, LOGIN", "SQL=query", "sql=jdbc", "broken", "empty="));
+
+        LocalFileSelectionConfig normalized = LocalFileSelectionConfig.from(config);
+
+        assertThat(normalized.queryExpansions()).containsOnlyKeys("認証", "sql");
+        assertThat(normalized.queryExpansions().get("認証")).containsExactly("auth", "login");
+        assertThat(normalized.queryExpansions().get("sql")).containsExactly("query", "jdbc");
+    }
 }
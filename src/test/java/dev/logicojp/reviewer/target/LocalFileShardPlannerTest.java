@@ -0,0 +1,85 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LocalFileShardPlanner")
+class LocalFileShardPlannerTest {
+
+    private static LocalFileCandidate candidate(String name, long size) {
+        return new LocalFileCandidate(Path.of("/repo", name), size);
+    }
+
+    @Test
+    @DisplayName("パス順を保ったまま容量ごとにシャードへ詰める")
+    void packsCandidatesInPathOrder() {
+        var a = candidate("a.java", 40);
+        var b = candidate("b.java", 50);
+        var c = candidate("c.java", 30);
+        var d = candidate("d.java", 80);
+
+        var shards = new LocalFileShardPlanner(100, 100, 4, LargeFileExcerpter.disabled(), HunkExcerpter.disabled())
+            .plan(List.of(a, b, c, d));
+
+        assertThat(shards).containsExactly(List.of(a, b), List.of(c), List.of(d));
+    }
+
+    @Test
+    @DisplayName("maxShardsに達した後の候補は割り当てない")
+    void stopsAtMaxShards() {
+        var a = candidate("a.java", 60);
+        var b = candidate("b.java", 60);
+        var c = candidate("c.java", 60);
+
+        var shards = new LocalFileShardPlanner(100, 100, 2, LargeFileExcerpter.disabled(), HunkExcerpter.disabled())
+            .plan(List.of(a, b, c));
+
+        assertThat(shards).containsExactly(List.of(a), List.of(b));
+    }
+
+    @Test
+    @DisplayName("maxFileSizeを超える候補はシャード容量を消費しない")
+    void skipsOversizedCandidates() {
+        var a = candidate("a.java", 40);
+        var huge = candidate("huge.java", 500);
+        var b = candidate("b.java", 40);
+
+        var shards = new LocalFileShardPlanner(100, 100, 2, LargeFileExcerpter.disabled(), HunkExcerpter.disabled())
+            .plan(List.of(a, huge, b));
+
+        assertThat(shards).containsExactly(List.of(a, b));
+    }
+
+    @Test
+    @DisplayName("抜粋できる大きな候補は抜粋の予算分だけシャード容量を消費する")
+    void plansExcerptedCandidatesAtExcerptBudget() {
+        var a = candidate("a.java", 40);
+        var large = candidate("large.java", 500);
+        var b = candidate("b.java", 40);
+        var excerpter = LargeFileExcerpter.create(50, 100);
+
+        var shards = new LocalFileShardPlanner(100, 100, 2, excerpter, HunkExcerpter.disabled())
+            .plan(List.of(a, large, b));
+
+        assertThat(shards).containsExactly(List.of(a, large), List.of(b));
+    }
+
+    @Test
+    @DisplayName("差分抜粋の対象はmaxFileSizeを超えても読み込み上限までmaxFileSize分として割り当てる")
+    void plansHunkExcerptedCandidatesAtMaxFileSize() {
+        var a = candidate("a.java", 40);
+        var changed = candidate("changed.java", 500);
+        var huge = candidate("huge.java", 5_000);
+        var hunkExcerpter = HunkExcerpter.create(GitChangeSet.ofWholeFiles(List.of()), 3, 100);
+
+        var shards = new LocalFileShardPlanner(100, 100, 3, LargeFileExcerpter.disabled(), hunkExcerpter)
+            .plan(List.of(a, changed, huge));
+
+        assertThat(shards).containsExactly(List.of(a), List.of(changed));
+    }
+}
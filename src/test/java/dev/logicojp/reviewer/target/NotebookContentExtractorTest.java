@@ -0,0 +1,64 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("NotebookContentExtractor")
+class NotebookContentExtractorTest {
+
+    private final NotebookContentExtractor extractor = new NotebookContentExtractor();
+
+    @Test
+    @DisplayName("出力を除いたセルをパーセント形式で番号付きに並べる")
+    void extractsCellsWithoutOutputs() {
+        String notebook = """
+            {"cells": [
+              {"cell_type": "markdown", "metadata": {}, "source": ["# Title\\n", "\\n", "Intro"]},
+              {"cell_type": "code", "execution_count": 1, "metadata": {}, "outputs": [
+                {"output_type": "display_data", "data": {"image/png": "iVBORw0KGgo\\"AAA"}},
+                {"output_type": "stream", "text": ["hi\\n"]}],
+               "source": "import pandas as pd\\nprint(\\"\\u00e9\\")\\n"}
+            ],
+             "metadata": {"kernelspec": {"name": "python3", "language": "python"}},
+             "nbformat": 4, "nbformat_minor": 5}
+            """;
+
+        assertThat(extractor.extract("analysis.ipynb", notebook)).isEqualTo("""
+            # [notebook: 2 cells, python, 2 outputs omitted]
+
+            # %% [markdown] [cell 1]
+            # # Title
+            #
+            # Intro
+
+            # %% [cell 2]
+            import pandas as pd
+            print("é")
+            """);
+    }
+
+    @Test
+    @DisplayName("// コメントの言語ではマーカーに // を使う")
+    void usesSlashCommentsForCLikeKernels() {
+        String notebook = """
+            {"metadata": {"language_info": {"name": "Scala"}},
+             "cells": [{"cell_type": "code", "source": ["val x = 1"], "outputs": []}]}
+            """;
+
+        assertThat(extractor.extract("spark.ipynb", notebook))
+            .startsWith("// [notebook: 1 cells, scala]\n")
+            .contains("// %% [cell 1]\nval x = 1\n");
+    }
+
+    @Test
+    @DisplayName("壊れたJSONやセルのないファイルはそのまま返す")
+    void returnsMalformedContentUnchanged() {
+        String truncated = "{\"cells\": [{\"cell_type\": \"code\", \"source\": \"x";
+        String empty = "{\"cells\": [], \"metadata\": {}}";
+
+        assertThat(extractor.extract("broken.ipynb", truncated)).isSameAs(truncated);
+        assertThat(extractor.extract("empty.ipynb", empty)).isSameAs(empty);
+    }
+}
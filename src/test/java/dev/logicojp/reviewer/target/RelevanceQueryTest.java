@@ -0,0 +1,38 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RelevanceQuery")
+class RelevanceQueryTest {
+
+    @Test
+    @DisplayName("フォーカスエリアの語は指示文の語より重く、拡張語句に一致すると関連語を追加する")
+    void weighsFocusAreasAndAppliesExpansions() {
+        var query = new RelevanceQuery("security", List.of("SQLインジェクション"), "Review the ${repository} code");
+
+        Map<String, Double> terms = query.weightedTerms(Map.of("sql", List.of("jdbc", "preparedStatement")));
+
+        assertThat(terms).containsEntry("sql", 2.0)
+            .containsEntry("jdbc", 2.0)
+            .containsEntry("prepared", 2.0)
+            .containsEntry("statement", 2.0)
+            .containsEntry("review", 1.0)
+            .containsEntry("code", 1.0)
+            .doesNotContainKey("repository");
+    }
+
+    @Test
+    @DisplayName("nullのフォーカスエリアと指示文は空のクエリになる")
+    void nullInputsYieldEmptyQuery() {
+        var query = new RelevanceQuery(null, null, null);
+
+        assertThat(query.key()).isEmpty();
+        assertThat(query.weightedTerms(Map.of())).isEmpty();
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.nio.file.Path;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -30,6 +31,29 @@ class ReviewTargetTest {
             assertThat(target).isInstanceOf(ReviewTarget.LocalTarget.class);
         }
 
+        @Test
+        @DisplayName("localChangesは変更スコープ付きのLocalTargetを返す")
+        void localChangesCreatesScopedLocalTarget() {
+            var scope = new LocalChangeScope("main", 3);
+            ReviewTarget target = ReviewTarget.localChanges(Path.of("/tmp/test"), scope);
+
+            assertThat(target.localChangeScope()).contains(scope);
+            assertThat(target.localPath()).contains(Path.of("/tmp/test"));
+            assertThat(ReviewTarget.local(Path.of("/tmp/test")).localChangeScope()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("ファイル一覧の変更スコープはgitリビジョンなしで常にファイル全体を対象にする")
+        void listedFilesScopeNeedsNoRevision() {
+            var scope = LocalChangeScope.ofFiles(List.of("src/App.java"));
+
+            assertThat(scope.listsFiles()).isTrue();
+            assertThat(scope.sinceRef()).isNull();
+            assertThat(scope.excerptsHunks()).isFalse();
+            assertThat(scope.files()).containsExactly("src/App.java");
+            assertThat(new LocalChangeScope("main").listsFiles()).isFalse();
+        }
+
         @Test
         @DisplayName("nullリポジトリはIllegalArgumentExceptionをスローする")
         void gitHubRejectsNull() {
@@ -94,6 +118,12 @@ class ReviewTargetTest {
         void localIsLocal() {
             assertThat(ReviewTarget.local(Path.of("/tmp")).isLocal()).isTrue();
         }
+
+        @Test
+        @DisplayName("ArchiveTargetはtrueを返す")
+        void archiveIsLocal() {
+            assertThat(ReviewTarget.archive(Path.of("/tmp/app.zip")).isLocal()).isTrue();
+        }
     }
 
     @Nested
@@ -107,6 +137,38 @@ class ReviewTargetTest {
             assertThat(ReviewTarget.local(dir).localPath()).contains(dir);
         }
 
+        @Test
+        @DisplayName("ArchiveTargetはアーカイブのパスを返し変更スコープは持たない")
+        void archiveTargetReturnsArchivePath() {
+            Path archive = Path.of("/tmp/app.tar.gz");
+            ReviewTarget target = ReviewTarget.archive(archive);
+
+            assertThat(target.localPath()).contains(archive);
+            assertThat(target.localChangeScope()).isEmpty();
+            assertThat(target.displayName()).isEqualTo("app.tar.gz");
+        }
+
+        @Test
+        @DisplayName("CommitTargetはディレクトリを返し表示名に短縮コミットIDを含める")
+        void commitTargetReturnsDirectory() {
+            Path dir = Path.of("/tmp/project");
+            ReviewTarget target = ReviewTarget.commit(dir, "0123456789abcdef0123456789abcdef01234567");
+
+            assertThat(target.isLocal()).isTrue();
+            assertThat(target.localPath()).contains(dir);
+            assertThat(target.localChangeScope()).isEmpty();
+            assertThat(target.displayName()).isEqualTo("project@0123456789ab");
+            assertThat(target.repositorySubPath()).isEqualTo(Path.of("project"));
+        }
+
+        @Test
+        @DisplayName("CommitTargetはオプションと紛らわしいリビジョンを拒否する")
+        void commitTargetRejectsOptionLikeRevision() {
+            assertThatThrownBy(() -> ReviewTarget.commit(Path.of("/tmp/project"), "--output=x"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid git revision");
+        }
+
         @Test
         @DisplayName("GitHubTargetは空のOptionalを返す")
         void gitHubTargetReturnsEmpty() {
@@ -132,6 +194,15 @@ class ReviewTargetTest {
             assertThat(target.repositorySubPath()).isEqualTo(Path.of("my-project"));
         }
 
+        @Test
+        @DisplayName("ArchiveTargetはアーカイブ拡張子を除いたファイル名を返す")
+        void archiveSubPath() {
+            assertThat(ReviewTarget.archive(Path.of("/ci/app-1.0.tar.gz")).repositorySubPath())
+                .isEqualTo(Path.of("app-1.0"));
+            assertThat(ReviewTarget.archive(Path.of("/ci/Bundle.ZIP")).repositorySubPath())
+                .isEqualTo(Path.of("Bundle"));
+        }
+
         @Test
         @DisplayName("パストラバーサル文字を含むリポジトリ名は拒否される")
         void rejectsPathTraversal() {
@@ -167,7 +238,9 @@ class ReviewTargetTest {
             ReviewTarget target = ReviewTarget.gitHub("owner/repo");
             String result = switch (target) {
                 case ReviewTarget.GitHubTarget(String repository) -> "github:" + repository;
-                case ReviewTarget.LocalTarget(Path _) -> "local";
+                case ReviewTarget.LocalTarget(Path _, _) -> "local";
+                case ReviewTarget.ArchiveTarget _ -> "archive";
+                case ReviewTarget.CommitTarget _ -> "commit";
             };
             assertThat(result).isEqualTo("github:owner/repo");
         }
@@ -178,7 +251,9 @@ class ReviewTargetTest {
             ReviewTarget target = ReviewTarget.local(Path.of("/tmp"));
             String result = switch (target) {
                 case ReviewTarget.GitHubTarget(_) -> "github";
-                case ReviewTarget.LocalTarget(Path directory) -> "local:" + directory;
+                case ReviewTarget.LocalTarget(Path directory, _) -> "local:" + directory;
+                case ReviewTarget.ArchiveTarget _ -> "archive";
+                case ReviewTarget.CommitTarget _ -> "commit";
             };
             assertThat(result).isEqualTo("local:/tmp");
         }
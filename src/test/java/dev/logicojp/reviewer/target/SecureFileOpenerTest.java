@@ -0,0 +1,93 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("SecureFileOpener")
+class SecureFileOpenerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path base;
+    private Path outside;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        base = Files.createDirectory(tempDir.resolve("base"));
+        outside = Files.createDirectory(tempDir.resolve("outside"));
+        Files.writeString(outside.resolve("Secret.java"), "class Secret {}");
+    }
+
+    private static String read(SeekableByteChannel channel) throws IOException {
+        try (InputStream in = Channels.newInputStream(channel)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    @DisplayName("入れ子のディレクトリのファイルを順に開ける")
+    void opensNestedFiles() throws IOException {
+        Files.createDirectories(base.resolve("src/main"));
+        Files.writeString(base.resolve("Root.java"), "class Root {}");
+        Files.writeString(base.resolve("src/main/A.java"), "class A {}");
+        Files.writeString(base.resolve("src/main/B.java"), "class B {}");
+        Files.writeString(base.resolve("src/C.java"), "class C {}");
+
+        try (SecureFileOpener opener = SecureFileOpener.open(base.toRealPath())) {
+            assumeTrue(opener.isSupported());
+
+            assertThat(read(opener.openFile("src/main/A.java"))).isEqualTo("class A {}");
+            assertThat(read(opener.openFile("src/main/B.java"))).isEqualTo("class B {}");
+            assertThat(read(opener.openFile("src/C.java"))).isEqualTo("class C {}");
+            assertThat(read(opener.openFile("Root.java"))).isEqualTo("class Root {}");
+        }
+    }
+
+    @Test
+    @DisplayName("シンボリックリンクのファイルやディレクトリを経由して開かない")
+    void refusesSymbolicLinks() throws IOException {
+        Files.createSymbolicLink(base.resolve("Link.java"), outside.resolve("Secret.java"));
+        Files.createSymbolicLink(base.resolve("linked"), outside);
+
+        try (SecureFileOpener opener = SecureFileOpener.open(base.toRealPath())) {
+            assumeTrue(opener.isSupported());
+
+            assertThat(opener.openFile("Link.java")).isNull();
+            assertThat(opener.openFile("linked/Secret.java")).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("親ディレクトリや空のセグメントを含むパスを開かない")
+    void refusesEscapingSegments() throws IOException {
+        Files.writeString(base.resolve("A.java"), "class A {}");
+
+        try (SecureFileOpener opener = SecureFileOpener.open(base.toRealPath())) {
+            assumeTrue(opener.isSupported());
+
+            assertThat(opener.openFile("../outside/Secret.java")).isNull();
+            assertThat(opener.openFile("./A.java")).isNull();
+            assertThat(opener.openFile("/A.java")).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("サポートされない opener は使用できないことを示す")
+    void unsupportedOpenerReportsUnsupported() {
+        assertThat(SecureFileOpener.unsupported().isSupported()).isFalse();
+    }
+}
@@ -0,0 +1,121 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SourceCompactor")
+class SourceCompactorTest {
+
+    private static final String LICENSE = """
+        /*
+         * Copyright 2026 Example Corp.
+         * Licensed under the Apache License, Version 2.0.
+         */
+        """;
+
+    @Test
+    @DisplayName("同一のヘッダーコメントは最初のファイルにだけ残し、以降は行範囲付きの参照に置き換える")
+    void deduplicatesHeadersAcrossFiles() {
+        var session = new SourceCompactor().newSession();
+
+        String first = session.compact("src/A.java", LICENSE + "class A {}\n");
+        String second = session.compact("src/B.java", LICENSE + "class B {}\n");
+
+        assertThat(first).isEqualTo(LICENSE + "class A {}\n");
+        assertThat(second).isEqualTo("/* [lines 1-4: same header as src/A.java] */\nclass B {}\n");
+    }
+
+    @Test
+    @DisplayName("ヘッダーの重複判定はセッションごとに独立している")
+    void sessionsAreIndependent() {
+        var compactor = new SourceCompactor();
+        compactor.newSession().compact("A.java", LICENSE + "class A {}\n");
+
+        assertThat(compactor.newSession().compact("B.java", LICENSE + "class B {}\n")).contains("Apache License");
+    }
+
+    @Test
+    @DisplayName("Javaのimportはパッケージごとにまとめて1行にし、元の行範囲を残す")
+    void collapsesQualifiedImports() {
+        String source = """
+            package app;
+
+            import java.util.List;
+            import java.util.Map;
+
+            import org.slf4j.Logger;
+            import static org.assertj.core.api.Assertions.assertThat;
+
+            class App {}
+            """;
+
+        String compacted = new SourceCompactor().newSession().compact("App.java", source);
+
+        assertThat(compacted).isEqualTo("""
+            package app;
+
+            // [lines 3-7: 4 imports] java.util.{List, Map}, org.slf4j.Logger, static org.assertj.core.api.Assertions.assertThat
+
+            class App {}
+            """);
+    }
+
+    @Test
+    @DisplayName("Pythonのimportは文のまま連結し、インデントされたimportは変更しない")
+    void collapsesTopLevelPythonImports() {
+        String source = """
+            import os
+            import sys
+            from typing import List
+
+            def main():
+                import json
+                import re
+                import io
+            """;
+
+        String compacted = new SourceCompactor().newSession().compact("main.py", source);
+
+        assertThat(compacted).startsWith("# [lines 1-3: 3 imports] import os; import sys; from typing import List\n");
+        assertThat(compacted).contains("    import json\n    import re\n    import io\n");
+    }
+
+    @Test
+    @DisplayName("短いimport列とヘッダーはそのまま残し、行末の空白とCRLFを正規化する")
+    void keepsShortRunsAndNormalizesWhitespace() {
+        String source = "// short\r\nimport a.B;\r\nimport c.D;\r\n\r\nclass E {}   \r\n";
+
+        String compacted = new SourceCompactor().newSession().compact("E.java", source);
+
+        assertThat(compacted).isEqualTo("// short\nimport a.B;\nimport c.D;\n\nclass E {}\n");
+    }
+
+    @Test
+    @DisplayName("コードが続くブロックコメントはヘッダーとして扱わない")
+    void blockCommentFollowedByCodeIsNotHeader() {
+        String source = "/* a\n b\n c */ class A {}\n";
+        var session = new SourceCompactor().newSession();
+        session.compact("A.java", source);
+
+        assertThat(session.compact("B.java", source)).isEqualTo(source);
+    }
+
+    @Test
+    @DisplayName("無効化されたコンパクターは内容を変更しない")
+    void disabledCompactorKeepsContent() {
+        String source = LICENSE + "import a.B;\nimport a.C;\nimport a.D;   \n";
+        var session = SourceCompactor.disabled().newSession();
+        session.compact("A.java", source);
+
+        assertThat(SourceCompactor.disabled().isEnabled()).isFalse();
+        assertThat(session.compact("B.java", source)).isEqualTo(source);
+    }
+
+    @Test
+    @DisplayName("UTF-8のバイト長をエンコードせずに計算する")
+    void computesUtf8Length() {
+        assertThat(SourceCompactor.utf8Length("aé日😀")).isEqualTo(1 + 2 + 3 + 4);
+    }
+}
@@ -0,0 +1,82 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SqlDumpContentExtractor")
+class SqlDumpContentExtractorTest {
+
+    private final SqlDumpContentExtractor extractor = new SqlDumpContentExtractor();
+
+    @Test
+    @DisplayName("スキーマを残し、テーブルごとのINSERTとCOPYの行を先頭数行に間引く")
+    void samplesRowsPerTable() {
+        String dump = """
+            CREATE TABLE users (id int);
+            INSERT INTO users VALUES (1);
+            INSERT INTO users VALUES (2);
+            INSERT INTO `users` VALUES (3);
+            INSERT INTO users VALUES (4);
+            INSERT INTO users VALUES (5);
+            CREATE INDEX users_id ON users(id);
+            COPY public.orders (id) FROM stdin;
+            1
+            2
+            3
+            4
+            5
+            6
+            \\.
+            """;
+
+        assertThat(extractor.extract("dump.sql", dump)).isEqualTo("""
+            CREATE TABLE users (id int);
+            INSERT INTO users VALUES (1);
+            INSERT INTO users VALUES (2);
+            INSERT INTO `users` VALUES (3);
+            -- [lines 5-6: 2 more rows into users]
+            CREATE INDEX users_id ON users(id);
+            COPY public.orders (id) FROM stdin;
+            1
+            2
+            3
+            -- [lines 12-14: 3 more rows into public.orders]
+            \\.
+            """);
+    }
+
+    @Test
+    @DisplayName("複数行のINSERTは文末まで1件として数える")
+    void keepsMultiLineStatementsWhole() {
+        String dump = """
+            INSERT INTO t (a, b)
+              VALUES (1, 2);
+            INSERT INTO t VALUES (3, 4);
+            INSERT INTO t VALUES (5, 6);
+            INSERT INTO t
+              VALUES (7, 8);
+            """;
+
+        assertThat(extractor.extract("dump.sql", dump)).isEqualTo("""
+            INSERT INTO t (a, b)
+              VALUES (1, 2);
+            INSERT INTO t VALUES (3, 4);
+            INSERT INTO t VALUES (5, 6);
+            -- [lines 5-6: 1 more rows into t]
+            """);
+    }
+
+    @Test
+    @DisplayName("長すぎる行は切り詰め、数行のマイグレーションはそのまま返す")
+    void cutsLongLinesAndKeepsSmallMigrations() {
+        String migration = "CREATE TABLE t (id int);\nINSERT INTO t VALUES (1);\n";
+        String bulk = "INSERT INTO t VALUES " + "(1),".repeat(400) + "(2);\n";
+
+        assertThat(extractor.extract("V1__init.sql", migration)).isSameAs(migration);
+        assertThat(extractor.extract("bulk.sql", bulk))
+            .hasSize(SqlDumpContentExtractor.MAX_LINE_LENGTH + " -- [625 more characters]\n".length())
+            .endsWith(" -- [625 more characters]\n");
+    }
+}
@@ -0,0 +1,31 @@
+package dev.logicojp.reviewer.target;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SvgContentExtractor")
+class SvgContentExtractorTest {
+
+    private final SvgContentExtractor extractor = new SvgContentExtractor();
+
+    @Test
+    @DisplayName("長い属性値を先頭だけ残して短縮し、要素と短い属性は残す")
+    void shortensLongAttributeValues() {
+        String path = "M0 0L1 1".repeat(40);
+        String svg = "<svg id=\"logo\"><path class=\"a\" d=\"" + path + "\"/></svg>";
+
+        assertThat(extractor.extract("logo.svg", svg)).isEqualTo(
+            "<svg id=\"logo\"><path class=\"a\" d=\"" + path.substring(0, SvgContentExtractor.KEPT_ATTRIBUTE_PREFIX)
+                + "…[" + (path.length() - SvgContentExtractor.KEPT_ATTRIBUTE_PREFIX) + " more characters]\"/></svg>");
+    }
+
+    @Test
+    @DisplayName("短縮する属性がなければそのまま返す")
+    void returnsSmallImagesUnchanged() {
+        String svg = "<svg viewBox='0 0 10 10'><circle cx='5' cy='5' r='4'/></svg>";
+
+        assertThat(extractor.extract("dot.svg", svg)).isSameAs(svg);
+    }
+}
@@ -0,0 +1,79 @@
+package dev.logicojp.reviewer.target;
+
+import dev.logicojp.reviewer.testutil.TarArchiveFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TarEntryReader")
+class TarEntryReaderTest {
+
+    @Test
+    @DisplayName("エントリ名とサイズと内容を順に読める")
+    void readsEntriesInOrder() throws IOException {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("src/App.java", "class App {}");
+        files.put("README.md", "# readme");
+        var reader = new TarEntryReader(new ByteArrayInputStream(TarArchiveFixtures.tar(files)));
+
+        TarEntryReader.Entry first = reader.next();
+        assertThat(first).isEqualTo(new TarEntryReader.Entry("src/App.java", 12, true));
+        assertThat(new String(reader.content().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("class App {}");
+
+        TarEntryReader.Entry second = reader.next();
+        assertThat(second.name()).isEqualTo("README.md");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("読まなかった内容は次のエントリへ進むときに読み飛ばす")
+    void skipsUnreadContent() throws IOException {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("a.txt", "x".repeat(1500));
+        files.put("b.txt", "b");
+        var reader = new TarEntryReader(new ByteArrayInputStream(TarArchiveFixtures.tar(files)));
+
+        reader.next();
+        reader.content().readNBytes(10);
+        TarEntryReader.Entry next = reader.next();
+
+        assertThat(next.name()).isEqualTo("b.txt");
+        assertThat(new String(reader.content().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("b");
+    }
+
+    @Test
+    @DisplayName("GNUロングネームを適用しディレクトリは通常ファイル扱いしない")
+    void appliesGnuLongNames() throws IOException {
+        String longName = "very/" + "deep/".repeat(30) + "Service.java";
+        byte[] archive = TarArchiveFixtures.tarWithLongName(longName, "class Service {}", "Main.java", "class Main {}");
+        var reader = new TarEntryReader(new ByteArrayInputStream(archive));
+
+        assertThat(reader.next()).isEqualTo(new TarEntryReader.Entry("dir/", 0, false));
+        TarEntryReader.Entry entry = reader.next();
+        assertThat(entry.name()).isEqualTo(longName);
+        assertThat(entry.regularFile()).isTrue();
+        assertThat(reader.next().name()).isEqualTo("Main.java");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("途中で切れたアーカイブはEOFExceptionになる")
+    void rejectsTruncatedArchive() throws IOException {
+        byte[] archive = TarArchiveFixtures.tar(Map.of("App.java", "x".repeat(2000)));
+        var reader = new TarEntryReader(new ByteArrayInputStream(Arrays.copyOf(archive, 1024)));
+
+        reader.next();
+
+        assertThatThrownBy(() -> reader.content().readAllBytes()).isInstanceOf(EOFException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package dev.logicojp.reviewer.testutil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/// Builds minimal ustar archives in memory for archive-reading tests.
+public final class TarArchiveFixtures {
+
+    private static final int BLOCK_SIZE = 512;
+
+    private TarArchiveFixtures() {
+    }
+
+    /// Returns a tar archive of regular files, in map iteration order.
+    public static byte[] tar(Map<String, String> files) {
+        var out = new ByteArrayOutputStream();
+        files.forEach((name, content) -> {
+            byte[] data = content.getBytes(StandardCharsets.UTF_8);
+            writeEntry(out, name, '0', data);
+        });
+        out.writeBytes(new byte[BLOCK_SIZE * 2]);
+        return out.toByteArray();
+    }
+
+    /// Returns a tar archive with a directory entry, a GNU long-name entry and a regular file.
+    public static byte[] tarWithLongName(String longName, String content, String shortName, String shortContent) {
+        var out = new ByteArrayOutputStream();
+        writeEntry(out, "dir/", '5', new byte[0]);
+        byte[] nameData = (longName + "\0").getBytes(StandardCharsets.UTF_8);
+        writeEntry(out, "././@LongLink", 'L', nameData);
+        writeEntry(out, longName.substring(0, 99), '0', content.getBytes(StandardCharsets.UTF_8));
+        writeEntry(out, shortName, '0', shortContent.getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(new byte[BLOCK_SIZE * 2]);
+        return out.toByteArray();
+    }
+
+    public static byte[] gzip(byte[] data) {
+        var out = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeEntry(ByteArrayOutputStream out, String name, char type, byte[] data) {
+        byte[] header = new byte[BLOCK_SIZE];
+        put(header, 0, name, 100);
+        put(header, 100, "0000644", 8);
+        put(header, 108, "0000000", 8);
+        put(header, 116, "0000000", 8);
+        put(header, 124, String.format("%011o", data.length), 12);
+        put(header, 136, String.format("%011o", 0), 12);
+        header[156] = (byte) type;
+        put(header, 257, "ustar", 6);
+        put(header, 263, "00", 2);
+        for (int i = 148; i < 156; i++) {
+            header[i] = ' ';
+        }
+        int checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xff;
+        }
+        put(header, 148, String.format("%06o", checksum), 7);
+        out.writeBytes(header);
+        out.writeBytes(data);
+        int padding = (BLOCK_SIZE - data.length % BLOCK_SIZE) % BLOCK_SIZE;
+        out.writeBytes(new byte[padding]);
+    }
+
+    private static void put(byte[] header, int offset, String value, int length) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(bytes, 0, header, offset, Math.min(bytes.length, length));
+    }
+}
@@ -0,0 +1,52 @@
+package dev.logicojp.reviewer.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CompressedText")
+class CompressedTextTest {
+
+    @Test
+    @DisplayName("圧縮したテキストをマルチバイト文字も含めて元通りに復元する")
+    void roundTripsMultiByteText() {
+        String text = "// ソースコード 😀\nclass A {}\n".repeat(1_000);
+
+        CompressedText compressed = CompressedText.compress(text);
+
+        assertThat(compressed.decompress()).isEqualTo(text);
+        assertThat(compressed.length()).isEqualTo(text.length());
+        assertThat(compressed.estimatedTokens()).isEqualTo(TokenEstimator.estimate(text));
+    }
+
+    @Test
+    @DisplayName("繰り返しの多いソースは元のUTF-8サイズより小さく保持される")
+    void storesRepetitiveSourceCompactly() {
+        String text = "import java.util.List;\n".repeat(10_000);
+
+        CompressedText compressed = CompressedText.compress(text);
+
+        assertThat(compressed.compressedSize()).isLessThan(text.length() / 10);
+    }
+
+    @Test
+    @DisplayName("復元済みのテキストが参照されている間は同じインスタンスを共有する")
+    void sharesDecompressedTextWhileReferenced() {
+        CompressedText compressed = CompressedText.compress("class Shared {}\n".repeat(100));
+
+        String first = compressed.decompress();
+        String second = compressed.decompress();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("空文字列も圧縮・復元できる")
+    void handlesEmptyText() {
+        CompressedText compressed = CompressedText.compress("");
+
+        assertThat(compressed.decompress()).isEmpty();
+        assertThat(compressed.length()).isZero();
+    }
+}
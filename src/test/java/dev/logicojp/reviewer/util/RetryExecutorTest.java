@@ -116,4 +116,41 @@ class RetryExecutorTest {
         assertThat(result).isEqualTo("mapped-open");
         assertThat(circuitOpenCalls.get()).isEqualTo(1);
     }
+
+    @Test
+    @DisplayName("割り込みはリトライせず、割り込みフラグを戻してサーキットブレーカーに計上しない")
+    void stopsOnInterruptWithoutRetrying() {
+        SharedCircuitBreaker circuitBreaker = new SharedCircuitBreaker(1, 1_000L);
+        AtomicInteger attempts = new AtomicInteger();
+        RetryExecutor<String> executor = new RetryExecutor<>(
+            2,
+            1,
+            1,
+            _ -> {
+            },
+            circuitBreaker
+        );
+
+        try {
+            String result = executor.execute(
+                () -> {
+                    attempts.incrementAndGet();
+                    throw new InterruptedException();
+                },
+                exception -> "mapped",
+                "ok"::equals,
+                _ -> true,
+                _ -> true,
+                new RetryExecutor.RetryObserver<>() {
+                }
+            );
+
+            assertThat(result).isEqualTo("mapped");
+            assertThat(attempts.get()).isEqualTo(1);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+            assertThat(circuitBreaker.allowRequest()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
 }
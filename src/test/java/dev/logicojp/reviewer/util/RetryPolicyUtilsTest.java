@@ -32,6 +32,16 @@ class RetryPolicyUtilsTest {
         assertThat(RetryPolicyUtils.isRetryableFailureMessage("401 unauthorized")).isFalse();
     }
 
+    @Test
+    @DisplayName("コンテキストウィンドウ超過のエラーメッセージは再試行不可")
+    void contextOverflowMessageIsNotRetryable() {
+        assertThat(RetryPolicyUtils.isRetryableFailureMessage(
+            "prompt token count of 210000 exceeds the limit: context_length_exceeded")).isFalse();
+        assertThat(RetryPolicyUtils.isRetryableFailureMessage(
+            "Local review prompt (~130000 estimated tokens) exceeds the model context window (128000 tokens)"
+        )).isFalse();
+    }
+
     @Test
     @DisplayName("追加の非再試行キーワードが一致した場合は再試行不可")
     void additionalMarkerCanDisableRetry() {
@@ -41,6 +51,30 @@ class RetryPolicyUtilsTest {
         )).isFalse();
     }
 
+    @Test
+    @DisplayName("レート制限・サービス停止・タイムアウトのメッセージは過負荷として判定される")
+    void overloadMessages() {
+        assertThat(RetryPolicyUtils.isOverloadMessage("HTTP 429 Too Many Requests")).isTrue();
+        assertThat(RetryPolicyUtils.isOverloadMessage("Review timed out after 20 minutes")).isTrue();
+        assertThat(RetryPolicyUtils.isOverloadMessage("No activity for 300000ms (idle timeout: 300000ms)")).isTrue();
+        assertThat(RetryPolicyUtils.isOverloadMessage("401 unauthorized")).isFalse();
+        assertThat(RetryPolicyUtils.isOverloadMessage(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("ステータスコードはトークン数などの数値の一部では過負荷として判定されない")
+    void overloadStatusCodesMatchWholeNumbersOnly() {
+        assertThat(RetryPolicyUtils.isOverloadMessage("Service returned status 503")).isTrue();
+        assertThat(RetryPolicyUtils.isOverloadMessage("Request failed (429)")).isTrue();
+        assertThat(RetryPolicyUtils.isOverloadMessage(
+            "Local review prompt (~142950 estimated tokens) exceeds the model context window (128000 tokens)"))
+            .isFalse();
+        assertThat(RetryPolicyUtils.isOverloadMessage(
+            "Local review prompt (~429 estimated tokens) exceeds the model context window (400 tokens)"))
+            .isFalse();
+        assertThat(RetryPolicyUtils.isOverloadMessage("Processed 14290 files")).isFalse();
+    }
+
     @Test
     @DisplayName("バックオフ計算は最大値を超えない")
     void backoffWithJitterIsBounded() {
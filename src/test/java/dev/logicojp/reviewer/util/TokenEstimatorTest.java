@@ -0,0 +1,80 @@
+package dev.logicojp.reviewer.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenEstimator")
+class TokenEstimatorTest {
+
+    @Test
+    @DisplayName("nullや空文字は0トークン")
+    void emptyTextIsZeroTokens() {
+        assertThat(TokenEstimator.estimate(null)).isZero();
+        assertThat(TokenEstimator.estimate("")).isZero();
+    }
+
+    @Test
+    @DisplayName("英字・数字・記号・空白を種類ごとに見積もる")
+    void estimatesAsciiPiecesByKind() {
+        // "getUserName" -> 3, "(" -> 1, "42" -> 1, ")" -> 1, ";" -> 1
+        assertThat(TokenEstimator.estimate("getUserName(42);")).isEqualTo(7);
+        // 16 spaces of indentation -> 2
+        assertThat(TokenEstimator.estimate(" ".repeat(16))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("日本語は同じバイト数のASCIIより多くのトークンとして見積もる")
+    void japaneseCostsMoreTokensPerByteThanAscii() {
+        String japanese = "// ユーザー名を取得する処理";
+        String ascii = "// fetches the user name for display";
+
+        int japaneseTokens = TokenEstimator.estimate(japanese);
+        int asciiTokens = TokenEstimator.estimate(ascii);
+
+        assertThat(japaneseTokens).isGreaterThanOrEqualTo(13);
+        assertThat((double) japaneseTokens / japanese.getBytes(java.nio.charset.StandardCharsets.UTF_8).length)
+            .isGreaterThan((double) asciiTokens / ascii.length());
+    }
+
+    @Test
+    @DisplayName("キャッシュ対象の長いテキストでも見積もりは同じ")
+    void cachedEstimateMatchesUncached() {
+        String source = "public class Sample { int value = 1; } // サンプル\n".repeat(200);
+
+        int first = TokenEstimator.estimate(source);
+        int second = TokenEstimator.estimate(new String(source));
+
+        assertThat(first).isEqualTo(TokenEstimator.estimateUncached(source));
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("長さとhashCodeが同じでも内容が異なるテキストは別々に見積もる")
+    void doesNotShareEstimatesOfHashCollidingTexts() {
+        String suffix = "x".repeat(5_000);
+        String spaces = "  " + suffix;
+        String symbols = "!\u0001" + suffix;
+        assertThat(spaces.hashCode()).isEqualTo(symbols.hashCode());
+
+        int spacesEstimate = TokenEstimator.estimate(spaces);
+        int symbolsEstimate = TokenEstimator.estimate(symbols);
+
+        assertThat(spacesEstimate).isEqualTo(TokenEstimator.estimateUncached(spaces));
+        assertThat(symbolsEstimate).isEqualTo(TokenEstimator.estimateUncached(symbols));
+        assertThat(symbolsEstimate).isNotEqualTo(spacesEstimate);
+    }
+
+    @Test
+    @DisplayName("truncateToTokensは予算内に収まる先頭部分を単語の途中で切らずに返す")
+    void truncatesOnPieceBoundaryWithinBudget() {
+        String text = "alpha beta gamma delta";
+
+        String truncated = TokenEstimator.truncateToTokens(text, 4);
+
+        assertThat(truncated).isEqualTo("alpha beta");
+        assertThat(TokenEstimator.estimate(truncated)).isLessThanOrEqualTo(4);
+        assertThat(TokenEstimator.truncateToTokens(text, 1_000)).isEqualTo(text);
+    }
+}